@@ -0,0 +1,31 @@
+package com.odeyalo.kyrie;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Position of the thread in the prepared benchmark data, every thread starts from the random position,
+ * so the contended benchmarks do not access the same element at the same time
+ */
+@State(Scope.Thread)
+public class BenchmarkCursor {
+    private int position;
+
+    @Setup
+    public void setUp() {
+        position = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Move to the next element
+     * @param size - number of the elements
+     * @return - index of the next element, wraps around to zero after the last one
+     */
+    public int next(int size) {
+        position = position + 1 < 0 ? 0 : position + 1;
+        return position % size;
+    }
+}
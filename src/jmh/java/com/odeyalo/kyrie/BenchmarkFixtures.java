@@ -0,0 +1,52 @@
+package com.odeyalo.kyrie;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+
+import java.util.Collections;
+
+/**
+ * Common objects that are used by the benchmarks
+ */
+public final class BenchmarkFixtures {
+    /**
+     * Base64 encoded secret word that is used to sign the jwt tokens
+     */
+    public static final String SECRET_WORD = "a3lyaWUtYmVuY2htYXJrLXNlY3JldC13b3JkLXRoYXQtaXMtbG9uZy1lbm91Z2g=";
+    public static final String CLIENT_ID = "benchmark-client";
+    public static final String CLIENT_SECRET = "benchmark-client-secret";
+    public static final String REDIRECT_URI = "https://example.com/callback";
+    public static final String[] SCOPES = {"read", "write", "profile"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Create the user with the given id, username is 'user-{id}'
+     * @param id - id of the user
+     * @param password - encoded password of the user
+     * @return - Oauth2User with 'USER' authority
+     */
+    public static Oauth2User user(String id, String password) {
+        return Oauth2User.builder()
+                .id(id)
+                .username("user-" + id)
+                .password(password)
+                .authorities(Collections.singleton("USER"))
+                .build();
+    }
+
+    /**
+     * Create the confidential client with {@link #CLIENT_ID} and {@link #REDIRECT_URI}
+     * @param encodedSecret - stored client secret, can be hashed
+     * @return - confidential Oauth2Client
+     */
+    public static Oauth2Client client(String encodedSecret) {
+        return Oauth2Client.builder()
+                .clientId(CLIENT_ID)
+                .clientSecret(encodedSecret)
+                .allowedRedirectUri(REDIRECT_URI)
+                .clientType(Oauth2Client.ClientType.CONFIDENTIAL)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.odeyalo.kyrie.controllers.support;
+
+import com.odeyalo.kyrie.controllers.KyrieOauth2Controller;
+import com.odeyalo.kyrie.dto.LoginDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.support.SessionStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.annotation.ModelAttributeMethodProcessor;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks of the {@link LoginDTO} binding from the '/login' form done by {@link AdvancedModelAttributeMethodProcessor}.</p>
+ * <p>
+ * The processor is built as in MvcConfiguration and resolves the parameter of the form login handler in {@link KyrieOauth2Controller}.
+ * The new {@link ModelAndViewContainer} is used for every call, as for every request.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdvancedModelAttributeMethodProcessorBenchmark {
+    private AdvancedModelAttributeMethodProcessor processor;
+    private ServletRequestDataBinderFactory binderFactory;
+    private MethodParameter parameter;
+    private ServletWebRequest request;
+    private ServletWebRequest requestWithoutPassword;
+
+    @Setup
+    public void setUp() throws Exception {
+        processor = new AdvancedModelAttributeMethodProcessor(new ModelAttributeMethodProcessor(false));
+        binderFactory = new ServletRequestDataBinderFactory(null, null);
+        parameter = new MethodParameter(KyrieOauth2Controller.class.getMethod("loginCheckAndGrantTypeProcessingUsingFormData",
+                LoginDTO.class, Map.class, SessionStatus.class), 0);
+        request = request("user-1", "benchmark-password");
+        requestWithoutPassword = request("user-1", null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object bind() throws Exception {
+        return processor.resolveArgument(parameter, new ModelAndViewContainer(), request, binderFactory);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object bindContended() throws Exception {
+        return processor.resolveArgument(parameter, new ModelAndViewContainer(), request, binderFactory);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object bindWithoutPassword() throws Exception {
+        return processor.resolveArgument(parameter, new ModelAndViewContainer(), requestWithoutPassword, binderFactory);
+    }
+
+    private static ServletWebRequest request(String username, String password) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/oauth2/login");
+        request.setContentType(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+        request.setParameter("username", username);
+        if (password != null) {
+            request.setParameter("password", password);
+        }
+        return new ServletWebRequest(request);
+    }
+}
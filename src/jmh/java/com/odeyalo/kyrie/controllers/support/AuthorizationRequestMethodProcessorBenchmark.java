@@ -0,0 +1,248 @@
+package com.odeyalo.kyrie.controllers.support;
+
+import com.odeyalo.kyrie.BenchmarkCursor;
+import com.odeyalo.kyrie.controllers.support.validation.AuthorizationRequestValidationStep;
+import com.odeyalo.kyrie.controllers.support.validation.ClientIdAuthorizationRequestValidationStep;
+import com.odeyalo.kyrie.controllers.support.validation.RedirectUriAuthorizationRequestValidationStep;
+import com.odeyalo.kyrie.controllers.support.validation.RegisteredRedirectUriAuthorizationRequestValidationStep;
+import com.odeyalo.kyrie.controllers.support.validation.ValidAuthorizationRequest;
+import com.odeyalo.kyrie.core.authorization.AuthorizationGrantType;
+import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
+import com.odeyalo.kyrie.core.authorization.Oauth2ResponseType;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import com.odeyalo.kyrie.core.oauth2.client.ShardedInMemoryOauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.oidc.OidcScopes;
+import com.odeyalo.kyrie.core.oauth2.support.Oauth2Constants;
+import com.odeyalo.kyrie.core.oauth2.support.grant.AuthorizationGrantTypeResolverImpl;
+import com.odeyalo.kyrie.core.support.Oauth2ValidationResult;
+import com.odeyalo.kyrie.exceptions.Oauth2Exception;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks of the '/authorize' request parsing and validation done by {@link AuthorizationRequestMethodProcessor}.</p>
+ * <p>
+ * The processor is built as in MvcConfiguration and KyrieOauth2RequestValidationConfiguration:
+ * {@link SpaceSeparatedStringToArrayConverter} with the conversion service, {@link String2ResponseTypeConverter},
+ * {@link AuthorizationGrantTypeResolverImpl} and {@link DefaultChainAuthorizationRequestValidator} with all validation steps.
+ * Clients are stored in {@link ShardedInMemoryOauth2ClientRepository}, as in GenericKyrieOauth2Configuration.
+ * Requests are spread over the registered clients and their redirect uris, the requested redirect uri is one of the registered ones.
+ * </p>
+ * <p>
+ * The processor and the grant type resolver are created once, as in the application, so the resolver cache is warm for the whole run.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AuthorizationRequestMethodProcessorBenchmark {
+    private static final int REQUESTS = 1024;
+    private static final TypeDescriptor SCOPES_TYPE = TypeDescriptor.array(TypeDescriptor.valueOf(String.class));
+
+    @Param({"1", "5", "30"})
+    public int scopes;
+
+    @Param({"code", "code token id_token"})
+    public String responseType;
+
+    @Param({"10", "10000"})
+    public int clients;
+
+    /**
+     * Redirect uris registered by every client, the matcher switches from the list to the trie above 8 uris
+     */
+    @Param({"1", "32"})
+    public int redirectUris;
+
+    private SpaceSeparatedStringToArrayConverter arrayConverter;
+    private String2ResponseTypeConverter responseTypeConverter;
+    private DefaultChainAuthorizationRequestValidator validator;
+    private AuthorizationGrantTypeResolverImpl grantTypeResolver;
+    private AuthorizationRequestMethodProcessor processor;
+    private MethodParameter validatedParameter;
+    private MethodParameter parameter;
+    private String scopeParameter;
+    private Oauth2ResponseType[] responseTypes;
+    private ServletWebRequest[] requests;
+    private ServletWebRequest[] unregisteredRedirectUriRequests;
+    private AuthorizationRequest[] parsedRequests;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<Oauth2Client> registered = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Oauth2Client.Oauth2ClientBuilder builder = Oauth2Client.builder()
+                    .clientId(clientId(i))
+                    .clientSecret("secret-" + i)
+                    .clientType(Oauth2Client.ClientType.CONFIDENTIAL);
+            for (int j = 0; j < redirectUris; j++) {
+                builder.allowedRedirectUri(redirectUri(i, j));
+            }
+            registered.add(builder.build());
+        }
+        ShardedInMemoryOauth2ClientRepository clientRepository = new ShardedInMemoryOauth2ClientRepository(registered);
+
+        DefaultConversionService conversionService = new DefaultConversionService();
+        conversionService.addConverter(new String2ResponseTypeConverter());
+        conversionService.addConverter(new String2AuthorizationGrantTypeConverter());
+        conversionService.addConverter(new String2PromptTypeConverter());
+        arrayConverter = new SpaceSeparatedStringToArrayConverter(conversionService);
+        responseTypeConverter = new String2ResponseTypeConverter();
+
+        List<AuthorizationRequestValidationStep> steps = new ArrayList<>();
+        steps.add(new ClientIdAuthorizationRequestValidationStep(clientRepository));
+        steps.add(new RedirectUriAuthorizationRequestValidationStep());
+        steps.add(new RegisteredRedirectUriAuthorizationRequestValidationStep(clientRepository));
+        // Spring sorts the injected list in the same way
+        AnnotationAwareOrderComparator.sort(steps);
+        validator = new DefaultChainAuthorizationRequestValidator(steps);
+
+        validatedParameter = new MethodParameter(getClass().getDeclaredMethod("validatedHandler", AuthorizationRequest.class), 0);
+        parameter = new MethodParameter(getClass().getDeclaredMethod("handler", AuthorizationRequest.class), 0);
+        scopeParameter = scopeParameter(scopes, responseType.indexOf(' ') != -1);
+
+        Random random = new Random(42);
+        requests = new ServletWebRequest[REQUESTS];
+        unregisteredRedirectUriRequests = new ServletWebRequest[REQUESTS];
+        for (int k = 0; k < REQUESTS; k++) {
+            int client = random.nextInt(clients);
+            requests[k] = request(client, redirectUri(client, random.nextInt(redirectUris)));
+            unregisteredRedirectUriRequests[k] = request(client, "https://client-" + client + ".example.com/unregistered");
+        }
+
+        grantTypeResolver = new AuthorizationGrantTypeResolverImpl();
+        processor = new AuthorizationRequestMethodProcessor(responseTypeConverter, arrayConverter, grantTypeResolver, validator);
+        parsedRequests = new AuthorizationRequest[REQUESTS];
+        for (int k = 0; k < REQUESTS; k++) {
+            parsedRequests[k] = (AuthorizationRequest) processor.resolveArgument(parameter, null, requests[k], null);
+        }
+        responseTypes = parsedRequests[0].getResponseTypes();
+        // Compile the redirect uri matchers of the requested clients before the measurement
+        for (AuthorizationRequest parsedRequest : parsedRequests) {
+            Oauth2ValidationResult result = validator.validateAuthorizationRequest(parsedRequest);
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Benchmark request is not valid: " + result);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object authorize(BenchmarkCursor cursor) throws Exception {
+        return processor.resolveArgument(validatedParameter, new ModelAndViewContainer(), requests[cursor.next(REQUESTS)], null);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object authorizeContended(BenchmarkCursor cursor) throws Exception {
+        return processor.resolveArgument(validatedParameter, new ModelAndViewContainer(), requests[cursor.next(REQUESTS)], null);
+    }
+
+    /**
+     * Parse the request without validation, the parameter is not annotated with {@link ValidAuthorizationRequest}
+     */
+    @Benchmark
+    @Threads(1)
+    public Object parse(BenchmarkCursor cursor) throws Exception {
+        return processor.resolveArgument(parameter, new ModelAndViewContainer(), requests[cursor.next(REQUESTS)], null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object authorizeUnregisteredRedirectUri(BenchmarkCursor cursor) throws Exception {
+        try {
+            return processor.resolveArgument(validatedParameter, new ModelAndViewContainer(), unregisteredRedirectUriRequests[cursor.next(REQUESTS)], null);
+        } catch (Oauth2Exception e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object convertScopes() {
+        return arrayConverter.convert(scopeParameter, TypeDescriptor.forObject(scopeParameter), SCOPES_TYPE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthorizationGrantType resolveGrantType() {
+        // The processor passes the new array for every request
+        return grantTypeResolver.resolveGrantType(responseTypes.clone());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Oauth2ValidationResult validate(BenchmarkCursor cursor) {
+        return validator.validateAuthorizationRequest(parsedRequests[cursor.next(REQUESTS)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Oauth2ValidationResult validateContended(BenchmarkCursor cursor) {
+        return validator.validateAuthorizationRequest(parsedRequests[cursor.next(REQUESTS)]);
+    }
+
+    private ServletWebRequest request(int client, String redirectUri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/oauth2/authorize");
+        request.setParameter(Oauth2Constants.CLIENT_ID, clientId(client));
+        request.setParameter(Oauth2Constants.RESPONSE_TYPE, responseType);
+        request.setParameter(Oauth2Constants.SCOPE, scopeParameter);
+        request.setParameter(Oauth2Constants.REDIRECT_URI, redirectUri);
+        request.setParameter(Oauth2Constants.STATE, "state-" + client);
+        return new ServletWebRequest(request);
+    }
+
+    /**
+     * Create the space separated scopes, openid is the first scope if multiple response types are requested
+     * @param count - number of the scopes
+     * @param openid - true to include openid scope
+     * @return - value of the scope parameter
+     */
+    private static String scopeParameter(int count, boolean openid) {
+        StringBuilder builder = new StringBuilder(openid ? OidcScopes.OPENID_SCOPE : "scope-0");
+        for (int i = 1; i < count; i++) {
+            builder.append(' ').append("scope-").append(i);
+        }
+        return builder.toString();
+    }
+
+    private static String clientId(int client) {
+        return "client-" + client;
+    }
+
+    private static String redirectUri(int client, int index) {
+        return "https://client-" + client + ".example.com/callback/" + index;
+    }
+
+    // Handler methods that provide the parameters to resolve
+    private static void validatedHandler(@ValidAuthorizationRequest AuthorizationRequest request) {
+    }
+
+    private static void handler(AuthorizationRequest request) {
+    }
+}
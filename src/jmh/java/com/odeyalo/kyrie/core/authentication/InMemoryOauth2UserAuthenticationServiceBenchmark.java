@@ -0,0 +1,85 @@
+package com.odeyalo.kyrie.core.authentication;
+
+import com.odeyalo.kyrie.BenchmarkCursor;
+import com.odeyalo.kyrie.BenchmarkFixtures;
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.support.crypto.ConstantTimePlainTextPasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks of the user lookup in {@link InMemoryOauth2UserAuthenticationService} with the given number of registered users.</p>
+ * <p>
+ * Passwords are stored as plain text and compared in constant time, so the benchmark measures the lookup and not the hash function.
+ * The unknown user goes through the dummy password check.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class InMemoryOauth2UserAuthenticationServiceBenchmark {
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"1000", "100000", "1000000"})
+    public int users;
+
+    private InMemoryOauth2UserAuthenticationService service;
+    private Oauth2UserAuthenticationInfo[] validCredentials;
+    private Oauth2UserAuthenticationInfo unknownUser;
+    private Oauth2UserAuthenticationInfo wrongPassword;
+
+    @Setup
+    public void setUp() {
+        List<Oauth2User> registered = new ArrayList<>(users);
+        validCredentials = new Oauth2UserAuthenticationInfo[users];
+        for (int i = 0; i < users; i++) {
+            Oauth2User user = BenchmarkFixtures.user(String.valueOf(i), PASSWORD);
+            registered.add(user);
+            validCredentials[i] = new Oauth2UserAuthenticationInfo(user.getUsername(), PASSWORD);
+        }
+        service = new InMemoryOauth2UserAuthenticationService(registered, ConstantTimePlainTextPasswordEncoder.getInstance(), null);
+        unknownUser = new Oauth2UserAuthenticationInfo("unknown-user", PASSWORD);
+        wrongPassword = new Oauth2UserAuthenticationInfo(validCredentials[0].getUsername(), "wrong-password");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthenticationResult authenticate(BenchmarkCursor cursor) {
+        return service.authenticate(validCredentials[cursor.next(validCredentials.length)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AuthenticationResult authenticateContended(BenchmarkCursor cursor) {
+        return service.authenticate(validCredentials[cursor.next(validCredentials.length)]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthenticationResult authenticateUnknownUser() {
+        return service.authenticate(unknownUser);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthenticationResult authenticateWrongPassword() {
+        return service.authenticate(wrongPassword);
+    }
+}
@@ -0,0 +1,69 @@
+package com.odeyalo.kyrie.core.oauth2.tokens;
+
+import com.odeyalo.kyrie.BenchmarkFixtures;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.DefaultJwtOauth2AccessTokenGenerator;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.DefaultSecretWordJwtTokenProvider;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks of the token introspection with {@link DefaultJwtOauth2AccessTokenManager#getTokenInfo(String)}.</p>
+ * <p>If 'cached' is true, then the manager is wrapped with {@link CachingOauth2AccessTokenManagerDecorator} as it is done by the default configuration.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefaultJwtOauth2AccessTokenManagerBenchmark {
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private Oauth2AccessTokenManager manager;
+    private String validToken;
+    private String invalidToken;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider provider = new DefaultSecretWordJwtTokenProvider(BenchmarkFixtures.SECRET_WORD);
+        DefaultJwtOauth2AccessTokenGenerator generator = new DefaultJwtOauth2AccessTokenGenerator(provider);
+        Oauth2AccessTokenManager defaultManager = new DefaultJwtOauth2AccessTokenManager(provider, null, generator);
+        manager = cached ? new CachingOauth2AccessTokenManagerDecorator(defaultManager, 10_000, Duration.ofMinutes(5)) : defaultManager;
+        validToken = generator.generateAccessToken(BenchmarkFixtures.user("1", null), BenchmarkFixtures.SCOPES).getTokenValue();
+        // Signature of the token is broken, so the token is rejected after the signature check
+        invalidToken = validToken.substring(0, validToken.length() - 2) + (validToken.endsWith("AA") ? "BB" : "AA");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Oauth2AccessToken getTokenInfo() {
+        return manager.getTokenInfo(validToken);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Oauth2AccessToken getTokenInfoContended() {
+        return manager.getTokenInfo(validToken);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Oauth2AccessToken getTokenInfoInvalidSignature() {
+        return manager.getTokenInfo(invalidToken);
+    }
+}
@@ -0,0 +1,84 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.code;
+
+import com.odeyalo.kyrie.BenchmarkFixtures;
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.support.token.TokenValueGenerator;
+import com.odeyalo.kyrie.support.token.TokenValueGenerators;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks of the authorization code generation with {@link AuthorizationCodeGeneratorImpl}.</p>
+ * <p>
+ * The generator is compared with {@link RandomStringUtils#randomAlphanumeric(int)} that draws from the shared {@link java.util.Random},
+ * both on one thread and on 64 threads, where the shared generator is contended.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationCodeGeneratorBenchmark {
+    private static final int CONTENDED_THREADS = 64;
+
+    private AuthorizationCodeGenerator generator;
+    private TokenValueGenerator tokenValueGenerator;
+    private Oauth2User user;
+
+    @Setup
+    public void setUp() {
+        tokenValueGenerator = TokenValueGenerators.getDefault();
+        generator = new AuthorizationCodeGeneratorImpl(tokenValueGenerator);
+        user = BenchmarkFixtures.user("1", null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthorizationCode generateAuthorizationCode() {
+        return generator.generateAuthorizationCode(user, BenchmarkFixtures.SCOPES);
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public AuthorizationCode generateAuthorizationCodeContended() {
+        return generator.generateAuthorizationCode(user, BenchmarkFixtures.SCOPES);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generateTokenValue() {
+        return tokenValueGenerator.generate(AuthorizationCodeGenerator.DEFAULT_CODE_LENGTH);
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public String generateTokenValueContended() {
+        return tokenValueGenerator.generate(AuthorizationCodeGenerator.DEFAULT_CODE_LENGTH);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String randomStringUtils() {
+        return RandomStringUtils.randomAlphanumeric(AuthorizationCodeGenerator.DEFAULT_CODE_LENGTH);
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public String randomStringUtilsContended() {
+        return RandomStringUtils.randomAlphanumeric(AuthorizationCodeGenerator.DEFAULT_CODE_LENGTH);
+    }
+}
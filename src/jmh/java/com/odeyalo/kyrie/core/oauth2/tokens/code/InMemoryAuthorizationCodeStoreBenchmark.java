@@ -0,0 +1,142 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.code;
+
+import com.odeyalo.kyrie.BenchmarkCursor;
+import com.odeyalo.kyrie.BenchmarkFixtures;
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.support.token.TokenValueGenerator;
+import com.odeyalo.kyrie.support.token.TokenValueGenerators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks of {@link InMemoryAuthorizationCodeStore} with the given number of stored codes.</p>
+ * <ul>
+ *     <li>find - lookup of the stored code by value</li>
+ *     <li>exchange - save of the new code and its consumption, as it is done by /authorize and /token, the store size does not change</li>
+ * </ul>
+ * <p>
+ * The stored codes do not expire while the benchmark is running. The consumed codes stay in the expiry wheel until their expiration time,
+ * so the store is filled again before every iteration, otherwise the exchange benchmarks would measure the growing wheel.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class InMemoryAuthorizationCodeStoreBenchmark {
+    private static final Duration CODE_TIME_TO_LIVE = Duration.ofHours(1);
+
+    @Param({"1000", "100000", "1000000"})
+    public int storeSize;
+
+    private InMemoryAuthorizationCodeStore store;
+    private AuthorizationCode[] storedCodes;
+    private String[] storedValues;
+
+    @Setup
+    public void setUp() {
+        store = new InMemoryAuthorizationCodeStore();
+        storedCodes = new AuthorizationCode[storeSize];
+        storedValues = new String[storeSize];
+        TokenValueGenerator generator = TokenValueGenerators.getDefault();
+        Oauth2User user = BenchmarkFixtures.user("1", null);
+        for (int i = 0; i < storeSize; i++) {
+            storedCodes[i] = createCode(generator.generate(AuthorizationCodeGenerator.DEFAULT_CODE_LENGTH), user);
+            storedValues[i] = storedCodes[i].getCodeValue();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void fillStore() {
+        store.deleteALl();
+        for (AuthorizationCode code : storedCodes) {
+            store.save(code.getCodeValue(), code);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthorizationCode find(BenchmarkCursor cursor) {
+        return store.findByAuthorizationCodeValue(storedValues[cursor.next(storedValues.length)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AuthorizationCode findContended(BenchmarkCursor cursor) {
+        return store.findByAuthorizationCodeValue(storedValues[cursor.next(storedValues.length)]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthorizationCode exchange(NewCodes codes) {
+        AuthorizationCode code = codes.next();
+        store.save(code.getCodeValue(), code);
+        return store.consume(code.getCodeValue());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AuthorizationCode exchangeContended(NewCodes codes) {
+        AuthorizationCode code = codes.next();
+        store.save(code.getCodeValue(), code);
+        return store.consume(code.getCodeValue());
+    }
+
+    private static AuthorizationCode createCode(String value, Oauth2User user) {
+        Instant now = Instant.now();
+        return AuthorizationCode.builder()
+                .codeValue(value)
+                .issuedAt(now)
+                .expiresIn(now.plus(CODE_TIME_TO_LIVE))
+                .user(user)
+                .scopes(BenchmarkFixtures.SCOPES)
+                .build();
+    }
+
+    /**
+     * Codes that are not in the store, the code is removed by consume, so the codes are reused in the next rounds
+     */
+    @State(Scope.Thread)
+    public static class NewCodes {
+        private static final int SIZE = 1024;
+        private final AuthorizationCode[] codes = new AuthorizationCode[SIZE];
+        private int position;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            TokenValueGenerator generator = TokenValueGenerators.getDefault();
+            Oauth2User user = BenchmarkFixtures.user("2", null);
+            for (int i = 0; i < SIZE; i++) {
+                codes[i] = createCode(generator.generate(AuthorizationCodeGenerator.DEFAULT_CODE_LENGTH), user);
+            }
+        }
+
+        AuthorizationCode next() {
+            position = (position + 1) & (SIZE - 1);
+            return codes[position];
+        }
+    }
+}
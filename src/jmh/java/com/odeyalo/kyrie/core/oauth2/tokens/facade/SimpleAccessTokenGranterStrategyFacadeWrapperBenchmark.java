@@ -0,0 +1,175 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.facade;
+
+import com.odeyalo.kyrie.BenchmarkFixtures;
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.authentication.InMemoryOauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.authorization.AuthorizationGrantType;
+import com.odeyalo.kyrie.core.oauth2.client.ClientSecretVerificationCache;
+import com.odeyalo.kyrie.core.oauth2.client.DefaultClientCredentialsValidator;
+import com.odeyalo.kyrie.core.oauth2.client.InMemoryOauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import com.odeyalo.kyrie.core.oauth2.tokens.AuthorizationCodeExchangeAccessTokenGranterStrategy;
+import com.odeyalo.kyrie.core.oauth2.tokens.DefaultAccessTokenGranterStrategyFactory;
+import com.odeyalo.kyrie.core.oauth2.tokens.DefaultAuthorizationCodeFlowAccessTokenReturner;
+import com.odeyalo.kyrie.core.oauth2.tokens.PasswordFlowAccessTokenGranterStrategy;
+import com.odeyalo.kyrie.core.oauth2.tokens.TokenRequest;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.AuthorizationCode;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.AuthorizationCodeGeneratorImpl;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.AuthorizationCodeManager;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.DefaultStoringAuthorizationCodeManager;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.InMemoryAuthorizationCodeStore;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.provider.DefaultStoringAuthorizationCodeProvider;
+import com.odeyalo.kyrie.core.oauth2.tokens.customizer.Oauth2TokenCustomizerProcessorContainer;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.DefaultJwtOauth2AccessTokenGenerator;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.DefaultSecretWordJwtTokenProvider;
+import com.odeyalo.kyrie.dto.Oauth2AccessTokenResponse;
+import com.odeyalo.kyrie.support.crypto.KyriePasswordEncoders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks of the /token request processing with {@link SimpleAccessTokenGranterStrategyFacadeWrapper#getResponse(TokenRequest)}.</p>
+ * <ul>
+ *     <li>
+ *         authorizationCode - exchange of the authorization code, the client secret is stored as BCrypt hash.
+ *         If 'verificationCache' is false, then every exchange verifies the secret with BCrypt.
+ *         The code is generated and saved by the benchmark as well, its cost is measured separately by 'generateCode'
+ *     </li>
+ *     <li>password - password grant of the user with plain text password</li>
+ * </ul>
+ * <p>The consumed codes stay in the expiry wheel of the store until they expire, so the benchmark runs with larger heap.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SimpleAccessTokenGranterStrategyFacadeWrapperBenchmark {
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"true", "false"})
+    public boolean verificationCache;
+
+    private AccessTokenGranterStrategyFacadeWrapper facade;
+    private InMemoryAuthorizationCodeStore codeStore;
+    private AuthorizationCodeManager codeManager;
+    private Oauth2Client client;
+    private Oauth2User user;
+    private TokenRequest passwordRequest;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = KyriePasswordEncoders.createDelegatingPasswordEncoder();
+        client = BenchmarkFixtures.client(passwordEncoder.encode(BenchmarkFixtures.CLIENT_SECRET));
+        user = BenchmarkFixtures.user("1", "{noop}" + PASSWORD);
+
+        DefaultSecretWordJwtTokenProvider jwtTokenProvider = new DefaultSecretWordJwtTokenProvider(BenchmarkFixtures.SECRET_WORD);
+        DefaultJwtOauth2AccessTokenGenerator accessTokenGenerator = new DefaultJwtOauth2AccessTokenGenerator(jwtTokenProvider);
+        DefaultClientCredentialsValidator validator = new DefaultClientCredentialsValidator(new InMemoryOauth2ClientRepository(client),
+                passwordEncoder, verificationCache ? new ClientSecretVerificationCache() : null);
+        codeStore = new InMemoryAuthorizationCodeStore();
+        codeStore.start();
+        codeManager = new DefaultStoringAuthorizationCodeManager(
+                new DefaultStoringAuthorizationCodeProvider(new AuthorizationCodeGeneratorImpl(), codeStore), codeStore);
+
+        AuthorizationCodeExchangeAccessTokenGranterStrategy authorizationCodeGranter = new AuthorizationCodeExchangeAccessTokenGranterStrategy(
+                new DefaultAuthorizationCodeFlowAccessTokenReturner(validator, codeManager, accessTokenGenerator));
+        PasswordFlowAccessTokenGranterStrategy passwordGranter = new PasswordFlowAccessTokenGranterStrategy(accessTokenGenerator,
+                new InMemoryOauth2UserAuthenticationService(Collections.singletonList(user)));
+        facade = new SimpleAccessTokenGranterStrategyFacadeWrapper(
+                new DefaultAccessTokenGranterStrategyFactory(Arrays.asList(authorizationCodeGranter, passwordGranter)),
+                new Oauth2TokenCustomizerProcessorContainer());
+
+        Map<String, String> passwordParameters = new HashMap<>();
+        passwordParameters.put("grant_type", AuthorizationGrantType.PASSWORD.getGrantName());
+        passwordParameters.put("username", user.getUsername());
+        passwordParameters.put("password", PASSWORD);
+        passwordRequest = new TokenRequest(BenchmarkFixtures.CLIENT_ID, AuthorizationGrantType.PASSWORD, BenchmarkFixtures.SCOPES, passwordParameters);
+    }
+
+    @TearDown
+    public void tearDown() {
+        codeStore.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Oauth2AccessTokenResponse authorizationCode(AuthenticatedClient authenticatedClient) {
+        return facade.getResponse(authorizationCodeRequest());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Oauth2AccessTokenResponse authorizationCodeContended(AuthenticatedClient authenticatedClient) {
+        return facade.getResponse(authorizationCodeRequest());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthorizationCode generateCode() {
+        AuthorizationCode code = codeManager.generateAuthorizationCode(BenchmarkFixtures.CLIENT_ID, user, BenchmarkFixtures.SCOPES);
+        // The code is removed, so the store does not grow
+        codeStore.consume(code.getCodeValue());
+        return code;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Oauth2AccessTokenResponse password() {
+        return facade.getResponse(passwordRequest);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Oauth2AccessTokenResponse passwordContended() {
+        return facade.getResponse(passwordRequest);
+    }
+
+    private TokenRequest authorizationCodeRequest() {
+        AuthorizationCode code = codeManager.generateAuthorizationCode(BenchmarkFixtures.CLIENT_ID, user, BenchmarkFixtures.SCOPES);
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("grant_type", AuthorizationGrantType.AUTHORIZATION_CODE.getGrantName());
+        parameters.put("code", code.getCodeValue());
+        return new TokenRequest(BenchmarkFixtures.CLIENT_ID, AuthorizationGrantType.AUTHORIZATION_CODE, BenchmarkFixtures.SCOPES, parameters);
+    }
+
+    /**
+     * Client authentication that is set by Oauth2ClientValidationFilter in the application, the security context is bound to the thread
+     */
+    @State(Scope.Thread)
+    public static class AuthenticatedClient {
+
+        @Setup
+        public void setUp(SimpleAccessTokenGranterStrategyFacadeWrapperBenchmark benchmark) {
+            Oauth2Client client = benchmark.client;
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(client, BenchmarkFixtures.CLIENT_SECRET, client.getAuthorities()));
+        }
+
+        @TearDown
+        public void tearDown() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt;
+
+import com.odeyalo.kyrie.BenchmarkFixtures;
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.oauth2.tokens.TokenMetadata;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks of the jwt token signing and verification with {@link DefaultSecretWordJwtTokenProvider}.</p>
+ * <p>
+ * Generate benchmarks report the size of the token in 'tokenBytes' and 'tokens' counters,
+ * the size of one token is 'tokenBytes' / 'tokens', allocation per token is reported by gc profiler.
+ * </p>
+ * <p>
+ * JwtBuilder benchmarks are the baseline: they sign the same claims the way the provider did before {@link HmacJwtTokenEncoder},
+ * with {@code Jwts.builder()...compact()} and the Base64 secret word decoded on every call.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefaultSecretWordJwtTokenProviderBenchmark {
+    private DefaultSecretWordJwtTokenProvider provider;
+    private Oauth2User user;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new DefaultSecretWordJwtTokenProvider(BenchmarkFixtures.SECRET_WORD);
+        user = BenchmarkFixtures.user("1", null);
+        claims = Collections.singletonMap(Oauth2AccessTokenGenerator.SCOPE, String.join(" ", BenchmarkFixtures.SCOPES));
+        token = provider.generateJwtToken(user, claims).getToken();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TokenMetadata generate(TokenSize size) {
+        return record(provider.generateJwtToken(user, claims), size);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public TokenMetadata generateContended(TokenSize size) {
+        return record(provider.generateJwtToken(user, claims), size);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TokenMetadata jwtBuilder(TokenSize size) {
+        return record(generateWithJwtBuilder(), size);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public TokenMetadata jwtBuilderContended(TokenSize size) {
+        return record(generateWithJwtBuilder(), size);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public JwtTokenVerificationResult verify() {
+        return provider.verifyToken(token);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public JwtTokenVerificationResult verifyContended() {
+        return provider.verifyToken(token);
+    }
+
+    private TokenMetadata generateWithJwtBuilder() {
+        Map<String, Object> copiedClaims = new HashMap<>(claims);
+        copiedClaims.putIfAbsent(Claims.SUBJECT, user.getId());
+        long issuedAt = System.currentTimeMillis() / 1000L;
+        copiedClaims.putIfAbsent(Claims.ISSUED_AT, issuedAt);
+        Date exp = new Date(System.currentTimeMillis() + AbstractJwtTokenProvider.JWT_TOKEN_EXPIRATION_TIME_SECONDS * 1000L);
+        String jwt = Jwts.builder()
+                .signWith(SignatureAlgorithm.HS256, BenchmarkFixtures.SECRET_WORD)
+                .setExpiration(exp)
+                .addClaims(copiedClaims)
+                .compact();
+        return new TokenMetadata(true, jwt, issuedAt, exp.getTime() / 1000, copiedClaims);
+    }
+
+    private static TokenMetadata record(TokenMetadata metadata, TokenSize size) {
+        // The token is ASCII, so the length is the size in bytes
+        size.tokenBytes += metadata.getToken().length();
+        size.tokens++;
+        return metadata;
+    }
+
+    /**
+     * Counts the generated tokens and their total size in bytes
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TokenSize {
+        public long tokenBytes;
+        public long tokens;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            tokenBytes = 0;
+            tokens = 0;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.refresh;
+
+import com.odeyalo.kyrie.BenchmarkFixtures;
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.oauth2.RefreshToken;
+import com.odeyalo.kyrie.support.ClientId;
+import com.odeyalo.kyrie.support.token.TokenValueGenerators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks of {@link OpaqueRefreshTokenProvider} backed by {@link InMemoryRefreshTokenRepository}.</p>
+ * <ul>
+ *     <li>generate - generation and save of the new token</li>
+ *     <li>rotate - exchange of the current token of the thread to the next token of the same family</li>
+ *     <li>find - lookup of the current token of the thread by value</li>
+ * </ul>
+ * <p>The generated and rotated tokens are kept until they expire, so the repository is created again before every iteration.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class OpaqueRefreshTokenProviderBenchmark {
+    private InMemoryRefreshTokenRepository repository;
+    private OpaqueRefreshTokenProvider provider;
+    private ClientId clientId;
+    private Oauth2User user;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        repository = new InMemoryRefreshTokenRepository();
+        provider = new OpaqueRefreshTokenProvider(repository, TokenValueGenerators.getDefault(), OpaqueRefreshTokenProvider.DEFAULT_EXPIRE_TIME_SECONDS);
+        clientId = ClientId.wrap(BenchmarkFixtures.CLIENT_ID);
+        user = BenchmarkFixtures.user("1", null);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        repository.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public RefreshToken generate() {
+        return provider.generateToken(clientId, user, BenchmarkFixtures.SCOPES);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public RefreshToken generateContended() {
+        return provider.generateToken(clientId, user, BenchmarkFixtures.SCOPES);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public RefreshToken rotate(TokenChain chain) {
+        return chain.rotate(provider);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public RefreshToken rotateContended(TokenChain chain) {
+        return chain.rotate(provider);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public RefreshToken find(TokenChain chain) {
+        return provider.getTokenByValue(chain.current);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public RefreshToken findContended(TokenChain chain) {
+        return provider.getTokenByValue(chain.current);
+    }
+
+    /**
+     * The current token of the thread, every thread has its own token family
+     */
+    @State(Scope.Thread)
+    public static class TokenChain {
+        private String current;
+
+        @Setup(Level.Iteration)
+        public void setUp(OpaqueRefreshTokenProviderBenchmark benchmark) {
+            current = benchmark.provider.generateToken(benchmark.clientId, benchmark.user, BenchmarkFixtures.SCOPES).getTokenValue();
+        }
+
+        RefreshToken rotate(OpaqueRefreshTokenProvider provider) {
+            RefreshToken next = provider.rotateToken(current);
+            current = next.getTokenValue();
+            return next;
+        }
+    }
+}
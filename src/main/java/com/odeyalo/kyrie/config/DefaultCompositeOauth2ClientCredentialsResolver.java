@@ -12,11 +12,21 @@ import java.util.List;
  * <p>
  *     Note: ONLY first matching {@link Oauth2ClientCredentialsResolverHelper} will be used, other implementations will be ignored.
  * </p>
+ * <p>
+ *     Credentials are resolved only once per request, the result (including null) is saved as request attribute
+ *     and returned to all subsequent callers, e.g. filters and request scoped beans.
+ * </p>
  *
  * @see Oauth2ClientCredentialsResolverHelper
  * @see Oauth2ClientCredentialsResolver
  */
 public class DefaultCompositeOauth2ClientCredentialsResolver implements Oauth2ClientCredentialsResolver {
+    /**
+     * Name of the request attribute that contains resolved credentials
+     */
+    public static final String RESOLVED_CREDENTIALS_ATTRIBUTE_NAME = DefaultCompositeOauth2ClientCredentialsResolver.class.getName() + ".RESOLVED_CREDENTIALS";
+    // Saved as attribute value if request does not contain credentials, since null attribute value means 'not resolved yet'
+    private static final Object NO_CREDENTIALS = new Object();
     private final List<Oauth2ClientCredentialsResolverHelper> resolvers;
 
     public DefaultCompositeOauth2ClientCredentialsResolver(List<Oauth2ClientCredentialsResolverHelper> resolvers) {
@@ -25,11 +35,21 @@ public class DefaultCompositeOauth2ClientCredentialsResolver implements Oauth2Cl
 
     @Override
     public Oauth2ClientCredentials resolveCredentials(HttpServletRequest request, boolean requireClientSecret) {
-        return resolvers
-                .stream()
-                .filter(resolver -> resolver.canBeResolved(request))
-                .findFirst()
-                .map(resolver -> resolver.resolveCredentials(request))
-                .orElse(null);
+        Object resolved = request.getAttribute(RESOLVED_CREDENTIALS_ATTRIBUTE_NAME);
+        if (resolved != null) {
+            return resolved == NO_CREDENTIALS ? null : (Oauth2ClientCredentials) resolved;
+        }
+        Oauth2ClientCredentials credentials = doResolveCredentials(request);
+        request.setAttribute(RESOLVED_CREDENTIALS_ATTRIBUTE_NAME, credentials != null ? credentials : NO_CREDENTIALS);
+        return credentials;
+    }
+
+    private Oauth2ClientCredentials doResolveCredentials(HttpServletRequest request) {
+        for (Oauth2ClientCredentialsResolverHelper resolver : resolvers) {
+            if (resolver.canBeResolved(request)) {
+                return resolver.resolveCredentials(request);
+            }
+        }
+        return null;
     }
 }
@@ -5,6 +5,9 @@ import com.odeyalo.kyrie.core.oauth2.client.ClientCredentialsValidator;
 import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
 import com.odeyalo.kyrie.core.oauth2.client.Oauth2ClientRepository;
 import com.odeyalo.kyrie.core.support.ValidationResult;
+import com.odeyalo.kyrie.support.jfr.ClientAuthenticationJfrEvent;
+import com.odeyalo.kyrie.support.tracing.RequestPhase;
+import com.odeyalo.kyrie.support.tracing.RequestPhaseTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -32,6 +35,7 @@ import java.io.IOException;
  *     </li>
  * </ul>
  * <p>The filter is using to validate ONLY oauth2 clients using Oauth2 Specification and DOES NOT support other types of clients</p>
+ * <p>Every client authentication is recorded as {@link ClientAuthenticationJfrEvent}</p>
  * @see <a href="https://www.oauth.com/oauth2-servers/access-tokens/client-credentials/">Client credentials</a>
  * @see ClientCredentialsValidator
  * @see OncePerRequestFilter
@@ -52,27 +56,31 @@ public class Oauth2ClientValidationFilter extends OncePerRequestFilter {
     @Override
     public void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws IOException, ServletException {
         this.logger.debug("Invoke Oauth2ClientValidationFilter for request: {}", request.getRequestURL());
+        ClientAuthenticationJfrEvent event = new ClientAuthenticationJfrEvent();
+        event.begin();
+        try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.CLIENT_VALIDATION)) {
+            authenticateClient(request, event);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticateClient(HttpServletRequest request, ClientAuthenticationJfrEvent event) {
         Oauth2ClientCredentials clientCredentials = clientCredentialsResolverHelper.resolveCredentials(request, false);
         // If credentials are null then filter check is failed and other checks are useless
         if (clientCredentials == null) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-        Oauth2Client client = oauth2ClientRepository.findOauth2ClientById(clientCredentials.getClientId());
-
-        if (client == null || (client.getClientType() == Oauth2Client.ClientType.CONFIDENTIAL && clientCredentials.getClientSecret() == null)) {
-            filterChain.doFilter(request, response);
+            event.complete(null, ClientAuthenticationJfrEvent.SKIPPED);
             return;
         }
-
+        // Unknown clients and missing secrets are rejected by the validator too, so the response time does not reveal whether the client exists
         ValidationResult validationResult = clientCredentialsValidator.validateCredentials(clientCredentials);
+        Oauth2Client client = validationResult.isSuccess() ? oauth2ClientRepository.findOauth2ClientById(clientCredentials.getClientId()) : null;
 
-        if (validationResult.isSuccess()) {
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(client, client.getPassword(), client.getAuthorities());
+        if (client != null) {
+            // Presented secret is used as credentials, since the stored one can be hashed
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(client, clientCredentials.getClientSecret(), client.getAuthorities());
             SecurityContextHolder.getContext().setAuthentication(authentication);
             this.logger.debug("Set authentication: {}", authentication);
         }
-
-        filterChain.doFilter(request, response);
+        event.complete(clientCredentials.getClientId(), client != null ? ClientAuthenticationJfrEvent.AUTHENTICATED : ClientAuthenticationJfrEvent.REJECTED);
     }
 }
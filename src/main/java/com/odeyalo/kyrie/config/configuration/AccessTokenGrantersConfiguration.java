@@ -2,15 +2,20 @@ package com.odeyalo.kyrie.config.configuration;
 
 import com.odeyalo.kyrie.core.authentication.EventPublisherOauth2UserAuthenticationServiceDecorator;
 import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.authentication.UserAuthenticationExecutor;
+import com.odeyalo.kyrie.core.authentication.throttling.AuthenticationAttemptThrottler;
 import com.odeyalo.kyrie.core.events.KyrieEventPublisher;
 import com.odeyalo.kyrie.core.oauth2.tokens.AccessTokenGranterStrategyFactory;
 import com.odeyalo.kyrie.core.oauth2.tokens.AuthorizationCodeExchangeAccessTokenGranterStrategy;
 import com.odeyalo.kyrie.core.oauth2.tokens.AuthorizationCodeFlowAccessTokenReturner;
 import com.odeyalo.kyrie.core.oauth2.tokens.PasswordFlowAccessTokenGranterStrategy;
+import com.odeyalo.kyrie.core.oauth2.tokens.RefreshTokenAccessTokenGranterStrategy;
 import com.odeyalo.kyrie.core.oauth2.tokens.customizer.Oauth2TokenCustomizerProcessorRegistry;
 import com.odeyalo.kyrie.core.oauth2.tokens.facade.AccessTokenGranterStrategyFacadeWrapper;
 import com.odeyalo.kyrie.core.oauth2.tokens.facade.SimpleAccessTokenGranterStrategyFacadeWrapper;
 import com.odeyalo.kyrie.core.oauth2.tokens.jwt.Oauth2AccessTokenGenerator;
+import com.odeyalo.kyrie.core.oauth2.tokens.refresh.RefreshTokenProvider;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -29,8 +34,9 @@ public class AccessTokenGrantersConfiguration {
     @Primary
     @DependsOn("oauth2UserAuthenticationService")
     public EventPublisherOauth2UserAuthenticationServiceDecorator eventPublisherOauth2UserAuthenticationServiceDecorator(Oauth2UserAuthenticationService authenticationService,
-                                                                                                                         KyrieEventPublisher publisher) {
-        return new EventPublisherOauth2UserAuthenticationServiceDecorator(authenticationService, publisher);
+                                                                                                                         KyrieEventPublisher publisher,
+                                                                                                                         UserAuthenticationExecutor executor) {
+        return new EventPublisherOauth2UserAuthenticationServiceDecorator(authenticationService, publisher, executor.getExecutorService());
     }
 
     @Bean
@@ -42,7 +48,15 @@ public class AccessTokenGrantersConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public PasswordFlowAccessTokenGranterStrategy passwordFlowAccessTokenGranterStrategy(Oauth2AccessTokenGenerator generator,
-                                                                                         Oauth2UserAuthenticationService authenticationService) {
-        return new PasswordFlowAccessTokenGranterStrategy(generator, authenticationService);
+                                                                                         Oauth2UserAuthenticationService authenticationService,
+                                                                                         ObjectProvider<AuthenticationAttemptThrottler> throttler) {
+        return new PasswordFlowAccessTokenGranterStrategy(generator, authenticationService, throttler.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RefreshTokenAccessTokenGranterStrategy refreshTokenAccessTokenGranterStrategy(Oauth2AccessTokenGenerator generator,
+                                                                                         RefreshTokenProvider refreshTokenProvider) {
+        return new RefreshTokenAccessTokenGranterStrategy(generator, refreshTokenProvider);
     }
 }
@@ -0,0 +1,68 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.core.events.audit.AuditJournal;
+import com.odeyalo.kyrie.core.events.audit.AuditJournalKyrieEventListener;
+import com.odeyalo.kyrie.core.events.audit.AuditJournalReader;
+import com.odeyalo.kyrie.core.events.audit.DefaultKyrieEventAuditRecordConverter;
+import com.odeyalo.kyrie.core.events.audit.KyrieEventAuditRecordConverter;
+import com.odeyalo.kyrie.core.events.audit.MappedSegmentAuditJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.Assert;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configuration of the audit journal that writes every Kyrie event to the segment files.
+ * Disabled by default, can be enabled using 'kyrie.oauth2.audit.journal.enabled=true'
+ *
+ * @see MappedSegmentAuditJournal
+ */
+@ConditionalOnProperty(name = "kyrie.oauth2.audit.journal.enabled", havingValue = "true")
+public class AuditJournalConfiguration {
+    /**
+     * Max size of the segment, the segment is mapped to the memory as single buffer that is limited by int size
+     */
+    public static final int MAX_SEGMENT_SIZE_MB = Integer.MAX_VALUE / (1024 * 1024);
+    private static final int BYTES_IN_MEGABYTE = 1024 * 1024;
+    private final Path directory;
+
+    public AuditJournalConfiguration(@Value("${kyrie.oauth2.audit.journal.directory:kyrie-audit}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditJournal auditJournal(@Value("${kyrie.oauth2.audit.journal.segment-size-mb:64}") int segmentSizeMb,
+                                     @Value("${kyrie.oauth2.audit.journal.flush-interval-millis:1000}") long flushIntervalMillis,
+                                     @Value("${kyrie.oauth2.audit.journal.retention.max-segments:" + MappedSegmentAuditJournal.DEFAULT_MAX_SEGMENTS + "}") int maxSegments,
+                                     @Value("${kyrie.oauth2.audit.journal.retention.max-age-days:30}") long maxAgeDays) {
+        Assert.isTrue(segmentSizeMb > 0 && segmentSizeMb <= MAX_SEGMENT_SIZE_MB,
+                "Segment size must be between 1 and " + MAX_SEGMENT_SIZE_MB + " MB, but was: " + segmentSizeMb);
+        return new MappedSegmentAuditJournal(directory, segmentSizeMb * BYTES_IN_MEGABYTE, Duration.ofMillis(flushIntervalMillis),
+                maxSegments, Duration.ofDays(maxAgeDays), Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditJournalReader auditJournalReader() {
+        return new AuditJournalReader(directory);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KyrieEventAuditRecordConverter kyrieEventAuditRecordConverter() {
+        return new DefaultKyrieEventAuditRecordConverter();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditJournalKyrieEventListener auditJournalKyrieEventListener(AuditJournal journal, KyrieEventAuditRecordConverter converter) {
+        return new AuditJournalKyrieEventListener(journal, converter);
+    }
+}
@@ -0,0 +1,47 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.core.authentication.throttling.AuthenticationAttemptThrottler;
+import com.odeyalo.kyrie.core.events.listener.domain.ThrottlingUserLoginAuthenticationFailureBadCredentialsKyrieEventListener;
+import com.odeyalo.kyrie.core.events.listener.domain.ThrottlingUserLoginAuthenticationGrantedKyrieEventListener;
+import com.odeyalo.kyrie.support.throttling.SlidingWindowCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configuration of the user login throttling, used by '/login' endpoint and password grant.
+ * Enabled by default, can be disabled using 'kyrie.oauth2.login.throttling.enabled=false'
+ *
+ * @see AuthenticationAttemptThrottler
+ */
+@ConditionalOnProperty(name = "kyrie.oauth2.login.throttling.enabled", havingValue = "true", matchIfMissing = true)
+public class AuthenticationThrottlingConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthenticationAttemptThrottler authenticationAttemptThrottler(@Value("${kyrie.oauth2.login.throttling.max-username-failures:" + AuthenticationAttemptThrottler.DEFAULT_MAX_USERNAME_FAILURES + "}") int maxUsernameFailures,
+                                                                         @Value("${kyrie.oauth2.login.throttling.max-address-failures:" + AuthenticationAttemptThrottler.DEFAULT_MAX_ADDRESS_FAILURES + "}") int maxAddressFailures,
+                                                                         @Value("${kyrie.oauth2.login.throttling.window-seconds:60}") long windowSeconds,
+                                                                         @Value("${kyrie.oauth2.login.throttling.capacity:" + SlidingWindowCounter.DEFAULT_CAPACITY + "}") int capacity) {
+        Duration window = Duration.ofSeconds(windowSeconds);
+        return new AuthenticationAttemptThrottler(
+                new SlidingWindowCounter(window, capacity, Clock.systemUTC()), maxUsernameFailures,
+                new SlidingWindowCounter(window, capacity, Clock.systemUTC()), maxAddressFailures);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ThrottlingUserLoginAuthenticationFailureBadCredentialsKyrieEventListener throttlingUserLoginAuthenticationFailureBadCredentialsKyrieEventListener(AuthenticationAttemptThrottler throttler) {
+        return new ThrottlingUserLoginAuthenticationFailureBadCredentialsKyrieEventListener(throttler);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ThrottlingUserLoginAuthenticationGrantedKyrieEventListener throttlingUserLoginAuthenticationGrantedKyrieEventListener(AuthenticationAttemptThrottler throttler) {
+        return new ThrottlingUserLoginAuthenticationGrantedKyrieEventListener(throttler);
+    }
+}
@@ -0,0 +1,55 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.config.KyrieOauth2Configurer;
+import com.odeyalo.kyrie.config.KyrieOauth2ConfigurerComposite;
+import com.odeyalo.kyrie.config.configurers.Oauth2ServerEndpointsConfigurer;
+import com.odeyalo.kyrie.config.support.ConcurrencyLimitingFilter;
+import com.odeyalo.kyrie.support.limit.AdaptiveConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+
+/**
+ * Configuration of the adaptive concurrency limits of token, token info and login endpoints.
+ * Enabled by default, can be disabled using 'kyrie.oauth2.concurrency-limit.enabled=false'
+ *
+ * @see ConcurrencyLimitingFilter
+ * @see AdaptiveConcurrencyLimiter
+ */
+@ConditionalOnProperty(name = "kyrie.oauth2.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration {
+    private final KyrieOauth2ConfigurerComposite configurer = new KyrieOauth2ConfigurerComposite();
+
+    @Autowired(required = false)
+    public void setConfigurers(List<KyrieOauth2Configurer> configurers) {
+        this.configurer.addAll(configurers);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ConcurrencyLimitingFilter concurrencyLimitingFilter(@Value("${kyrie.oauth2.concurrency-limit.initial-limit:" + AdaptiveConcurrencyLimiter.DEFAULT_INITIAL_LIMIT + "}") int initialLimit,
+                                                               @Value("${kyrie.oauth2.concurrency-limit.min-limit:" + AdaptiveConcurrencyLimiter.DEFAULT_MIN_LIMIT + "}") int minLimit,
+                                                               @Value("${kyrie.oauth2.concurrency-limit.max-limit:" + AdaptiveConcurrencyLimiter.DEFAULT_MAX_LIMIT + "}") int maxLimit,
+                                                               @Value("${kyrie.oauth2.concurrency-limit.min-retry-after-seconds:1}") int minRetryAfterSeconds) {
+        Oauth2ServerEndpointsConfigurer endpointsConfigurer = new Oauth2ServerEndpointsConfigurer();
+        configurer.configureEndpoints(endpointsConfigurer);
+        return new ConcurrencyLimitingFilter(endpointsConfigurer.buildOauth2ServerEndpointsInfo(),
+                name -> new AdaptiveConcurrencyLimiter(name, initialLimit, minLimit, maxLimit), minRetryAfterSeconds);
+    }
+
+    /**
+     * Register the filter before Spring Security filter chain, so rejected requests are not authenticated at all
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitingFilter> concurrencyLimitingFilterRegistrationBean(ConcurrencyLimitingFilter filter) {
+        FilterRegistrationBean<ConcurrencyLimitingFilter> registrationBean = new FilterRegistrationBean<>(filter);
+        registrationBean.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registrationBean;
+    }
+}
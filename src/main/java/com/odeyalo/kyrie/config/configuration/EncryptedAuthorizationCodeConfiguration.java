@@ -0,0 +1,54 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.core.oauth2.tokens.code.AuthorizationCodeManager;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted.AuthorizationCodeReplayGuard;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted.EncryptedAuthorizationCodeCodec;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted.EncryptedAuthorizationCodeManager;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted.EncryptedAuthorizationCodeProvider;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted.InMemoryAuthorizationCodeReplayGuard;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.provider.AuthorizationCodeProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.util.Base64;
+
+/**
+ * <p>Configuration that replaces stored authorization codes with self-contained encrypted codes.</p>
+ * <p>The configuration is used only if 'kyrie.tokens.code.encrypted.enabled' property is true.
+ * All instances must use the same 'kyrie.tokens.code.encrypted.key', then the code issued by one instance can be exchanged on any other.</p>
+ *
+ * @see EncryptedAuthorizationCodeManager
+ */
+@ConditionalOnProperty(name = "kyrie.tokens.code.encrypted.enabled", havingValue = "true")
+public class EncryptedAuthorizationCodeConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EncryptedAuthorizationCodeCodec encryptedAuthorizationCodeCodec(@Value("${kyrie.tokens.code.encrypted.key}") String key) {
+        return new EncryptedAuthorizationCodeCodec(Base64.getDecoder().decode(key));
+    }
+
+    @Bean(initMethod = "start")
+    @ConditionalOnMissingBean
+    public AuthorizationCodeReplayGuard authorizationCodeReplayGuard() {
+        return new InMemoryAuthorizationCodeReplayGuard();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthorizationCodeProvider encryptedAuthorizationCodeProvider(EncryptedAuthorizationCodeCodec codec,
+                                                                        @Value("${kyrie.tokens.code.encrypted.expire-time-seconds:60}") long expireTimeSeconds) {
+        return new EncryptedAuthorizationCodeProvider(codec, expireTimeSeconds);
+    }
+
+    @Bean
+    @Primary
+    public AuthorizationCodeManager encryptedAuthorizationCodeManager(AuthorizationCodeProvider authorizationCodeProvider,
+                                                                      EncryptedAuthorizationCodeCodec codec,
+                                                                      AuthorizationCodeReplayGuard replayGuard) {
+        return new EncryptedAuthorizationCodeManager(authorizationCodeProvider, codec, replayGuard);
+    }
+}
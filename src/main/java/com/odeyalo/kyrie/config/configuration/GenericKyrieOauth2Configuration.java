@@ -3,47 +3,105 @@ package com.odeyalo.kyrie.config.configuration;
 import com.odeyalo.kyrie.core.Oauth2User;
 import com.odeyalo.kyrie.core.authentication.InMemoryOauth2UserAuthenticationService;
 import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationService;
-import com.odeyalo.kyrie.core.oauth2.client.InMemoryOauth2ClientRepository;
+import com.odeyalo.kyrie.core.authentication.UserAuthenticationExecutor;
+import com.odeyalo.kyrie.core.authentication.UserPasswordVerificationCache;
 import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
 import com.odeyalo.kyrie.core.oauth2.client.Oauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.ShardedInMemoryOauth2ClientRepository;
 import com.odeyalo.kyrie.core.support.web.HttpSessionTemporaryRequestAttributesRepository;
 import com.odeyalo.kyrie.core.support.web.TemporaryRequestAttributesRepository;
+import com.odeyalo.kyrie.support.token.SecureRandomTokenValueGenerator;
+import com.odeyalo.kyrie.support.token.TokenAlphabet;
+import com.odeyalo.kyrie.support.token.TokenValueGenerator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
 public class GenericKyrieOauth2Configuration {
 
     /**
-     * Registry the InMemoryOauth2ClientRepository bean with 'oauth2ClientRepository' name.
+     * Registry the ShardedInMemoryOauth2ClientRepository bean with 'oauth2ClientRepository' name.
      * Search for list of Oauth2Client that is optional. If nothing was found,
-     * then InMemoryOauth2ClientRepository without any clients will be created
+     * then ShardedInMemoryOauth2ClientRepository without any clients will be created.
+     * The clients can be registered at runtime using client admin API
      * @param clients - optional clients to registry in repository
      * @return - default Oauth2ClientRepository implementation bean
      * @see Oauth2ClientRepository
-     * @see InMemoryOauth2ClientRepository
+     * @see ShardedInMemoryOauth2ClientRepository
      */
     @Bean
     @ConditionalOnMissingBean
     @Autowired(required = false)
     public Oauth2ClientRepository oauth2ClientRepository(List<Oauth2Client> clients) {
-        return new InMemoryOauth2ClientRepository(clients);
+        return new ShardedInMemoryOauth2ClientRepository(clients);
     }
 
+    /**
+     * Registry the InMemoryOauth2UserAuthenticationService that indexes the users by username and verifies passwords with PasswordEncoder.
+     * The method is not annotated with Autowired, otherwise Spring calls it while the configuration is created
+     * and the PasswordEncoder leads back to this configuration through Oauth2ClientRepository.
+     * @param users - optional users to registry, passwords can be encoded, e.g. '{bcrypt}$2a$10$...', or plain text
+     * @param passwordEncoder - encoder to verify the passwords
+     * @param verificationCache - optional cache of the successful verifications
+     * @return - default Oauth2UserAuthenticationService implementation bean
+     */
     @Bean
     @ConditionalOnMissingBean
-    @Autowired(required = false)
-    public Oauth2UserAuthenticationService oauth2UserAuthenticationService(List<Oauth2User> users) {
-        return new InMemoryOauth2UserAuthenticationService(users);
+    public Oauth2UserAuthenticationService oauth2UserAuthenticationService(ObjectProvider<List<Oauth2User>> users,
+                                                                           PasswordEncoder passwordEncoder,
+                                                                           ObjectProvider<UserPasswordVerificationCache> verificationCache) {
+        return new InMemoryOauth2UserAuthenticationService(users.getIfAvailable(Collections::emptyList), passwordEncoder, verificationCache.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "kyrie.oauth2.user.password.verification-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public UserPasswordVerificationCache userPasswordVerificationCache(@Value("${kyrie.oauth2.user.password.verification-cache.max-size:10000}") int maxSize,
+                                                                       @Value("${kyrie.oauth2.user.password.verification-cache.ttl-seconds:60}") long ttlSeconds) {
+        return new UserPasswordVerificationCache(maxSize, Duration.ofSeconds(ttlSeconds));
     }
 
+    /**
+     * Executor to run the blocking user store off the servlet thread, by default virtual threads are used if JVM supports them
+     * @param mode - one of {@link UserAuthenticationExecutor.Mode}
+     * @param platformThreads - max number of threads if platform threads are used
+     * @param platformQueueCapacity - max number of authentications that wait for the platform thread, the others are rejected
+     * @return - UserAuthenticationExecutor bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public UserAuthenticationExecutor userAuthenticationExecutor(@Value("${kyrie.oauth2.user.authentication.execution-mode:AUTO}") UserAuthenticationExecutor.Mode mode,
+                                                                 @Value("${kyrie.oauth2.user.authentication.platform-threads:" + UserAuthenticationExecutor.DEFAULT_PLATFORM_THREADS + "}") int platformThreads,
+                                                                 @Value("${kyrie.oauth2.user.authentication.platform-queue-capacity:" + UserAuthenticationExecutor.DEFAULT_PLATFORM_QUEUE_CAPACITY + "}") int platformQueueCapacity) {
+        return UserAuthenticationExecutor.create(mode, platformThreads, platformQueueCapacity);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TemporaryRequestAttributesRepository temporaryRequestAttributesRepository(TokenValueGenerator tokenValueGenerator) {
+        return new HttpSessionTemporaryRequestAttributesRepository(tokenValueGenerator);
+    }
+
+    /**
+     * Registry the generator that is used to generate authorization codes, refresh tokens and other random values
+     * @param alphabet - characters that can be used in generated values
+     * @param entropyBits - number of random bits in value with default length, e.g. refresh token
+     * @return - SecureRandomTokenValueGenerator bean
+     */
     @Bean
     @ConditionalOnMissingBean
-    public TemporaryRequestAttributesRepository temporaryRequestAttributesRepository() {
-        return new HttpSessionTemporaryRequestAttributesRepository();
+    public TokenValueGenerator tokenValueGenerator(@Value("${kyrie.tokens.random.alphabet:URL_SAFE}") TokenAlphabet alphabet,
+                                                   @Value("${kyrie.tokens.random.entropy-bits:256}") int entropyBits) {
+        return new SecureRandomTokenValueGenerator(alphabet, entropyBits);
     }
 
     @Bean
@@ -0,0 +1,51 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.controllers.JwksController;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys.JwkSetProvider;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys.JwtSigningKeySet;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys.RotatingJwtSigningKeySet;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * <p>Configuration that creates the beans required to sign the tokens with asymmetric keys and publish the public keys as JWK Set.</p>
+ * <p>The configuration is used only if 'kyrie.tokens.jwt.signing.algorithm' property is set to RSA or Elliptic Curve algorithm, e.g. RS256 or ES256.
+ * By default, tokens are signed with HS256 and secret word from 'kyrie.tokens.jwt.secret.key' property.</p>
+ *
+ * @see JwtSigningKeySet
+ * @see JwksController
+ */
+@ConditionalOnExpression("'${kyrie.tokens.jwt.signing.algorithm:HS256}' != 'HS256'")
+public class JwtSigningKeysConfiguration {
+
+    @Bean(initMethod = "start")
+    @ConditionalOnMissingBean
+    public JwtSigningKeySet jwtSigningKeySet(@Value("${kyrie.tokens.jwt.signing.algorithm}") SignatureAlgorithm algorithm,
+                                             @Value("${kyrie.tokens.jwt.signing.rotation-interval-seconds:86400}") long rotationIntervalSeconds,
+                                             @Value("${kyrie.tokens.jwt.signing.max-previous-keys:2}") int maxPreviousKeys) {
+        return new RotatingJwtSigningKeySet(algorithm, Duration.ofSeconds(rotationIntervalSeconds), maxPreviousKeys);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwkSetProvider jwkSetProvider(JwtSigningKeySet keySet) {
+        return new JwkSetProvider(keySet);
+    }
+
+    /**
+     * Create the JwksController. Max age of the JWK Set can't be greater than rotation interval,
+     * otherwise resource servers can miss the key that becomes active after rotation.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public JwksController jwksController(JwkSetProvider jwkSetProvider,
+                                         @Value("${kyrie.tokens.jwt.jwks.max-age-seconds:3600}") long maxAgeSeconds,
+                                         @Value("${kyrie.tokens.jwt.signing.rotation-interval-seconds:86400}") long rotationIntervalSeconds) {
+        return new JwksController(jwkSetProvider, Duration.ofSeconds(Math.min(maxAgeSeconds, rotationIntervalSeconds)));
+    }
+}
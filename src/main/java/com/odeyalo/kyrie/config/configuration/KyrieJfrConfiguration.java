@@ -0,0 +1,53 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.support.jfr.AuthorizationCodeStoreJfrEvent;
+import com.odeyalo.kyrie.support.jfr.ClientAuthenticationJfrEvent;
+import com.odeyalo.kyrie.support.jfr.JwtTokenJfrEvent;
+import com.odeyalo.kyrie.support.jfr.KyrieEventDispatchJfrEvent;
+import com.odeyalo.kyrie.support.jfr.KyrieJfrThresholds;
+import com.odeyalo.kyrie.support.jfr.UserAuthenticationJfrEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Configuration of the thresholds of the Kyrie JDK Flight Recorder events.</p>
+ * <p>
+ * The events are emitted regardless of this configuration and recorded only while JFR recording is running.
+ * The thresholds are set in JFR timespan format, e.g. 'kyrie.oauth2.jfr.thresholds.jwt-token=500 us',
+ * '0 ns' records every event. The thresholds that are not set use the defaults of the events.
+ * Can be disabled using 'kyrie.oauth2.jfr.enabled=false', then the thresholds are taken only from the recording settings.
+ * </p>
+ *
+ * @see KyrieJfrThresholds
+ */
+@ConditionalOnProperty(name = "kyrie.oauth2.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class KyrieJfrConfiguration {
+
+    @Bean(initMethod = "start")
+    @ConditionalOnMissingBean
+    public KyrieJfrThresholds kyrieJfrThresholds(@Value("${kyrie.oauth2.jfr.thresholds.jwt-token:}") String jwtToken,
+                                                 @Value("${kyrie.oauth2.jfr.thresholds.authorization-code-store:}") String authorizationCodeStore,
+                                                 @Value("${kyrie.oauth2.jfr.thresholds.user-authentication:}") String userAuthentication,
+                                                 @Value("${kyrie.oauth2.jfr.thresholds.client-authentication:}") String clientAuthentication,
+                                                 @Value("${kyrie.oauth2.jfr.thresholds.event-dispatch:}") String eventDispatch) {
+        Map<String, String> thresholds = new LinkedHashMap<>();
+        putIfHasText(thresholds, JwtTokenJfrEvent.NAME, jwtToken);
+        putIfHasText(thresholds, AuthorizationCodeStoreJfrEvent.NAME, authorizationCodeStore);
+        putIfHasText(thresholds, UserAuthenticationJfrEvent.NAME, userAuthentication);
+        putIfHasText(thresholds, ClientAuthenticationJfrEvent.NAME, clientAuthentication);
+        putIfHasText(thresholds, KyrieEventDispatchJfrEvent.NAME, eventDispatch);
+        return new KyrieJfrThresholds(thresholds);
+    }
+
+    private static void putIfHasText(Map<String, String> thresholds, String eventName, String threshold) {
+        if (StringUtils.hasText(threshold)) {
+            thresholds.put(eventName, threshold);
+        }
+    }
+}
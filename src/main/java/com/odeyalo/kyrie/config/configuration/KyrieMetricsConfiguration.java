@@ -0,0 +1,58 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.controllers.KyrieMetricsAdminController;
+import com.odeyalo.kyrie.controllers.support.AdminApiKeyChecker;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import com.odeyalo.kyrie.core.metrics.MicrometerKyrieMetrics;
+import com.odeyalo.kyrie.core.metrics.SimpleKyrieMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * <p>Configuration of {@link KyrieMetrics} that is used to record the time of the token grants, JWT operations, authentications and flows.</p>
+ * <p>
+ * If Micrometer is presented and {@link MeterRegistry} bean exists, the meters are registered in it, otherwise {@link SimpleKyrieMetrics} is used.
+ * The snapshot of the metrics is available through the admin API if 'kyrie.oauth2.admin.enabled=true'.
+ * The instrumentation can be disabled using 'kyrie.oauth2.metrics.enabled=false'
+ * </p>
+ *
+ * @see com.odeyalo.kyrie.support.bpp.wrapper.MetricsWrapperBeanPostProcessor
+ */
+public class KyrieMetricsConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnMissingClass("io.micrometer.core.instrument.MeterRegistry")
+    public KyrieMetrics simpleKyrieMetrics() {
+        return new SimpleKyrieMetrics();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "kyrie.oauth2.admin.enabled", havingValue = "true")
+    public KyrieMetricsAdminController kyrieMetricsAdminController(KyrieMetrics metrics,
+                                                                   AdminApiKeyChecker apiKeyChecker) {
+        return new KyrieMetricsAdminController(metrics, apiKeyChecker);
+    }
+
+    /**
+     * Separate class, so MeterRegistry is not loaded if Micrometer is not presented
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MicrometerKyrieMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public KyrieMetrics micrometerKyrieMetrics(ObjectProvider<MeterRegistry> registry) {
+            MeterRegistry meterRegistry = registry.getIfAvailable();
+            return meterRegistry != null ? new MicrometerKyrieMetrics(meterRegistry) : new SimpleKyrieMetrics();
+        }
+    }
+}
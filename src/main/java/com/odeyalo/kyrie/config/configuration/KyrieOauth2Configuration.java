@@ -2,21 +2,27 @@ package com.odeyalo.kyrie.config.configuration;
 
 import com.odeyalo.kyrie.config.Oauth2ClientCredentialsResolver;
 import com.odeyalo.kyrie.config.configurers.Oauth2ServerEndpointsConfigurer;
+import com.odeyalo.kyrie.controllers.support.AdminApiKeyChecker;
 import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.authentication.throttling.AuthenticationAttemptThrottler;
+import com.odeyalo.kyrie.core.events.AsyncKyrieEventMulticaster;
 import com.odeyalo.kyrie.core.events.DefaultSpringKyrieEventMulticaster;
 import com.odeyalo.kyrie.core.events.KyrieEvent;
 import com.odeyalo.kyrie.core.events.KyrieEventPublisher;
 import com.odeyalo.kyrie.core.events.listener.KyrieEventListener;
 import com.odeyalo.kyrie.core.oauth2.Oauth2ClientCredentials;
 import com.odeyalo.kyrie.core.oauth2.flow.support.RedirectableOauth2FlowHandlerFacade;
+import com.odeyalo.kyrie.core.oauth2.support.grant.AbstractRedirectableAuthenticationGrantHandlerFacade;
 import com.odeyalo.kyrie.core.oauth2.support.grant.ConsentPageConfigurableRedirectableAuthenticationGrantHandlerFacade;
 import com.odeyalo.kyrie.core.oauth2.support.grant.DefaultRedirectableAuthenticationGrantHandlerFacade;
 import com.odeyalo.kyrie.core.oauth2.support.grant.RedirectableAuthenticationGrantHandlerFacade;
 import com.odeyalo.kyrie.support.ClientId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.event.ApplicationEventMulticaster;
@@ -26,6 +32,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -39,10 +46,19 @@ import java.util.List;
  */
 @Import(value = {
         GenericKyrieOauth2Configuration.class,
+        Oauth2ClientRegistryConfiguration.class,
+        ConcurrencyLimitConfiguration.class,
+        AuthenticationThrottlingConfiguration.class,
+        EncryptedAuthorizationCodeConfiguration.class,
         Oauth2FlowHandlersConfiguration.class,
+        JwtSigningKeysConfiguration.class,
         RedirectUriCreationServicesConfiguration.class,
         KyrieOauth2RequestValidationConfiguration.class,
         DomainKyrieEventListenersConfiguration.class,
+        AuditJournalConfiguration.class,
+        KyrieMetricsConfiguration.class,
+        RequestTracingConfiguration.class,
+        KyrieJfrConfiguration.class,
         PromptHandlersConfiguration.class,
         KyrieOauth2ServerEndpointsMappingConfiguration.class,
         AccessTokenGrantersConfiguration.class,
@@ -64,8 +80,29 @@ public class KyrieOauth2Configuration {
 
     @Bean
     @ConditionalOnMissingBean
-    public KyrieEventPublisher kyrieEventPublisher(ApplicationEventMulticaster multicaster, List<KyrieEventListener<? extends KyrieEvent>> listeners) {
-        return new DefaultSpringKyrieEventMulticaster(multicaster, listeners);
+    public KyrieEventPublisher kyrieEventPublisher(ApplicationEventMulticaster multicaster,
+                                                   List<KyrieEventListener<? extends KyrieEvent>> listeners,
+                                                   @Value("${kyrie.oauth2.events.async.enabled:true}") boolean asyncEnabled,
+                                                   @Value("${kyrie.oauth2.events.async.queue-capacity:8192}") int queueCapacity,
+                                                   @Value("${kyrie.oauth2.events.async.batch-size:64}") int batchSize,
+                                                   @Value("${kyrie.oauth2.events.async.workers:2}") int workers,
+                                                   @Value("${kyrie.oauth2.events.async.overflow-policy:CALLER_RUNS}") AsyncKyrieEventMulticaster.OverflowPolicy overflowPolicy,
+                                                   @Value("${kyrie.oauth2.events.async.block-timeout-millis:100}") long blockTimeoutMillis) {
+        if (!asyncEnabled) {
+            return new DefaultSpringKyrieEventMulticaster(multicaster, listeners);
+        }
+        this.logger.info("Asynchronous listeners are delivered through the queue with {} capacity, overflow policy: {}", queueCapacity, overflowPolicy);
+        return new AsyncKyrieEventMulticaster(multicaster, listeners, queueCapacity, batchSize, workers, overflowPolicy, Duration.ofMillis(blockTimeoutMillis));
+    }
+
+    /**
+     * Checker of the admin API key, shared by all admin controllers
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "kyrie.oauth2.admin.enabled", havingValue = "true")
+    public AdminApiKeyChecker adminApiKeyChecker(@Value("${kyrie.oauth2.admin.api-key:}") String apiKey) {
+        return new AdminApiKeyChecker(apiKey);
     }
 
     @Bean
@@ -74,12 +111,17 @@ public class KyrieOauth2Configuration {
                                                                                                      Oauth2UserAuthenticationService oauth2UserAuthenticationService,
                                                                                                      Oauth2ServerEndpointsConfigurer.Oauth2ServerEndpointsInfo endpointsInfo,
                                                                                                      RedirectableOauth2FlowHandlerFacade redirectableOauth2FlowHandlerFacade,
-                                                                                                     KyrieEventPublisher publisher) {
+                                                                                                     KyrieEventPublisher publisher,
+                                                                                                     ObjectProvider<AuthenticationAttemptThrottler> throttler) {
+        AbstractRedirectableAuthenticationGrantHandlerFacade facade;
         if (isConsentEnabled) {
             this.logger.info("The consent page is enabled");
-            return new ConsentPageConfigurableRedirectableAuthenticationGrantHandlerFacade(oauth2UserAuthenticationService, publisher, endpointsInfo);
+            facade = new ConsentPageConfigurableRedirectableAuthenticationGrantHandlerFacade(oauth2UserAuthenticationService, publisher, endpointsInfo);
+        } else {
+            facade = new DefaultRedirectableAuthenticationGrantHandlerFacade(oauth2UserAuthenticationService, publisher, redirectableOauth2FlowHandlerFacade);
         }
-        return new DefaultRedirectableAuthenticationGrantHandlerFacade(oauth2UserAuthenticationService, publisher, redirectableOauth2FlowHandlerFacade);
+        facade.setAuthenticationAttemptThrottler(throttler.getIfAvailable());
+        return facade;
     }
 
     /**
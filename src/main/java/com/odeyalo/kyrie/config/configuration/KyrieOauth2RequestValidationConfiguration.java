@@ -10,19 +10,47 @@ import com.odeyalo.kyrie.controllers.support.validation.ClientIdAuthorizationReq
 import com.odeyalo.kyrie.controllers.support.validation.RedirectUriAuthorizationRequestValidationStep;
 import com.odeyalo.kyrie.controllers.support.validation.RegisteredRedirectUriAuthorizationRequestValidationStep;
 import com.odeyalo.kyrie.core.oauth2.client.ClientCredentialsValidator;
+import com.odeyalo.kyrie.core.oauth2.client.ClientSecretVerificationCache;
 import com.odeyalo.kyrie.core.oauth2.client.DefaultClientCredentialsValidator;
 import com.odeyalo.kyrie.core.oauth2.client.Oauth2ClientRepository;
+import com.odeyalo.kyrie.support.crypto.KyriePasswordEncoders;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.List;
 
 public class KyrieOauth2RequestValidationConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public ClientCredentialsValidator clientCredentialsValidator(Oauth2ClientRepository repository) {
-        return new DefaultClientCredentialsValidator(repository);
+    public ClientCredentialsValidator clientCredentialsValidator(Oauth2ClientRepository repository,
+                                                                 PasswordEncoder passwordEncoder,
+                                                                 ObjectProvider<ClientSecretVerificationCache> verificationCache) {
+        return new DefaultClientCredentialsValidator(repository, passwordEncoder, verificationCache.getIfAvailable());
+    }
+
+    /**
+     * Registry PasswordEncoder that is used to verify client secrets only if bean is missing.
+     * @return - DelegatingPasswordEncoder that supports '{bcrypt}', '{pbkdf2}', '{noop}' and plain text secrets
+     * @see KyriePasswordEncoders#createDelegatingPasswordEncoder()
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public PasswordEncoder kyriePasswordEncoder() {
+        return KyriePasswordEncoders.createDelegatingPasswordEncoder();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "kyrie.oauth2.client.secret.verification-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public ClientSecretVerificationCache clientSecretVerificationCache(@Value("${kyrie.oauth2.client.secret.verification-cache.max-size:10000}") int maxSize,
+                                                                       @Value("${kyrie.oauth2.client.secret.verification-cache.ttl-seconds:300}") long ttlSeconds) {
+        return new ClientSecretVerificationCache(maxSize, Duration.ofSeconds(ttlSeconds));
     }
 
     @Bean
@@ -4,7 +4,11 @@ import com.odeyalo.kyrie.config.KyrieOauth2Configurer;
 import com.odeyalo.kyrie.config.KyrieOauth2ConfigurerComposite;
 import com.odeyalo.kyrie.config.configurers.Oauth2ServerEndpointsConfigurer;
 import com.odeyalo.kyrie.config.configurers.Oauth2ServerViewRegistry;
+import com.odeyalo.kyrie.controllers.JwksController;
+import com.odeyalo.kyrie.controllers.KyrieMetricsAdminController;
 import com.odeyalo.kyrie.controllers.KyrieOauth2Controller;
+import com.odeyalo.kyrie.controllers.Oauth2ClientAdminController;
+import com.odeyalo.kyrie.controllers.RequestTraceAdminController;
 import com.odeyalo.kyrie.controllers.TokenController;
 import com.odeyalo.kyrie.core.authorization.AuthorizationGrantType;
 import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
@@ -18,11 +22,13 @@ import com.odeyalo.kyrie.core.oauth2.tokens.facade.AccessTokenGranterStrategyFac
 import com.odeyalo.kyrie.core.sso.RememberMeService;
 import com.odeyalo.kyrie.core.support.web.TemporaryRequestAttributesRepository;
 import com.odeyalo.kyrie.dto.LoginDTO;
+import com.odeyalo.kyrie.dto.Oauth2ClientRegistrationDTO;
 import com.odeyalo.kyrie.support.html.DefaultTemplateResolver;
 import com.odeyalo.kyrie.support.html.ModelEnhancerPostProcessor;
 import com.odeyalo.kyrie.support.html.TemplateResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -101,6 +107,10 @@ public class KyrieOauth2ServerEndpointsMappingConfiguration {
      * Registry the endpoints in DispatcherServlet using WebMvcRegistrations bean.
      * @param kyrieOauth2Controller - KyrieOauth2Controller bean
      * @param tokenController - TokenController bean
+     * @param jwksController - optional JwksController bean, presented only if tokens are signed with asymmetric keys
+     * @param adminController - optional Oauth2ClientAdminController bean, presented only if client admin API is enabled
+     * @param metricsAdminController - optional KyrieMetricsAdminController bean, presented only if admin API is enabled
+     * @param traceAdminController - optional RequestTraceAdminController bean, presented only if admin API and request tracing are enabled
      * @param mapping - HandlerMapping where endpoints will be registered
      * @return - WebMvcRegistrations bean with registered default endpoints
      * @throws Exception - if any exception was occurred
@@ -108,6 +118,10 @@ public class KyrieOauth2ServerEndpointsMappingConfiguration {
     @Bean
     public WebMvcRegistrations webMvcRegistrations(KyrieOauth2Controller kyrieOauth2Controller,
                                                    TokenController tokenController,
+                                                   ObjectProvider<JwksController> jwksController,
+                                                   ObjectProvider<Oauth2ClientAdminController> adminController,
+                                                   ObjectProvider<KyrieMetricsAdminController> metricsAdminController,
+                                                   ObjectProvider<RequestTraceAdminController> traceAdminController,
                                                    RequestMappingHandlerMapping mapping) throws Exception {
 
         registryAuthorizeEndpoint(kyrieOauth2Controller, mapping);
@@ -128,6 +142,25 @@ public class KyrieOauth2ServerEndpointsMappingConfiguration {
 
         registryTokenInfoEndpoint(tokenController, mapping);
 
+        JwksController jwks = jwksController.getIfAvailable();
+        if (jwks != null) {
+            registryJwksEndpoint(jwks, mapping);
+        }
+
+        Oauth2ClientAdminController admin = adminController.getIfAvailable();
+        if (admin != null) {
+            registryClientAdminEndpoints(admin, mapping);
+        }
+
+        KyrieMetricsAdminController metricsAdmin = metricsAdminController.getIfAvailable();
+        if (metricsAdmin != null) {
+            registryMetricsAdminEndpoint(metricsAdmin, mapping);
+        }
+
+        RequestTraceAdminController traceAdmin = traceAdminController.getIfAvailable();
+        if (traceAdmin != null) {
+            registryTraceAdminEndpoints(traceAdmin, mapping);
+        }
 
 
         return new WebMvcRegistrations() {
@@ -200,6 +233,48 @@ public class KyrieOauth2ServerEndpointsMappingConfiguration {
         mapping.registerMapping(info, tokenController, TokenController.class.getDeclaredMethod("tokenInfoRfc7662", String.class));
     }
 
+    private void registryJwksEndpoint(JwksController jwksController, RequestMappingHandlerMapping mapping) throws NoSuchMethodException {
+        String jwksEndpointName = info.getJwksEndpointName();
+        this.logger.debug("Using the: {} endpoint for JSON Web Key Set endpoint", jwksEndpointName);
+        RequestMappingInfo info = RequestMappingInfo.paths(jwksEndpointName)
+                .methods(RequestMethod.GET)
+                .build();
+        mapping.registerMapping(info, jwksController, JwksController.class.getDeclaredMethod("jwks"));
+    }
+
+    private void registryClientAdminEndpoints(Oauth2ClientAdminController adminController, RequestMappingHandlerMapping mapping) throws NoSuchMethodException {
+        String clientsEndpointName = info.getAdminClientsEndpointName();
+        String clientEndpointName = clientsEndpointName + "/{clientId}";
+        this.logger.debug("Using the: {} endpoint for client admin API", clientsEndpointName);
+        mapping.registerMapping(RequestMappingInfo.paths(clientEndpointName).methods(RequestMethod.GET).produces(MediaType.APPLICATION_JSON_VALUE).build(),
+                adminController, Oauth2ClientAdminController.class.getDeclaredMethod("getClient", String.class, String.class));
+        mapping.registerMapping(RequestMappingInfo.paths(clientEndpointName).methods(RequestMethod.PUT).consumes(MediaType.APPLICATION_JSON_VALUE).build(),
+                adminController, Oauth2ClientAdminController.class.getDeclaredMethod("saveClient", String.class, String.class, Oauth2ClientRegistrationDTO.class));
+        mapping.registerMapping(RequestMappingInfo.paths(clientEndpointName).methods(RequestMethod.DELETE).build(),
+                adminController, Oauth2ClientAdminController.class.getDeclaredMethod("deleteClient", String.class, String.class));
+        mapping.registerMapping(RequestMappingInfo.paths(clientsEndpointName).methods(RequestMethod.POST).consumes(MediaType.APPLICATION_JSON_VALUE).build(),
+                adminController, Oauth2ClientAdminController.class.getDeclaredMethod("importClients", String.class, List.class));
+    }
+
+    private void registryMetricsAdminEndpoint(KyrieMetricsAdminController metricsAdminController, RequestMappingHandlerMapping mapping) throws NoSuchMethodException {
+        String metricsEndpointName = info.getAdminMetricsEndpointName();
+        this.logger.debug("Using the: {} endpoint for metrics admin API", metricsEndpointName);
+        RequestMappingInfo info = RequestMappingInfo.paths(metricsEndpointName)
+                .methods(RequestMethod.GET)
+                .produces(MediaType.APPLICATION_JSON_VALUE)
+                .build();
+        mapping.registerMapping(info, metricsAdminController, KyrieMetricsAdminController.class.getDeclaredMethod("getMetrics", String.class));
+    }
+
+    private void registryTraceAdminEndpoints(RequestTraceAdminController traceAdminController, RequestMappingHandlerMapping mapping) throws NoSuchMethodException {
+        String tracesEndpointName = info.getAdminTracesEndpointName();
+        this.logger.debug("Using the: {} endpoint for request traces admin API", tracesEndpointName);
+        mapping.registerMapping(RequestMappingInfo.paths(tracesEndpointName).methods(RequestMethod.GET).produces(MediaType.APPLICATION_JSON_VALUE).build(),
+                traceAdminController, RequestTraceAdminController.class.getDeclaredMethod("getSlowestRequests", String.class));
+        mapping.registerMapping(RequestMappingInfo.paths(tracesEndpointName).methods(RequestMethod.DELETE).build(),
+                traceAdminController, RequestTraceAdminController.class.getDeclaredMethod("clearSlowestRequests", String.class));
+    }
+
     private void registryTokenEndpointJson(TokenController tokenController, RequestMappingHandlerMapping mapping) throws NoSuchMethodException {
         String tokenEndpointName = info.getTokenEndpointName();
         this.logger.debug("Using the: {} endpoint for token obtain endpoint with application/json content type", tokenEndpointName);
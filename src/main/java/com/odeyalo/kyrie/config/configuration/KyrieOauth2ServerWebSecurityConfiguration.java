@@ -134,12 +134,12 @@ public class KyrieOauth2ServerWebSecurityConfiguration {
         @Override
         public boolean matches(HttpServletRequest request) {
             String requestURI = request.getRequestURI();
-            return requestURI.startsWith(info.getPrefix()) || requestURI.startsWith(info.getTokenEndpointName());
+            return requestURI.startsWith(info.getPrefix()) || requestURI.startsWith(info.getTokenEndpointName()) || requestURI.equals(info.getJwksEndpointName());
         }
 
         @Override
         public String toString() {
-            return "Kyrie endpoints: " + info.getPrefix() + " "  + info.getTokenEndpointName();
+            return "Kyrie endpoints: " + info.getPrefix() + " "  + info.getTokenEndpointName() + " " + info.getJwksEndpointName();
         }
     }
 }
@@ -0,0 +1,53 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.controllers.Oauth2ClientAdminController;
+import com.odeyalo.kyrie.controllers.support.AdminApiKeyChecker;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.ShardedInMemoryOauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.snapshot.Oauth2ClientSnapshotFile;
+import com.odeyalo.kyrie.core.oauth2.client.snapshot.Oauth2ClientSnapshotManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Configuration of the runtime client registration: binary snapshot of the registered clients and client admin API.
+ * Both features are disabled by default.
+ *
+ * @see ShardedInMemoryOauth2ClientRepository
+ * @see Oauth2ClientSnapshotManager
+ * @see Oauth2ClientAdminController
+ */
+public class Oauth2ClientRegistryConfiguration {
+
+    /**
+     * Restore the clients from the snapshot on start and write the snapshot when clients are changed.
+     * Supported only by {@link ShardedInMemoryOauth2ClientRepository}, that is used by default
+     */
+    @Bean(initMethod = "start")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "kyrie.oauth2.client.snapshot.path")
+    public Oauth2ClientSnapshotManager oauth2ClientSnapshotManager(Oauth2ClientRepository repository,
+                                                                   @Value("${kyrie.oauth2.client.snapshot.path}") String path,
+                                                                   @Value("${kyrie.oauth2.client.snapshot.write-interval-seconds:10}") long writeIntervalSeconds) {
+        if (!(repository instanceof ShardedInMemoryOauth2ClientRepository)) {
+            throw new IllegalStateException("Client snapshot is supported only by ShardedInMemoryOauth2ClientRepository, but was: " + repository.getClass().getName());
+        }
+        return new Oauth2ClientSnapshotManager((ShardedInMemoryOauth2ClientRepository) repository,
+                new Oauth2ClientSnapshotFile(Paths.get(path)), Duration.ofSeconds(writeIntervalSeconds));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "kyrie.oauth2.admin.enabled", havingValue = "true")
+    public Oauth2ClientAdminController oauth2ClientAdminController(Oauth2ClientRepository repository,
+                                                                   PasswordEncoder passwordEncoder,
+                                                                   AdminApiKeyChecker apiKeyChecker) {
+        return new Oauth2ClientAdminController(repository, passwordEncoder, apiKeyChecker);
+    }
+}
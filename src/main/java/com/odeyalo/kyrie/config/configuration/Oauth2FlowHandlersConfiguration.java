@@ -11,20 +11,27 @@ import com.odeyalo.kyrie.core.oauth2.oidc.generator.OidcOauth2TokenGeneratorFaca
 import com.odeyalo.kyrie.core.oauth2.support.grant.AuthorizationGrantTypeResolver;
 import com.odeyalo.kyrie.core.oauth2.support.grant.AuthorizationGrantTypeResolverImpl;
 import com.odeyalo.kyrie.core.oauth2.tokens.AuthorizationCodeFlowAccessTokenReturner;
+import com.odeyalo.kyrie.core.oauth2.tokens.CachingOauth2AccessTokenManagerDecorator;
 import com.odeyalo.kyrie.core.oauth2.tokens.DefaultAuthorizationCodeFlowAccessTokenReturner;
 import com.odeyalo.kyrie.core.oauth2.tokens.DefaultJwtOauth2AccessTokenManager;
 import com.odeyalo.kyrie.core.oauth2.tokens.Oauth2AccessTokenManager;
 import com.odeyalo.kyrie.core.oauth2.tokens.code.*;
 import com.odeyalo.kyrie.core.oauth2.tokens.code.provider.AuthorizationCodeProvider;
 import com.odeyalo.kyrie.core.oauth2.tokens.code.provider.DefaultStoringAuthorizationCodeProvider;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.AsymmetricJwtTokenProvider;
 import com.odeyalo.kyrie.core.oauth2.tokens.jwt.DefaultJwtOauth2AccessTokenGenerator;
 import com.odeyalo.kyrie.core.oauth2.tokens.jwt.DefaultSecretWordJwtTokenProvider;
 import com.odeyalo.kyrie.core.oauth2.tokens.jwt.JwtTokenProvider;
 import com.odeyalo.kyrie.core.oauth2.tokens.jwt.Oauth2AccessTokenGenerator;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys.JwtSigningKeySet;
+import com.odeyalo.kyrie.support.token.TokenValueGenerator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.util.Assert;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -43,7 +50,12 @@ public class Oauth2FlowHandlersConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public JwtTokenProvider jwtTokenProvider(@Value("${kyrie.tokens.jwt.secret.key}") String secretWord) {
+    public JwtTokenProvider jwtTokenProvider(@Value("${kyrie.tokens.jwt.secret.key:#{null}}") String secretWord, ObjectProvider<JwtSigningKeySet> keySet) {
+        JwtSigningKeySet signingKeySet = keySet.getIfAvailable();
+        if (signingKeySet != null) {
+            return new AsymmetricJwtTokenProvider(signingKeySet);
+        }
+        Assert.hasText(secretWord, "The 'kyrie.tokens.jwt.secret.key' property must be set if tokens are signed with secret word");
         return new DefaultSecretWordJwtTokenProvider(secretWord);
     }
 
@@ -113,8 +125,8 @@ public class Oauth2FlowHandlersConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public AuthorizationCodeGenerator authorizationCodeGenerator() {
-        return new AuthorizationCodeGeneratorImpl();
+    public AuthorizationCodeGenerator authorizationCodeGenerator(TokenValueGenerator tokenValueGenerator) {
+        return new AuthorizationCodeGeneratorImpl(tokenValueGenerator);
     }
 
     @Bean
@@ -130,7 +142,7 @@ public class Oauth2FlowHandlersConfiguration {
         return new DefaultStoringAuthorizationCodeManager(authorizationCodeProvider, codeStore);
     }
 
-    @Bean
+    @Bean(initMethod = "start")
     @ConditionalOnMissingBean
     public AuthorizationCodeStore authorizationCodeStore() {
         return new InMemoryAuthorizationCodeStore();
@@ -138,7 +150,14 @@ public class Oauth2FlowHandlersConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public Oauth2AccessTokenManager oauth2AccessTokenManager(JwtTokenProvider jwtTokenProvider, AuthorizationCodeFlowAccessTokenReturner returner, Oauth2AccessTokenGenerator oauth2AccessTokenGenerator) {
-        return new DefaultJwtOauth2AccessTokenManager(jwtTokenProvider, returner, oauth2AccessTokenGenerator);
+    public Oauth2AccessTokenManager oauth2AccessTokenManager(JwtTokenProvider jwtTokenProvider, AuthorizationCodeFlowAccessTokenReturner returner, Oauth2AccessTokenGenerator oauth2AccessTokenGenerator,
+                                                             @Value("${kyrie.tokens.introspection.cache.enabled:true}") boolean isCacheEnabled,
+                                                             @Value("${kyrie.tokens.introspection.cache.max-size:10000}") int cacheMaxSize,
+                                                             @Value("${kyrie.tokens.introspection.cache.max-ttl-seconds:300}") long cacheMaxTtlSeconds) {
+        DefaultJwtOauth2AccessTokenManager manager = new DefaultJwtOauth2AccessTokenManager(jwtTokenProvider, returner, oauth2AccessTokenGenerator);
+        if (!isCacheEnabled) {
+            return manager;
+        }
+        return new CachingOauth2AccessTokenManagerDecorator(manager, cacheMaxSize, Duration.ofSeconds(cacheMaxTtlSeconds));
     }
 }
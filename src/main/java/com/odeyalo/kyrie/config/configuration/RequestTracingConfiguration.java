@@ -0,0 +1,56 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.controllers.RequestTraceAdminController;
+import com.odeyalo.kyrie.controllers.support.AdminApiKeyChecker;
+import com.odeyalo.kyrie.support.tracing.RequestPhaseTracingFilter;
+import com.odeyalo.kyrie.support.tracing.SlowRequestLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * <p>Configuration of the per-request phase tracing.</p>
+ * <p>
+ * Every response gets Server-Timing header with the time of the phases, the slowest requests are available through the admin API
+ * if 'kyrie.oauth2.admin.enabled=true'. The header reveals the internal timings to the clients, so the tracing is used for diagnostics only.
+ * Disabled by default, can be enabled using 'kyrie.oauth2.tracing.enabled=true'
+ * </p>
+ *
+ * @see RequestPhaseTracingFilter
+ */
+@ConditionalOnProperty(name = "kyrie.oauth2.tracing.enabled", havingValue = "true")
+public class RequestTracingConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SlowRequestLog slowRequestLog(@Value("${kyrie.oauth2.tracing.slowest-requests:" + SlowRequestLog.DEFAULT_CAPACITY + "}") int capacity) {
+        return new SlowRequestLog(capacity);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RequestPhaseTracingFilter requestPhaseTracingFilter(SlowRequestLog slowRequestLog) {
+        return new RequestPhaseTracingFilter(slowRequestLog);
+    }
+
+    /**
+     * Register the filter before concurrency limiting filter and Spring Security filter chain, so the phases of all filters are traced
+     */
+    @Bean
+    public FilterRegistrationBean<RequestPhaseTracingFilter> requestPhaseTracingFilterRegistrationBean(RequestPhaseTracingFilter filter) {
+        FilterRegistrationBean<RequestPhaseTracingFilter> registrationBean = new FilterRegistrationBean<>(filter);
+        registrationBean.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 20);
+        return registrationBean;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "kyrie.oauth2.admin.enabled", havingValue = "true")
+    public RequestTraceAdminController requestTraceAdminController(SlowRequestLog slowRequestLog,
+                                                                   AdminApiKeyChecker apiKeyChecker) {
+        return new RequestTraceAdminController(slowRequestLog, apiKeyChecker);
+    }
+}
@@ -27,13 +27,34 @@ public class Oauth2ServerEndpointsConfigurer {
     private String authorizeEndpointName = prefix + "/authorize";
     @NonNull
     private String consentPageEndpointName = prefix + "/consent";
+    /**
+     * Endpoint that publishes JSON Web Key Set. Used only if tokens are signed with asymmetric keys.
+     * Prefix does not applied to this endpoint
+     */
+    @NonNull
+    private String jwksEndpointName = "/.well-known/jwks.json";
+    /**
+     * Endpoint of the client admin API. Used only if admin API is enabled
+     */
+    @NonNull
+    private String adminClientsEndpointName = prefix + "/admin/clients";
+    /**
+     * Endpoint that returns the snapshot of Kyrie metrics. Used only if admin API is enabled
+     */
+    @NonNull
+    private String adminMetricsEndpointName = prefix + "/admin/metrics";
+    /**
+     * Endpoint that returns the slowest traced requests. Used only if admin API and request tracing are enabled
+     */
+    @NonNull
+    private String adminTracesEndpointName = prefix + "/admin/traces";
     /**
      * Build Oauth2ServerEndpointsInfo based on provided values
      *
      * @return - ready-to-use Oauth2ServerEndpointsInfo
      */
     public Oauth2ServerEndpointsInfo buildOauth2ServerEndpointsInfo() {
-        return new Oauth2ServerEndpointsInfo(prefix, loginEndpointName, tokenEndpointName, tokenInfoEndpointName, authorizeEndpointName, consentPageEndpointName);
+        return new Oauth2ServerEndpointsInfo(prefix, loginEndpointName, tokenEndpointName, tokenInfoEndpointName, authorizeEndpointName, consentPageEndpointName, jwksEndpointName, adminClientsEndpointName, adminMetricsEndpointName, adminTracesEndpointName);
     }
 
     /**
@@ -48,5 +69,9 @@ public class Oauth2ServerEndpointsConfigurer {
         private String tokenInfoEndpointName;
         private String authorizeEndpointName;
         private String consentPageEndpointName;
+        private String jwksEndpointName;
+        private String adminClientsEndpointName;
+        private String adminMetricsEndpointName;
+        private String adminTracesEndpointName;
     }
 }
@@ -5,6 +5,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
 /**
@@ -31,19 +32,29 @@ public class BasicAuthenticationOauth2ClientCredentialsResolverHelper implements
     }
 
     /**
-     * Used to resolve Oauth2ClientCredentials by 'Authorization' HTTP Header using Basic Authentication
+     * Used to resolve Oauth2ClientCredentials by 'Authorization' HTTP Header using Basic Authentication.
+     * The client id can't contain colon, so the credentials are split by the first colon and the secret can contain colons
      * @param authHeader - 'Authorization' header from request
-     * @return - resolved {@link Oauth2ClientCredentials} or null if Authorization header contain not Basic-Authentication type of authentication.
+     * @return - resolved {@link Oauth2ClientCredentials} or null if Authorization header contain not Basic-Authentication type of authentication or malformed value.
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc7617#section-2">The 'Basic' Authentication Scheme</a>
      */
     private Oauth2ClientCredentials parseBasicAuthentication(String authHeader) {
-        String basicHeaderValue = authHeader.substring(BASIC_AUTHENTICATION_PREFIX.length());
-        String decodedCredentials = new String(Base64.getDecoder().decode(basicHeaderValue));
-        String[] usernamePassword = decodedCredentials.split(":");
-        if (usernamePassword.length != 2) {
+        if (!authHeader.startsWith(BASIC_AUTHENTICATION_PREFIX)) {
             return null;
         }
-        String clientId = usernamePassword[0];
-        String clientSecret = usernamePassword[1];
+        String decodedCredentials;
+        try {
+            byte[] decoded = Base64.getDecoder().decode(authHeader.substring(BASIC_AUTHENTICATION_PREFIX.length()).trim());
+            decodedCredentials = new String(decoded, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        int separatorIndex = decodedCredentials.indexOf(':');
+        if (separatorIndex <= 0 || separatorIndex == decodedCredentials.length() - 1) {
+            return null;
+        }
+        String clientId = decodedCredentials.substring(0, separatorIndex);
+        String clientSecret = decodedCredentials.substring(separatorIndex + 1);
         return Oauth2ClientCredentials.of(clientId, clientSecret);
     }
 }
@@ -0,0 +1,184 @@
+package com.odeyalo.kyrie.config.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.odeyalo.kyrie.config.configurers.Oauth2ServerEndpointsConfigurer;
+import com.odeyalo.kyrie.core.authorization.AuthorizationGrantType;
+import com.odeyalo.kyrie.core.oauth2.support.Oauth2Constants;
+import com.odeyalo.kyrie.dto.ApiErrorMessage;
+import com.odeyalo.kyrie.exceptions.Oauth2ErrorType;
+import com.odeyalo.kyrie.support.limit.AdaptiveConcurrencyLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * <p>Filter that sheds the load on token, token info and login endpoints when they become slow.</p>
+ * <p>
+ * Every endpoint has its own {@link AdaptiveConcurrencyLimiter}, so slow password logins do not make token introspection unavailable.
+ * Token endpoint is limited per grant type, since the grant types depend on the different services, e.g. password grant depends on the user store.
+ * Requests above the limit are rejected immediately with 503 status, 'temporarily_unavailable' error and 'Retry-After' header.
+ * </p>
+ * <p>The filter must be invoked before other filters, so the rejected requests do not use any resources</p>
+ *
+ * @see AdaptiveConcurrencyLimiter
+ */
+public class ConcurrencyLimitingFilter extends OncePerRequestFilter {
+    public static final String TOKEN_LIMITER_NAME = "token";
+    public static final String TOKEN_INFO_LIMITER_NAME = "tokeninfo";
+    public static final String LOGIN_LIMITER_NAME = "login";
+    private static final String REJECTED_DESCRIPTION = "The server is overloaded, retry the request later";
+
+    private final Oauth2ServerEndpointsConfigurer.Oauth2ServerEndpointsInfo endpointsInfo;
+    private final Function<String, AdaptiveConcurrencyLimiter> limiterFactory;
+    private final int minRetryAfterSeconds;
+    // Keys are bounded by endpoints and registered grant types
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitingFilter.class);
+
+    /**
+     * Create new ConcurrencyLimitingFilter
+     * @param endpointsInfo - endpoints of the server
+     * @param limiterFactory - function to create the limiter by its name, invoked once per name
+     * @param minRetryAfterSeconds - min value of 'Retry-After' header, the real value depends on measured latency
+     */
+    public ConcurrencyLimitingFilter(Oauth2ServerEndpointsConfigurer.Oauth2ServerEndpointsInfo endpointsInfo,
+                                     Function<String, AdaptiveConcurrencyLimiter> limiterFactory,
+                                     int minRetryAfterSeconds) {
+        Assert.notNull(endpointsInfo, "Endpoints info cannot be null!");
+        Assert.notNull(limiterFactory, "Limiter factory cannot be null!");
+        Assert.isTrue(minRetryAfterSeconds > 0, "Retry after must be positive!");
+        this.endpointsInfo = endpointsInfo;
+        this.limiterFactory = limiterFactory;
+        this.minRetryAfterSeconds = minRetryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String limiterName = resolveLimiterName(request);
+        if (limiterName == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(limiterName, limiterFactory);
+        if (!limiter.tryAcquire()) {
+            this.logger.debug("Rejected request to: {}, limit: {} is reached", request.getRequestURI(), limiter);
+            reject(limiter, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(limiter, start));
+            } else {
+                limiter.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    /**
+     * @return - limiters that were created, used to expose the current limits
+     */
+    public Collection<AdaptiveConcurrencyLimiter> getLimiters() {
+        return Collections.unmodifiableCollection(limiters.values());
+    }
+
+    protected String resolveLimiterName(HttpServletRequest request) {
+        String uri = getPathWithinApplication(request);
+        if (uri.equals(endpointsInfo.getTokenEndpointName())) {
+            return resolveTokenLimiterName(request);
+        }
+        if (uri.equals(endpointsInfo.getTokenInfoEndpointName())) {
+            return TOKEN_INFO_LIMITER_NAME;
+        }
+        // Only the form submission authenticates the user, the login page itself is cheap
+        if (uri.equals(endpointsInfo.getLoginEndpointName()) && HttpMethod.POST.matches(request.getMethod())) {
+            return LOGIN_LIMITER_NAME;
+        }
+        return null;
+    }
+
+    /**
+     * The endpoints are mapped relative to the context path, so the request URI can't be compared with them
+     */
+    private static String getPathWithinApplication(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return pathInfo == null ? request.getServletPath() : request.getServletPath() + pathInfo;
+    }
+
+    private String resolveTokenLimiterName(HttpServletRequest request) {
+        // The body is not parsed as JSON here, such requests share the limiter of the endpoint
+        String grantType = StringUtils.startsWithIgnoreCase(request.getContentType(), MediaType.APPLICATION_JSON_VALUE) ? null : request.getParameter(Oauth2Constants.GRANT_TYPE);
+        // Only the registered grant types have own limiters, so random values can't create new limiters
+        if (grantType != null && AuthorizationGrantType.fromSimplifiedName(grantType) != null) {
+            return TOKEN_LIMITER_NAME + ":" + grantType;
+        }
+        return TOKEN_LIMITER_NAME;
+    }
+
+    private void reject(AdaptiveConcurrencyLimiter limiter, HttpServletResponse response) throws IOException {
+        long latencySeconds = TimeUnit.NANOSECONDS.toSeconds(limiter.getLatencyNanos()) + 1;
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(minRetryAfterSeconds, latencySeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiErrorMessage(Oauth2ErrorType.TEMPORARILY_UNAVAILABLE.getErrorName(), REJECTED_DESCRIPTION));
+    }
+
+    /**
+     * Releases the limiter when asynchronously processed request completes
+     */
+    private static final class ReleasingAsyncListener implements AsyncListener {
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long start;
+
+        ReleasingAsyncListener(AdaptiveConcurrencyLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            limiter.release(System.nanoTime() - start, response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete is invoked after timeout too, the limit is reduced there
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete is invoked after error too
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.odeyalo.kyrie.config.support;
 
+import com.odeyalo.kyrie.support.tracing.RequestPhase;
+import com.odeyalo.kyrie.support.tracing.RequestPhaseTracer;
 import org.springframework.web.filter.GenericFilterBean;
 
 import javax.servlet.FilterChain;
@@ -17,7 +19,10 @@ public class Request2CachedContentHttpServletRequestWrapperFilter extends Generi
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         HttpServletRequest request = (HttpServletRequest) servletRequest;
-        CachedContentHttpServletRequestWrapper cachingRequestWrapper = new CachedContentHttpServletRequestWrapper(request);
+        CachedContentHttpServletRequestWrapper cachingRequestWrapper;
+        try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.CREDENTIAL_CACHING)) {
+            cachingRequestWrapper = new CachedContentHttpServletRequestWrapper(request);
+        }
         filterChain.doFilter(cachingRequestWrapper, response);
     }
 }
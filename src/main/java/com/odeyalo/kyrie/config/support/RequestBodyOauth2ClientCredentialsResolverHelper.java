@@ -1,96 +1,90 @@
 package com.odeyalo.kyrie.config.support;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.odeyalo.kyrie.core.oauth2.Oauth2ClientCredentials;
 import com.odeyalo.kyrie.core.oauth2.support.Oauth2Constants;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.util.stream.Collectors;
 
 /**
  * {@link Oauth2ClientCredentialsResolverHelper} implementation that parses ONLY request body and resolves client credentials only from it.
+ * <p>
+ * The body is read with streaming {@link JsonParser}: only top-level 'client_id' and 'client_secret' fields are read,
+ * other values are skipped and parsing stops as soon as both fields were found.
+ * </p>
  */
 @Component
 public class RequestBodyOauth2ClientCredentialsResolverHelper implements Oauth2ClientCredentialsResolverHelper {
-    private final ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final JsonFactory jsonFactory = new JsonFactory();
 
     @Override
     public boolean canBeResolved(HttpServletRequest request) {
-        String body = getBody(request);
-        return MediaType.APPLICATION_JSON_VALUE.equals(request.getContentType()) && StringUtils.hasLength(body);
+        return StringUtils.startsWithIgnoreCase(request.getContentType(), MediaType.APPLICATION_JSON_VALUE) && hasBody(request);
     }
 
     @Override
     public Oauth2ClientCredentials resolveCredentials(HttpServletRequest request) {
-        String body = getBody(request);
-        return parseOauth2ClientCredentialsByBody(body);
+        try (JsonParser parser = createParser(request)) {
+            return parseOauth2ClientCredentials(parser);
+        } catch (IOException e) {
+            return null;
+        }
     }
 
     /**
      * Used to resolve {@link Oauth2ClientCredentials} using JSON.
      *
-     * @param body - JSON body
-     * @return - Oauth2ClientCredentials resolved from body, null otherwise, if body is malformed
+     * @param parser - parser of the JSON body
+     * @return - Oauth2ClientCredentials resolved from body, null otherwise, if body is malformed or does not contain client id or client secret
      * @see Oauth2ClientCredentials
      */
-    private Oauth2ClientCredentials parseOauth2ClientCredentialsByBody(String body) {
-        GenericClientCredentials credentials = convertBodyToCredentials(body);
-        if (credentials == null) {
+    private Oauth2ClientCredentials parseOauth2ClientCredentials(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
             return null;
         }
-        if ((credentials.clientId == null || credentials.clientSecret == null)) {
-            return null;
+        String clientId = null;
+        String clientSecret = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == null) {
+                return null;
+            }
+            if (value.isScalarValue() && Oauth2Constants.CLIENT_ID.equals(fieldName)) {
+                clientId = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            } else if (value.isScalarValue() && Oauth2Constants.CLIENT_SECRET.equals(fieldName)) {
+                clientSecret = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+            if (clientId != null && clientSecret != null) {
+                return Oauth2ClientCredentials.of(clientId, clientSecret);
+            }
         }
-        return Oauth2ClientCredentials.of(credentials.getClientId(), credentials.getClientSecret());
+        return null;
     }
 
-    /**
-     * Convert JSON body to {@link GenericClientCredentials}
-     *
-     * @param body - JSON body
-     * @return - GenericClientCredentials resolved from body, null otherwise
-     */
-    private GenericClientCredentials convertBodyToCredentials(String body) {
-        try {
-            return mapper.readValue(body, GenericClientCredentials.class);
-        } catch (Exception e) {
-            return null;
+    private JsonParser createParser(HttpServletRequest request) throws IOException {
+        CachedContentHttpServletRequestWrapper cachedRequest = WebUtils.getNativeRequest(request, CachedContentHttpServletRequestWrapper.class);
+        // The cached body is parsed in place, without copying to new stream
+        if (cachedRequest != null) {
+            return jsonFactory.createParser(cachedRequest.getContentAsByteArray());
         }
+        return jsonFactory.createParser(request.getInputStream());
     }
 
-    /**
-     * Returns body from request
-     *
-     * @param request - current request
-     * @return - body from request, null otherwise
-     */
-    private String getBody(HttpServletRequest request) {
-        try {
-            return request.getReader().lines().collect(Collectors.joining());
-        } catch (IOException e) {
-            return null;
+    private boolean hasBody(HttpServletRequest request) {
+        CachedContentHttpServletRequestWrapper cachedRequest = WebUtils.getNativeRequest(request, CachedContentHttpServletRequestWrapper.class);
+        if (cachedRequest != null) {
+            return cachedRequest.getContentAsByteArray().length > 0;
         }
-    }
-
-    /**
-     * Support inner class that used to map client id and client secret to Java Object from JSON
-     */
-    @Data
-    @AllArgsConstructor
-    @NoArgsConstructor
-    static class GenericClientCredentials {
-        @JsonProperty(Oauth2Constants.CLIENT_ID)
-        private String clientId;
-        @JsonProperty(Oauth2Constants.CLIENT_SECRET)
-        private String clientSecret;
+        return request.getContentLength() != 0;
     }
 }
@@ -0,0 +1,43 @@
+package com.odeyalo.kyrie.controllers;
+
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys.JwkSet;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys.JwkSetProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+/**
+ * Controller that publishes the public keys used to sign the tokens as JSON Web Key Set.
+ * <p>The response contains ETag and Cache-Control headers, so resource servers can cache the keys and revalidate them cheaply.</p>
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc7517#section-5">JWK Set Format</a>
+ */
+public class JwksController {
+    private final JwkSetProvider jwkSetProvider;
+    private final CacheControl cacheControl;
+
+    /**
+     * @param jwkSetProvider - provider of the precomputed JWK Set
+     * @param maxAge - how long resource servers are allowed to cache the keys without revalidation.
+     *               Must be less than key rotation interval
+     */
+    public JwksController(JwkSetProvider jwkSetProvider, Duration maxAge) {
+        this.jwkSetProvider = jwkSetProvider;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * Return the JWK Set. If request contains 'If-None-Match' header with current ETag, then 304 Not Modified will be returned
+     * @return - JWK Set json
+     */
+    public ResponseEntity<String> jwks() {
+        JwkSet jwkSet = jwkSetProvider.getJwkSet();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(jwkSet.getETag())
+                .cacheControl(cacheControl)
+                .body(jwkSet.getJson());
+    }
+}
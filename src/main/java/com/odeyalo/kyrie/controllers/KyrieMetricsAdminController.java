@@ -0,0 +1,39 @@
+package com.odeyalo.kyrie.controllers;
+
+import com.odeyalo.kyrie.controllers.support.AdminApiKeyChecker;
+import com.odeyalo.kyrie.core.metrics.KyrieMeterSnapshot;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.util.List;
+
+/**
+ * <p>Admin API that returns the snapshot of {@link KyrieMetrics}, used to read the metrics without Actuator.</p>
+ * <p>Every request must contain 'Authorization: Bearer {api-key}' header with the configured admin API key.</p>
+ */
+public class KyrieMetricsAdminController {
+    private final KyrieMetrics metrics;
+    private final AdminApiKeyChecker apiKeyChecker;
+
+    /**
+     * @param metrics - metrics to return
+     * @param apiKeyChecker - checker of the admin API key
+     */
+    public KyrieMetricsAdminController(KyrieMetrics metrics, AdminApiKeyChecker apiKeyChecker) {
+        Assert.notNull(metrics, "KyrieMetrics cannot be null!");
+        Assert.notNull(apiKeyChecker, "AdminApiKeyChecker cannot be null!");
+        this.metrics = metrics;
+        this.apiKeyChecker = apiKeyChecker;
+    }
+
+    public ResponseEntity<?> getMetrics(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!apiKeyChecker.isAuthorized(authorization)) {
+            return apiKeyChecker.unauthorized();
+        }
+        List<KyrieMeterSnapshot> snapshot = metrics.snapshot();
+        return ResponseEntity.ok(snapshot);
+    }
+}
@@ -22,6 +22,8 @@ import com.odeyalo.kyrie.dto.ApiErrorMessage;
 import com.odeyalo.kyrie.dto.LoginDTO;
 import com.odeyalo.kyrie.exceptions.UnsupportedPromptTypeException;
 import com.odeyalo.kyrie.support.html.TemplateResolver;
+import com.odeyalo.kyrie.support.tracing.RequestPhase;
+import com.odeyalo.kyrie.support.tracing.RequestPhaseTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -38,6 +40,8 @@ import org.springframework.web.servlet.ModelAndView;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.odeyalo.kyrie.core.oauth2.prompt.CombinedPromptHandler.COMBINED_PROMPT_TYPE_NAME;
@@ -67,6 +71,7 @@ public class KyrieOauth2Controller {
     public static final String WRONG_CREDENTIALS_ERROR_NAME = "wrong_credentials";
     public static final String MISSING_AUTHORIZATION_REQUEST_ERROR_NAME = "missing_authorization_request";
     public static final String UNSUPPORTED_GRANT_TYPE_ERROR_NAME = "unsupported_grant_type";
+    public static final String TOO_MANY_ATTEMPTS_ERROR_NAME = "too_many_attempts";
 
     private final Logger logger = LoggerFactory.getLogger(KyrieOauth2Controller.class);
 
@@ -121,12 +126,14 @@ public class KyrieOauth2Controller {
 
         AuthorizationRequestContextHolder.setContext(new AuthorizationRequestContext(request));
 
-        PromptHandler promptHandler = promptHandlerFactory.getHandler(promptType);
-        if (promptHandler == null) {
-            throw new UnsupportedPromptTypeException("The given prompt does not supported by Oauth Server.", request.getRedirectUrl());
+        try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.PROMPT)) {
+            PromptHandler promptHandler = promptHandlerFactory.getHandler(promptType);
+            if (promptHandler == null) {
+                throw new UnsupportedPromptTypeException("The given prompt does not supported by Oauth Server.", request.getRedirectUrl());
+            }
+            // Delegate all job to PromptHandler
+            return promptHandler.handlePrompt(new ExtendedModelMap(), currentReq, response);
         }
-        // Delegate all job to PromptHandler
-        return promptHandler.handlePrompt(new ExtendedModelMap(), currentReq, response);
     }
 
     @GetMapping("/consent")
@@ -189,14 +196,15 @@ public class KyrieOauth2Controller {
      *     <li>HTTP 400 BAD REQUEST if session store does not contain {@link KyrieOauth2Controller#AUTHORIZATION_REQUEST_ATTRIBUTE_NAME} or if AuthorizationRequest is malformed</li>
      *     <li>HTTP 500 SERVER ERROR if error was occurred and no exception handler was found.</li>
      * </ul>
+     * <p>If the user is authenticated asynchronously, then the servlet thread is released and the response is {@link CompletableFuture}.</p>
      *
      * @param dto          - dto that contains user's username and password
      * @param sessionStore - store that contains the values for the given session
      * @param status       - current session status. After successful login the session will be closed.
-     * @return - ResponseEntity with redirect or error, see above for more info.
+     * @return - ResponseEntity with redirect or error or CompletableFuture of it, see above for more info.
      */
     @PostMapping(value = "/login", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> loginCheckAndGrantTypeProcessingUsingJson(@RequestBody LoginDTO dto,
+    public Object loginCheckAndGrantTypeProcessingUsingJson(@RequestBody LoginDTO dto,
                                                                        @ModelAttribute(KyrieOauth2Controller.AUTHORIZATION_REQUEST_ATTRIBUTE_NAME) Map<String, Object> sessionStore,
                                                                        SessionStatus status) {
         return doLoginAndGrantTypeProcessing(dto, sessionStore, status);
@@ -213,16 +221,21 @@ public class KyrieOauth2Controller {
      * @param dto          - dto that contains user's username and password
      * @param sessionStore - store that contains the values for the given session
      * @param status       - current session status. After successful login the session will be closed.
-     * @return - ResponseEntity with redirect or error, see above for more info.
+     * @return - ResponseEntity with redirect or error or CompletableFuture of it, see above for more info.
      */
     @PostMapping(value = "/login", consumes = {MediaType.MULTIPART_FORM_DATA_VALUE, MediaType.APPLICATION_FORM_URLENCODED_VALUE})
-    public ResponseEntity<?> loginCheckAndGrantTypeProcessingUsingFormData(@AdvancedModelAttribute LoginDTO dto,
+    public Object loginCheckAndGrantTypeProcessingUsingFormData(@AdvancedModelAttribute LoginDTO dto,
                                                                            @ModelAttribute(KyrieOauth2Controller.AUTHORIZATION_REQUEST_ATTRIBUTE_NAME) Map<String, Object> sessionStore,
                                                                            SessionStatus status) {
         return doLoginAndGrantTypeProcessing(dto, sessionStore, status);
     }
 
-    private ResponseEntity<?> doLoginAndGrantTypeProcessing(LoginDTO dto, Map<String, Object> sessionStore, SessionStatus status) {
+    /**
+     * Authenticate the user and handle the grant.
+     * The declared return type is Object, so the already completed result is returned as plain ResponseEntity
+     * and async servlet processing is started only if the user store did not respond immediately.
+     */
+    private Object doLoginAndGrantTypeProcessing(LoginDTO dto, Map<String, Object> sessionStore, SessionStatus status) {
         AuthorizationRequest authorizationRequest = (AuthorizationRequest) sessionStore.get(AUTHORIZATION_REQUEST_ATTRIBUTE_NAME);
 
         if (authorizationRequest == null) {
@@ -238,8 +251,20 @@ public class KyrieOauth2Controller {
         HttpServletResponse response = requestAttributes.getResponse();
         HttpServletRequest request = requestAttributes.getRequest();
 
-        RedirectableAuthenticationGrantHandlerFacade.HandleResult result = redirectableAuthenticationGrantHandlerFacade.handleGrant(new Oauth2UserAuthenticationInfo(dto.getUsername(), dto.getPassword()), authorizationRequest, request, response);
+        CompletableFuture<RedirectableAuthenticationGrantHandlerFacade.HandleResult> future = redirectableAuthenticationGrantHandlerFacade.handleGrantAsync(
+                new Oauth2UserAuthenticationInfo(dto.getUsername(), dto.getPassword()), authorizationRequest, request, response);
+
+        if (future.isDone()) {
+            try {
+                return toResponseEntity(future.join(), authorizationRequest, status);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        return future.thenApply(result -> toResponseEntity(result, authorizationRequest, status));
+    }
 
+    private ResponseEntity<?> toResponseEntity(RedirectableAuthenticationGrantHandlerFacade.HandleResult result, AuthorizationRequest authorizationRequest, SessionStatus status) {
         ResponseEntity<?> responseEntity = ResponseEntity.internalServerError().body("Request processing cannot be performed and error is unknown");
 
         if (result.isSuccess()) {
@@ -257,6 +282,12 @@ public class KyrieOauth2Controller {
             responseEntity = ResponseEntity.badRequest().body(message);
         }
 
+        // Retry-After header is already set by the facade
+        if (RedirectableAuthenticationGrantHandlerFacade.HandleResult.TOO_MANY_ATTEMPTS_HANDLE_RESULT.equals(result)) {
+            ApiErrorMessage errorMessage = new ApiErrorMessage(TOO_MANY_ATTEMPTS_ERROR_NAME, "Too many failed login attempts, try again later");
+            responseEntity = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorMessage);
+        }
+
         if (result.shouldCloseSession()) {
             status.setComplete();
         }
@@ -265,12 +296,18 @@ public class KyrieOauth2Controller {
     }
 
     private String doGrantTypeProcessing(AuthorizationRequest authorizationRequest, Oauth2User user, SessionStatus status) {
-        Oauth2FlowHandler oauth2FlowHandler = oauth2FlowHandlerFactory.getOauth2FlowHandler(authorizationRequest);
-        if (oauth2FlowHandler == null) {
-            return null;
+        Oauth2Token token;
+        try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.FLOW)) {
+            Oauth2FlowHandler oauth2FlowHandler = oauth2FlowHandlerFactory.getOauth2FlowHandler(authorizationRequest);
+            if (oauth2FlowHandler == null) {
+                return null;
+            }
+            token = oauth2FlowHandler.handleFlow(authorizationRequest, user);
+        }
+        String redirectUrl;
+        try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.REDIRECT_URL)) {
+            redirectUrl = redirectUrlCreationServiceFactory.getRedirectUrlCreationService(authorizationRequest).createRedirectUrl(authorizationRequest, token);
         }
-        Oauth2Token token = oauth2FlowHandler.handleFlow(authorizationRequest, user);
-        String redirectUrl = redirectUrlCreationServiceFactory.getRedirectUrlCreationService(authorizationRequest).createRedirectUrl(authorizationRequest, token);
         // No need to clear the sessionStore, if session is completed, then session store will be automatically cleared by DefaultSessionAttributeStore
         status.setComplete();
         return redirectUrl;
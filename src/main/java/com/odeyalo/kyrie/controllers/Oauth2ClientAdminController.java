@@ -0,0 +1,183 @@
+package com.odeyalo.kyrie.controllers;
+
+import com.odeyalo.kyrie.controllers.support.AdminApiKeyChecker;
+import com.odeyalo.kyrie.core.oauth2.client.CachingOauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.MutableOauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.redirect.RedirectUriMatcher;
+import com.odeyalo.kyrie.dto.ApiErrorMessage;
+import com.odeyalo.kyrie.dto.Oauth2ClientInfoDTO;
+import com.odeyalo.kyrie.dto.Oauth2ClientRegistrationDTO;
+import com.odeyalo.kyrie.exceptions.Oauth2ErrorType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Admin API to register, replace and remove the clients at runtime.</p>
+ * <p>
+ * Every request must contain 'Authorization: Bearer {api-key}' header with the configured admin API key.
+ * Raw client secrets are hashed with {@link PasswordEncoder} before saving, the secrets are never returned.
+ * If the repository is wrapped in {@link CachingOauth2ClientRepository}, then the changed clients are invalidated in the cache.
+ * </p>
+ *
+ * @see MutableOauth2ClientRepository
+ */
+public class Oauth2ClientAdminController {
+    private final MutableOauth2ClientRepository repository;
+    // Not null only if mutable repository is wrapped in the cache
+    private final CachingOauth2ClientRepository cache;
+    private final PasswordEncoder passwordEncoder;
+    private final AdminApiKeyChecker apiKeyChecker;
+    private final Logger logger = LoggerFactory.getLogger(Oauth2ClientAdminController.class);
+
+    /**
+     * @param repository - repository to manage, must be MutableOauth2ClientRepository or CachingOauth2ClientRepository that wraps it
+     * @param passwordEncoder - encoder to hash the raw client secrets
+     * @param apiKeyChecker - checker of the admin API key
+     */
+    public Oauth2ClientAdminController(Oauth2ClientRepository repository, PasswordEncoder passwordEncoder, AdminApiKeyChecker apiKeyChecker) {
+        Assert.notNull(apiKeyChecker, "AdminApiKeyChecker cannot be null!");
+        this.apiKeyChecker = apiKeyChecker;
+        Assert.notNull(passwordEncoder, "PasswordEncoder cannot be null!");
+        this.cache = repository instanceof CachingOauth2ClientRepository ? (CachingOauth2ClientRepository) repository : null;
+        Oauth2ClientRepository target = cache != null ? cache.getDelegate() : repository;
+        if (!(target instanceof MutableOauth2ClientRepository)) {
+            throw new IllegalStateException("Client admin API requires MutableOauth2ClientRepository, but was: " + target.getClass().getName());
+        }
+        this.repository = (MutableOauth2ClientRepository) target;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public ResponseEntity<?> getClient(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @PathVariable("clientId") String clientId) {
+        if (!isAuthorized(authorization)) {
+            return unauthorized();
+        }
+        Oauth2Client client = repository.findOauth2ClientById(clientId);
+        if (client == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Oauth2ClientInfoDTO.from(client));
+    }
+
+    /**
+     * Register new client or replace existing client with the same id
+     * @return - 201 if client is new, 200 if client was replaced
+     */
+    public ResponseEntity<?> saveClient(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                        @PathVariable("clientId") String clientId,
+                                        @RequestBody Oauth2ClientRegistrationDTO body) {
+        if (!isAuthorized(authorization)) {
+            return unauthorized();
+        }
+        body.setClientId(clientId);
+        String error = validate(body);
+        if (error != null) {
+            return badRequest(error);
+        }
+        Oauth2Client previous = repository.save(toClient(body));
+        invalidate(clientId);
+        this.logger.info("Client: {} was {} using admin API", clientId, previous == null ? "registered" : "replaced");
+        Oauth2ClientInfoDTO response = Oauth2ClientInfoDTO.from(repository.findOauth2ClientById(clientId));
+        return ResponseEntity.status(previous == null ? HttpStatus.CREATED : HttpStatus.OK).body(response);
+    }
+
+    public ResponseEntity<?> deleteClient(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                          @PathVariable("clientId") String clientId) {
+        if (!isAuthorized(authorization)) {
+            return unauthorized();
+        }
+        Oauth2Client removed = repository.deleteById(clientId);
+        invalidate(clientId);
+        if (removed == null) {
+            return ResponseEntity.notFound().build();
+        }
+        this.logger.info("Client: {} was removed using admin API", clientId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Register or replace all clients at once. Nothing is saved if at least one client is invalid
+     * @return - number of imported clients
+     */
+    public ResponseEntity<?> importClients(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                           @RequestBody List<Oauth2ClientRegistrationDTO> body) {
+        if (!isAuthorized(authorization)) {
+            return unauthorized();
+        }
+        List<Oauth2Client> clients = new ArrayList<>(body.size());
+        for (Oauth2ClientRegistrationDTO registration : body) {
+            String error = validate(registration);
+            if (error != null) {
+                return badRequest(String.format("Client: %s is invalid. %s", registration.getClientId(), error));
+            }
+            clients.add(toClient(registration));
+        }
+        repository.saveAll(clients);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        this.logger.info("Imported {} clients using admin API", clients.size());
+        return ResponseEntity.ok(Map.of("imported", clients.size()));
+    }
+
+    private String validate(Oauth2ClientRegistrationDTO registration) {
+        if (!StringUtils.hasText(registration.getClientId())) {
+            return "client_id is required";
+        }
+        if (registration.getClientType() == null) {
+            return "client_type is required";
+        }
+        boolean hasRawSecret = registration.getClientSecret() != null;
+        boolean hasEncodedSecret = registration.getEncodedClientSecret() != null;
+        if (hasRawSecret && hasEncodedSecret) {
+            return "Only one of client_secret and encoded_client_secret can be set";
+        }
+        if (registration.getClientType() == Oauth2Client.ClientType.CONFIDENTIAL && !hasRawSecret && !hasEncodedSecret) {
+            return "client_secret is required for confidential client";
+        }
+        try {
+            RedirectUriMatcher.compile(registration.getRedirectUris());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    private Oauth2Client toClient(Oauth2ClientRegistrationDTO registration) {
+        String secret = registration.getClientSecret() != null ? passwordEncoder.encode(registration.getClientSecret()) : registration.getEncodedClientSecret();
+        return new Oauth2Client(registration.getClientId(), secret, registration.getRedirectUris(), registration.getClientType());
+    }
+
+    private void invalidate(String clientId) {
+        if (cache != null) {
+            cache.invalidate(clientId);
+        }
+    }
+
+    private boolean isAuthorized(String authorization) {
+        return apiKeyChecker.isAuthorized(authorization);
+    }
+
+    private ResponseEntity<?> unauthorized() {
+        return apiKeyChecker.unauthorized();
+    }
+
+    private ResponseEntity<?> badRequest(String description) {
+        return ResponseEntity.badRequest().body(new ApiErrorMessage(Oauth2ErrorType.INVALID_REQUEST.getErrorName(), description));
+    }
+}
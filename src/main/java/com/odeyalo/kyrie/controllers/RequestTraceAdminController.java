@@ -0,0 +1,55 @@
+package com.odeyalo.kyrie.controllers;
+
+import com.odeyalo.kyrie.controllers.support.AdminApiKeyChecker;
+import com.odeyalo.kyrie.support.tracing.RequestTrace;
+import com.odeyalo.kyrie.support.tracing.SlowRequestLog;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.util.List;
+
+/**
+ * <p>Admin API that returns the slowest traced requests with the time of every phase.</p>
+ * <p>Every request must contain 'Authorization: Bearer {api-key}' header with the configured admin API key.</p>
+ *
+ * @see SlowRequestLog
+ */
+public class RequestTraceAdminController {
+    private final SlowRequestLog slowRequestLog;
+    private final AdminApiKeyChecker apiKeyChecker;
+
+    /**
+     * @param slowRequestLog - log of the slowest requests
+     * @param apiKeyChecker - checker of the admin API key
+     */
+    public RequestTraceAdminController(SlowRequestLog slowRequestLog, AdminApiKeyChecker apiKeyChecker) {
+        Assert.notNull(slowRequestLog, "SlowRequestLog cannot be null!");
+        Assert.notNull(apiKeyChecker, "AdminApiKeyChecker cannot be null!");
+        this.slowRequestLog = slowRequestLog;
+        this.apiKeyChecker = apiKeyChecker;
+    }
+
+    /**
+     * @return - traces from the slowest to the fastest
+     */
+    public ResponseEntity<?> getSlowestRequests(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!apiKeyChecker.isAuthorized(authorization)) {
+            return apiKeyChecker.unauthorized();
+        }
+        List<RequestTrace> slowest = slowRequestLog.getSlowest();
+        return ResponseEntity.ok(slowest);
+    }
+
+    /**
+     * Remove all kept traces, e.g. after the slow requests were investigated
+     */
+    public ResponseEntity<?> clearSlowestRequests(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!apiKeyChecker.isAuthorized(authorization)) {
+            return apiKeyChecker.unauthorized();
+        }
+        slowRequestLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
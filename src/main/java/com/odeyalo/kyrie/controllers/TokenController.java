@@ -11,6 +11,7 @@ import com.odeyalo.kyrie.dto.Oauth2AccessTokenResponse;
 import com.odeyalo.kyrie.support.Oauth2Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -18,6 +19,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -37,10 +41,10 @@ public class TokenController {
     /**
      * Method to process /token endpoint that support only 'application/json' type
      *
-     * @return - access token
+     * @return - access token, or CompletableFuture of it if the token is obtained asynchronously
      */
     @PostMapping(value = "/token", consumes = {MediaType.MULTIPART_FORM_DATA_VALUE, MediaType.APPLICATION_FORM_URLENCODED_VALUE})
-    public ResponseEntity<?> resolveAccessTokenUsingParams(@RequestParam(Oauth2Constants.GRANT_TYPE) AuthorizationGrantType grantType,
+    public Object resolveAccessTokenUsingParams(@RequestParam(Oauth2Constants.GRANT_TYPE) AuthorizationGrantType grantType,
                                                            @RequestParam(value = Oauth2Constants.CLIENT_ID, required = false) String clientId,
                                                            @RequestParam(value = Oauth2Constants.SCOPE, required = false) String[] scopes,
                                                            @RequestParam Map<String, String> params) {
@@ -54,7 +58,7 @@ public class TokenController {
     }
 
     @PostMapping(value = "/token", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> resolveAccessTokenUsingJson(@RequestBody Map<String, Object> body) {
+    public Object resolveAccessTokenUsingJson(@RequestBody Map<String, Object> body) {
         Map<String, String> params = body.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, (entry) -> (String) entry.getValue()));
 
         String grantType = params.get(Oauth2Constants.GRANT_TYPE);
@@ -79,7 +83,23 @@ public class TokenController {
         Oauth2AccessToken info = tokenManager.getTokenInfo(token);
         AccessTokenIntrospectionResponse response = getAccessTokenIntrospectionResponse(info);
         logger.info("Body: {}", response);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .cacheControl(getIntrospectionCacheControl(response))
+                .body(response);
+    }
+
+    /**
+     * Resource servers are allowed to cache the active token info until the token expires,
+     * info about non-active token must not be cached since the token can be replaced with new one.
+     * @param response - response that will be returned
+     * @return - CacheControl with max-age equal to remaining token lifetime, or no-store if token is not active
+     */
+    private CacheControl getIntrospectionCacheControl(AccessTokenIntrospectionResponse response) {
+        if (!response.isActive() || response.getExpiresIn() == null) {
+            return CacheControl.noStore();
+        }
+        long remainingSeconds = response.getExpiresIn() - System.currentTimeMillis() / 1000L;
+        return CacheControl.maxAge(Math.max(remainingSeconds, 0), TimeUnit.SECONDS).cachePrivate();
     }
 
     private AccessTokenIntrospectionResponse getAccessTokenIntrospectionResponse(Oauth2AccessToken info) {
@@ -91,12 +111,26 @@ public class TokenController {
                 .scope(info.getScope()).build();
     }
 
-    private ResponseEntity<?> doObtainAccessToken(TokenRequest body) {
+    /**
+     * The declared return type is Object, so the already obtained token is returned as plain ResponseEntity
+     * and async servlet processing is started only if the token is not obtained yet, e.g. user store did not respond.
+     */
+    private Object doObtainAccessToken(TokenRequest body) {
         logger.info("body {}", body);
-        Oauth2AccessTokenResponse tokenResponse = wrapper.getResponse(body);
+        CompletableFuture<Oauth2AccessTokenResponse> future = wrapper.getResponseAsync(body);
+        if (future.isDone()) {
+            try {
+                return toResponseEntity(future.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        return future.thenApply(this::toResponseEntity);
+    }
+
+    private ResponseEntity<?> toResponseEntity(Oauth2AccessTokenResponse tokenResponse) {
         this.logger.info("Return: {}", tokenResponse);
         return ResponseEntity.ok(tokenResponse);
-
     }
 }
 
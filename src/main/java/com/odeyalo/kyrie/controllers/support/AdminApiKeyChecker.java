@@ -0,0 +1,48 @@
+package com.odeyalo.kyrie.controllers.support;
+
+import com.odeyalo.kyrie.dto.ApiErrorMessage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Checks 'Authorization: Bearer {api-key}' header of the admin API requests against the configured admin API key.
+ * The keys are compared in constant time.
+ */
+public class AdminApiKeyChecker {
+    private static final String BEARER_PREFIX = "Bearer ";
+    private final byte[] apiKey;
+
+    /**
+     * @param apiKey - key that must be presented by admin
+     */
+    public AdminApiKeyChecker(String apiKey) {
+        Assert.hasText(apiKey, "Admin API key must be set!");
+        this.apiKey = apiKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param authorization - value of Authorization header, nullable
+     * @return - true if the header contains the admin API key
+     */
+    public boolean isAuthorized(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        byte[] presented = authorization.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(apiKey, presented);
+    }
+
+    /**
+     * @return - 401 response with 'WWW-Authenticate: Bearer' header
+     */
+    public ResponseEntity<?> unauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                .body(new ApiErrorMessage("unauthorized", "Valid admin API key is required"));
+    }
+}
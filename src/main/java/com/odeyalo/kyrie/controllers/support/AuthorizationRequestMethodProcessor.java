@@ -11,6 +11,8 @@ import com.odeyalo.kyrie.exceptions.Oauth2ErrorType;
 import com.odeyalo.kyrie.exceptions.Oauth2Exception;
 import com.odeyalo.kyrie.exceptions.RedirectUriAwareOauth2Exception;
 import com.odeyalo.kyrie.support.AdvancedStringUtils;
+import com.odeyalo.kyrie.support.tracing.RequestPhase;
+import com.odeyalo.kyrie.support.tracing.RequestPhaseTracer;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -54,9 +56,14 @@ public class AuthorizationRequestMethodProcessor implements HandlerMethodArgumen
     public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer, NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
         HttpServletRequest httpRequest = (HttpServletRequest) webRequest.getNativeRequest();
 
-        AuthorizationRequest authorizationRequest = buildAuthorizationRequest(httpRequest);
+        AuthorizationRequest authorizationRequest;
+        try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.AUTHORIZE_PARSING)) {
+            authorizationRequest = buildAuthorizationRequest(httpRequest);
+        }
 
-        validateIfNecessary(parameter, authorizationRequest);
+        try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.VALIDATION)) {
+            validateIfNecessary(parameter, authorizationRequest);
+        }
 
         return authorizationRequest;
     }
@@ -1,16 +1,16 @@
 package com.odeyalo.kyrie.controllers.support.validation;
 
 import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
+import com.odeyalo.kyrie.core.oauth2.client.redirect.RedirectUri;
 import com.odeyalo.kyrie.core.support.Oauth2ValidationResult;
 import com.odeyalo.kyrie.exceptions.Oauth2ErrorType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.net.MalformedURLException;
-import java.net.URL;
-
 /**
  * Check only 'redirect_uri' parameter from oauth2 request.
+ * The uri is checked in single pass without creating {@link java.net.URL}, private-use schemes of native apps are allowed.
+ * @see RedirectUri
  */
 public class RedirectUriAuthorizationRequestValidationStep implements AuthorizationRequestValidationStep {
     private final Logger logger = LoggerFactory.getLogger(RedirectUriAuthorizationRequestValidationStep.class);
@@ -24,13 +24,11 @@ public class RedirectUriAuthorizationRequestValidationStep implements Authorizat
     public Oauth2ValidationResult validate(AuthorizationRequest request) {
         String redirectUrl = request.getRedirectUrl();
         logger.debug("Testing redirect uri with value: {}", redirectUrl);
-        try {
-            new URL(redirectUrl);
+        if (RedirectUri.isValid(redirectUrl)) {
             logger.debug("Testing redirect uri with value: {} is success", redirectUrl);
             return Oauth2ValidationResult.success();
-        } catch (MalformedURLException e) {
-            logger.debug("Testing redirect uri with value: {} was failed", redirectUrl);
-            return Oauth2ValidationResult.failed(Oauth2ErrorType.INVALID_REDIRECT_URI, "The redirect_uri parameter is not valid and can't processed");
         }
+        logger.debug("Testing redirect uri with value: {} was failed", redirectUrl);
+        return Oauth2ValidationResult.failed(Oauth2ErrorType.INVALID_REDIRECT_URI, "The redirect_uri parameter is not valid and can't processed");
     }
 }
@@ -7,12 +7,11 @@ import com.odeyalo.kyrie.core.support.Oauth2ValidationResult;
 import com.odeyalo.kyrie.exceptions.Oauth2ErrorType;
 import org.springframework.core.Ordered;
 
-import java.util.Set;
-
 /**
  * Simple {@link AuthorizationRequestValidationStep} implementation that checks the redirect uri is registered in allowed redirect uris by {@link com.odeyalo.kyrie.core.oauth2.client.Oauth2Client}
  *
  * If redirect uri is not presented, then the request will be rejected
+ * <p>The uri is matched by the matcher that is compiled once per client, see {@link com.odeyalo.kyrie.core.oauth2.client.redirect.RedirectUriMatcher} for supported rules</p>
  */
 public class RegisteredRedirectUriAuthorizationRequestValidationStep implements AuthorizationRequestValidationStep, Ordered {
     private final Oauth2ClientRepository clientRepository;
@@ -27,10 +26,9 @@ public class RegisteredRedirectUriAuthorizationRequestValidationStep implements
         if (client == null) {
             return Oauth2ValidationResult.failed(Oauth2ErrorType.INVALID_CLIENT, "The client is null");
         }
-        Set<String> allowedRedirectUris = client.getAllowedRedirectUris();
         String redirectUrl = request.getRedirectUrl();
 
-        if (!allowedRedirectUris.contains(redirectUrl)) {
+        if (!client.isRedirectUriAllowed(redirectUrl)) {
             return Oauth2ValidationResult.failed(Oauth2ErrorType.INVALID_REDIRECT_URI,
                     "The redirect uri does not registered as trusted");
         }
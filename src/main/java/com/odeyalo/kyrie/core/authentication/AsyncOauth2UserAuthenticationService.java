@@ -0,0 +1,28 @@
+package com.odeyalo.kyrie.core.authentication;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <p>Non-blocking variant of {@link Oauth2UserAuthenticationService}, used for user stores with high latency, e.g. remote directory.</p>
+ * <p>
+ * The returned future must not be completed on the servlet thread by blocking, the login and password grant endpoints
+ * release the servlet thread while the future is not completed.
+ * The listeners of the authentication events are invoked with the contexts of the original request.
+ * </p>
+ * <p>
+ * To use the non-blocking user store, register it as {@link Oauth2UserAuthenticationService} bean wrapped into
+ * {@link BlockingOauth2UserAuthenticationServiceAdapter}, the adapter implements both interfaces.
+ * </p>
+ *
+ * @see ExecutorAsyncOauth2UserAuthenticationServiceAdapter
+ * @see BlockingOauth2UserAuthenticationServiceAdapter
+ */
+public interface AsyncOauth2UserAuthenticationService {
+
+    /**
+     * Authenticate user asynchronously
+     * @param info - user credentials
+     * @return - future that is completed with AuthenticationResult
+     */
+    CompletableFuture<AuthenticationResult> authenticateAsync(Oauth2UserAuthenticationInfo info);
+}
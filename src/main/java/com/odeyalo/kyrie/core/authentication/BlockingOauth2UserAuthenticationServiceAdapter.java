@@ -0,0 +1,73 @@
+package com.odeyalo.kyrie.core.authentication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>Adapts {@link AsyncOauth2UserAuthenticationService} to blocking {@link Oauth2UserAuthenticationService}.</p>
+ * <p>
+ * The adapter also implements {@link AsyncOauth2UserAuthenticationService}, so the login and password grant endpoints
+ * use the non-blocking method of the delegate, the blocking method is used only by the code that requires the result immediately.
+ * If the delegate does not complete in timeout, then authentication is failed.
+ * </p>
+ */
+public class BlockingOauth2UserAuthenticationServiceAdapter implements Oauth2UserAuthenticationService, AsyncOauth2UserAuthenticationService {
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    private final AsyncOauth2UserAuthenticationService delegate;
+    private final Duration timeout;
+    private final Logger logger = LoggerFactory.getLogger(BlockingOauth2UserAuthenticationServiceAdapter.class);
+
+    public BlockingOauth2UserAuthenticationServiceAdapter(AsyncOauth2UserAuthenticationService delegate) {
+        this(delegate, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Create new BlockingOauth2UserAuthenticationServiceAdapter
+     * @param delegate - non-blocking service to invoke
+     * @param timeout - max time to wait for the result
+     */
+    public BlockingOauth2UserAuthenticationServiceAdapter(AsyncOauth2UserAuthenticationService delegate, Duration timeout) {
+        Assert.notNull(delegate, "Delegate AsyncOauth2UserAuthenticationService cannot be null!");
+        Assert.isTrue(timeout != null && !timeout.isNegative() && !timeout.isZero(), "Timeout must be positive!");
+        this.delegate = delegate;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public AuthenticationResult authenticate(Oauth2UserAuthenticationInfo info) {
+        CompletableFuture<AuthenticationResult> future = delegate.authenticateAsync(info);
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            this.logger.warn("User authentication was not completed in: {}, authentication is failed", timeout);
+            return AuthenticationResult.failed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return AuthenticationResult.failed();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    @Override
+    public CompletableFuture<AuthenticationResult> authenticateAsync(Oauth2UserAuthenticationInfo info) {
+        return delegate.authenticateAsync(info);
+    }
+
+    public AsyncOauth2UserAuthenticationService getDelegate() {
+        return delegate;
+    }
+}
@@ -6,22 +6,32 @@ import com.odeyalo.kyrie.core.events.authentication.UserLoginAuthenticationAttem
 import com.odeyalo.kyrie.core.events.authentication.UserLoginAuthenticationFailureBadCredentialsKyrieEvent;
 import com.odeyalo.kyrie.core.events.authentication.UserLoginAuthenticationGrantedKyrieEvent;
 import com.odeyalo.kyrie.core.events.authentication.support.AttemptedLoginAuthentication;
+import com.odeyalo.kyrie.support.concurrent.RequestContextSnapshot;
+import com.odeyalo.kyrie.support.jfr.UserAuthenticationJfrEvent;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
  * {@link Oauth2UserAuthenticationService} implementation that used as wrapper to publish the authentication events.
+ * <p>
+ * The decorator also implements {@link AsyncOauth2UserAuthenticationService}: if the delegate is non-blocking, then it is used as is,
+ * otherwise the blocking delegate is invoked on the given executor. The events are published with the contexts of the original request.
+ * </p>
+ * <p>The call of the delegate is recorded as {@link UserAuthenticationJfrEvent}</p>
  *
  * @see Oauth2UserAuthenticationService
  * @see com.odeyalo.kyrie.core.events.KyrieEvent
  */
-public class EventPublisherOauth2UserAuthenticationServiceDecorator implements Oauth2UserAuthenticationService {
+public class EventPublisherOauth2UserAuthenticationServiceDecorator implements Oauth2UserAuthenticationService, AsyncOauth2UserAuthenticationService {
     private final Oauth2UserAuthenticationService delegate;
+    private final AsyncOauth2UserAuthenticationService asyncDelegate;
     private final KyrieEventPublisher eventPublisher;
 
     /**
@@ -31,8 +41,22 @@ public class EventPublisherOauth2UserAuthenticationServiceDecorator implements O
      * @param eventPublisher - event publisher that will be used to publish events
      */
     public EventPublisherOauth2UserAuthenticationServiceDecorator(Oauth2UserAuthenticationService delegate, KyrieEventPublisher eventPublisher) {
+        this(delegate, eventPublisher, null);
+    }
+
+    /**
+     * Create new EventPublisherOauth2UserAuthenticationServiceDecorator
+     *
+     * @param delegate       = original {@link Oauth2UserAuthenticationService} that will be used to delegate actual job
+     * @param eventPublisher - event publisher that will be used to publish events
+     * @param executor       - executor to invoke the blocking delegate in {@link #authenticateAsync(Oauth2UserAuthenticationInfo)}, nullable.
+     *                       If null, then blocking delegate is invoked on the caller thread
+     */
+    public EventPublisherOauth2UserAuthenticationServiceDecorator(Oauth2UserAuthenticationService delegate, KyrieEventPublisher eventPublisher, Executor executor) {
         this.delegate = delegate;
         this.eventPublisher = eventPublisher;
+        this.asyncDelegate = delegate instanceof AsyncOauth2UserAuthenticationService ? (AsyncOauth2UserAuthenticationService) delegate
+                : new ExecutorAsyncOauth2UserAuthenticationServiceAdapter(delegate, executor);
     }
 
     /**
@@ -47,7 +71,7 @@ public class EventPublisherOauth2UserAuthenticationServiceDecorator implements O
      * {@link UserLoginAuthenticationGrantedKyrieEvent} with original user that wrapped into {@link UsernamePasswordAuthenticationToken}
      * if the original {@link Oauth2UserAuthenticationService} returns the {@link AuthenticationResult#success(Oauth2User)}
      *
-     * <p>{@link UserLoginAuthenticationFailureBadCredentialsKyrieEvent} with null authentication and BadCredentialsException
+     * <p>{@link UserLoginAuthenticationFailureBadCredentialsKyrieEvent} with {@link AttemptedLoginAuthentication} that contains only username and BadCredentialsException
      * if the {@link Oauth2UserAuthenticationService} returns the {@link AuthenticationResult#failed()}</p>
      * </p>
      *
@@ -58,17 +82,55 @@ public class EventPublisherOauth2UserAuthenticationServiceDecorator implements O
     public AuthenticationResult authenticate(Oauth2UserAuthenticationInfo info) {
         eventPublisher.publishEvent(new UserLoginAuthenticationAttemptedKyrieEvent(AttemptedLoginAuthentication.of(info.getUsername(), info.getPassword())));
 
-        AuthenticationResult result = delegate.authenticate(info);
+        UserAuthenticationJfrEvent event = new UserAuthenticationJfrEvent();
+        event.begin();
+        AuthenticationResult result;
+        try {
+            result = delegate.authenticate(info);
+        } catch (RuntimeException e) {
+            event.complete(UserAuthenticationJfrEvent.ERROR, false);
+            throw e;
+        }
+        event.complete(getOutcome(result), false);
+        return publishResult(info, result);
+    }
+
+    /**
+     * Publish the same events as {@link #authenticate(Oauth2UserAuthenticationInfo)}, but do not block while the user is authenticated.
+     * The events after authentication are published with the contexts of the request that started authentication.
+     *
+     * @param info - user credentials
+     * @return - future with unmodified AuthenticationResult from original service
+     */
+    @Override
+    public CompletableFuture<AuthenticationResult> authenticateAsync(Oauth2UserAuthenticationInfo info) {
+        eventPublisher.publishEvent(new UserLoginAuthenticationAttemptedKyrieEvent(AttemptedLoginAuthentication.of(info.getUsername(), info.getPassword())));
+
+        RequestContextSnapshot snapshot = RequestContextSnapshot.capture();
+        UserAuthenticationJfrEvent event = new UserAuthenticationJfrEvent();
+        event.begin();
+        return asyncDelegate.authenticateAsync(info)
+                .whenComplete((result, ex) -> event.complete(ex != null ? UserAuthenticationJfrEvent.ERROR : getOutcome(result), true))
+                .thenApply(result -> snapshot.call(() -> publishResult(info, result)));
+    }
+
+    private AuthenticationResult publishResult(Oauth2UserAuthenticationInfo info, AuthenticationResult result) {
         if (result.isSuccess()) {
             Oauth2User authenticatedUser = result.getUser();
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(authenticatedUser, authenticatedUser.getPassword(), getAuthorities(result));
             eventPublisher.publishEvent(new UserLoginAuthenticationGrantedKyrieEvent(authentication, authenticatedUser));
         } else {
-            eventPublisher.publishEvent(new UserLoginAuthenticationFailureBadCredentialsKyrieEvent(null, new BadCredentialsException("The provided credentials is wrong")));
+            // Only username is published, the wrong password must not leave the authentication service
+            eventPublisher.publishEvent(new UserLoginAuthenticationFailureBadCredentialsKyrieEvent(AttemptedLoginAuthentication.of(info.getUsername(), null),
+                    new BadCredentialsException("The provided credentials is wrong")));
         }
         return result;
     }
 
+    private String getOutcome(AuthenticationResult result) {
+        return result.isSuccess() ? UserAuthenticationJfrEvent.SUCCESS : UserAuthenticationJfrEvent.FAILURE;
+    }
+
     private Set<GrantedAuthority> getAuthorities(AuthenticationResult result) {
         return result.getUser().getAuthorities().stream().map(SimpleGrantedAuthority::new).collect(Collectors.toSet());
     }
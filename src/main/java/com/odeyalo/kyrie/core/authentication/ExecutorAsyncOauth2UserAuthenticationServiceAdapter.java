@@ -0,0 +1,61 @@
+package com.odeyalo.kyrie.core.authentication;
+
+import com.odeyalo.kyrie.support.concurrent.RequestContextSnapshot;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>Adapts the blocking {@link Oauth2UserAuthenticationService} to {@link AsyncOauth2UserAuthenticationService}.</p>
+ * <p>
+ * The blocking service is invoked on the given executor with the contexts of the current request,
+ * so the service and listeners of its events can access the request as if they run on servlet thread.
+ * If executor is null, then the service is invoked on the caller thread and the returned future is already completed.
+ * </p>
+ *
+ * @see UserAuthenticationExecutor
+ */
+public class ExecutorAsyncOauth2UserAuthenticationServiceAdapter implements AsyncOauth2UserAuthenticationService, Oauth2UserAuthenticationService {
+    private final Oauth2UserAuthenticationService delegate;
+    // Nullable, if null, then the delegate is invoked on the caller thread
+    private final Executor executor;
+
+    /**
+     * Create new ExecutorAsyncOauth2UserAuthenticationServiceAdapter
+     * @param delegate - blocking service to invoke
+     * @param executor - executor to invoke the service on, nullable
+     */
+    public ExecutorAsyncOauth2UserAuthenticationServiceAdapter(Oauth2UserAuthenticationService delegate, Executor executor) {
+        Assert.notNull(delegate, "Delegate Oauth2UserAuthenticationService cannot be null!");
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<AuthenticationResult> authenticateAsync(Oauth2UserAuthenticationInfo info) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(delegate.authenticate(info));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        RequestContextSnapshot snapshot = RequestContextSnapshot.capture();
+        try {
+            return CompletableFuture.supplyAsync(() -> snapshot.call(() -> delegate.authenticate(info)), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public AuthenticationResult authenticate(Oauth2UserAuthenticationInfo info) {
+        return delegate.authenticate(info);
+    }
+
+    public Oauth2UserAuthenticationService getDelegate() {
+        return delegate;
+    }
+}
@@ -1,27 +1,44 @@
 package com.odeyalo.kyrie.core.authentication;
 
 import com.odeyalo.kyrie.core.Oauth2User;
-import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
-import org.springframework.stereotype.Service;
+import com.odeyalo.kyrie.support.crypto.CredentialVerificationCache;
+import com.odeyalo.kyrie.support.crypto.DummyEncodedPassword;
+import com.odeyalo.kyrie.support.crypto.KyriePasswordEncoders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.Assert;
 
 import javax.annotation.Nonnull;
-import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Oauth2UserAuthenticationService implementation that store users in memory.
+ * <p>Oauth2UserAuthenticationService implementation that store users in memory.</p>
+ * <ul>
+ *     <li>Users are indexed by username, so authentication time does not depend on the number of users</li>
+ *     <li>Passwords are verified with {@link PasswordEncoder}, so passwords can be stored hashed, e.g. '{bcrypt}$2a$10$...'</li>
+ *     <li>Successful verifications can be cached with {@link CredentialVerificationCache}, so re-logins do not run the slow hash function</li>
+ *     <li>Password of the unknown user is verified against the dummy hash in the encoding of the registered passwords,
+ *     so response time does not reveal whether the user exists</li>
+ *     <li>The service does not wait for I/O, so {@link #authenticateAsync(Oauth2UserAuthenticationInfo)} completes on the caller thread</li>
+ * </ul>
  * NOTE: InMemoryOauth2UserAuthenticationService should be used only for development
  * @see Oauth2User
  * @see Oauth2UserAuthenticationService
+ * @version 1.1
  */
-public class InMemoryOauth2UserAuthenticationService implements Oauth2UserAuthenticationService {
-
-    private final Map<String, Oauth2User> users;
+public class InMemoryOauth2UserAuthenticationService implements Oauth2UserAuthenticationService, AsyncOauth2UserAuthenticationService {
+    private final Map<String, Oauth2User> usersByUsername = new ConcurrentHashMap<>();
+    private final PasswordEncoder passwordEncoder;
+    private final CredentialVerificationCache verificationCache;
+    // Verified for unknown users to spend the same time as for existing users, follows the encoding of the last registered password
+    private final DummyEncodedPassword dummyPassword;
 
     /**
      * Initialize repository with array of users
-     * In this case as id will be used user's id property
      * @param users - array of users to register in authentication service
      */
     public InMemoryOauth2UserAuthenticationService(Oauth2User... users) {
@@ -31,30 +48,89 @@ public class InMemoryOauth2UserAuthenticationService implements Oauth2UserAuthen
     /**
      * Initialize repository with existing users
      *
-     * @param users - default users to set
+     * @param users - default users to set, key is ignored and users are indexed by username
      */
     public InMemoryOauth2UserAuthenticationService(Map<String, Oauth2User> users) {
-        this.users = users;
+        this(users.values(), KyriePasswordEncoders.createDelegatingPasswordEncoder(), null);
     }
 
     /**
      * Initialize repository with list of users
-     * In this case user's id will be used as id for 'users'
      * @param users - users to register in authentication service
      */
     public InMemoryOauth2UserAuthenticationService(@Nonnull List<Oauth2User> users) {
-        this.users = users.stream().collect(Collectors.toMap(Oauth2User::getId, Function.identity()));
+        this(users, KyriePasswordEncoders.createDelegatingPasswordEncoder(), null);
     }
 
-
+    /**
+     * Initialize repository with users which passwords are encoded by the given encoder
+     * @param users - users to register in authentication service
+     * @param passwordEncoder - encoder to verify the passwords
+     * @param verificationCache - cache of the successful verifications, nullable. If null, then every password is verified with encoder
+     */
+    public InMemoryOauth2UserAuthenticationService(@Nonnull Collection<Oauth2User> users, PasswordEncoder passwordEncoder, CredentialVerificationCache verificationCache) {
+        Assert.notNull(users, "Users cannot be null!");
+        Assert.notNull(passwordEncoder, "PasswordEncoder cannot be null!");
+        this.passwordEncoder = passwordEncoder;
+        this.verificationCache = verificationCache;
+        this.dummyPassword = new DummyEncodedPassword(passwordEncoder);
+        for (Oauth2User user : users) {
+            addUser(user);
+        }
+    }
 
     @Override
     public AuthenticationResult authenticate(Oauth2UserAuthenticationInfo info) {
-        for (Oauth2User user : users.values()) {
-            if (user.getUsername().equals(info.getUsername()) && user.getPassword().equals(info.getPassword())) {
-                return AuthenticationResult.success(user);
-            }
+        String username = info.getUsername();
+        String password = info.getPassword();
+        if (username == null || password == null) {
+            return AuthenticationResult.failed();
+        }
+        Oauth2User user = usersByUsername.get(username);
+        if (user == null || user.getPassword() == null) {
+            dummyPassword.verify(password);
+            return AuthenticationResult.failed();
+        }
+        String encodedPassword = user.getPassword();
+        if (verificationCache != null && verificationCache.isVerified(username, password, encodedPassword)) {
+            return AuthenticationResult.success(user);
         }
-        return AuthenticationResult.failed();
+        if (!passwordEncoder.matches(password, encodedPassword)) {
+            return AuthenticationResult.failed();
+        }
+        if (verificationCache != null) {
+            verificationCache.markVerified(username, password, encodedPassword);
+        }
+        return AuthenticationResult.success(user);
+    }
+
+    @Override
+    public CompletableFuture<AuthenticationResult> authenticateAsync(Oauth2UserAuthenticationInfo info) {
+        return CompletableFuture.completedFuture(authenticate(info));
+    }
+
+    /**
+     * Register the user or replace the user with the same username
+     * @param user - user to add, the password must be encoded by the encoder of this service
+     */
+    public void addUser(Oauth2User user) {
+        Assert.notNull(user, "User cannot be null!");
+        Assert.notNull(user.getUsername(), "Username cannot be null!");
+        // Cached verifications are bound to the encoded password, so they are not used after the password was changed
+        usersByUsername.put(user.getUsername(), user);
+        dummyPassword.adaptTo(user.getPassword());
+    }
+
+    /**
+     * Remove the user by username
+     * @param username - username of the user to remove
+     * @return - removed user or null if user does not exist
+     */
+    public Oauth2User removeUser(String username) {
+        return usersByUsername.remove(username);
+    }
+
+    public int size() {
+        return usersByUsername.size();
     }
 }
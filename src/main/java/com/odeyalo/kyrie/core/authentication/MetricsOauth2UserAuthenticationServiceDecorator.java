@@ -0,0 +1,87 @@
+package com.odeyalo.kyrie.core.authentication;
+
+import com.odeyalo.kyrie.core.metrics.KyrieMetricNames;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import com.odeyalo.kyrie.core.metrics.KyrieTimer;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <p>{@link Oauth2UserAuthenticationService} decorator that records the time to authenticate the user, tagged by outcome:</p>
+ * <ul>
+ *     <li>success - the user was authenticated</li>
+ *     <li>failure - the credentials are wrong</li>
+ *     <li>error - the service threw the exception</li>
+ * </ul>
+ * <p>Use {@link #decorate(Oauth2UserAuthenticationService, KyrieMetrics)} to keep {@link AsyncOauth2UserAuthenticationService} if the delegate implements it.</p>
+ *
+ * @see KyrieMetricNames#USER_AUTHENTICATION
+ */
+public class MetricsOauth2UserAuthenticationServiceDecorator implements Oauth2UserAuthenticationService {
+    private final Oauth2UserAuthenticationService delegate;
+    protected final KyrieTimer success;
+    protected final KyrieTimer failure;
+    protected final KyrieTimer error;
+
+    public MetricsOauth2UserAuthenticationServiceDecorator(Oauth2UserAuthenticationService delegate, KyrieMetrics metrics) {
+        Assert.notNull(delegate, "Delegate cannot be null!");
+        this.delegate = delegate;
+        this.success = metrics.timer(KyrieMetricNames.USER_AUTHENTICATION, KyrieMetricNames.OUTCOME_TAG, KyrieMetricNames.SUCCESS);
+        this.failure = metrics.timer(KyrieMetricNames.USER_AUTHENTICATION, KyrieMetricNames.OUTCOME_TAG, KyrieMetricNames.FAILURE);
+        this.error = metrics.timer(KyrieMetricNames.USER_AUTHENTICATION, KyrieMetricNames.OUTCOME_TAG, KyrieMetricNames.ERROR);
+    }
+
+    /**
+     * Decorate the service with the metrics
+     * @param delegate - service to decorate
+     * @param metrics - metrics to record the time to
+     * @return - decorated service, also implements AsyncOauth2UserAuthenticationService if the delegate implements it
+     */
+    public static MetricsOauth2UserAuthenticationServiceDecorator decorate(Oauth2UserAuthenticationService delegate, KyrieMetrics metrics) {
+        if (delegate instanceof AsyncOauth2UserAuthenticationService) {
+            return new Async(delegate, metrics);
+        }
+        return new MetricsOauth2UserAuthenticationServiceDecorator(delegate, metrics);
+    }
+
+    @Override
+    public AuthenticationResult authenticate(Oauth2UserAuthenticationInfo info) {
+        long start = System.nanoTime();
+        try {
+            AuthenticationResult result = delegate.authenticate(info);
+            timer(result).recordSince(start);
+            return result;
+        } catch (RuntimeException e) {
+            error.recordSince(start);
+            throw e;
+        }
+    }
+
+    public Oauth2UserAuthenticationService getDelegate() {
+        return delegate;
+    }
+
+    protected KyrieTimer timer(AuthenticationResult result) {
+        return result != null && result.isSuccess() ? success : failure;
+    }
+
+    /**
+     * Decorator of the service that implements both interfaces, the time is recorded when the future is completed
+     */
+    static final class Async extends MetricsOauth2UserAuthenticationServiceDecorator implements AsyncOauth2UserAuthenticationService {
+        private final AsyncOauth2UserAuthenticationService asyncDelegate;
+
+        Async(Oauth2UserAuthenticationService delegate, KyrieMetrics metrics) {
+            super(delegate, metrics);
+            this.asyncDelegate = (AsyncOauth2UserAuthenticationService) delegate;
+        }
+
+        @Override
+        public CompletableFuture<AuthenticationResult> authenticateAsync(Oauth2UserAuthenticationInfo info) {
+            long start = System.nanoTime();
+            return asyncDelegate.authenticateAsync(info)
+                    .whenComplete((result, failure) -> (failure == null ? timer(result) : error).recordSince(start));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.odeyalo.kyrie.core.authentication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Executor to run the blocking {@link Oauth2UserAuthenticationService} off the servlet thread.</p>
+ * <ul>
+ *     <li>{@link Mode#VIRTUAL_THREADS} - every authentication runs on its own virtual thread, requires JDK 21+</li>
+ *     <li>{@link Mode#PLATFORM_THREADS} - authentications run on the bounded pool of platform threads with the bounded queue</li>
+ *     <li>{@link Mode#CALLER_THREAD} - authentications run on the servlet thread, as the synchronous service does</li>
+ *     <li>{@link Mode#AUTO} - virtual threads if the JVM supports them, caller thread otherwise</li>
+ * </ul>
+ * <p>
+ * Virtual threads are created using reflection, so the library still runs on JDK 11.
+ * The class intentionally does not implement {@link java.util.concurrent.Executor},
+ * so it does not replace the application task executor that Spring Boot creates only if no Executor bean exists.
+ * </p>
+ * <p>
+ * If all platform threads are busy and the queue is full, the authentication is rejected with {@link java.util.concurrent.RejectedExecutionException}
+ * and {@link ExecutorAsyncOauth2UserAuthenticationServiceAdapter} completes the future exceptionally, so the slow user store can't pile up the requests in memory.
+ * </p>
+ *
+ * @see ExecutorAsyncOauth2UserAuthenticationServiceAdapter
+ */
+public class UserAuthenticationExecutor implements AutoCloseable {
+    public static final int DEFAULT_PLATFORM_THREADS = 64;
+    public static final int DEFAULT_PLATFORM_QUEUE_CAPACITY = 1024;
+    private static final String THREAD_NAME_PREFIX = "kyrie-user-authentication-";
+    private static final Logger logger = LoggerFactory.getLogger(UserAuthenticationExecutor.class);
+
+    private final Mode mode;
+    // Null if the authentication runs on the caller thread
+    private final ExecutorService executorService;
+
+    private UserAuthenticationExecutor(Mode mode, ExecutorService executorService) {
+        this.mode = mode;
+        this.executorService = executorService;
+    }
+
+    /**
+     * Create the executor for the given mode with the default queue capacity of platform threads
+     * @param mode - how the blocking authentications are executed
+     * @param platformThreads - max number of threads if platform threads are used
+     * @return - UserAuthenticationExecutor, never null
+     */
+    public static UserAuthenticationExecutor create(Mode mode, int platformThreads) {
+        return create(mode, platformThreads, DEFAULT_PLATFORM_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Create the executor for the given mode
+     * @param mode - how the blocking authentications are executed
+     * @param platformThreads - max number of threads if platform threads are used
+     * @param platformQueueCapacity - max number of authentications that wait for the platform thread
+     * @return - UserAuthenticationExecutor, never null
+     */
+    public static UserAuthenticationExecutor create(Mode mode, int platformThreads, int platformQueueCapacity) {
+        Assert.notNull(mode, "Mode cannot be null!");
+        Assert.isTrue(platformThreads > 0, "Number of platform threads must be positive!");
+        Assert.isTrue(platformQueueCapacity > 0, "Queue capacity of platform threads must be positive!");
+        if (mode == Mode.AUTO || mode == Mode.VIRTUAL_THREADS) {
+            ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+            if (virtualThreadExecutor != null) {
+                return new UserAuthenticationExecutor(Mode.VIRTUAL_THREADS, virtualThreadExecutor);
+            }
+            if (mode == Mode.VIRTUAL_THREADS) {
+                logger.warn("Virtual threads are not supported by JVM: {}, the platform threads are used", System.getProperty("java.version"));
+                return new UserAuthenticationExecutor(Mode.PLATFORM_THREADS, createPlatformThreadExecutor(platformThreads, platformQueueCapacity));
+            }
+            return new UserAuthenticationExecutor(Mode.CALLER_THREAD, null);
+        }
+        if (mode == Mode.PLATFORM_THREADS) {
+            return new UserAuthenticationExecutor(Mode.PLATFORM_THREADS, createPlatformThreadExecutor(platformThreads, platformQueueCapacity));
+        }
+        return new UserAuthenticationExecutor(Mode.CALLER_THREAD, null);
+    }
+
+    /**
+     * @return - true if the JVM supports virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return - mode that is actually used, never {@link Mode#AUTO}
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return - executor service to run the authentication, null if authentication runs on the caller thread
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    @Override
+    public void close() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        if (!isVirtualThreadsSupported()) {
+            return null;
+        }
+        try {
+            // Thread.ofVirtual().name(prefix, 0).factory()
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, THREAD_NAME_PREFIX, 0L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            // Executors.newThreadPerTaskExecutor(factory)
+            Method newThreadPerTaskExecutor = java.util.concurrent.Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("Failed to create virtual thread executor", e);
+            return null;
+        }
+    }
+
+    private static ExecutorService createPlatformThreadExecutor(int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        // Rejected authentications fail fast, the caller turns the exception into exceptionally completed future
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + counter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public enum Mode {
+        AUTO,
+        VIRTUAL_THREADS,
+        PLATFORM_THREADS,
+        CALLER_THREAD
+    }
+}
@@ -0,0 +1,27 @@
+package com.odeyalo.kyrie.core.authentication;
+
+import com.odeyalo.kyrie.support.crypto.CredentialVerificationCache;
+
+import java.time.Duration;
+
+/**
+ * <p>Cache of the successful user password verifications, absorbs bursts of re-logins of the same user without running slow password hash function.</p>
+ * <p>Entries are keyed by username, the cached verification is ignored as soon as the user password is changed.</p>
+ *
+ * @see CredentialVerificationCache
+ */
+public class UserPasswordVerificationCache extends CredentialVerificationCache {
+    public static final Duration DEFAULT_USER_TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    public UserPasswordVerificationCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_USER_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param maxSize - max number of the cached verifications
+     * @param timeToLive - how long the verification is trusted, should be short for user passwords
+     */
+    public UserPasswordVerificationCache(int maxSize, Duration timeToLive) {
+        super(maxSize, timeToLive);
+    }
+}
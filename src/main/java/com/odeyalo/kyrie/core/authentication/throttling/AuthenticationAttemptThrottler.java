@@ -0,0 +1,115 @@
+package com.odeyalo.kyrie.core.authentication.throttling;
+
+import com.odeyalo.kyrie.support.throttling.SlidingWindowCounter;
+import org.springframework.util.Assert;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Throttles user authentication attempts after too many failures of the same username or from the same address.</p>
+ * <p>
+ * Failures are counted in sliding window by {@link SlidingWindowCounter}, so memory does not depend on the number of usernames and addresses.
+ * The throttler must be checked before the user store is invoked, so throttled attempts do not use the user store at all.
+ * Successful authentication resets the failures of the username, but not of the address, since one address can try many accounts.
+ * </p>
+ * <p>
+ * The address is resolved using {@link javax.servlet.ServletRequest#getRemoteAddr()},
+ * if server is behind proxy, then ForwardedHeaderFilter or RemoteIpValve must be configured to resolve the client address.
+ * </p>
+ *
+ * @see com.odeyalo.kyrie.core.events.listener.domain.ThrottlingUserLoginAuthenticationFailureBadCredentialsKyrieEventListener
+ */
+public class AuthenticationAttemptThrottler {
+    public static final int DEFAULT_MAX_USERNAME_FAILURES = 10;
+    public static final int DEFAULT_MAX_ADDRESS_FAILURES = 100;
+
+    private final SlidingWindowCounter usernameFailures;
+    private final SlidingWindowCounter addressFailures;
+    private final int maxUsernameFailures;
+    private final int maxAddressFailures;
+
+    /**
+     * Create new AuthenticationAttemptThrottler
+     * @param usernameFailures - counter of the failures per username
+     * @param maxUsernameFailures - number of failures in the window after which the username is throttled
+     * @param addressFailures - counter of the failures per remote address
+     * @param maxAddressFailures - number of failures in the window after which the address is throttled
+     */
+    public AuthenticationAttemptThrottler(SlidingWindowCounter usernameFailures, int maxUsernameFailures,
+                                          SlidingWindowCounter addressFailures, int maxAddressFailures) {
+        Assert.notNull(usernameFailures, "Username counter cannot be null!");
+        Assert.notNull(addressFailures, "Address counter cannot be null!");
+        Assert.isTrue(maxUsernameFailures > 0 && maxUsernameFailures <= SlidingWindowCounter.MAX_COUNT, "Max username failures must be in range [1, 255]!");
+        Assert.isTrue(maxAddressFailures > 0 && maxAddressFailures <= SlidingWindowCounter.MAX_COUNT, "Max address failures must be in range [1, 255]!");
+        this.usernameFailures = usernameFailures;
+        this.addressFailures = addressFailures;
+        this.maxUsernameFailures = maxUsernameFailures;
+        this.maxAddressFailures = maxAddressFailures;
+    }
+
+    /**
+     * Check if the authentication attempt must be rejected without checking the credentials
+     * @param username - username from the request, nullable
+     * @param remoteAddress - address of the client, nullable
+     * @return - true if username or address has too many recent failures, false otherwise
+     */
+    public boolean isThrottled(String username, String remoteAddress) {
+        return (username != null && usernameFailures.get(username) >= maxUsernameFailures)
+                || (remoteAddress != null && addressFailures.get(remoteAddress) >= maxAddressFailures);
+    }
+
+    /**
+     * Check the attempt from the address of the current request
+     * @param username - username from the request, nullable
+     * @return - true if username or address has too many recent failures, false otherwise
+     * @see #isThrottled(String, String)
+     */
+    public boolean isThrottled(String username) {
+        return isThrottled(username, currentRemoteAddress());
+    }
+
+    /**
+     * Register failed authentication attempt
+     * @param username - username from the request, nullable
+     * @param remoteAddress - address of the client, nullable
+     */
+    public void recordFailure(String username, String remoteAddress) {
+        if (username != null) {
+            usernameFailures.increment(username);
+        }
+        if (remoteAddress != null) {
+            addressFailures.increment(remoteAddress);
+        }
+    }
+
+    /**
+     * Register successful authentication, the failures of the username are forgotten
+     * @param username - username of the authenticated user
+     */
+    public void recordSuccess(String username) {
+        if (username != null) {
+            usernameFailures.reset(username);
+        }
+    }
+
+    /**
+     * @return - number of seconds after which throttled attempt can be retried
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(usernameFailures.getWindowMillis()));
+    }
+
+    /**
+     * @return - remote address of the current request or null if method was invoked outside of request
+     */
+    public static String currentRemoteAddress() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) requestAttributes).getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -32,6 +32,11 @@ public class AuthorizationGrantType {
      */
     public static final AuthorizationGrantType PASSWORD = new AuthorizationGrantType("password", Oauth2ResponseType.TOKEN);
 
+    /**
+     * Represent Refresh Token grant type. Refer to <a href="https://www.rfc-editor.org/rfc/rfc6749#section-6">Refreshing an Access Token</a>
+     */
+    public static final AuthorizationGrantType REFRESH_TOKEN = new AuthorizationGrantType("refresh_token", Oauth2ResponseType.TOKEN);
+
     private final String grantName;
     private final Oauth2ResponseType[] supportedResponseType;
 
@@ -0,0 +1,434 @@
+package com.odeyalo.kyrie.core.events;
+
+import com.odeyalo.kyrie.core.events.listener.KyrieEventDeliveryMode;
+import com.odeyalo.kyrie.core.events.listener.KyrieEventListener;
+import com.odeyalo.kyrie.support.concurrent.MpscBoundedQueue;
+import com.odeyalo.kyrie.support.jfr.KyrieEventDispatchJfrEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.event.GenericApplicationListenerAdapter;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>{@link KyrieEventMulticaster} that delivers events to every listener according to its {@link KyrieEventDeliveryMode}.</p>
+ * <ul>
+ *     <li>Synchronous listeners are invoked through {@link ApplicationEventMulticaster} on the publisher thread, as {@link DefaultSpringKyrieEventMulticaster} does</li>
+ *     <li>Events for asynchronous listeners are put to the bounded {@link MpscBoundedQueue}, the dispatcher thread takes them in batches and hands batches to the small worker pool</li>
+ *     <li>If the queue is full, then the event is dropped, publisher waits for the free slot or delivers the event itself, see {@link OverflowPolicy}</li>
+ * </ul>
+ * <p>
+ * Asynchronous listeners are removed from the {@link ApplicationEventMulticaster}, including the listeners registered by the context
+ * as beans, so they receive every event only once, on the worker thread.
+ * </p>
+ * <p>
+ * Asynchronous listeners are invoked without request, session and security contexts,
+ * the order of delivery is kept only if the pool has single worker.
+ * The queue depth, delivery lag and counters are available using getters.
+ * </p>
+ *
+ * @see KyrieEventListener#deliveryMode()
+ */
+public class AsyncKyrieEventMulticaster implements KyrieEventMulticaster, BeanFactoryAware, AutoCloseable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    public static final int DEFAULT_WORKERS = 2;
+    public static final Duration DEFAULT_BLOCK_TIMEOUT = Duration.ofMillis(100);
+    private static final long DISPATCHER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private final ApplicationEventMulticaster multicaster;
+    private final List<KyrieEventListener<? extends KyrieEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final List<AsyncListener> asyncListeners = new CopyOnWriteArrayList<>();
+    // Asynchronous listeners that support the event type, cleared when listeners are changed
+    private final Map<Class<?>, List<AsyncListener>> asyncListenersCache = new ConcurrentHashMap<>();
+    private final MpscBoundedQueue<QueuedEvent> queue;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final ThreadPoolExecutor workers;
+    private final Thread dispatcher;
+    private final AtomicBoolean dispatcherParked = new AtomicBoolean();
+    private volatile boolean running = true;
+    // Used to find the bean names of asynchronous listeners, null if multicaster is not a bean
+    private volatile ListableBeanFactory beanFactory;
+    // Metrics
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile long lastLagNanos;
+    private volatile long maxLagNanos;
+    private final Logger logger = LoggerFactory.getLogger(AsyncKyrieEventMulticaster.class);
+
+    public AsyncKyrieEventMulticaster(ApplicationEventMulticaster multicaster, List<KyrieEventListener<? extends KyrieEvent>> listeners) {
+        this(multicaster, listeners, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_WORKERS, OverflowPolicy.CALLER_RUNS, DEFAULT_BLOCK_TIMEOUT);
+    }
+
+    /**
+     * Create new AsyncKyrieEventMulticaster and start the dispatcher thread
+     * @param multicaster - multicaster to deliver events to synchronous listeners
+     * @param listeners - initial listeners
+     * @param queueCapacity - max number of queued events, rounded up to the power of two
+     * @param batchSize - max number of events handed to worker at once
+     * @param workers - number of threads that invoke asynchronous listeners
+     * @param overflowPolicy - what to do if the queue is full
+     * @param blockTimeout - max time to wait for the free slot if policy is {@link OverflowPolicy#BLOCK}, the event is dropped after timeout
+     */
+    public AsyncKyrieEventMulticaster(ApplicationEventMulticaster multicaster, List<KyrieEventListener<? extends KyrieEvent>> listeners,
+                                      int queueCapacity, int batchSize, int workers, OverflowPolicy overflowPolicy, Duration blockTimeout) {
+        Assert.notNull(multicaster, "ApplicationEventMulticaster cannot be null!");
+        Assert.notNull(listeners, "The listeners must be not null!");
+        Assert.isTrue(batchSize > 0, "Batch size must be positive!");
+        Assert.isTrue(workers > 0, "Number of workers must be positive!");
+        Assert.notNull(overflowPolicy, "Overflow policy cannot be null!");
+        Assert.isTrue(blockTimeout != null && !blockTimeout.isNegative(), "Block timeout cannot be negative!");
+        this.multicaster = multicaster;
+        this.queue = new MpscBoundedQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.workers = createWorkers(workers);
+        for (KyrieEventListener<? extends KyrieEvent> listener : listeners) {
+            registryListener(listener);
+        }
+        this.dispatcher = new Thread(this::dispatch, "kyrie-event-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+        this.logger.debug("Initialized listeners with {} size, {} of them are asynchronous", listeners.size(), asyncListeners.size());
+    }
+
+    @Override
+    public void registryListener(KyrieEventListener<? extends KyrieEvent> listener) {
+        listeners.add(listener);
+        if (listener.deliveryMode() == KyrieEventDeliveryMode.ASYNCHRONOUS) {
+            asyncListeners.add(new AsyncListener(listener));
+            asyncListenersCache.clear();
+            removeFromApplicationMulticaster(listener);
+        } else {
+            multicaster.addApplicationListener(listener);
+        }
+        this.logger.debug("Registered the {} listener: {}", listener.deliveryMode(), listener.getClass().getName());
+    }
+
+    @Override
+    public void removeListener(KyrieEventListener<? extends KyrieEvent> listener) {
+        listeners.remove(listener);
+        if (asyncListeners.removeIf(asyncListener -> asyncListener.listener == listener)) {
+            asyncListenersCache.clear();
+        } else {
+            multicaster.removeApplicationListener(listener);
+        }
+        this.logger.debug("Removed the listener: {}", listener.getClass().getName());
+    }
+
+    /**
+     * The context registers every listener bean in the {@link ApplicationEventMulticaster} by the bean name,
+     * so the bean names of asynchronous listeners are removed from it too
+     * @param beanFactory - bean factory that created this multicaster
+     */
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        if (!(beanFactory instanceof ListableBeanFactory)) {
+            return;
+        }
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+        for (AsyncListener asyncListener : asyncListeners) {
+            removeFromApplicationMulticaster(asyncListener.listener);
+        }
+    }
+
+    @Override
+    public List<KyrieEventListener<? extends KyrieEvent>> getListeners() {
+        return Collections.unmodifiableList(listeners);
+    }
+
+    @Override
+    public void publishEvent(KyrieEvent event) {
+        published.increment();
+        KyrieEventDispatchJfrEvent dispatchEvent = new KyrieEventDispatchJfrEvent();
+        dispatchEvent.begin();
+        multicaster.multicastEvent((AbstractKyrieEvent) event);
+        dispatchEvent.complete(event.getClass().getSimpleName(), KyrieEventDispatchJfrEvent.SYNC, -1);
+
+        List<AsyncListener> targets = getAsyncListeners(event);
+        if (targets.isEmpty()) {
+            return;
+        }
+        QueuedEvent queuedEvent = new QueuedEvent((AbstractKyrieEvent) event, targets, System.nanoTime());
+        if (!running) {
+            deliverOnCaller(queuedEvent);
+            return;
+        }
+        if (queue.offer(queuedEvent) || (overflowPolicy == OverflowPolicy.BLOCK && offerBlocking(queuedEvent))) {
+            wakeUpDispatcher();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+            deliverOnCaller(queuedEvent);
+            return;
+        }
+        dropped.increment();
+        this.logger.debug("The event queue is full, dropped the event: {}", event.id());
+    }
+
+    /**
+     * Stop the dispatcher, deliver the queued events and stop the workers
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(dispatcher);
+        try {
+            dispatcher.join(CLOSE_TIMEOUT_MILLIS);
+            if (dispatcher.isAlive()) {
+                this.logger.warn("Event dispatcher was not stopped in {} ms, remaining {} queued events are delivered on the dispatcher thread",
+                        CLOSE_TIMEOUT_MILLIS, queue.size());
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                this.logger.warn("Event workers were not stopped in {} ms, {} queued events are lost", CLOSE_TIMEOUT_MILLIS, workers.getQueue().size());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * @return - number of events waiting for the dispatcher
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.capacity();
+    }
+
+    /**
+     * @return - number of batches handed to workers and not yet taken by them
+     */
+    public int getPendingBatches() {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * @return - time between publishing and delivery of the last asynchronously delivered event
+     */
+    public long getLastLagNanos() {
+        return lastLagNanos;
+    }
+
+    /**
+     * @return - max time between publishing and delivery of the asynchronously delivered event
+     */
+    public long getMaxLagNanos() {
+        return maxLagNanos;
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * @return - number of events delivered to asynchronous listeners, including events delivered on caller thread
+     */
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return - number of events delivered on publisher thread because the queue was full or multicaster was closed
+     */
+    public long getCallerRunsCount() {
+        return callerRuns.sum();
+    }
+
+    /**
+     * @return - number of asynchronous listener invocations that threw exception
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    private List<AsyncListener> getAsyncListeners(KyrieEvent event) {
+        if (asyncListeners.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return asyncListenersCache.computeIfAbsent(event.getClass(), eventClass -> {
+            ResolvableType eventType = ResolvableType.forClass(eventClass);
+            List<AsyncListener> supported = new ArrayList<>();
+            for (AsyncListener listener : asyncListeners) {
+                if (listener.adapter.supportsEventType(eventType)) {
+                    supported.add(listener);
+                }
+            }
+            return supported.isEmpty() ? Collections.emptyList() : supported;
+        });
+    }
+
+    private void removeFromApplicationMulticaster(KyrieEventListener<? extends KyrieEvent> listener) {
+        multicaster.removeApplicationListener(listener);
+        ListableBeanFactory factory = this.beanFactory;
+        if (factory == null) {
+            return;
+        }
+        // Only singletons are registered by the context, and they are already created at this point
+        for (String beanName : factory.getBeanNamesForType(KyrieEventListener.class, false, false)) {
+            if (factory.getBean(beanName) == listener) {
+                multicaster.removeApplicationListenerBean(beanName);
+            }
+        }
+    }
+
+    private boolean offerBlocking(QueuedEvent event) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        long parkNanos = 1000;
+        while (System.nanoTime() < deadline && running) {
+            wakeUpDispatcher();
+            LockSupport.parkNanos(parkNanos);
+            if (queue.offer(event)) {
+                return true;
+            }
+            parkNanos = Math.min(parkNanos * 2, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return false;
+    }
+
+    private void deliverOnCaller(QueuedEvent event) {
+        callerRuns.increment();
+        deliver(event);
+    }
+
+    private void wakeUpDispatcher() {
+        if (dispatcherParked.get()) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    private void dispatch() {
+        List<QueuedEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            queue.drain(batch::add, batchSize);
+            if (batch.isEmpty()) {
+                dispatcherParked.set(true);
+                // Check again after the flag is set, otherwise the event offered before the flag was set can wait for the whole park
+                if (queue.isEmpty() && running) {
+                    LockSupport.parkNanos(this, DISPATCHER_PARK_NANOS);
+                }
+                dispatcherParked.set(false);
+                continue;
+            }
+            List<QueuedEvent> handedOff = batch;
+            batch = new ArrayList<>(batchSize);
+            // If all workers are busy, then dispatcher delivers the batch itself, so the queue fills up and the overflow policy is applied
+            workers.execute(() -> handedOff.forEach(this::deliver));
+        }
+    }
+
+    private void deliver(QueuedEvent event) {
+        KyrieEventDispatchJfrEvent dispatchEvent = new KyrieEventDispatchJfrEvent();
+        dispatchEvent.begin();
+        long lag = System.nanoTime() - event.publishedAtNanos;
+        lastLagNanos = lag;
+        if (lag > maxLagNanos) {
+            maxLagNanos = lag;
+        }
+        for (AsyncListener listener : event.listeners) {
+            try {
+                listener.adapter.onApplicationEvent(event.event);
+            } catch (RuntimeException e) {
+                failed.increment();
+                this.logger.warn("Asynchronous listener: {} failed to handle the event: {}", listener.listener.getClass().getName(), event.event.id(), e);
+            }
+        }
+        delivered.increment();
+        dispatchEvent.complete(event.event.getClass().getSimpleName(), KyrieEventDispatchJfrEvent.ASYNC, event.listeners.size());
+    }
+
+    private static ThreadPoolExecutor createWorkers(int workers) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(workers * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "kyrie-event-worker-" + counter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Unlike CallerRunsPolicy, runs the batch also after shutdown, so the batches dispatched while closing are not lost
+                (batch, executor) -> batch.run());
+    }
+
+    /**
+     * What to do with the event for asynchronous listeners if the queue is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the event, the publisher is never delayed
+         */
+        DROP,
+        /**
+         * Wait for the free slot up to block timeout, then drop the event
+         */
+        BLOCK,
+        /**
+         * Deliver the event to asynchronous listeners on the publisher thread
+         */
+        CALLER_RUNS
+    }
+
+    private static final class AsyncListener {
+        private final KyrieEventListener<? extends KyrieEvent> listener;
+        // Resolves the event type of the listener and invokes it
+        private final GenericApplicationListenerAdapter adapter;
+
+        AsyncListener(KyrieEventListener<? extends KyrieEvent> listener) {
+            this.listener = listener;
+            this.adapter = new GenericApplicationListenerAdapter(listener);
+        }
+    }
+
+    private static final class QueuedEvent {
+        private final AbstractKyrieEvent event;
+        private final List<AsyncListener> listeners;
+        private final long publishedAtNanos;
+
+        QueuedEvent(AbstractKyrieEvent event, List<AsyncListener> listeners, long publishedAtNanos) {
+            this.event = event;
+            this.listeners = listeners;
+            this.publishedAtNanos = publishedAtNanos;
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.odeyalo.kyrie.core.events;
 
 import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
 import lombok.Getter;
-import org.apache.commons.lang.RandomStringUtils;
+import com.odeyalo.kyrie.support.token.TokenValueGenerators;
 
 /**
  * The domain Kyrie event that will be invoked when the authorization request processing has been finished.
@@ -12,7 +12,7 @@ public class AuthorizationRequestProcessingFinishedKyrieEvent extends AbstractKy
     private final AuthorizationRequest request;
 
     public AuthorizationRequestProcessingFinishedKyrieEvent(AuthorizationRequest request) {
-        super(request, RandomStringUtils.randomAlphanumeric(20));
+        super(request, TokenValueGenerators.getDefault().generate(20));
         this.request = request;
     }
 
@@ -1,6 +1,7 @@
 package com.odeyalo.kyrie.core.events;
 
 import com.odeyalo.kyrie.core.events.listener.KyrieEventListener;
+import com.odeyalo.kyrie.support.jfr.KyrieEventDispatchJfrEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.ApplicationEventMulticaster;
@@ -52,6 +53,9 @@ public class DefaultSpringKyrieEventMulticaster implements KyrieEventMulticaster
 
     @Override
     public void publishEvent(KyrieEvent event) {
+        KyrieEventDispatchJfrEvent dispatchEvent = new KyrieEventDispatchJfrEvent();
+        dispatchEvent.begin();
         multicaster.multicastEvent((AbstractKyrieEvent) event);
+        dispatchEvent.complete(event.getClass().getSimpleName(), KyrieEventDispatchJfrEvent.SYNC, -1);
     }
 }
@@ -0,0 +1,21 @@
+package com.odeyalo.kyrie.core.events.audit;
+
+/**
+ * Append-only journal of {@link AuditRecord}
+ *
+ * @see MappedSegmentAuditJournal
+ * @see AuditJournalReader
+ */
+public interface AuditJournal {
+
+    /**
+     * Append the record to the journal. The record can be not durable until {@link #flush()} is called
+     * @param record - record to append
+     */
+    void append(AuditRecord record);
+
+    /**
+     * Force the appended records to the storage
+     */
+    void flush();
+}
@@ -0,0 +1,35 @@
+package com.odeyalo.kyrie.core.events.audit;
+
+import com.odeyalo.kyrie.core.events.AbstractKyrieEvent;
+import com.odeyalo.kyrie.core.events.listener.KyrieEventDeliveryMode;
+import com.odeyalo.kyrie.core.events.listener.KyrieEventListener;
+import org.springframework.util.Assert;
+
+/**
+ * Listener that writes every {@link com.odeyalo.kyrie.core.events.KyrieEvent} to the {@link AuditJournal}.
+ * Delivered asynchronously, so the request thread only puts the event to the event queue
+ */
+public class AuditJournalKyrieEventListener implements KyrieEventListener<AbstractKyrieEvent> {
+    private final AuditJournal journal;
+    private final KyrieEventAuditRecordConverter converter;
+
+    public AuditJournalKyrieEventListener(AuditJournal journal, KyrieEventAuditRecordConverter converter) {
+        Assert.notNull(journal, "AuditJournal cannot be null!");
+        Assert.notNull(converter, "KyrieEventAuditRecordConverter cannot be null!");
+        this.journal = journal;
+        this.converter = converter;
+    }
+
+    @Override
+    public KyrieEventDeliveryMode deliveryMode() {
+        return KyrieEventDeliveryMode.ASYNCHRONOUS;
+    }
+
+    @Override
+    public void onEvent(AbstractKyrieEvent event) {
+        AuditRecord record = converter.convert(event);
+        if (record != null) {
+            journal.append(record);
+        }
+    }
+}
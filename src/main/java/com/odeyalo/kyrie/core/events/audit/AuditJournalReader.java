@@ -0,0 +1,137 @@
+package com.odeyalo.kyrie.core.events.audit;
+
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Reads the records written by {@link MappedSegmentAuditJournal}.</p>
+ * <p>
+ * Segments are read lazily from the oldest to the newest, the segment is skipped if all its records were appended before the requested range.
+ * The records are returned in append order, the events delivered asynchronously can be a little out of time order.
+ * The reader can be used while the journal is appending, it sees the records appended before the segment was opened.
+ * </p>
+ */
+public class AuditJournalReader {
+    private final Path directory;
+
+    public AuditJournalReader(Path directory) {
+        Assert.notNull(directory, "Directory of the audit journal cannot be null!");
+        this.directory = directory;
+    }
+
+    /**
+     * Stream the records with time in the given range
+     * @param from - start of the range, inclusive, null to read from the first record
+     * @param to - end of the range, exclusive, null to read to the last record
+     * @return - lazy stream of the records
+     */
+    public Stream<AuditRecord> read(Instant from, Instant to) {
+        long fromMillis = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        long toMillis = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+        Assert.isTrue(fromMillis <= toMillis, "The start of the range must be before the end!");
+        Iterator<AuditRecord> iterator = new RecordIterator(AuditJournalSegments.list(directory), fromMillis);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .filter(record -> record.getTimestamp() >= fromMillis && record.getTimestamp() < toMillis);
+    }
+
+    /**
+     * Read all records
+     * @return - lazy stream of all records in the journal
+     */
+    public Stream<AuditRecord> readAll() {
+        return read(null, null);
+    }
+
+    /**
+     * Pass the records with time in the given range to the consumer
+     * @param from - start of the range, inclusive, null to replay from the first record
+     * @param to - end of the range, exclusive, null to replay to the last record
+     * @param consumer - consumer of the records
+     * @return - number of replayed records
+     */
+    public long replay(Instant from, Instant to, Consumer<AuditRecord> consumer) {
+        Assert.notNull(consumer, "Consumer cannot be null!");
+        long[] count = new long[1];
+        read(from, to).forEach(record -> {
+            consumer.accept(record);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private static final class RecordIterator implements Iterator<AuditRecord> {
+        private final List<AuditJournalSegments.Segment> segments;
+        private int index;
+        private ByteBuffer current;
+        private AuditRecord next;
+
+        RecordIterator(List<AuditJournalSegments.Segment> segments, long fromMillis) {
+            this.segments = segments;
+            // All records of the segment were appended before the next segment was created
+            while (index < segments.size() - 1 && segments.get(index + 1).getCreatedMillis() < fromMillis) {
+                index++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (current != null) {
+                    next = AuditRecordCodec.decode(current);
+                    if (next == null) {
+                        current = null;
+                    }
+                    continue;
+                }
+                if (index >= segments.size()) {
+                    return false;
+                }
+                current = map(segments.get(index++).getPath());
+            }
+            return true;
+        }
+
+        @Override
+        public AuditRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            AuditRecord record = next;
+            next = null;
+            return record;
+        }
+
+        private static ByteBuffer map(Path path) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                buffer.position(AuditJournalSegments.HEADER_SIZE);
+                return buffer;
+            } catch (NoSuchFileException e) {
+                // The segment was deleted by retention after the segments were listed
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read the audit journal segment: " + path, e);
+            }
+        }
+    }
+}
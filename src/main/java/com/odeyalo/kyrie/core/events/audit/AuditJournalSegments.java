@@ -0,0 +1,110 @@
+package com.odeyalo.kyrie.core.events.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * <p>Layout of the journal directory and segment files.</p>
+ * <pre>
+ * file name: audit-{sequence, 19 digits}.journal
+ * header:    int magic | int version | long sequence | long createdMillis | long reserved
+ * </pre>
+ * Records follow the header, see {@link AuditRecordCodec}.
+ */
+final class AuditJournalSegments {
+    static final int MAGIC = 0x4B415544; // "KAUD"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".journal";
+
+    private AuditJournalSegments() {
+    }
+
+    static Path segmentPath(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%019d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    /**
+     * @param directory - journal directory
+     * @return - segments of the journal sorted from the oldest to the newest, empty list if the directory does not exist
+     */
+    static List<Segment> list(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        List<Segment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(AuditJournalSegments::isSegment).forEach(path -> {
+                Segment segment = readHeader(path);
+                if (segment != null) {
+                    segments.add(segment);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list the audit journal segments in: " + directory, e);
+        }
+        segments.sort(Comparator.comparingLong(Segment::getSequence));
+        return segments;
+    }
+
+    static void writeHeader(ByteBuffer buffer, long sequence, long createdMillis) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, sequence);
+        buffer.putLong(16, createdMillis);
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static Segment readHeader(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // Read the whole header
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                return null;
+            }
+            return new Segment(path, header.getLong(8), header.getLong(16));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static final class Segment {
+        private final Path path;
+        private final long sequence;
+        private final long createdMillis;
+
+        Segment(Path path, long sequence, long createdMillis) {
+            this.path = path;
+            this.sequence = sequence;
+            this.createdMillis = createdMillis;
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        long getCreatedMillis() {
+            return createdMillis;
+        }
+    }
+}
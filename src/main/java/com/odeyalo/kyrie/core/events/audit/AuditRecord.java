@@ -0,0 +1,86 @@
+package com.odeyalo.kyrie.core.events.audit;
+
+import org.springframework.util.Assert;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Single record of the audit journal, the compact representation of {@link com.odeyalo.kyrie.core.events.KyrieEvent}
+ *
+ * @see AuditJournal
+ * @see KyrieEventAuditRecordConverter
+ */
+public final class AuditRecord {
+    // Time when the event was thrown, in milliseconds since epoch
+    private final long timestamp;
+    // Simple class name of the event
+    private final String type;
+    private final String eventId;
+    // Username, client id or other principal the event is related to, can be null
+    private final String subject;
+    // Short human-readable details of the event, can be null
+    private final String details;
+
+    public AuditRecord(long timestamp, String type, String eventId, String subject, String details) {
+        Assert.notNull(type, "Type of the audit record cannot be null!");
+        this.timestamp = timestamp;
+        this.type = type;
+        this.eventId = eventId;
+        this.subject = subject;
+        this.details = details;
+    }
+
+    public static AuditRecord of(Instant time, String type, String eventId, String subject, String details) {
+        return new AuditRecord(time.toEpochMilli(), type, eventId, subject, details);
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Instant getTime() {
+        return Instant.ofEpochMilli(timestamp);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AuditRecord that = (AuditRecord) o;
+        return timestamp == that.timestamp && type.equals(that.type) && Objects.equals(eventId, that.eventId)
+                && Objects.equals(subject, that.subject) && Objects.equals(details, that.details);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(timestamp, type, eventId, subject, details);
+    }
+
+    @Override
+    public String toString() {
+        return "AuditRecord{" +
+                "time=" + getTime() +
+                ", type='" + type + '\'' +
+                ", eventId='" + eventId + '\'' +
+                ", subject='" + subject + '\'' +
+                ", details='" + details + '\'' +
+                '}';
+    }
+}
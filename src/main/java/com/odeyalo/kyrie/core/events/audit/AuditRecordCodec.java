@@ -0,0 +1,116 @@
+package com.odeyalo.kyrie.core.events.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * <p>Binary format of the audit record, shared by {@link MappedSegmentAuditJournal} and {@link AuditJournalReader}.</p>
+ * <pre>
+ * record:  int payloadLength | int crc32(payload) | payload
+ * payload: long timestamp | string type | string eventId | string subject | string details
+ * string:  unsigned short length in bytes (0xFFFF for null) | UTF-8 bytes
+ * </pre>
+ * <p>
+ * The length is written last, so the reader sees the record only when it is complete.
+ * Zero length means the end of written data, the mapped file is filled by zeros.
+ * </p>
+ */
+final class AuditRecordCodec {
+    static final int RECORD_HEADER_SIZE = 8;
+    // Strings are truncated to this number of chars, so the encoded string always fits to unsigned short
+    static final int MAX_STRING_LENGTH = 4096;
+    private static final int NULL_STRING = 0xFFFF;
+
+    private AuditRecordCodec() {
+    }
+
+    /**
+     * Encode the record to byte array including the record header
+     * @param record - record to encode
+     * @return - encoded record, ready to be written
+     */
+    static byte[] encode(AuditRecord record) {
+        byte[] type = bytes(record.getType());
+        byte[] eventId = bytes(record.getEventId());
+        byte[] subject = bytes(record.getSubject());
+        byte[] details = bytes(record.getDetails());
+        int payloadLength = Long.BYTES + stringSize(type) + stringSize(eventId) + stringSize(subject) + stringSize(details);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payloadLength);
+        buffer.position(RECORD_HEADER_SIZE);
+        buffer.putLong(record.getTimestamp());
+        putString(buffer, type);
+        putString(buffer, eventId);
+        putString(buffer, subject);
+        putString(buffer, details);
+        buffer.putInt(0, payloadLength);
+        buffer.putInt(Integer.BYTES, crc(buffer.array(), RECORD_HEADER_SIZE, payloadLength));
+        return buffer.array();
+    }
+
+    /**
+     * Read the record at the current position of the buffer and move the position after the record
+     * @param buffer - buffer to read from
+     * @return - decoded record or null if there is no complete record at the current position, the position is not changed in this case
+     */
+    static AuditRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < RECORD_HEADER_SIZE) {
+            return null;
+        }
+        int payloadLength = buffer.getInt(start);
+        if (payloadLength <= 0 || payloadLength > buffer.remaining() - RECORD_HEADER_SIZE) {
+            return null;
+        }
+        byte[] payload = new byte[payloadLength];
+        ByteBuffer source = buffer.duplicate();
+        source.position(start + RECORD_HEADER_SIZE);
+        source.get(payload);
+        if (crc(payload, 0, payloadLength) != buffer.getInt(start + Integer.BYTES)) {
+            return null;
+        }
+        ByteBuffer data = ByteBuffer.wrap(payload);
+        AuditRecord record = new AuditRecord(data.getLong(), getString(data), getString(data), getString(data), getString(data));
+        buffer.position(start + RECORD_HEADER_SIZE + payloadLength);
+        return record;
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.length() > MAX_STRING_LENGTH) {
+            value = value.substring(0, MAX_STRING_LENGTH);
+        }
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] value) {
+        return Short.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_STRING);
+            return;
+        }
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static int crc(byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,61 @@
+package com.odeyalo.kyrie.core.events.audit;
+
+import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
+import com.odeyalo.kyrie.core.authorization.Oauth2ResponseType;
+import com.odeyalo.kyrie.core.events.AuthorizationRequestProcessingFinishedKyrieEvent;
+import com.odeyalo.kyrie.core.events.KyrieEvent;
+import com.odeyalo.kyrie.core.events.authentication.AbstractAuthenticationFailureKyrieEvent;
+import com.odeyalo.kyrie.core.events.authentication.AbstractAuthenticationKyrieEvent;
+import com.odeyalo.kyrie.core.events.authentication.UserLoginAuthenticationGrantedKyrieEvent;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * <p>Default {@link KyrieEventAuditRecordConverter} that writes:</p>
+ * <ul>
+ *     <li>username as subject and user id as details for the granted user login</li>
+ *     <li>name of the authentication as subject and the exception as details for the failed authentication</li>
+ *     <li>client id as subject and the requested response types, scopes and redirect uri as details for the finished authorization request</li>
+ * </ul>
+ * The credentials are never written.
+ */
+public class DefaultKyrieEventAuditRecordConverter implements KyrieEventAuditRecordConverter {
+
+    @Override
+    public AuditRecord convert(KyrieEvent event) {
+        String type = event.getClass().getSimpleName();
+        if (event instanceof UserLoginAuthenticationGrantedKyrieEvent) {
+            UserLoginAuthenticationGrantedKyrieEvent granted = (UserLoginAuthenticationGrantedKyrieEvent) event;
+            return AuditRecord.of(event.time(), type, event.id(), granted.getOauth2User().getUsername(), "user_id=" + granted.getOauth2User().getId());
+        }
+        if (event instanceof AbstractAuthenticationFailureKyrieEvent) {
+            AbstractAuthenticationFailureKyrieEvent failure = (AbstractAuthenticationFailureKyrieEvent) event;
+            AuthenticationException exception = failure.getAuthenticationException();
+            String details = exception.getClass().getSimpleName() + ": " + exception.getMessage();
+            return AuditRecord.of(event.time(), type, event.id(), failure.getAuthentication().getName(), details);
+        }
+        if (event instanceof AbstractAuthenticationKyrieEvent) {
+            AbstractAuthenticationKyrieEvent authenticationEvent = (AbstractAuthenticationKyrieEvent) event;
+            return AuditRecord.of(event.time(), type, event.id(), authenticationEvent.getAuthentication().getName(), null);
+        }
+        if (event instanceof AuthorizationRequestProcessingFinishedKyrieEvent) {
+            AuthorizationRequest request = ((AuthorizationRequestProcessingFinishedKyrieEvent) event).getRequest();
+            return AuditRecord.of(event.time(), type, event.id(), request.getClientId(), describe(request));
+        }
+        return AuditRecord.of(event.time(), type, event.id(), null, null);
+    }
+
+    private String describe(AuthorizationRequest request) {
+        StringBuilder builder = new StringBuilder("response_type=");
+        Oauth2ResponseType[] responseTypes = request.getResponseTypes();
+        if (responseTypes != null) {
+            for (int i = 0; i < responseTypes.length; i++) {
+                builder.append(i == 0 ? "" : " ").append(responseTypes[i].getSimplifiedName());
+            }
+        }
+        builder.append("&scope=");
+        if (request.getScopes() != null) {
+            builder.append(String.join(" ", request.getScopes()));
+        }
+        return builder.append("&redirect_uri=").append(request.getRedirectUrl()).toString();
+    }
+}
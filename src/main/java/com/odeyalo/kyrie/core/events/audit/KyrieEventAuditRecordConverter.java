@@ -0,0 +1,17 @@
+package com.odeyalo.kyrie.core.events.audit;
+
+import com.odeyalo.kyrie.core.events.KyrieEvent;
+
+/**
+ * Convert the {@link KyrieEvent} to {@link AuditRecord}
+ */
+@FunctionalInterface
+public interface KyrieEventAuditRecordConverter {
+
+    /**
+     * Convert the event to the audit record
+     * @param event - event to convert
+     * @return - audit record or null if the event should not be written to the journal
+     */
+    AuditRecord convert(KyrieEvent event);
+}
@@ -0,0 +1,275 @@
+package com.odeyalo.kyrie.core.events.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>{@link AuditJournal} that appends records to memory-mapped segment files.</p>
+ * <ul>
+ *     <li>Append copies the encoded record to the mapped segment, the OS writes pages in the background and the journal forces them to disk every flush interval</li>
+ *     <li>If the record does not fit to the current segment, the segment is forced and the next one is created</li>
+ *     <li>After every roll the oldest segments are deleted if there are more than max segments or if all their records are older than max age</li>
+ *     <li>On start the journal continues the last segment after the last complete record</li>
+ * </ul>
+ * <p>
+ * Records appended after the last flush can be lost if the OS crashes, the process crash does not lose them.
+ * The mapping of the closed segment is released by GC.
+ * </p>
+ *
+ * @see AuditJournalReader
+ */
+public class MappedSegmentAuditJournal implements AuditJournal, AutoCloseable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+    public static final int DEFAULT_MAX_SEGMENTS = 16;
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofDays(30);
+    // The max encoded record is less than 50 KB, so it always fits to the empty segment
+    static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    private static final Duration RETENTION_CHECK_INTERVAL = Duration.ofMinutes(1);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+    // Current segment, guarded by lock
+    private MappedByteBuffer segment;
+    private volatile long sequence;
+    private volatile boolean dirty;
+    private volatile boolean closed;
+    private final LongAdder appended = new LongAdder();
+    private final Logger logger = LoggerFactory.getLogger(MappedSegmentAuditJournal.class);
+
+    public MappedSegmentAuditJournal(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_FLUSH_INTERVAL, DEFAULT_MAX_SEGMENTS, DEFAULT_MAX_AGE, Clock.systemUTC());
+    }
+
+    /**
+     * Create the journal and open the last segment in the directory
+     * @param directory - directory to store segments in, created if it does not exist
+     * @param segmentSize - size of the segment file in bytes
+     * @param flushInterval - how often the appended records are forced to disk, zero to flush only by {@link #flush()}
+     * @param maxSegments - max number of segments kept in the directory
+     * @param maxAge - segments with records older than max age are deleted, null or zero to keep segments regardless of age
+     * @param clock - clock to create segments and check the age
+     */
+    public MappedSegmentAuditJournal(Path directory, int segmentSize, Duration flushInterval, int maxSegments, Duration maxAge, Clock clock) {
+        Assert.notNull(directory, "Directory of the audit journal cannot be null!");
+        Assert.isTrue(segmentSize >= MIN_SEGMENT_SIZE, "Segment size must be at least " + MIN_SEGMENT_SIZE + " bytes!");
+        Assert.isTrue(flushInterval != null && !flushInterval.isNegative(), "Flush interval cannot be negative!");
+        Assert.isTrue(maxSegments > 0, "Max number of segments must be positive!");
+        Assert.notNull(clock, "Clock cannot be null!");
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.maxAge = maxAge == null || maxAge.isZero() || maxAge.isNegative() ? null : maxAge;
+        this.clock = clock;
+        open();
+        this.scheduler = createScheduler(flushInterval);
+    }
+
+    @Override
+    public void append(AuditRecord record) {
+        byte[] encoded = AuditRecordCodec.encode(record);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The audit journal is closed");
+            }
+            if (segment.remaining() < encoded.length) {
+                roll();
+            }
+            int start = segment.position();
+            // Payload and checksum first, then the length, so the reader never sees the incomplete record
+            segment.position(start + Integer.BYTES);
+            segment.put(encoded, Integer.BYTES, encoded.length - Integer.BYTES);
+            segment.putInt(start, encoded.length - AuditRecordCodec.RECORD_HEADER_SIZE);
+            dirty = true;
+        } finally {
+            lock.unlock();
+        }
+        appended.increment();
+    }
+
+    @Override
+    public void flush() {
+        MappedByteBuffer current;
+        lock.lock();
+        try {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            current = segment;
+        } finally {
+            lock.unlock();
+        }
+        current.force();
+    }
+
+    /**
+     * Stop scheduled flushes and force the appended records to disk
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        segment.force();
+        this.logger.info("Closed the audit journal in: {}, {} records were appended", directory, appended.sum());
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return - sequence number of the segment the records are appended to
+     */
+    public long getCurrentSequence() {
+        return sequence;
+    }
+
+    public long getAppendedCount() {
+        return appended.sum();
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the audit journal directory: " + directory, e);
+        }
+        List<AuditJournalSegments.Segment> segments = AuditJournalSegments.list(directory);
+        if (segments.isEmpty()) {
+            createSegment(0);
+            return;
+        }
+        AuditJournalSegments.Segment last = segments.get(segments.size() - 1);
+        try (FileChannel channel = FileChannel.open(last.getPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the audit journal segment: " + last.getPath(), e);
+        }
+        segment.position(AuditJournalSegments.HEADER_SIZE);
+        int records = 0;
+        while (AuditRecordCodec.decode(segment) != null) {
+            records++;
+        }
+        sequence = last.getSequence();
+        this.logger.info("Opened the audit journal in: {}, continue the segment {} after {} records", directory, sequence, records);
+        applyRetention();
+    }
+
+    private void roll() {
+        segment.force();
+        createSegment(sequence + 1);
+        applyRetention();
+    }
+
+    private void createSegment(long nextSequence) {
+        Path path = AuditJournalSegments.segmentPath(directory, nextSequence);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer created = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            AuditJournalSegments.writeHeader(created, nextSequence, clock.millis());
+            created.position(AuditJournalSegments.HEADER_SIZE);
+            segment = created;
+            sequence = nextSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the audit journal segment: " + path, e);
+        }
+        this.logger.debug("Created the audit journal segment: {}", path);
+    }
+
+    // Must be invoked under the lock, otherwise the segment created by concurrent roll can be deleted as the old one
+    private void applyRetention() {
+        List<AuditJournalSegments.Segment> segments = AuditJournalSegments.list(directory);
+        long current = sequence;
+        int remaining = segments.size();
+        long oldestAllowed = maxAge == null ? Long.MIN_VALUE : clock.millis() - maxAge.toMillis();
+        for (int i = 0; i < segments.size() - 1; i++) {
+            AuditJournalSegments.Segment candidate = segments.get(i);
+            // All records of the segment were appended before the next segment was created
+            boolean expired = segments.get(i + 1).getCreatedMillis() < oldestAllowed;
+            if (candidate.getSequence() == current || (remaining <= maxSegments && !expired)) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(candidate.getPath());
+                remaining--;
+                this.logger.debug("Deleted the audit journal segment: {}", candidate.getPath());
+            } catch (IOException e) {
+                this.logger.warn("Failed to delete the audit journal segment: {}", candidate.getPath(), e);
+                return;
+            }
+        }
+    }
+
+    private void applyScheduledRetention() {
+        lock.lock();
+        try {
+            if (!closed) {
+                applyRetention();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ScheduledExecutorService createScheduler(Duration flushInterval) {
+        if (flushInterval.isZero() && maxAge == null) {
+            return null;
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kyrie-audit-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!flushInterval.isZero()) {
+            long interval = flushInterval.toMillis();
+            executor.scheduleWithFixedDelay(() -> runQuietly(this::flush), interval, interval, TimeUnit.MILLISECONDS);
+        }
+        if (maxAge != null) {
+            long interval = RETENTION_CHECK_INTERVAL.toMillis();
+            executor.scheduleWithFixedDelay(() -> runQuietly(this::applyScheduledRetention), interval, interval, TimeUnit.MILLISECONDS);
+        }
+        return executor;
+    }
+
+    private void runQuietly(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            // The exception would cancel the scheduled task
+            this.logger.warn("Audit journal maintenance failed", e);
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.odeyalo.kyrie.core.events.authentication;
 
 import com.odeyalo.kyrie.core.events.AbstractKyrieEvent;
 import com.odeyalo.kyrie.core.events.authentication.support.NullAuthentication;
-import org.apache.commons.lang.RandomStringUtils;
+import com.odeyalo.kyrie.support.token.TokenValueGenerators;
 import org.springframework.security.core.Authentication;
 
 /**
@@ -19,7 +19,7 @@ public abstract class AbstractAuthenticationKyrieEvent extends AbstractKyrieEven
      * @param authentication - authentication that was performed, if authentication attempt was failed - null
      */
     public AbstractAuthenticationKyrieEvent(Authentication authentication) {
-        super(authentication == null ? new NullAuthentication() : authentication, RandomStringUtils.randomAlphanumeric(20));
+        super(authentication == null ? new NullAuthentication() : authentication, TokenValueGenerators.getDefault().generate(20));
         this.authentication = authentication == null ? new NullAuthentication() : authentication;
     }
 
@@ -1,7 +1,7 @@
 package com.odeyalo.kyrie.core.events.authentication;
 
 import com.odeyalo.kyrie.core.events.authentication.support.AttemptedLoginAuthentication;
-import org.apache.commons.lang.RandomStringUtils;
+import com.odeyalo.kyrie.support.token.TokenValueGenerators;
 
 /**
  * The event will be occurred every time when the user tries to login
@@ -12,7 +12,7 @@ public class UserLoginAuthenticationAttemptedKyrieEvent extends AbstractAuthenti
      * @param authentication- {@link AttemptedLoginAuthentication} with required fields set
      */
     public UserLoginAuthenticationAttemptedKyrieEvent(AttemptedLoginAuthentication authentication) {
-        super(authentication, RandomStringUtils.randomAlphanumeric(20));
+        super(authentication, TokenValueGenerators.getDefault().generate(20));
     }
     /**
      * Create a new UserLoginAuthenticationAttemptedKyrieEvent with custom event id
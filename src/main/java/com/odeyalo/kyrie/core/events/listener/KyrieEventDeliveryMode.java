@@ -0,0 +1,20 @@
+package com.odeyalo.kyrie.core.events.listener;
+
+/**
+ * How the event is delivered to {@link KyrieEventListener}
+ *
+ * @see KyrieEventListener#deliveryMode()
+ * @see com.odeyalo.kyrie.core.events.AsyncKyrieEventMulticaster
+ */
+public enum KyrieEventDeliveryMode {
+    /**
+     * The listener is invoked on the thread that published the event before publishEvent returns.
+     * Used by listeners that need the current request, session or security context
+     */
+    SYNCHRONOUS,
+    /**
+     * The listener is invoked later on the event worker thread, the publisher does not wait for it.
+     * Used by audit or analytics listeners that do not need the current request
+     */
+    ASYNCHRONOUS
+}
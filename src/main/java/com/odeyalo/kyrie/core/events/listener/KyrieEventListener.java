@@ -17,6 +17,14 @@ public interface KyrieEventListener<E extends AbstractKyrieEvent> extends Applic
      */
     void onEvent(E event);
 
+    /**
+     * How the events are delivered to this listener, synchronous by default, so the listener can use the current request
+     * @return - delivery mode of the listener
+     */
+    default KyrieEventDeliveryMode deliveryMode() {
+        return KyrieEventDeliveryMode.SYNCHRONOUS;
+    }
+
     @Override
     default void onApplicationEvent(E event) {
         onEvent(event);
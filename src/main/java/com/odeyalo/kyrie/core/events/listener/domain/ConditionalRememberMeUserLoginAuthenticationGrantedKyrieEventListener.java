@@ -3,6 +3,7 @@ package com.odeyalo.kyrie.core.events.listener.domain;
 import com.odeyalo.kyrie.core.Oauth2User;
 import com.odeyalo.kyrie.core.events.authentication.UserLoginAuthenticationGrantedKyrieEvent;
 import com.odeyalo.kyrie.core.events.listener.UserLoginAuthenticationGrantedKyrieEventListener;
+import com.odeyalo.kyrie.core.events.listener.KyrieEventDeliveryMode;
 import com.odeyalo.kyrie.core.sso.RememberMeService;
 import com.odeyalo.kyrie.core.support.condition.RememberUserCondition;
 import io.jsonwebtoken.lang.Assert;
@@ -32,6 +33,12 @@ public class ConditionalRememberMeUserLoginAuthenticationGrantedKyrieEventListen
      * Remember the user if and only if the {@link RememberUserCondition#shouldRememberUser(Oauth2User, HttpServletRequest)} returns true, do nothing in other case
      * @param event - published event
      */
+    @Override
+    public KyrieEventDeliveryMode deliveryMode() {
+        // Remember-me cookie is written to the current response, so the listener can't be invoked after the request
+        return KyrieEventDeliveryMode.SYNCHRONOUS;
+    }
+
     @Override
     public void onEvent(UserLoginAuthenticationGrantedKyrieEvent event) {
         this.logger.debug("Received {}", event);
@@ -3,6 +3,7 @@ package com.odeyalo.kyrie.core.events.listener.domain;
 import com.odeyalo.kyrie.core.Oauth2User;
 import com.odeyalo.kyrie.core.events.authentication.UserLoginAuthenticationGrantedKyrieEvent;
 import com.odeyalo.kyrie.core.events.listener.UserLoginAuthenticationGrantedKyrieEventListener;
+import com.odeyalo.kyrie.core.events.listener.KyrieEventDeliveryMode;
 import com.odeyalo.kyrie.core.support.web.TemporaryRequestAttributesRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +24,12 @@ public class Oauth2UserStoreUserLoginAuthenticationGrantedKyrieEventListener imp
         this.temporaryRequestAttributesRepository = temporaryRequestAttributesRepository;
     }
 
+    @Override
+    public KyrieEventDeliveryMode deliveryMode() {
+        // The user is stored in the attributes of the current request
+        return KyrieEventDeliveryMode.SYNCHRONOUS;
+    }
+
     @Override
     public void onEvent(UserLoginAuthenticationGrantedKyrieEvent event) {
         Oauth2User oauth2User = event.getOauth2User();
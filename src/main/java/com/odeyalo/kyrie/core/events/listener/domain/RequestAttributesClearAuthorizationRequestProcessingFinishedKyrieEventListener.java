@@ -2,6 +2,7 @@ package com.odeyalo.kyrie.core.events.listener.domain;
 
 import com.odeyalo.kyrie.core.events.AuthorizationRequestProcessingFinishedKyrieEvent;
 import com.odeyalo.kyrie.core.events.listener.AuthorizationRequestProcessingFinishedKyrieEventListener;
+import com.odeyalo.kyrie.core.events.listener.KyrieEventDeliveryMode;
 import com.odeyalo.kyrie.core.support.web.TemporaryRequestAttributesRepository;
 import io.jsonwebtoken.lang.Assert;
 import org.slf4j.Logger;
@@ -22,6 +23,12 @@ public class RequestAttributesClearAuthorizationRequestProcessingFinishedKyrieEv
         this.temporaryRequestAttributesRepository = temporaryRequestAttributesRepository;
     }
 
+    @Override
+    public KyrieEventDeliveryMode deliveryMode() {
+        // The attributes must be cleared before the response is sent
+        return KyrieEventDeliveryMode.SYNCHRONOUS;
+    }
+
     @Override
     public void onEvent(AuthorizationRequestProcessingFinishedKyrieEvent event) {
         logger.info("Received the {}", event);
@@ -0,0 +1,29 @@
+package com.odeyalo.kyrie.core.events.listener.domain;
+
+import com.odeyalo.kyrie.core.authentication.throttling.AuthenticationAttemptThrottler;
+import com.odeyalo.kyrie.core.events.authentication.UserLoginAuthenticationFailureBadCredentialsKyrieEvent;
+import com.odeyalo.kyrie.core.events.listener.UserLoginAuthenticationFailureBadCredentialsKyrieEventListener;
+import com.odeyalo.kyrie.core.events.listener.KyrieEventDeliveryMode;
+
+/**
+ * Listener that counts failed user logins in {@link AuthenticationAttemptThrottler}.
+ * The listener reads the address of the current request, so it must be invoked synchronously on the request thread
+ */
+public class ThrottlingUserLoginAuthenticationFailureBadCredentialsKyrieEventListener implements UserLoginAuthenticationFailureBadCredentialsKyrieEventListener {
+    private final AuthenticationAttemptThrottler throttler;
+
+    public ThrottlingUserLoginAuthenticationFailureBadCredentialsKyrieEventListener(AuthenticationAttemptThrottler throttler) {
+        this.throttler = throttler;
+    }
+
+    @Override
+    public KyrieEventDeliveryMode deliveryMode() {
+        // The failure must be counted before the next attempt and the address is read from the current request
+        return KyrieEventDeliveryMode.SYNCHRONOUS;
+    }
+
+    @Override
+    public void onEvent(UserLoginAuthenticationFailureBadCredentialsKyrieEvent event) {
+        throttler.recordFailure(event.getAuthentication().getName(), AuthenticationAttemptThrottler.currentRemoteAddress());
+    }
+}
@@ -0,0 +1,28 @@
+package com.odeyalo.kyrie.core.events.listener.domain;
+
+import com.odeyalo.kyrie.core.authentication.throttling.AuthenticationAttemptThrottler;
+import com.odeyalo.kyrie.core.events.authentication.UserLoginAuthenticationGrantedKyrieEvent;
+import com.odeyalo.kyrie.core.events.listener.KyrieEventDeliveryMode;
+import com.odeyalo.kyrie.core.events.listener.UserLoginAuthenticationGrantedKyrieEventListener;
+
+/**
+ * Listener that resets the failed logins of the user in {@link AuthenticationAttemptThrottler} after successful login
+ */
+public class ThrottlingUserLoginAuthenticationGrantedKyrieEventListener implements UserLoginAuthenticationGrantedKyrieEventListener {
+    private final AuthenticationAttemptThrottler throttler;
+
+    public ThrottlingUserLoginAuthenticationGrantedKyrieEventListener(AuthenticationAttemptThrottler throttler) {
+        this.throttler = throttler;
+    }
+
+    @Override
+    public KyrieEventDeliveryMode deliveryMode() {
+        // Reset does not need the request and a late reset only keeps the counter a little longer
+        return KyrieEventDeliveryMode.ASYNCHRONOUS;
+    }
+
+    @Override
+    public void onEvent(UserLoginAuthenticationGrantedKyrieEvent event) {
+        throttler.recordSuccess(event.getOauth2User().getUsername());
+    }
+}
@@ -0,0 +1,14 @@
+package com.odeyalo.kyrie.core.metrics;
+
+/**
+ * Monotonically increasing counter
+ */
+@FunctionalInterface
+public interface KyrieCounter {
+
+    void increment(long amount);
+
+    default void increment() {
+        increment(1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.odeyalo.kyrie.core.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Values of the single meter at the moment when snapshot was taken. Durations are in milliseconds
+ */
+public class KyrieMeterSnapshot {
+    private final String name;
+    private final Type type;
+    private final Map<String, String> tags;
+    // Number of recorded durations for timer, the value for counter, 0 for gauge
+    private final long count;
+    // Value of the gauge, null for other meters
+    private final Double value;
+    private final Double totalMillis;
+    private final Double maxMillis;
+    // Percentiles are null if they are not tracked by the registry
+    private final Double p50Millis;
+    private final Double p90Millis;
+    private final Double p99Millis;
+
+    public KyrieMeterSnapshot(String name, Type type, Map<String, String> tags, long count, Double value,
+                              Double totalMillis, Double maxMillis, Double p50Millis, Double p90Millis, Double p99Millis) {
+        this.name = name;
+        this.type = type;
+        this.tags = Collections.unmodifiableMap(tags);
+        this.count = count;
+        this.value = value;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+        this.p50Millis = p50Millis;
+        this.p90Millis = p90Millis;
+        this.p99Millis = p99Millis;
+    }
+
+    public static KyrieMeterSnapshot counter(String name, Map<String, String> tags, long count) {
+        return new KyrieMeterSnapshot(name, Type.COUNTER, tags, count, null, null, null, null, null, null);
+    }
+
+    public static KyrieMeterSnapshot gauge(String name, Map<String, String> tags, double value) {
+        return new KyrieMeterSnapshot(name, Type.GAUGE, tags, 0, value, null, null, null, null, null);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Double getValue() {
+        return value;
+    }
+
+    public Double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public Double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public Double getP50Millis() {
+        return p50Millis;
+    }
+
+    public Double getP90Millis() {
+        return p90Millis;
+    }
+
+    public Double getP99Millis() {
+        return p99Millis;
+    }
+
+    public enum Type {
+        TIMER,
+        COUNTER,
+        GAUGE
+    }
+}
@@ -0,0 +1,55 @@
+package com.odeyalo.kyrie.core.metrics;
+
+/**
+ * Names and tags of the meters registered by Kyrie
+ */
+public final class KyrieMetricNames {
+    /**
+     * Time to obtain the access token by {@link com.odeyalo.kyrie.core.oauth2.tokens.AccessTokenGranterStrategy}, tagged by grant_type and outcome
+     */
+    public static final String TOKEN_GRANT = "kyrie.token.grant";
+    /**
+     * Time to create and sign the jwt token
+     */
+    public static final String JWT_SIGN = "kyrie.jwt.sign";
+    /**
+     * Time to verify the jwt token, tagged by outcome
+     */
+    public static final String JWT_VERIFY = "kyrie.jwt.verify";
+    /**
+     * Time to parse the verified jwt token
+     */
+    public static final String JWT_PARSE = "kyrie.jwt.parse";
+    /**
+     * Time to authenticate the user by {@link com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationService}, tagged by outcome
+     */
+    public static final String USER_AUTHENTICATION = "kyrie.user.authentication";
+    /**
+     * Time to validate the client credentials, tagged by outcome
+     */
+    public static final String CLIENT_AUTHENTICATION = "kyrie.client.authentication";
+    /**
+     * Time to handle the flow by {@link com.odeyalo.kyrie.core.oauth2.flow.Oauth2FlowHandler}, tagged by flow and outcome
+     */
+    public static final String FLOW = "kyrie.flow";
+    /**
+     * Time to create the redirect url, tagged by grant_type
+     */
+    public static final String REDIRECT_URL = "kyrie.flow.redirect.url";
+    /**
+     * Number of elements in the in-memory store, tagged by store
+     */
+    public static final String STORE_SIZE = "kyrie.store.size";
+
+    public static final String OUTCOME_TAG = "outcome";
+    public static final String GRANT_TYPE_TAG = "grant_type";
+    public static final String FLOW_TAG = "flow";
+    public static final String STORE_TAG = "store";
+
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+    public static final String ERROR = "error";
+
+    private KyrieMetricNames() {
+    }
+}
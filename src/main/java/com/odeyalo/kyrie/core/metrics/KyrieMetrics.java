@@ -0,0 +1,50 @@
+package com.odeyalo.kyrie.core.metrics;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>Registry of Kyrie meters.</p>
+ * <p>
+ * Meters are created once, when the instrumented component is created, and then only record values,
+ * so the instrumented call pays only for {@link KyrieTimer#record(long)} or {@link KyrieCounter#increment()}.
+ * Tags are passed as key-value pairs, e.g. {@code timer("kyrie.token.grant", "grant_type", "password")}.
+ * </p>
+ *
+ * @see SimpleKyrieMetrics
+ * @see MicrometerKyrieMetrics
+ * @see KyrieMetricNames
+ */
+public interface KyrieMetrics {
+
+    /**
+     * Create the timer or return existing timer with the same name and tags
+     * @param name - name of the timer
+     * @param tags - key-value pairs of tags
+     * @return - timer, never null
+     */
+    KyrieTimer timer(String name, String... tags);
+
+    /**
+     * Create the counter or return existing counter with the same name and tags
+     * @param name - name of the counter
+     * @param tags - key-value pairs of tags
+     * @return - counter, never null
+     */
+    KyrieCounter counter(String name, String... tags);
+
+    /**
+     * Registry the gauge that reads the value from the object when metrics are collected
+     * @param name - name of the gauge
+     * @param object - object to read the value from
+     * @param value - function that reads the value, must be cheap and thread-safe
+     * @param tags - key-value pairs of tags
+     * @param <T> - type of the object
+     */
+    <T> void gauge(String name, T object, ToDoubleFunction<T> value, String... tags);
+
+    /**
+     * @return - current values of all meters registered through this registry
+     */
+    List<KyrieMeterSnapshot> snapshot();
+}
@@ -0,0 +1,22 @@
+package com.odeyalo.kyrie.core.metrics;
+
+/**
+ * Records the duration of the operation
+ */
+@FunctionalInterface
+public interface KyrieTimer {
+
+    /**
+     * Record the duration
+     * @param nanos - duration in nanoseconds
+     */
+    void record(long nanos);
+
+    /**
+     * Record the time passed since the start
+     * @param startNanos - value of {@link System#nanoTime()} when the operation was started
+     */
+    default void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,92 @@
+package com.odeyalo.kyrie.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Lock-free histogram of durations with log-linear buckets.</p>
+ * <p>
+ * Every power of two is split to 4 buckets, so the value is known with at most 25% error,
+ * the whole range of long values takes 256 buckets. Recording is a single {@link LongAdder} increment,
+ * so the histogram does not become a point of contention under concurrent load.
+ * </p>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = Long.SIZE * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record the value
+     * @param nanos - duration in nanoseconds, negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        buckets[bucketIndex(Math.max(nanos, 0))].increment();
+    }
+
+    /**
+     * Estimate the percentile
+     * @param percentile - percentile in range [0, 1], e.g. 0.99
+     * @return - upper bound of the bucket that contains the percentile, 0 if there are no recorded values
+     */
+    public long percentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketUpperBound(i);
+            }
+        }
+        return bucketUpperBound(BUCKETS - 1);
+    }
+
+    /**
+     * @return - number of recorded values
+     */
+    public long count() {
+        long total = 0;
+        for (LongAdder bucket : buckets) {
+            total += bucket.sum();
+        }
+        return total;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return exponent * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS;
+        int subBucket = index % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = (long) (SUB_BUCKETS + subBucket) << shift;
+        long width = 1L << shift;
+        // The last bucket ends at Long.MAX_VALUE
+        return lower + width - 1 < lower ? Long.MAX_VALUE : lower + width - 1;
+    }
+}
@@ -0,0 +1,101 @@
+package com.odeyalo.kyrie.core.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>{@link KyrieMetrics} that registers the meters in Micrometer {@link MeterRegistry}, used if Spring Boot Actuator or Micrometer is presented.</p>
+ * <p>
+ * Timers publish the percentile histogram, so the percentiles are calculated by the monitoring system.
+ * {@link #snapshot()} contains only count, total and max time of the timers.
+ * </p>
+ */
+public class MicrometerKyrieMetrics implements KyrieMetrics {
+    private final MeterRegistry registry;
+    // Meters registered through this registry, used to build snapshot of Kyrie meters only
+    private final List<Meter> meters = new CopyOnWriteArrayList<>();
+
+    public MicrometerKyrieMetrics(MeterRegistry registry) {
+        Assert.notNull(registry, "MeterRegistry cannot be null!");
+        this.registry = registry;
+    }
+
+    @Override
+    public KyrieTimer timer(String name, String... tags) {
+        Timer timer = Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+        remember(timer);
+        return nanos -> timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public KyrieCounter counter(String name, String... tags) {
+        Counter counter = Counter.builder(name)
+                .tags(tags)
+                .register(registry);
+        remember(counter);
+        return counter::increment;
+    }
+
+    @Override
+    public <T> void gauge(String name, T object, ToDoubleFunction<T> value, String... tags) {
+        // Gauge keeps weak reference to the object, the instrumented beans are referenced by the context
+        Gauge gauge = Gauge.builder(name, object, value)
+                .tags(tags)
+                .register(registry);
+        remember(gauge);
+    }
+
+    @Override
+    public List<KyrieMeterSnapshot> snapshot() {
+        List<KyrieMeterSnapshot> snapshots = new ArrayList<>(meters.size());
+        for (Meter meter : meters) {
+            String name = meter.getId().getName();
+            Map<String, String> tags = toMap(meter.getId().getTags());
+            if (meter instanceof Timer) {
+                Timer timer = (Timer) meter;
+                snapshots.add(new KyrieMeterSnapshot(name, KyrieMeterSnapshot.Type.TIMER, tags, timer.count(), null,
+                        timer.totalTime(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS), null, null, null));
+            } else if (meter instanceof Counter) {
+                snapshots.add(KyrieMeterSnapshot.counter(name, tags, (long) ((Counter) meter).count()));
+            } else if (meter instanceof Gauge) {
+                snapshots.add(KyrieMeterSnapshot.gauge(name, tags, ((Gauge) meter).value()));
+            }
+        }
+        return snapshots;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    private void remember(Meter meter) {
+        // Registry returns the existing meter for the same name and tags
+        if (!meters.contains(meter)) {
+            meters.add(meter);
+        }
+    }
+
+    private static Map<String, String> toMap(List<Tag> tags) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (Tag tag : tags) {
+            map.put(tag.getKey(), tag.getValue());
+        }
+        return map;
+    }
+}
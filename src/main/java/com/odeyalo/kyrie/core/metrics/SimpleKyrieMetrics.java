@@ -0,0 +1,147 @@
+package com.odeyalo.kyrie.core.metrics;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>Dependency-free {@link KyrieMetrics} that keeps the meters in memory, used if Micrometer is not presented.</p>
+ * <p>
+ * Timers count the calls and total time in {@link LongAdder}, track the max time and the {@link LatencyHistogram},
+ * so the recording does not take locks and costs a few uncontended increments.
+ * The values are available through {@link #snapshot()}.
+ * </p>
+ */
+public class SimpleKyrieMetrics implements KyrieMetrics {
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+    private final Map<MeterId, Object> meters = new ConcurrentHashMap<>();
+
+    @Override
+    public KyrieTimer timer(String name, String... tags) {
+        return (SimpleTimer) meters.computeIfAbsent(new MeterId(name, tags), id -> new SimpleTimer());
+    }
+
+    @Override
+    public KyrieCounter counter(String name, String... tags) {
+        return (SimpleCounter) meters.computeIfAbsent(new MeterId(name, tags), id -> new SimpleCounter());
+    }
+
+    @Override
+    public <T> void gauge(String name, T object, ToDoubleFunction<T> value, String... tags) {
+        Assert.notNull(object, "Object of the gauge cannot be null!");
+        Assert.notNull(value, "Value function of the gauge cannot be null!");
+        meters.put(new MeterId(name, tags), new SimpleGauge<>(object, value));
+    }
+
+    @Override
+    public List<KyrieMeterSnapshot> snapshot() {
+        List<KyrieMeterSnapshot> snapshots = new ArrayList<>(meters.size());
+        meters.forEach((id, meter) -> snapshots.add(snapshot(id, meter)));
+        snapshots.sort((first, second) -> first.getName().compareTo(second.getName()));
+        return snapshots;
+    }
+
+    private KyrieMeterSnapshot snapshot(MeterId id, Object meter) {
+        if (meter instanceof SimpleTimer) {
+            SimpleTimer timer = (SimpleTimer) meter;
+            return new KyrieMeterSnapshot(id.name, KyrieMeterSnapshot.Type.TIMER, id.tags, timer.count.sum(), null,
+                    toMillis(timer.total.sum()), toMillis(timer.max.get()),
+                    toMillis(timer.histogram.percentile(0.5)), toMillis(timer.histogram.percentile(0.9)), toMillis(timer.histogram.percentile(0.99)));
+        }
+        if (meter instanceof SimpleCounter) {
+            return KyrieMeterSnapshot.counter(id.name, id.tags, ((SimpleCounter) meter).count.sum());
+        }
+        return KyrieMeterSnapshot.gauge(id.name, id.tags, ((SimpleGauge<?>) meter).value());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / NANOS_IN_MILLI;
+    }
+
+    private static final class SimpleTimer implements KyrieTimer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        @Override
+        public void record(long nanos) {
+            count.increment();
+            total.add(nanos);
+            histogram.record(nanos);
+            // Plain read first, so CAS is executed only when the max really changes
+            long currentMax = max.get();
+            while (nanos > currentMax && !max.compareAndSet(currentMax, nanos)) {
+                currentMax = max.get();
+            }
+        }
+    }
+
+    private static final class SimpleCounter implements KyrieCounter {
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public void increment(long amount) {
+            count.add(amount);
+        }
+    }
+
+    private static final class SimpleGauge<T> {
+        private final T object;
+        private final ToDoubleFunction<T> function;
+
+        SimpleGauge(T object, ToDoubleFunction<T> function) {
+            this.object = object;
+            this.function = function;
+        }
+
+        double value() {
+            return function.applyAsDouble(object);
+        }
+    }
+
+    static final class MeterId {
+        private final String name;
+        private final Map<String, String> tags;
+
+        MeterId(String name, String... tags) {
+            Assert.hasText(name, "Name of the meter cannot be empty!");
+            this.name = name;
+            this.tags = toMap(tags);
+        }
+
+        static Map<String, String> toMap(String... tags) {
+            Assert.isTrue(tags.length % 2 == 0, "Tags must be key-value pairs!");
+            if (tags.length == 0) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> map = new LinkedHashMap<>();
+            for (int i = 0; i < tags.length; i += 2) {
+                map.put(tags[i], tags[i + 1]);
+            }
+            return map;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            MeterId meterId = (MeterId) o;
+            return name.equals(meterId.name) && tags.equals(meterId.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, tags);
+        }
+    }
+}
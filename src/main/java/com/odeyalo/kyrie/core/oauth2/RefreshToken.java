@@ -1,9 +1,12 @@
 package com.odeyalo.kyrie.core.oauth2;
 
+import com.odeyalo.kyrie.core.Oauth2User;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.experimental.SuperBuilder;
 
+import java.time.Instant;
+
 /**
  * Represent the refresh token from Oauth2 specification.
  * An OAuth Refresh Token is a string that the OAuth client can use to get a new access token without the user's interaction.
@@ -26,8 +29,23 @@ public class RefreshToken extends AbstractOauth2Token {
      * Client id associated with this refresh token. No other client id WON'T be able to obtain new access token using this refresh token.
      */
     protected String clientId;
+    /**
+     * Id of the token family. All tokens that were issued by rotation of the same original token belong to the same family
+     */
+    protected String familyId;
+    /**
+     * User that granted access, new access tokens are issued for this user
+     */
+    protected Oauth2User user;
 
     public RefreshToken(String tokenValue) {
         this.tokenValue = tokenValue;
     }
+
+    /**
+     * @return - true if token has expire time and this time has passed, false otherwise
+     */
+    public boolean isExpired() {
+        return expiresIn != null && Instant.now().isAfter(expiresIn);
+    }
 }
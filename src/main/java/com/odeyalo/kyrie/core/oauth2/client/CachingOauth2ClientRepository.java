@@ -0,0 +1,251 @@
+package com.odeyalo.kyrie.core.oauth2.client;
+
+import com.odeyalo.kyrie.support.cache.BoundedExpiringCache;
+import com.odeyalo.kyrie.support.cache.CacheStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>{@link Oauth2ClientRepository} decorator that caches the clients returned by the slow repository, e.g. database-backed one.</p>
+ * <ul>
+ *     <li>Cache is bounded and every entry expires after the time to live</li>
+ *     <li>If the entry is requested shortly before expiration, then client is reloaded in background, so hot clients are never loaded on the request thread</li>
+ *     <li>Unknown client ids are cached for shorter time, so requests with random client ids do not reach the delegate</li>
+ *     <li>The client is also stored in the attributes of the current request, so one request never looks up the same client twice</li>
+ * </ul>
+ * <p>Changed or removed clients must be invalidated using {@link #invalidate(String)} or {@link #invalidateAll()}</p>
+ * <p>The repository owns the delegate: {@link #close()} also closes the delegate if it is {@link AutoCloseable} or {@link DisposableBean},
+ * since the delegate bean replaced by {@link com.odeyalo.kyrie.support.bpp.wrapper.CachingOauth2ClientRepositoryWrapperBeanPostProcessor}
+ * is not destroyed by the container anymore. Use {@link #getDelegate()} to access the original repository.</p>
+ *
+ * @see BoundedExpiringCache
+ */
+public class CachingOauth2ClientRepository implements Oauth2ClientRepository, AutoCloseable {
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_NEGATIVE_TIME_TO_LIVE = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofMinutes(1);
+    /**
+     * Prefix of the request attribute that is used to memoize the client for the current request
+     */
+    public static final String REQUEST_ATTRIBUTE_PREFIX = CachingOauth2ClientRepository.class.getName() + ".client.";
+    private static final int REFRESH_QUEUE_CAPACITY = 1024;
+    // Marks the client id that does not exist, since null cannot be cached
+    private static final CachedClient NOT_FOUND = new CachedClient(null, Long.MAX_VALUE);
+
+    private final Oauth2ClientRepository delegate;
+    private final BoundedExpiringCache<String, CachedClient> cache;
+    private final Duration timeToLive;
+    private final Duration negativeTimeToLive;
+    private final Duration refreshAhead;
+    private final Executor refreshExecutor;
+    // Not null only if executor was created by this repository and must be closed with it
+    private final ExecutorService ownedExecutor;
+    // Client ids that are being reloaded in background right now
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    // Incremented on every invalidation, so the values loaded before invalidation are not cached
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder refreshes = new LongAdder();
+    private final Logger logger = LoggerFactory.getLogger(CachingOauth2ClientRepository.class);
+
+    public CachingOauth2ClientRepository(Oauth2ClientRepository delegate) {
+        this(delegate, DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE, DEFAULT_NEGATIVE_TIME_TO_LIVE, DEFAULT_REFRESH_AHEAD, null);
+    }
+
+    /**
+     * Create new CachingOauth2ClientRepository
+     * @param delegate - original repository to load clients from
+     * @param maxSize - max number of cached client ids, including unknown ones
+     * @param timeToLive - how long the found client is cached
+     * @param negativeTimeToLive - how long the unknown client id is cached, zero disables negative caching
+     * @param refreshAhead - how long before expiration the client is reloaded in background, zero disables refresh-ahead
+     * @param refreshExecutor - executor to reload clients, nullable. If null, then own single-thread executor is used and closed with repository
+     */
+    public CachingOauth2ClientRepository(Oauth2ClientRepository delegate, int maxSize, Duration timeToLive,
+                                         Duration negativeTimeToLive, Duration refreshAhead, Executor refreshExecutor) {
+        Assert.notNull(delegate, "Delegate Oauth2ClientRepository cannot be null!");
+        Assert.isTrue(timeToLive != null && !timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive!");
+        Assert.isTrue(negativeTimeToLive != null && !negativeTimeToLive.isNegative(), "Negative time to live cannot be negative!");
+        Assert.isTrue(refreshAhead != null && !refreshAhead.isNegative() && refreshAhead.compareTo(timeToLive) < 0,
+                "Refresh ahead must be non-negative and less than time to live!");
+        this.delegate = delegate;
+        this.cache = new BoundedExpiringCache<>(maxSize);
+        this.timeToLive = timeToLive;
+        this.negativeTimeToLive = negativeTimeToLive;
+        this.refreshAhead = refreshAhead;
+        if (refreshExecutor != null) {
+            this.refreshExecutor = refreshExecutor;
+            this.ownedExecutor = null;
+        } else {
+            this.ownedExecutor = createRefreshExecutor();
+            this.refreshExecutor = ownedExecutor;
+        }
+    }
+
+    @Override
+    public Oauth2Client findOauth2ClientById(String clientId) {
+        if (clientId == null) {
+            return delegate.findOauth2ClientById(null);
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            Object memoized = requestAttributes.getAttribute(REQUEST_ATTRIBUTE_PREFIX + clientId, RequestAttributes.SCOPE_REQUEST);
+            if (memoized instanceof CachedClient) {
+                return ((CachedClient) memoized).client;
+            }
+        }
+        CachedClient cached = getCachedClient(clientId);
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE_PREFIX + clientId, cached, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cached.client;
+    }
+
+    /**
+     * Remove the client from the cache, must be invoked when client was changed or removed
+     * @param clientId - id of the client to remove
+     */
+    public void invalidate(String clientId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(clientId);
+        this.logger.debug("Invalidated cached client: {}", clientId);
+    }
+
+    /**
+     * Remove all clients from the cache
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+        this.logger.debug("Invalidated all cached clients");
+    }
+
+    /**
+     * @return - hit, miss and eviction counters of the client cache
+     */
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * @return - number of the clients that were reloaded in background
+     */
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    /**
+     * @return - original repository that clients are loaded from
+     */
+    public Oauth2ClientRepository getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Shut down the own refresh executor and close the delegate if it is {@link DisposableBean} or {@link AutoCloseable}
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+        try {
+            if (delegate instanceof DisposableBean) {
+                ((DisposableBean) delegate).destroy();
+            } else if (delegate instanceof AutoCloseable) {
+                ((AutoCloseable) delegate).close();
+            }
+        } catch (Exception e) {
+            this.logger.warn("Failed to close the delegate Oauth2ClientRepository", e);
+        }
+    }
+
+    private CachedClient getCachedClient(String clientId) {
+        CachedClient cached = cache.get(clientId);
+        if (cached == null) {
+            return load(clientId);
+        }
+        if (cached.client != null && System.currentTimeMillis() >= cached.refreshAtMillis) {
+            scheduleRefresh(clientId);
+        }
+        return cached;
+    }
+
+    private CachedClient load(String clientId) {
+        long generation = invalidations.get();
+        Oauth2Client client = delegate.findOauth2ClientById(clientId);
+        if (client == null) {
+            if (!negativeTimeToLive.isZero() && generation == invalidations.get()) {
+                cache.put(clientId, NOT_FOUND, negativeTimeToLive);
+            }
+            return NOT_FOUND;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = now + timeToLive.toMillis();
+        CachedClient cached = new CachedClient(client, refreshAhead.isZero() ? Long.MAX_VALUE : expiresAt - refreshAhead.toMillis());
+        // The client loaded before invalidation can be stale, so it is returned but not cached
+        if (generation == invalidations.get()) {
+            cache.put(clientId, cached, expiresAt);
+        }
+        return cached;
+    }
+
+    private void scheduleRefresh(String clientId) {
+        if (!refreshing.add(clientId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(clientId);
+                    refreshes.increment();
+                } catch (Exception e) {
+                    this.logger.warn("Failed to refresh the client: {}, cached value is used until expiration", clientId, e);
+                } finally {
+                    refreshing.remove(clientId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The refresh is optimization only, the client will be loaded on the request thread after expiration
+            refreshing.remove(clientId);
+        }
+    }
+
+    private static ExecutorService createRefreshExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "kyrie-client-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static final class CachedClient {
+        // Null if the client does not exist
+        private final Oauth2Client client;
+        private final long refreshAtMillis;
+
+        CachedClient(Oauth2Client client, long refreshAtMillis) {
+            this.client = client;
+            this.refreshAtMillis = refreshAtMillis;
+        }
+    }
+}
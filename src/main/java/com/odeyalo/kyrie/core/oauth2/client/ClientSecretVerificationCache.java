@@ -0,0 +1,26 @@
+package com.odeyalo.kyrie.core.oauth2.client;
+
+import com.odeyalo.kyrie.support.crypto.CredentialVerificationCache;
+
+import java.time.Duration;
+
+/**
+ * <p>Cache of the successful client secret verifications, used to not run slow password hash function for every request of the same client.</p>
+ * <p>Entries are keyed by client id, the cached verification is ignored as soon as the client secret is changed.</p>
+ *
+ * @see CredentialVerificationCache
+ */
+public class ClientSecretVerificationCache extends CredentialVerificationCache {
+
+    public ClientSecretVerificationCache() {
+        super();
+    }
+
+    /**
+     * @param maxSize - max number of the cached verifications
+     * @param timeToLive - how long the verification is trusted
+     */
+    public ClientSecretVerificationCache(int maxSize, Duration timeToLive) {
+        super(maxSize, timeToLive);
+    }
+}
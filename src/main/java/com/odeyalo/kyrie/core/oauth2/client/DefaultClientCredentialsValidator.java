@@ -1,26 +1,72 @@
 package com.odeyalo.kyrie.core.oauth2.client;
 
 import com.odeyalo.kyrie.core.support.ValidationResult;
+import com.odeyalo.kyrie.support.crypto.DummyEncodedPassword;
+import com.odeyalo.kyrie.support.crypto.KyriePasswordEncoders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.Assert;
 
 /**
- * Default client credentials validator that checks client id and client secret and return success only when everything is correct
- * @version 1.0
+ * <p>Default client credentials validator that checks client id and client secret and return success only when everything is correct.</p>
+ * <p>
+ * The stored client secret is verified using {@link PasswordEncoder}, so secrets can be stored as hashes, e.g. '{bcrypt}$2a$10$...'.
+ * Successful verifications can be cached with {@link ClientSecretVerificationCache}, so slow hash function is not invoked for every request.
+ * The secret of the unknown client is verified against {@link DummyEncodedPassword} in the encoding of the known secrets,
+ * so the response time does not reveal whether the client exists.
+ * Every failure has the same message, so the client cannot tell the unknown client from the wrong secret.
+ * </p>
+ * @version 1.1
+ * @see KyriePasswordEncoders#createDelegatingPasswordEncoder()
  */
 public class DefaultClientCredentialsValidator implements ClientCredentialsValidator {
+    private static final String INVALID_CREDENTIALS_MESSAGE = "Client id or client secret is invalid or incorrect";
     private final Oauth2ClientRepository oauth2ClientRepository;
+    private final PasswordEncoder passwordEncoder;
+    // Can be null, then every secret is verified using password encoder
+    private final ClientSecretVerificationCache verificationCache;
+    private final DummyEncodedPassword dummySecret;
 
     public DefaultClientCredentialsValidator(Oauth2ClientRepository oauth2ClientRepository) {
+        this(oauth2ClientRepository, KyriePasswordEncoders.createDelegatingPasswordEncoder(), null);
+    }
+
+    /**
+     * @param oauth2ClientRepository - repository to search clients
+     * @param passwordEncoder - encoder to verify presented secret against stored one
+     * @param verificationCache - cache of successful verifications, nullable
+     */
+    public DefaultClientCredentialsValidator(Oauth2ClientRepository oauth2ClientRepository, PasswordEncoder passwordEncoder, ClientSecretVerificationCache verificationCache) {
+        Assert.notNull(passwordEncoder, "PasswordEncoder cannot be null!");
         this.oauth2ClientRepository = oauth2ClientRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.verificationCache = verificationCache;
+        this.dummySecret = new DummyEncodedPassword(passwordEncoder);
     }
 
     @Override
     public ValidationResult validateCredentials(String clientId, String clientSecret) {
+        if (clientId == null || clientSecret == null) {
+            return ValidationResult.failed(INVALID_CREDENTIALS_MESSAGE);
+        }
         Oauth2Client client = oauth2ClientRepository.findOauth2ClientById(clientId);
-        if (client == null) {
-            return ValidationResult.failed("Client id or client secret is invalid or incorrect");
+        if (client == null || !clientId.equals(client.getClientId()) || client.getClientSecret() == null) {
+            dummySecret.verify(clientSecret);
+            return ValidationResult.failed(INVALID_CREDENTIALS_MESSAGE);
+        }
+        String storedSecret = client.getClientSecret();
+        dummySecret.adaptTo(storedSecret);
+
+        if (verificationCache != null && verificationCache.isVerified(clientId, clientSecret, storedSecret)) {
+            return ValidationResult.success();
+        }
+
+        if (!passwordEncoder.matches(clientSecret, storedSecret)) {
+            return ValidationResult.failed(INVALID_CREDENTIALS_MESSAGE);
         }
-        boolean validationResult = client.getClientId().equals(clientId) && client.getClientSecret().equals(clientSecret);
 
-        return validationResult ? ValidationResult.success() : ValidationResult.failed("Client id or client secret is not valid or is wrong");
+        if (verificationCache != null) {
+            verificationCache.markVerified(clientId, clientSecret, storedSecret);
+        }
+        return ValidationResult.success();
     }
 }
@@ -0,0 +1,46 @@
+package com.odeyalo.kyrie.core.oauth2.client;
+
+import com.odeyalo.kyrie.core.metrics.KyrieMetricNames;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import com.odeyalo.kyrie.core.metrics.KyrieTimer;
+import com.odeyalo.kyrie.core.oauth2.Oauth2ClientCredentials;
+import com.odeyalo.kyrie.core.support.ValidationResult;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ClientCredentialsValidator} decorator that records the time to validate the client credentials, tagged by outcome
+ *
+ * @see KyrieMetricNames#CLIENT_AUTHENTICATION
+ */
+public class MetricsClientCredentialsValidatorDecorator implements ClientCredentialsValidator {
+    private final ClientCredentialsValidator delegate;
+    private final KyrieTimer success;
+    private final KyrieTimer failure;
+
+    public MetricsClientCredentialsValidatorDecorator(ClientCredentialsValidator delegate, KyrieMetrics metrics) {
+        Assert.notNull(delegate, "Delegate cannot be null!");
+        this.delegate = delegate;
+        this.success = metrics.timer(KyrieMetricNames.CLIENT_AUTHENTICATION, KyrieMetricNames.OUTCOME_TAG, KyrieMetricNames.SUCCESS);
+        this.failure = metrics.timer(KyrieMetricNames.CLIENT_AUTHENTICATION, KyrieMetricNames.OUTCOME_TAG, KyrieMetricNames.FAILURE);
+    }
+
+    @Override
+    public ValidationResult validateCredentials(String clientId, String clientSecret) {
+        long start = System.nanoTime();
+        ValidationResult result = delegate.validateCredentials(clientId, clientSecret);
+        (result.isSuccess() ? success : failure).recordSince(start);
+        return result;
+    }
+
+    @Override
+    public ValidationResult validateCredentials(Oauth2ClientCredentials credentials) {
+        long start = System.nanoTime();
+        ValidationResult result = delegate.validateCredentials(credentials);
+        (result.isSuccess() ? success : failure).recordSince(start);
+        return result;
+    }
+
+    public ClientCredentialsValidator getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,35 @@
+package com.odeyalo.kyrie.core.oauth2.client;
+
+import java.util.Collection;
+
+/**
+ * {@link Oauth2ClientRepository} that supports registration and removal of the clients at runtime.
+ * @see ShardedInMemoryOauth2ClientRepository
+ */
+public interface MutableOauth2ClientRepository extends Oauth2ClientRepository {
+
+    /**
+     * Register the client or replace the client with the same client id
+     * @param client - client to save
+     * @return - previous client with the same client id, null if client is new
+     */
+    Oauth2Client save(Oauth2Client client);
+
+    /**
+     * Register or replace all given clients. Used for bulk import, implementations can save clients in parallel
+     * @param clients - clients to save
+     */
+    void saveAll(Collection<Oauth2Client> clients);
+
+    /**
+     * Remove the client by client id
+     * @param clientId - id of the client to remove
+     * @return - removed client, null if client was not found
+     */
+    Oauth2Client deleteById(String clientId);
+
+    /**
+     * @return - number of registered clients
+     */
+    long count();
+}
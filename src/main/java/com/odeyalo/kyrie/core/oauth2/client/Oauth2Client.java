@@ -1,21 +1,26 @@
 package com.odeyalo.kyrie.core.oauth2.client;
 
-import lombok.AllArgsConstructor;
+import com.odeyalo.kyrie.core.oauth2.client.redirect.RedirectUriMatcher;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.Singular;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
  * Oauth2Client that registered in Kyrie and can obtain oauth2 tokens.
+ * <p>The client is immutable, so it can be safely shared between threads. To change the client create a copy using {@link #toBuilder()}</p>
+ * @version 1.2
  */
-@AllArgsConstructor
-@Builder
 @Data
 public class Oauth2Client implements UserDetails {
     /**
@@ -30,12 +35,66 @@ public class Oauth2Client implements UserDetails {
      * Set of allowed redirect uris provided by client.
      * If request contains redirect uri that does not contains in allowedRedirectUris, then request must be rejected
      */
-    @Singular("allowedRedirectUri")
     private final Set<String> allowedRedirectUris;
     private final ClientType clientType;
+    // Compiled from allowedRedirectUris on first use, so clients that are never used in authorization requests do not keep it
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private transient volatile RedirectUriMatcher redirectUriMatcher;
 
-    public void addAllowedRedirectUri(String redirectUri) {
-        this.allowedRedirectUris.add(redirectUri);
+    @Builder(toBuilder = true)
+    public Oauth2Client(String clientId, String clientSecret, @Singular("allowedRedirectUri") Set<String> allowedRedirectUris, ClientType clientType) {
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.allowedRedirectUris = copyOf(allowedRedirectUris);
+        this.clientType = clientType;
+    }
+
+    /**
+     * Create a copy of the client with additional allowed redirect uri, the current client is not changed
+     * @param redirectUri - redirect uri to add
+     * @return - new Oauth2Client with the added redirect uri
+     */
+    public Oauth2Client withAllowedRedirectUri(String redirectUri) {
+        return toBuilder().allowedRedirectUri(redirectUri).build();
+    }
+
+    /**
+     * @return - matcher compiled from the allowed redirect uris, invalid uris are ignored
+     */
+    public RedirectUriMatcher getRedirectUriMatcher() {
+        RedirectUriMatcher matcher = redirectUriMatcher;
+        if (matcher == null) {
+            // Benign race, the matcher is immutable and can be compiled twice
+            matcher = RedirectUriMatcher.compile(allowedRedirectUris, true);
+            redirectUriMatcher = matcher;
+        }
+        return matcher;
+    }
+
+    /**
+     * Check that the redirect uri is allowed for this client
+     * @param redirectUri - redirect uri to check
+     * @return - true if redirect uri matches any allowed redirect uri, false otherwise
+     * @see RedirectUriMatcher
+     */
+    public boolean isRedirectUriAllowed(String redirectUri) {
+        return getRedirectUriMatcher().matches(redirectUri);
+    }
+
+    /**
+     * Defensive copy, so the client can't be changed through the passed set.
+     * Most clients have single redirect uri, so compact singleton set is used for them
+     */
+    private static Set<String> copyOf(Set<String> redirectUris) {
+        if (redirectUris == null || redirectUris.isEmpty()) {
+            return Collections.emptySet();
+        }
+        if (redirectUris.size() == 1) {
+            return Collections.singleton(redirectUris.iterator().next());
+        }
+        return Collections.unmodifiableSet(new LinkedHashSet<>(redirectUris));
     }
 
     @Override
@@ -0,0 +1,183 @@
+package com.odeyalo.kyrie.core.oauth2.client;
+
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * <p>Thread-safe {@link MutableOauth2ClientRepository} that stores the clients in memory, split into several {@link ConcurrentHashMap} shards.</p>
+ * <p>
+ * Reads never take locks. Since {@link Oauth2Client} is immutable, the client is changed by saving a new copy that replaces the old one,
+ * so readers always see either the old or the new client, but never a partially changed one.
+ * Sharding keeps the size of every map small, so resizes during bulk import do not block whole registry,
+ * and allows to import the clients to different shards in parallel.
+ * </p>
+ *
+ * @see com.odeyalo.kyrie.core.oauth2.client.snapshot.Oauth2ClientSnapshotFile
+ */
+public class ShardedInMemoryOauth2ClientRepository implements MutableOauth2ClientRepository, Iterable<Oauth2Client> {
+    public static final int DEFAULT_SHARD_COUNT = 64;
+    // Bulk imports smaller than this are saved in the caller thread
+    private static final int PARALLEL_IMPORT_THRESHOLD = 10000;
+
+    private final Map<String, Oauth2Client>[] shards;
+    private final int mask;
+    private final int shift;
+    // Incremented on every change, used to detect that registry was changed since the last snapshot
+    private final AtomicLong version = new AtomicLong();
+
+    public ShardedInMemoryOauth2ClientRepository() {
+        this(DEFAULT_SHARD_COUNT, 0);
+    }
+
+    /**
+     * Initialize repository with the list of clients
+     * @param clients - clients to register in repository
+     */
+    public ShardedInMemoryOauth2ClientRepository(@Nonnull List<Oauth2Client> clients) {
+        this(DEFAULT_SHARD_COUNT, clients.size());
+        saveAll(clients);
+    }
+
+    /**
+     * @param shardCount - number of the shards, rounded up to power of two
+     * @param expectedSize - expected number of the clients, used to presize the shards
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedInMemoryOauth2ClientRepository(int shardCount, int expectedSize) {
+        Assert.isTrue(shardCount > 0, "Shard count must be positive!");
+        Assert.isTrue(expectedSize >= 0, "Expected size cannot be negative!");
+        int shardsNumber = Integer.highestOneBit(shardCount - 1) << 1;
+        shardsNumber = Math.max(shardsNumber, 1);
+        this.shards = new Map[shardsNumber];
+        this.mask = shardsNumber - 1;
+        this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(shardsNumber);
+        int shardCapacity = Math.max(16, expectedSize / shardsNumber);
+        for (int i = 0; i < shardsNumber; i++) {
+            shards[i] = new ConcurrentHashMap<>(shardCapacity);
+        }
+    }
+
+    @Override
+    public Oauth2Client findOauth2ClientById(String clientId) {
+        if (clientId == null) {
+            return null;
+        }
+        return shardFor(clientId).get(clientId);
+    }
+
+    @Override
+    public Oauth2Client save(Oauth2Client client) {
+        Assert.notNull(client, "Client cannot be null!");
+        Assert.notNull(client.getClientId(), "Client id cannot be null!");
+        Oauth2Client previous = shardFor(client.getClientId()).put(client.getClientId(), client);
+        version.incrementAndGet();
+        return previous;
+    }
+
+    @Override
+    public void saveAll(Collection<Oauth2Client> clients) {
+        Assert.notNull(clients, "Clients cannot be null!");
+        if (clients.size() < PARALLEL_IMPORT_THRESHOLD) {
+            clients.forEach(this::save);
+            return;
+        }
+        List<Oauth2Client>[] clientsByShard = groupByShard(clients);
+        IntStream.range(0, shards.length).parallel().forEach(index -> {
+            Map<String, Oauth2Client> shard = shards[index];
+            for (Oauth2Client client : clientsByShard[index]) {
+                shard.put(client.getClientId(), client);
+            }
+        });
+        version.incrementAndGet();
+    }
+
+    @Override
+    public Oauth2Client deleteById(String clientId) {
+        if (clientId == null) {
+            return null;
+        }
+        Oauth2Client removed = shardFor(clientId).remove(clientId);
+        if (removed != null) {
+            version.incrementAndGet();
+        }
+        return removed;
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (Map<String, Oauth2Client> shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return - number that is changed every time the registry is changed
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Iterator over all clients. The iterator is weakly consistent, the same as {@link ConcurrentHashMap} iterators
+     * @return - iterator with Oauth2Client(s)
+     */
+    @Override
+    @Nonnull
+    public Iterator<Oauth2Client> iterator() {
+        return new Iterator<>() {
+            private int shardIndex = 0;
+            private Iterator<Oauth2Client> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && shardIndex < shards.length) {
+                    current = shards[shardIndex++].values().iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Oauth2Client next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Oauth2Client>[] groupByShard(Collection<Oauth2Client> clients) {
+        List<Oauth2Client>[] clientsByShard = new List[shards.length];
+        int expectedShardSize = clients.size() / shards.length + 1;
+        Arrays.setAll(clientsByShard, index -> new ArrayList<>(expectedShardSize));
+        for (Oauth2Client client : clients) {
+            Assert.notNull(client.getClientId(), "Client id cannot be null!");
+            clientsByShard[shardIndex(client.getClientId())].add(client);
+        }
+        return clientsByShard;
+    }
+
+    private Map<String, Oauth2Client> shardFor(String clientId) {
+        return shards[shardIndex(clientId)];
+    }
+
+    private int shardIndex(String clientId) {
+        // High bits of the mixed hash select the shard, since ConcurrentHashMap uses the low bits inside the shard
+        return ((clientId.hashCode() * 0x9E3779B9) >>> shift) & mask;
+    }
+}
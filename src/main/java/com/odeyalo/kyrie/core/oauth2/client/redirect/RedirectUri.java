@@ -0,0 +1,311 @@
+package com.odeyalo.kyrie.core.oauth2.client.redirect;
+
+/**
+ * <p>Single-pass parser of the redirect uri that validates the uri and exposes its normalized form character by character, without creating new strings.</p>
+ * <p>Normalization rules, the rest of the uri is compared as is:</p>
+ * <ul>
+ *     <li>scheme and host are lower-cased</li>
+ *     <li>default port of http and https is removed</li>
+ *     <li>port of the loopback ip redirect uri is removed, since any port must be allowed for it</li>
+ * </ul>
+ * <p>
+ * The uri is valid if it is absolute, does not contain fragment, user info, whitespaces or not encoded non-ASCII characters.
+ * Instances are mutable and not thread-safe, use {@link #current()} to get the instance of the current thread.
+ * </p>
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc6749#section-3.1.2">Redirection Endpoint</a>
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc8252#section-7.3">Loopback Interface Redirection</a>
+ */
+public final class RedirectUri {
+    public static final int MAX_LENGTH = 2048;
+    private static final ThreadLocal<RedirectUri> CURRENT = ThreadLocal.withInitial(RedirectUri::new);
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000};
+
+    private String source;
+    private int length;
+    // Index of ':' after the scheme
+    private int schemeEnd;
+    // Host bounds, both equal to the start of the path if uri has no authority
+    private int hostStart;
+    private int hostEnd;
+    private int port;
+    // Number of port digits in normalized form, 0 if port is omitted
+    private int portDigits;
+    private int tailStart;
+    private boolean loopback;
+    private int normalizedLength;
+
+    /**
+     * @return - reusable parser of the current thread
+     */
+    public static RedirectUri current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Check that uri is valid redirect uri, does not create new objects
+     * @param uri - uri to check
+     * @return - true if uri is valid, false otherwise
+     */
+    public static boolean isValid(String uri) {
+        return current().parse(uri);
+    }
+
+    /**
+     * Check that uri is valid http or https redirect uri, does not create new objects
+     * @param uri - uri to check
+     * @return - true if uri is valid and has http or https scheme, false otherwise
+     */
+    public static boolean isValidHttp(String uri) {
+        RedirectUri redirectUri = current();
+        return redirectUri.parse(uri) && redirectUri.isHttp() && redirectUri.hasAuthority();
+    }
+
+    /**
+     * Normalize the uri
+     * @param uri - uri to normalize
+     * @return - normalized uri
+     * @throws IllegalArgumentException - if uri is not valid
+     */
+    public static String normalize(String uri) {
+        RedirectUri redirectUri = new RedirectUri();
+        if (!redirectUri.parse(uri)) {
+            throw new IllegalArgumentException("Redirect uri is not valid: " + uri);
+        }
+        StringBuilder builder = new StringBuilder(redirectUri.normalizedLength());
+        for (int i = 0; i < redirectUri.normalizedLength(); i++) {
+            builder.append(redirectUri.normalizedCharAt(i));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Parse the uri and remember its components
+     * @param uri - uri to parse
+     * @return - true if uri is valid, false otherwise. If false, then other methods must not be used
+     */
+    public boolean parse(String uri) {
+        this.source = uri;
+        if (uri == null || uri.isEmpty() || uri.length() > MAX_LENGTH) {
+            return false;
+        }
+        this.length = uri.length();
+        return parseScheme() && parseAuthority() && parseTail() && computeNormalizedLength();
+    }
+
+    public int normalizedLength() {
+        return normalizedLength;
+    }
+
+    /**
+     * Return the character of the normalized uri
+     * @param index - index in normalized uri
+     * @return - character at the index
+     */
+    public char normalizedCharAt(int index) {
+        if (index < hostEnd) {
+            char c = source.charAt(index);
+            return index < schemeEnd || index >= hostStart ? toLowerCase(c) : c;
+        }
+        int position = index - hostEnd;
+        if (portDigits > 0) {
+            if (position == 0) {
+                return ':';
+            }
+            if (position <= portDigits) {
+                return (char) ('0' + port / POWERS_OF_TEN[portDigits - position] % 10);
+            }
+            position -= portDigits + 1;
+        }
+        return source.charAt(tailStart + position);
+    }
+
+    /**
+     * @return - index in normalized uri where path starts
+     */
+    public int normalizedPathStart() {
+        return normalizedLength - (length - tailStart);
+    }
+
+    public boolean isLoopback() {
+        return loopback;
+    }
+
+    public boolean hasAuthority() {
+        return hostEnd > hostStart;
+    }
+
+    public boolean isHttp() {
+        return schemeEquals("http") || schemeEquals("https");
+    }
+
+    private boolean parseScheme() {
+        if (!isAlpha(source.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = source.charAt(i);
+            if (c == ':') {
+                schemeEnd = i;
+                return true;
+            }
+            if (!isAlpha(c) && !isDigit(c) && c != '+' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private boolean parseAuthority() {
+        port = -1;
+        loopback = false;
+        int start = schemeEnd + 1;
+        if (!source.startsWith("//", start)) {
+            // Uri without authority, e.g. private-use scheme 'com.example.app:/callback'
+            hostStart = start;
+            hostEnd = start;
+            tailStart = start;
+            return start < length;
+        }
+        hostStart = start + 2;
+        int i = hostStart;
+        if (i < length && source.charAt(i) == '[') {
+            // IPv6 literal
+            int close = source.indexOf(']', i);
+            if (close < 0) {
+                return false;
+            }
+            for (int j = i + 1; j < close; j++) {
+                char c = source.charAt(j);
+                if (!isHexDigit(c) && c != ':' && c != '.') {
+                    return false;
+                }
+            }
+            i = close + 1;
+        } else {
+            while (i < length && !isAuthorityEnd(source.charAt(i)) && source.charAt(i) != ':') {
+                if (!isHostChar(source.charAt(i))) {
+                    // Also rejects '@', user info is not allowed in redirect uri
+                    return false;
+                }
+                i++;
+            }
+        }
+        hostEnd = i;
+        if (hostEnd == hostStart) {
+            return false;
+        }
+        if (i < length && source.charAt(i) == ':') {
+            i++;
+            int value = 0;
+            int digits = 0;
+            while (i < length && !isAuthorityEnd(source.charAt(i))) {
+                char c = source.charAt(i);
+                if (!isDigit(c) || ++digits > 5) {
+                    return false;
+                }
+                value = value * 10 + (c - '0');
+                i++;
+            }
+            if (value > 65535) {
+                return false;
+            }
+            port = digits > 0 ? value : -1;
+        } else if (i < length && !isAuthorityEnd(source.charAt(i))) {
+            return false;
+        }
+        tailStart = i;
+        loopback = schemeEquals("http") && (hostEqualsIgnoreCase("127.0.0.1") || hostEqualsIgnoreCase("[::1]"));
+        return true;
+    }
+
+    private boolean parseTail() {
+        for (int i = tailStart; i < length; i++) {
+            char c = source.charAt(i);
+            if (c == '%') {
+                if (i + 2 >= length || !isHexDigit(source.charAt(i + 1)) || !isHexDigit(source.charAt(i + 2))) {
+                    return false;
+                }
+                i += 2;
+            } else if (!isTailChar(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean computeNormalizedLength() {
+        if (port < 0 || loopback || port == defaultPort()) {
+            portDigits = 0;
+        } else {
+            portDigits = 1;
+            while (portDigits < POWERS_OF_TEN.length && port >= POWERS_OF_TEN[portDigits]) {
+                portDigits++;
+            }
+        }
+        normalizedLength = hostEnd + (portDigits > 0 ? portDigits + 1 : 0) + (length - tailStart);
+        return true;
+    }
+
+    private int defaultPort() {
+        if (schemeEquals("http")) {
+            return 80;
+        }
+        return schemeEquals("https") ? 443 : -1;
+    }
+
+    private boolean schemeEquals(String scheme) {
+        return schemeEnd == scheme.length() && source.regionMatches(true, 0, scheme, 0, schemeEnd);
+    }
+
+    private boolean hostEqualsIgnoreCase(String host) {
+        return hostEnd - hostStart == host.length() && source.regionMatches(true, hostStart, host, 0, host.length());
+    }
+
+    private static boolean isAuthorityEnd(char c) {
+        return c == '/' || c == '?' || c == '#';
+    }
+
+    private static boolean isHostChar(char c) {
+        // unreserved, sub-delims and percent-encoding from RFC 3986
+        return isAlpha(c) || isDigit(c) || c == '-' || c == '.' || c == '_' || c == '~' || c == '%'
+                || c == '!' || c == '$' || c == '&' || c == '\'' || c == '(' || c == ')' || c == '*' || c == '+' || c == ',' || c == ';' || c == '=';
+    }
+
+    private static boolean isTailChar(char c) {
+        if (c <= ' ' || c >= 0x7F) {
+            return false;
+        }
+        switch (c) {
+            case '#':
+            case '\\':
+            case '"':
+            case '<':
+            case '>':
+            case '{':
+            case '}':
+            case '|':
+            case '^':
+            case '`':
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -0,0 +1,280 @@
+package com.odeyalo.kyrie.core.oauth2.client.redirect;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Matches the redirect uri against the redirect uris registered by the client.</p>
+ * <p>Supported rules:</p>
+ * <ul>
+ *     <li>Exact - the normalized redirect uri must be equal to the normalized registered uri</li>
+ *     <li>Path prefix - registered uri that ends with '/*', e.g. 'https://example.com/callback/*', matches any uri under this path,
+ *     the rest of the uri must not contain dot-segments</li>
+ *     <li>Loopback - registered 'http://127.0.0.1/callback' or 'http://[::1]/callback' matches the same uri with any port</li>
+ * </ul>
+ * <p>
+ * The registered uris are normalized once when the matcher is compiled, the redirect uri is validated and matched in single pass
+ * without creating new objects. Small sets are matched one by one, large sets are matched using the trie, so the time does not depend
+ * on the number of registered uris.
+ * </p>
+ * <p>Instances are immutable and thread-safe</p>
+ *
+ * @see RedirectUri
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc8252#section-7">Receiving the Authorization Response in a Native App</a>
+ */
+public abstract class RedirectUriMatcher {
+    public static final String PATH_PREFIX_WILDCARD = "/*";
+    // Sets with more uris are matched using trie
+    static final int TRIE_THRESHOLD = 8;
+    private static final RedirectUriMatcher EMPTY = new ListRedirectUriMatcher(new String[0], new boolean[0]);
+
+    /**
+     * Compile the matcher for the given registered redirect uris
+     * @param registeredUris - redirect uris registered by the client
+     * @return - matcher for the given uris
+     * @throws IllegalArgumentException - if any uri is not valid redirect uri
+     */
+    public static RedirectUriMatcher compile(Collection<String> registeredUris) {
+        return compile(registeredUris, false);
+    }
+
+    /**
+     * Compile the matcher for the given registered redirect uris
+     * @param registeredUris - redirect uris registered by the client
+     * @param ignoreInvalid - if true, then invalid uris are skipped, since they can't match any valid redirect uri anyway
+     * @return - matcher for the given uris
+     * @throws IllegalArgumentException - if any uri is not valid redirect uri and ignoreInvalid is false
+     */
+    public static RedirectUriMatcher compile(Collection<String> registeredUris, boolean ignoreInvalid) {
+        if (registeredUris == null || registeredUris.isEmpty()) {
+            return EMPTY;
+        }
+        List<String> rules = new ArrayList<>(registeredUris.size());
+        List<Boolean> prefixes = new ArrayList<>(registeredUris.size());
+        for (String registeredUri : registeredUris) {
+            boolean prefix = registeredUri != null && registeredUri.endsWith(PATH_PREFIX_WILDCARD);
+            // The slash is kept, so 'https://example.com/app/*' does not match 'https://example.com/application'
+            String uri = prefix ? registeredUri.substring(0, registeredUri.length() - 1) : registeredUri;
+            if (!new RedirectUri().parse(uri)) {
+                Assert.isTrue(ignoreInvalid, () -> "Registered redirect uri is not valid: " + registeredUri);
+                continue;
+            }
+            rules.add(RedirectUri.normalize(uri));
+            prefixes.add(prefix);
+        }
+        if (rules.isEmpty()) {
+            return EMPTY;
+        }
+        if (rules.size() <= TRIE_THRESHOLD) {
+            boolean[] prefixFlags = new boolean[prefixes.size()];
+            for (int i = 0; i < prefixFlags.length; i++) {
+                prefixFlags[i] = prefixes.get(i);
+            }
+            return new ListRedirectUriMatcher(rules.toArray(new String[0]), prefixFlags);
+        }
+        return new TrieRedirectUriMatcher(rules, prefixes);
+    }
+
+    /**
+     * Check that the redirect uri is valid and matches any registered uri
+     * @param redirectUri - redirect uri from the request
+     * @return - true if uri is allowed, false otherwise
+     */
+    public boolean matches(String redirectUri) {
+        RedirectUri parsed = RedirectUri.current();
+        return parsed.parse(redirectUri) && matchesParsed(parsed);
+    }
+
+    protected abstract boolean matchesParsed(RedirectUri redirectUri);
+
+    /**
+     * Check that the part of the uri that is matched by path prefix rule can't escape the prefix
+     * @param uri - parsed uri
+     * @param from - index in normalized uri where the unmatched part starts
+     * @return - true if the rest of the uri does not contain dot-segments
+     */
+    static boolean isSafeRemainder(RedirectUri uri, int from) {
+        int length = uri.normalizedLength();
+        // Previous char is always '/', since prefix rule ends with slash
+        boolean segmentStart = true;
+        for (int i = from; i < length; i++) {
+            char c = uri.normalizedCharAt(i);
+            if (c == '?') {
+                return true;
+            }
+            if (c == '%' && i + 2 < length && uri.normalizedCharAt(i + 1) == '2'
+                    && (uri.normalizedCharAt(i + 2) == 'e' || uri.normalizedCharAt(i + 2) == 'E')) {
+                return false;
+            }
+            if (c == '.' && segmentStart && (i + 1 == length || uri.normalizedCharAt(i + 1) == '.' || isSegmentEnd(uri.normalizedCharAt(i + 1)))) {
+                return false;
+            }
+            segmentStart = c == '/';
+        }
+        return true;
+    }
+
+    private static boolean isSegmentEnd(char c) {
+        return c == '/' || c == '?';
+    }
+
+    /**
+     * Compare registered uris one by one, used for small sets to not keep trie nodes for every client
+     */
+    static final class ListRedirectUriMatcher extends RedirectUriMatcher {
+        private final String[] rules;
+        private final boolean[] prefixes;
+
+        ListRedirectUriMatcher(String[] rules, boolean[] prefixes) {
+            this.rules = rules;
+            this.prefixes = prefixes;
+        }
+
+        @Override
+        protected boolean matchesParsed(RedirectUri uri) {
+            int length = uri.normalizedLength();
+            for (int i = 0; i < rules.length; i++) {
+                String rule = rules[i];
+                if (prefixes[i] ? length < rule.length() : length != rule.length()) {
+                    continue;
+                }
+                if (regionMatches(uri, rule) && (!prefixes[i] || isSafeRemainder(uri, rule.length()))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean regionMatches(RedirectUri uri, String rule) {
+            // Compared from the end, since registered uris of the same client usually differ in path only
+            for (int i = rule.length() - 1; i >= 0; i--) {
+                if (uri.normalizedCharAt(i) != rule.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Path-compressed trie of the normalized registered uris
+     */
+    static final class TrieRedirectUriMatcher extends RedirectUriMatcher {
+        private final Node root;
+
+        TrieRedirectUriMatcher(List<String> rules, List<Boolean> prefixes) {
+            NodeBuilder rootBuilder = new NodeBuilder();
+            for (int i = 0; i < rules.size(); i++) {
+                rootBuilder.insert(rules.get(i), prefixes.get(i));
+            }
+            this.root = rootBuilder.build("");
+        }
+
+        @Override
+        protected boolean matchesParsed(RedirectUri uri) {
+            int length = uri.normalizedLength();
+            Node node = root;
+            int position = 0;
+            while (true) {
+                String segment = node.segment;
+                if (length - position < segment.length()) {
+                    return false;
+                }
+                for (int i = 0; i < segment.length(); i++) {
+                    if (uri.normalizedCharAt(position + i) != segment.charAt(i)) {
+                        return false;
+                    }
+                }
+                position += segment.length();
+                if (position == length) {
+                    return node.terminal || (node.prefix && isSafeRemainder(uri, position));
+                }
+                if (node.prefix && isSafeRemainder(uri, position)) {
+                    return true;
+                }
+                node = node.child(uri.normalizedCharAt(position));
+                if (node == null) {
+                    return false;
+                }
+                position++;
+            }
+        }
+    }
+
+    static final class Node {
+        // Chars that follow the key char of this node, shared by all uris under this node
+        private final String segment;
+        private final char[] keys;
+        private final Node[] children;
+        private final boolean terminal;
+        private final boolean prefix;
+
+        Node(String segment, char[] keys, Node[] children, boolean terminal, boolean prefix) {
+            this.segment = segment;
+            this.keys = keys;
+            this.children = children;
+            this.terminal = terminal;
+            this.prefix = prefix;
+        }
+
+        Node child(char key) {
+            int low = 0;
+            int high = keys.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char current = keys[middle];
+                if (current < key) {
+                    low = middle + 1;
+                } else if (current > key) {
+                    high = middle - 1;
+                } else {
+                    return children[middle];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class NodeBuilder {
+        private final Map<Character, NodeBuilder> children = new TreeMap<>();
+        private boolean terminal;
+        private boolean prefix;
+
+        void insert(String rule, boolean isPrefix) {
+            NodeBuilder node = this;
+            for (int i = 0; i < rule.length(); i++) {
+                node = node.children.computeIfAbsent(rule.charAt(i), key -> new NodeBuilder());
+            }
+            if (isPrefix) {
+                node.prefix = true;
+            } else {
+                node.terminal = true;
+            }
+        }
+
+        Node build(String segment) {
+            NodeBuilder node = this;
+            StringBuilder compressed = new StringBuilder(segment);
+            // Chain of the nodes with single child is merged into one node
+            while (!node.terminal && !node.prefix && node.children.size() == 1) {
+                Map.Entry<Character, NodeBuilder> only = node.children.entrySet().iterator().next();
+                compressed.append(only.getKey().charValue());
+                node = only.getValue();
+            }
+            char[] keys = new char[node.children.size()];
+            Node[] nodes = new Node[keys.length];
+            int i = 0;
+            for (Map.Entry<Character, NodeBuilder> entry : node.children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i] = entry.getValue().build("");
+                i++;
+            }
+            return new Node(compressed.toString(), keys, nodes, node.terminal, node.prefix);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.odeyalo.kyrie.core.oauth2.client.snapshot;
+
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import org.springframework.util.Assert;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * <p>Local file with compact binary snapshot of the registered clients, used to restore the client registry on startup.</p>
+ * <p>Format, all numbers are big-endian:</p>
+ * <pre>
+ * header:  magic(int) version(int)
+ * segment: length(int) clientsCount(int) client...
+ * client:  clientId(string) clientSecret(string) clientType(byte, -1 if null) redirectUrisCount(int) redirectUri(string)...
+ * trailer: clientsCount(int) crc32(long) of all previous bytes
+ * string:  length(int, -1 if null) UTF-8 bytes
+ * </pre>
+ * <p>
+ * The snapshot is written to temporary file that atomically replaces the old snapshot, so the crash during write never corrupts the existing snapshot.
+ * The temporary file is flushed to the disk before the move and the directory is flushed after it, so the replaced snapshot survives the power loss too.
+ * The whole file is read at once, the segments are decoded in parallel and strings are decoded directly from the read bytes.
+ * </p>
+ */
+public class Oauth2ClientSnapshotFile {
+    private static final int MAGIC = 0x4B594353; // 'KYCS'
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = Integer.BYTES * 2;
+    private static final int SEGMENT_HEADER_LENGTH = Integer.BYTES * 2;
+    private static final int TRAILER_LENGTH = Integer.BYTES + Long.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_SEGMENT_SIZE = 16 * 1024;
+    private static final Oauth2Client.ClientType[] CLIENT_TYPES = Oauth2Client.ClientType.values();
+
+    private final Path path;
+    private final int segmentSize;
+
+    public Oauth2ClientSnapshotFile(Path path) {
+        this(path, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param path - path to the snapshot file
+     * @param segmentSize - max number of the clients in one segment, segments are decoded in parallel
+     */
+    public Oauth2ClientSnapshotFile(Path path, int segmentSize) {
+        Assert.notNull(path, "Path to the snapshot cannot be null!");
+        Assert.isTrue(segmentSize > 0, "Segment size must be positive!");
+        this.path = path;
+        this.segmentSize = segmentSize;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public boolean exists() {
+        return Files.isRegularFile(path);
+    }
+
+    /**
+     * Write the snapshot with the given clients, replacing the previous snapshot
+     * @param clients - clients to write
+     * @return - number of written clients
+     * @throws IOException - if snapshot can't be written, the previous snapshot stays unchanged in this case
+     */
+    public int write(Iterable<Oauth2Client> clients) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            int count = writeTo(temporary, clients);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory(parent);
+            return count;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Read all clients from the snapshot
+     * @return - clients in the order they were written
+     * @throws IOException - if snapshot can't be read
+     * @throws CorruptedSnapshotException - if snapshot is truncated, has unknown format or checksum does not match
+     */
+    public List<Oauth2Client> read() throws IOException {
+        byte[] data = Files.readAllBytes(path);
+        if (data.length < HEADER_LENGTH + TRAILER_LENGTH) {
+            throw new CorruptedSnapshotException("Snapshot is too short: " + data.length + " bytes");
+        }
+        int payloadLength = data.length - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, payloadLength);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (buffer.getLong(payloadLength) != crc.getValue()) {
+            throw new CorruptedSnapshotException("Checksum of the snapshot does not match");
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new CorruptedSnapshotException("Unknown snapshot format");
+        }
+        int segmentsEnd = data.length - TRAILER_LENGTH;
+        int expectedCount = buffer.getInt(segmentsEnd);
+        List<Segment> segments = findSegments(buffer, segmentsEnd);
+
+        List<List<Oauth2Client>> decoded;
+        try {
+            decoded = segments.parallelStream()
+                    .map(segment -> readSegment(data, segment))
+                    .collect(Collectors.toList());
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new CorruptedSnapshotException("Snapshot contains malformed client record", e);
+        }
+        List<Oauth2Client> clients = new ArrayList<>(Math.max(expectedCount, 0));
+        decoded.forEach(clients::addAll);
+        if (clients.size() != expectedCount) {
+            throw new CorruptedSnapshotException("Expected " + expectedCount + " clients, but read " + clients.size());
+        }
+        return clients;
+    }
+
+    private int writeTo(Path file, Iterable<Oauth2Client> clients) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream fileStream = Channels.newOutputStream(channel);
+             DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(fileStream, BUFFER_SIZE), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            ByteArrayOutputStream segmentBytes = new ByteArrayOutputStream(BUFFER_SIZE);
+            DataOutputStream segment = new DataOutputStream(segmentBytes);
+            int count = 0;
+            int segmentCount = 0;
+            for (Oauth2Client client : clients) {
+                writeClient(segment, client);
+                count++;
+                if (++segmentCount == segmentSize) {
+                    writeSegment(out, segmentBytes, segmentCount);
+                    segmentCount = 0;
+                }
+            }
+            if (segmentCount > 0) {
+                writeSegment(out, segmentBytes, segmentCount);
+            }
+            out.writeInt(count);
+            // The checksum itself is not included in the checksum, so it is written after the value was computed
+            long checksum = crc.getValue();
+            out.writeLong(checksum);
+            out.flush();
+            // The content must reach the disk before the move, otherwise the renamed file can be empty after the power loss
+            channel.force(true);
+            return count;
+        }
+    }
+
+    /**
+     * Flush the directory entries, so the replaced snapshot is durable
+     * @param directory - directory that contains the snapshot
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms, e.g. Windows, can't open the directory, the move is still atomic there
+        }
+    }
+
+    private static void writeSegment(DataOutputStream out, ByteArrayOutputStream segmentBytes, int clientsCount) throws IOException {
+        out.writeInt(segmentBytes.size());
+        out.writeInt(clientsCount);
+        segmentBytes.writeTo(out);
+        segmentBytes.reset();
+    }
+
+    private static List<Segment> findSegments(ByteBuffer buffer, int segmentsEnd) throws CorruptedSnapshotException {
+        List<Segment> segments = new ArrayList<>();
+        int position = HEADER_LENGTH;
+        while (position < segmentsEnd) {
+            if (segmentsEnd - position < SEGMENT_HEADER_LENGTH) {
+                throw new CorruptedSnapshotException("Snapshot contains truncated segment");
+            }
+            int length = buffer.getInt(position);
+            int clientsCount = buffer.getInt(position + Integer.BYTES);
+            int offset = position + SEGMENT_HEADER_LENGTH;
+            if (length < 0 || clientsCount < 0 || length > segmentsEnd - offset) {
+                throw new CorruptedSnapshotException("Snapshot contains malformed segment");
+            }
+            segments.add(new Segment(offset, length, clientsCount));
+            position = offset + length;
+        }
+        return segments;
+    }
+
+    private static List<Oauth2Client> readSegment(byte[] data, Segment segment) {
+        ByteBuffer buffer = ByteBuffer.wrap(data, segment.offset, segment.length);
+        List<Oauth2Client> clients = new ArrayList<>(segment.clientsCount);
+        for (int i = 0; i < segment.clientsCount; i++) {
+            clients.add(readClient(buffer, data));
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Segment contains more bytes than clients");
+        }
+        return clients;
+    }
+
+    private static void writeClient(DataOutputStream out, Oauth2Client client) throws IOException {
+        writeString(out, client.getClientId());
+        writeString(out, client.getClientSecret());
+        out.writeByte(client.getClientType() != null ? client.getClientType().ordinal() : -1);
+        Set<String> redirectUris = client.getAllowedRedirectUris();
+        out.writeInt(redirectUris.size());
+        for (String redirectUri : redirectUris) {
+            writeString(out, redirectUri);
+        }
+    }
+
+    private static Oauth2Client readClient(ByteBuffer buffer, byte[] data) {
+        String clientId = readString(buffer, data);
+        String clientSecret = readString(buffer, data);
+        byte clientType = buffer.get();
+        int redirectUrisCount = buffer.getInt();
+        if (redirectUrisCount < 0 || clientType >= CLIENT_TYPES.length) {
+            throw new IllegalArgumentException("Malformed client record");
+        }
+        Set<String> redirectUris;
+        // Most clients have single redirect uri, the client keeps it in the singleton set without copying
+        if (redirectUrisCount == 1) {
+            redirectUris = Collections.singleton(readString(buffer, data));
+        } else {
+            redirectUris = new LinkedHashSet<>(redirectUrisCount * 2);
+            for (int i = 0; i < redirectUrisCount; i++) {
+                redirectUris.add(readString(buffer, data));
+            }
+        }
+        return new Oauth2Client(clientId, clientSecret, redirectUris, clientType >= 0 ? CLIENT_TYPES[clientType] : null);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer, byte[] data) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        int position = buffer.position();
+        // Decode directly from the array, without copying bytes to the temporary array
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        buffer.position(position + length);
+        return value;
+    }
+
+    private static final class Segment {
+        private final int offset;
+        private final int length;
+        private final int clientsCount;
+
+        Segment(int offset, int length, int clientsCount) {
+            this.offset = offset;
+            this.length = length;
+            this.clientsCount = clientsCount;
+        }
+    }
+
+    /**
+     * Thrown when the snapshot exists but can't be decoded
+     */
+    public static class CorruptedSnapshotException extends IOException {
+
+        public CorruptedSnapshotException(String message) {
+            super(message);
+        }
+
+        public CorruptedSnapshotException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
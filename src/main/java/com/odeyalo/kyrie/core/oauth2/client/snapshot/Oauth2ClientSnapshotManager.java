@@ -0,0 +1,121 @@
+package com.odeyalo.kyrie.core.oauth2.client.snapshot;
+
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import com.odeyalo.kyrie.core.oauth2.client.ShardedInMemoryOauth2ClientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Restores {@link ShardedInMemoryOauth2ClientRepository} from {@link Oauth2ClientSnapshotFile} on start and writes the snapshot in background.</p>
+ * <p>
+ * The snapshot is written only if the repository was changed since the last write, and once more on close.
+ * Clients from the snapshot replace the clients with the same id that were registered before start, since the snapshot contains the latest runtime state.
+ * Corrupted snapshot is ignored with warning, so the node can still start with the configured clients.
+ * </p>
+ */
+public class Oauth2ClientSnapshotManager implements AutoCloseable {
+    private final ShardedInMemoryOauth2ClientRepository repository;
+    private final Oauth2ClientSnapshotFile snapshotFile;
+    private final Duration writeInterval;
+    private final Logger logger = LoggerFactory.getLogger(Oauth2ClientSnapshotManager.class);
+    private ScheduledExecutorService scheduler;
+    // Version of the repository that was written to the snapshot last time
+    private volatile long writtenVersion = -1;
+
+    /**
+     * @param repository - repository to restore and snapshot
+     * @param snapshotFile - file to store snapshot in
+     * @param writeInterval - how often the changes are written to the snapshot
+     */
+    public Oauth2ClientSnapshotManager(ShardedInMemoryOauth2ClientRepository repository, Oauth2ClientSnapshotFile snapshotFile, Duration writeInterval) {
+        Assert.notNull(repository, "Repository cannot be null!");
+        Assert.notNull(snapshotFile, "Snapshot file cannot be null!");
+        Assert.isTrue(writeInterval != null && !writeInterval.isNegative() && !writeInterval.isZero(), "Write interval must be positive!");
+        this.repository = repository;
+        this.snapshotFile = snapshotFile;
+        this.writeInterval = writeInterval;
+    }
+
+    /**
+     * Restore the clients from the snapshot and start the background writes
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        restore();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kyrie-client-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = writeInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::writeIfChangedSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Restore the clients from the snapshot, if the snapshot exists
+     * @return - number of restored clients
+     */
+    public int restore() {
+        if (!snapshotFile.exists()) {
+            this.logger.info("Client snapshot: {} does not exist, nothing to restore", snapshotFile.getPath());
+            return 0;
+        }
+        long start = System.nanoTime();
+        try {
+            List<Oauth2Client> clients = snapshotFile.read();
+            repository.saveAll(clients);
+            writtenVersion = repository.getVersion();
+            this.logger.info("Restored {} clients from snapshot: {} in {} ms", clients.size(), snapshotFile.getPath(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return clients.size();
+        } catch (IOException e) {
+            this.logger.warn("Failed to restore clients from snapshot: {}, the snapshot is ignored", snapshotFile.getPath(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Write the snapshot if repository was changed since the last write
+     * @return - true if snapshot was written, false if nothing was changed
+     * @throws IOException - if snapshot can't be written
+     */
+    public synchronized boolean writeIfChanged() throws IOException {
+        long version = repository.getVersion();
+        if (version == writtenVersion) {
+            return false;
+        }
+        long start = System.nanoTime();
+        int count = snapshotFile.write(repository);
+        writtenVersion = version;
+        this.logger.debug("Written {} clients to snapshot: {} in {} ms", count, snapshotFile.getPath(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        writeIfChangedSafely();
+    }
+
+    private void writeIfChangedSafely() {
+        try {
+            writeIfChanged();
+        } catch (IOException | RuntimeException e) {
+            this.logger.error("Failed to write client snapshot: {}", snapshotFile.getPath(), e);
+        }
+    }
+}
@@ -22,7 +22,7 @@ public class AuthorizationCodeOauth2FlowHandler implements Oauth2FlowHandler {
 
     @Override
     public Oauth2Token handleFlow(AuthorizationRequest authorizationRequest, Oauth2User user) {
-        return authorizationCodeProvider.getAuthorizationCode(authorizationRequest.getClientId(), user, authorizationRequest.getScopes());
+        return authorizationCodeProvider.getAuthorizationCode(authorizationRequest, user);
     }
 
     @Override
@@ -54,7 +54,7 @@ public class DefaultMultipleResponseTypeOidcOauth2FlowHandler implements Multipl
         }
 
         if (types.contains(OidcResponseType.CODE)) {
-            AuthorizationCode authorizationCode = authorizationCodeProvider.getAuthorizationCode(request.getClientId(), user, scopes);
+            AuthorizationCode authorizationCode = authorizationCodeProvider.getAuthorizationCode(request, user);
             builder.addInfo(AUTHORIZATION_CODE_TOKEN_KEY, authorizationCode.getCodeValue());
         }
         return builder.build();
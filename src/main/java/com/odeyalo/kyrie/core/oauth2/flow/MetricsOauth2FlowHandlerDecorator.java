@@ -0,0 +1,57 @@
+package com.odeyalo.kyrie.core.oauth2.flow;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
+import com.odeyalo.kyrie.core.metrics.KyrieMetricNames;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import com.odeyalo.kyrie.core.metrics.KyrieTimer;
+import com.odeyalo.kyrie.core.oauth2.Oauth2FlowSideType;
+import com.odeyalo.kyrie.core.oauth2.Oauth2Token;
+import com.odeyalo.kyrie.exceptions.Oauth2Exception;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Oauth2FlowHandler} decorator that records the time to handle the flow, tagged by flow name and outcome
+ *
+ * @see KyrieMetricNames#FLOW
+ */
+public class MetricsOauth2FlowHandlerDecorator implements Oauth2FlowHandler {
+    private final Oauth2FlowHandler delegate;
+    private final KyrieTimer success;
+    private final KyrieTimer error;
+
+    public MetricsOauth2FlowHandlerDecorator(Oauth2FlowHandler delegate, KyrieMetrics metrics) {
+        Assert.notNull(delegate, "Delegate cannot be null!");
+        this.delegate = delegate;
+        String flow = delegate.getFlowName() != null ? delegate.getFlowName() : "unknown";
+        this.success = metrics.timer(KyrieMetricNames.FLOW, KyrieMetricNames.FLOW_TAG, flow, KyrieMetricNames.OUTCOME_TAG, KyrieMetricNames.SUCCESS);
+        this.error = metrics.timer(KyrieMetricNames.FLOW, KyrieMetricNames.FLOW_TAG, flow, KyrieMetricNames.OUTCOME_TAG, KyrieMetricNames.ERROR);
+    }
+
+    @Override
+    public Oauth2Token handleFlow(AuthorizationRequest request, Oauth2User user) throws Oauth2Exception {
+        long start = System.nanoTime();
+        try {
+            Oauth2Token token = delegate.handleFlow(request, user);
+            success.recordSince(start);
+            return token;
+        } catch (RuntimeException e) {
+            error.recordSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getFlowName() {
+        return delegate.getFlowName();
+    }
+
+    @Override
+    public Oauth2FlowSideType getFlowType() {
+        return delegate.getFlowType();
+    }
+
+    public Oauth2FlowHandler getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,39 @@
+package com.odeyalo.kyrie.core.oauth2.flow;
+
+import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Oauth2FlowHandlerFactory} decorator that returns the handlers decorated with {@link MetricsOauth2FlowHandlerDecorator}.
+ * The decorators are created once per handler.
+ */
+public class MetricsOauth2FlowHandlerFactoryDecorator implements Oauth2FlowHandlerFactory {
+    private final Oauth2FlowHandlerFactory delegate;
+    private final KyrieMetrics metrics;
+    // Key - handler returned by the delegate, value - decorated handler
+    private final Map<Oauth2FlowHandler, Oauth2FlowHandler> decorated = new ConcurrentHashMap<>();
+
+    public MetricsOauth2FlowHandlerFactoryDecorator(Oauth2FlowHandlerFactory delegate, KyrieMetrics metrics) {
+        Assert.notNull(delegate, "Delegate cannot be null!");
+        Assert.notNull(metrics, "KyrieMetrics cannot be null!");
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Oauth2FlowHandler getOauth2FlowHandler(AuthorizationRequest request) {
+        Oauth2FlowHandler handler = delegate.getOauth2FlowHandler(request);
+        if (handler == null) {
+            return null;
+        }
+        return decorated.computeIfAbsent(handler, key -> new MetricsOauth2FlowHandlerDecorator(key, metrics));
+    }
+
+    public Oauth2FlowHandlerFactory getDelegate() {
+        return delegate;
+    }
+}
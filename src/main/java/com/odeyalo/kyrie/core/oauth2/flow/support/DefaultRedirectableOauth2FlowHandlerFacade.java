@@ -8,6 +8,8 @@ import com.odeyalo.kyrie.core.oauth2.flow.Oauth2FlowHandlerFactory;
 import com.odeyalo.kyrie.core.oauth2.support.RedirectUrlCreationServiceFactory;
 import com.odeyalo.kyrie.exceptions.InvalidGrantOauth2Exception;
 import com.odeyalo.kyrie.exceptions.Oauth2Exception;
+import com.odeyalo.kyrie.support.tracing.RequestPhase;
+import com.odeyalo.kyrie.support.tracing.RequestPhaseTracer;
 import org.springframework.stereotype.Component;
 
 /**
@@ -25,12 +27,17 @@ public class DefaultRedirectableOauth2FlowHandlerFacade implements RedirectableO
 
     @Override
     public String handleFlow(Oauth2User user, AuthorizationRequest request) throws Oauth2Exception {
-        Oauth2FlowHandler flowHandler = oauth2FlowHandlerFactory.getOauth2FlowHandler(request);
-        if (flowHandler == null) {
-            throw new InvalidGrantOauth2Exception("The grant type is null and request cannot be performed properly!", "The grant type is null and request cannot be performed properly!");
+        Oauth2Token oauth2Token;
+        try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.FLOW)) {
+            Oauth2FlowHandler flowHandler = oauth2FlowHandlerFactory.getOauth2FlowHandler(request);
+            if (flowHandler == null) {
+                throw new InvalidGrantOauth2Exception("The grant type is null and request cannot be performed properly!", "The grant type is null and request cannot be performed properly!");
+            }
+            oauth2Token = flowHandler.handleFlow(request, user);
         }
-        Oauth2Token oauth2Token = flowHandler.handleFlow(request, user);
 
-        return redirectUrlCreationServiceFactory.getRedirectUrlCreationService(request).createRedirectUrl(request, oauth2Token);
+        try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.REDIRECT_URL)) {
+            return redirectUrlCreationServiceFactory.getRedirectUrlCreationService(request).createRedirectUrl(request, oauth2Token);
+        }
     }
 }
@@ -0,0 +1,43 @@
+package com.odeyalo.kyrie.core.oauth2.support;
+
+import com.odeyalo.kyrie.core.authorization.AuthorizationGrantType;
+import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
+import com.odeyalo.kyrie.core.metrics.KyrieMetricNames;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import com.odeyalo.kyrie.core.metrics.KyrieTimer;
+import com.odeyalo.kyrie.core.oauth2.Oauth2Token;
+import org.springframework.util.Assert;
+
+/**
+ * {@link RedirectUrlCreationService} decorator that records the time to create the redirect url, tagged by grant type
+ *
+ * @see KyrieMetricNames#REDIRECT_URL
+ */
+public class MetricsRedirectUrlCreationServiceDecorator implements RedirectUrlCreationService {
+    private final RedirectUrlCreationService delegate;
+    private final KyrieTimer timer;
+
+    public MetricsRedirectUrlCreationServiceDecorator(RedirectUrlCreationService delegate, KyrieMetrics metrics) {
+        Assert.notNull(delegate, "Delegate cannot be null!");
+        this.delegate = delegate;
+        AuthorizationGrantType grantType = delegate.supportedGrantType();
+        this.timer = metrics.timer(KyrieMetricNames.REDIRECT_URL, KyrieMetricNames.GRANT_TYPE_TAG, grantType != null ? grantType.getGrantName() : "unknown");
+    }
+
+    @Override
+    public String createRedirectUrl(AuthorizationRequest request, Oauth2Token token) {
+        long start = System.nanoTime();
+        String url = delegate.createRedirectUrl(request, token);
+        timer.recordSince(start);
+        return url;
+    }
+
+    @Override
+    public AuthorizationGrantType supportedGrantType() {
+        return delegate.supportedGrantType();
+    }
+
+    public RedirectUrlCreationService getDelegate() {
+        return delegate;
+    }
+}
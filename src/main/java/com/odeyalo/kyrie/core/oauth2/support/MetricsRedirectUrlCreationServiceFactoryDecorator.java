@@ -0,0 +1,39 @@
+package com.odeyalo.kyrie.core.oauth2.support;
+
+import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RedirectUrlCreationServiceFactory} decorator that returns the services decorated with {@link MetricsRedirectUrlCreationServiceDecorator}.
+ * The decorators are created once per service.
+ */
+public class MetricsRedirectUrlCreationServiceFactoryDecorator implements RedirectUrlCreationServiceFactory {
+    private final RedirectUrlCreationServiceFactory delegate;
+    private final KyrieMetrics metrics;
+    // Key - service returned by the delegate, value - decorated service
+    private final Map<RedirectUrlCreationService, RedirectUrlCreationService> decorated = new ConcurrentHashMap<>();
+
+    public MetricsRedirectUrlCreationServiceFactoryDecorator(RedirectUrlCreationServiceFactory delegate, KyrieMetrics metrics) {
+        Assert.notNull(delegate, "Delegate cannot be null!");
+        Assert.notNull(metrics, "KyrieMetrics cannot be null!");
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public RedirectUrlCreationService getRedirectUrlCreationService(AuthorizationRequest request) {
+        RedirectUrlCreationService service = delegate.getRedirectUrlCreationService(request);
+        if (service == null) {
+            return null;
+        }
+        return decorated.computeIfAbsent(service, key -> new MetricsRedirectUrlCreationServiceDecorator(key, metrics));
+    }
+
+    public RedirectUrlCreationServiceFactory getDelegate() {
+        return delegate;
+    }
+}
@@ -1,22 +1,29 @@
 package com.odeyalo.kyrie.core.oauth2.support.grant;
 
 import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.authentication.AsyncOauth2UserAuthenticationService;
 import com.odeyalo.kyrie.core.authentication.AuthenticationResult;
 import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationInfo;
 import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.authentication.throttling.AuthenticationAttemptThrottler;
 import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
 import com.odeyalo.kyrie.core.authorization.support.AuthorizationRequestContextHolder;
 import com.odeyalo.kyrie.core.events.AuthorizationRequestProcessingFinishedKyrieEvent;
 import com.odeyalo.kyrie.core.events.KyrieEventPublisher;
 import com.odeyalo.kyrie.core.oauth2.support.callbacks.AuthenticationFailedCallback;
 import com.odeyalo.kyrie.core.oauth2.support.callbacks.SuccessfulAuthenticationCallback;
+import com.odeyalo.kyrie.support.concurrent.RequestContextSnapshot;
+import com.odeyalo.kyrie.support.tracing.RequestPhase;
+import com.odeyalo.kyrie.support.tracing.RequestPhaseTracer;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Abstract base class that used to authenticate the user and add callbacks before, after authentication and after all.
@@ -24,6 +31,8 @@ import javax.servlet.http.HttpServletResponse;
 public abstract class AbstractRedirectableAuthenticationGrantHandlerFacade implements RedirectableAuthenticationGrantHandlerFacade {
     protected final Oauth2UserAuthenticationService oauth2UserAuthenticationService;
     protected final KyrieEventPublisher publisher;
+    // Nullable, if null, then authentication attempts are not throttled
+    protected AuthenticationAttemptThrottler authenticationAttemptThrottler;
     protected final Logger logger = LoggerFactory.getLogger(AbstractRedirectableAuthenticationGrantHandlerFacade.class);
 
     protected AbstractRedirectableAuthenticationGrantHandlerFacade(Oauth2UserAuthenticationService oauth2UserAuthenticationService,
@@ -50,8 +59,55 @@ public abstract class AbstractRedirectableAuthenticationGrantHandlerFacade imple
      */
     @Override
     public HandleResult handleGrant(Oauth2UserAuthenticationInfo authenticationInfo, AuthorizationRequest authorizationRequest, HttpServletRequest request, HttpServletResponse response) {
-        AuthenticationResult result = oauth2UserAuthenticationService.authenticate(authenticationInfo);
+        if (isThrottled(authenticationInfo, request, response)) {
+            return HandleResult.TOO_MANY_ATTEMPTS_HANDLE_RESULT;
+        }
+        AuthenticationResult result;
+        try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.AUTHENTICATION)) {
+            result = oauth2UserAuthenticationService.authenticate(authenticationInfo);
+        }
+
+        return handleAuthenticationResult(result, authorizationRequest, request, response);
+    }
 
+    /**
+     * Authenticate the user using {@link AsyncOauth2UserAuthenticationService} if the service supports it, blocking service is invoked on the caller thread.
+     * The grant is handled with the contexts of the current request on the thread that completed authentication.
+     *
+     * @param authenticationInfo - provided credentials by user
+     * @param authorizationRequest - current AuthorizationRequest
+     * @param request - current http request
+     * @param response - response associated with this request
+     * @return - future with result from {@link #doHandleGrant(Oauth2User, AuthorizationRequest, HttpServletRequest, HttpServletResponse)}
+     */
+    @Override
+    public CompletableFuture<HandleResult> handleGrantAsync(Oauth2UserAuthenticationInfo authenticationInfo, AuthorizationRequest authorizationRequest,
+                                                            HttpServletRequest request, HttpServletResponse response) {
+        if (!(oauth2UserAuthenticationService instanceof AsyncOauth2UserAuthenticationService)) {
+            return RedirectableAuthenticationGrantHandlerFacade.super.handleGrantAsync(authenticationInfo, authorizationRequest, request, response);
+        }
+        if (isThrottled(authenticationInfo, request, response)) {
+            return CompletableFuture.completedFuture(HandleResult.TOO_MANY_ATTEMPTS_HANDLE_RESULT);
+        }
+        RequestContextSnapshot snapshot = RequestContextSnapshot.capture();
+        // Closed on the thread that completed authentication
+        RequestPhaseTracer.PhaseTimer authenticationTimer = RequestPhaseTracer.start(RequestPhase.AUTHENTICATION);
+        return ((AsyncOauth2UserAuthenticationService) oauth2UserAuthenticationService).authenticateAsync(authenticationInfo)
+                .whenComplete((result, error) -> authenticationTimer.close())
+                .thenApply(result -> snapshot.call(() -> handleAuthenticationResult(result, authorizationRequest, request, response)));
+    }
+
+    private boolean isThrottled(Oauth2UserAuthenticationInfo authenticationInfo, HttpServletRequest request, HttpServletResponse response) {
+        // Checked before authentication, so throttled attempts never reach the user store
+        if (authenticationAttemptThrottler == null || !authenticationAttemptThrottler.isThrottled(authenticationInfo.getUsername(), request.getRemoteAddr())) {
+            return false;
+        }
+        this.logger.debug("Login attempt of the user: {} is throttled", authenticationInfo.getUsername());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(authenticationAttemptThrottler.getRetryAfterSeconds()));
+        return true;
+    }
+
+    private HandleResult handleAuthenticationResult(AuthenticationResult result, AuthorizationRequest authorizationRequest, HttpServletRequest request, HttpServletResponse response) {
         if (result == null || !result.isSuccess()) {
             handleAuthenticationFailedCallback(new AuthenticationFailedCallback.AuthenticationFailedCallbackData("Credentials are wrong or user does not exist"));
             return HandleResult.WRONG_USER_CREDENTIALS_HANDLE_RESULT;
@@ -71,6 +127,14 @@ public abstract class AbstractRedirectableAuthenticationGrantHandlerFacade imple
         return handleResult;
     }
 
+    /**
+     * Set the throttler that rejects the login attempts after too many failures
+     * @param authenticationAttemptThrottler - throttler to check before authentication, nullable
+     */
+    public void setAuthenticationAttemptThrottler(AuthenticationAttemptThrottler authenticationAttemptThrottler) {
+        this.authenticationAttemptThrottler = authenticationAttemptThrottler;
+    }
+
     public void handleAuthenticationSuccessCallback(SuccessfulAuthenticationCallback.SuccessfulAuthenticationCallbackData data) {
 
     }
@@ -12,9 +12,17 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * <p>{@link AuthorizationGrantTypeResolver} that resolves the grant type with the minimum supported response types.</p>
+ * <p>
+ * Resolved grant types are cached by the names of the response types, not by the array instance,
+ * so every request with the same response types uses the same entry and the cache is bounded by the number of combinations.
+ * </p>
+ */
 public class AuthorizationGrantTypeResolverImpl implements AuthorizationGrantTypeResolver {
     private final Logger logger = LoggerFactory.getLogger(AuthorizationGrantTypeResolverImpl.class);
-    private final Map<Oauth2ResponseType[], AuthorizationGrantType> cache;
+    // Key is the sorted names of the response types, see cacheKey
+    private final Map<String, AuthorizationGrantType> cache = new ConcurrentHashMap<>();
 
     private final List<AuthorizationGrantType> sortedGrantTypes;
 
@@ -23,25 +31,24 @@ public class AuthorizationGrantTypeResolverImpl implements AuthorizationGrantTyp
      */
     public AuthorizationGrantTypeResolverImpl() {
         this.sortedGrantTypes = getSortedGrantTypes();
-        this.cache = new ConcurrentHashMap<>();
     }
 
     /**
-     * Create AuthorizationGrantTypeResolverImpl with custom cache
-     * @param cache - cache that will be used to return AuthorizationGrantType by response types
+     * Create AuthorizationGrantTypeResolverImpl with preloaded cache
+     * @param cache - AuthorizationGrantType by response types that is copied to the cache
      */
     public AuthorizationGrantTypeResolverImpl(Map<Oauth2ResponseType[], AuthorizationGrantType> cache) {
         this.sortedGrantTypes = getSortedGrantTypes();
         if (cache.containsKey(null) || cache.containsValue(null)) {
             throw new IllegalStateException("Cache can't store null values!");
         }
-        this.cache = cache;
+        preload(cache);
     }
 
     /**
      * Create AuthorizationGrantTypeResolverImpl with custom cache and sorted grant types
      * @param sortedGrantTypes - sorted grant types in descending order by length of supported response types
-     * @param cache - cache that will be used to return AuthorizationGrantType
+     * @param cache - AuthorizationGrantType by response types that is copied to the cache
      */
     public AuthorizationGrantTypeResolverImpl(List<AuthorizationGrantType> sortedGrantTypes, Map<Oauth2ResponseType[], AuthorizationGrantType> cache) {
         if (cache.containsKey(null) || cache.containsValue(null)) {
@@ -50,14 +57,15 @@ public class AuthorizationGrantTypeResolverImpl implements AuthorizationGrantTyp
         if (sortedGrantTypes.contains(null)) {
             throw new IllegalStateException("Sorted grant types contains null: " + sortedGrantTypes);
         }
-        this.cache = cache;
+        preload(cache);
         this.sortedGrantTypes = sortedGrantTypes;
     }
 
 
     @Override
     public AuthorizationGrantType resolveGrantType(Oauth2ResponseType... oauth2ResponseTypes) {
-        AuthorizationGrantType cachedGrantType = cache.get(oauth2ResponseTypes);
+        String key = cacheKey(oauth2ResponseTypes);
+        AuthorizationGrantType cachedGrantType = cache.get(key);
         if (cachedGrantType != null) {
             return cachedGrantType;
         }
@@ -66,13 +74,30 @@ public class AuthorizationGrantTypeResolverImpl implements AuthorizationGrantTyp
             Oauth2ResponseType[] supportedResponseTypes = value.getSupportedResponseTypes();
             if (List.of(supportedResponseTypes).containsAll(List.of(oauth2ResponseTypes))) {
                 logger.debug("Cached: {} with key: {}", value, Arrays.toString(oauth2ResponseTypes));
-                cache.put(oauth2ResponseTypes, value);
+                cache.put(key, value);
                 return value;
             }
         }
         return null;
     }
 
+    private void preload(Map<Oauth2ResponseType[], AuthorizationGrantType> entries) {
+        entries.forEach((responseTypes, grantType) -> cache.put(cacheKey(responseTypes), grantType));
+    }
+
+    // The order of response types does not matter, 'code token' and 'token code' share the entry
+    private static String cacheKey(Oauth2ResponseType[] responseTypes) {
+        if (responseTypes.length == 1) {
+            return responseTypes[0].getSimplifiedName();
+        }
+        String[] names = new String[responseTypes.length];
+        for (int i = 0; i < responseTypes.length; i++) {
+            names[i] = responseTypes[i].getSimplifiedName();
+        }
+        Arrays.sort(names);
+        return String.join(" ", names);
+    }
+
     // Sort to make AuthorizationGrantType with minimum supported response types first
     // AuthorizationGrantType's with ONE element will ALWAYS be first.
     private List<AuthorizationGrantType> getSortedGrantTypes() {
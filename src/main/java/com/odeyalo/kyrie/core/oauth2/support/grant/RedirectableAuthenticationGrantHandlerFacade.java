@@ -9,6 +9,7 @@ import lombok.experimental.Accessors;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Facade interface that used to authenticate the user and handle the grant after successful authentication.
@@ -26,15 +27,37 @@ public interface RedirectableAuthenticationGrantHandlerFacade {
      */
     HandleResult handleGrant(Oauth2UserAuthenticationInfo authenticationInfo, AuthorizationRequest authorizationRequest, HttpServletRequest request, HttpServletResponse response);
 
+    /**
+     * Authenticate the user without blocking the caller thread and handle grant if authentication was successful.
+     * The default implementation invokes {@link #handleGrant(Oauth2UserAuthenticationInfo, AuthorizationRequest, HttpServletRequest, HttpServletResponse)}
+     * on the caller thread.
+     * @param authenticationInfo - provided credentials by user
+     * @param authorizationRequest - current AuthorizationRequest
+     * @param request - current http request
+     * @param response - response associated with this request
+     * @return - future that is completed with HandleResult, already completed if user was authenticated on the caller thread
+     */
+    default CompletableFuture<HandleResult> handleGrantAsync(Oauth2UserAuthenticationInfo authenticationInfo, AuthorizationRequest authorizationRequest,
+                                                            HttpServletRequest request, HttpServletResponse response) {
+        try {
+            return CompletableFuture.completedFuture(handleGrant(authenticationInfo, authorizationRequest, request, response));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     @RequiredArgsConstructor
     @AllArgsConstructor
     @Data
     class HandleResult {
         public static final String WRONG_USER_CREDENTIALS_ERROR_TYPE_NAME = "WRONG_USER_CREDENTIALS_ERROR";
         public static final String UNSUPPORTED_GRANT_TYPE_ERROR_TYPE_NAME = "UNSUPPORTED_GRANT_TYPE_ERROR";
+        public static final String TOO_MANY_ATTEMPTS_ERROR_TYPE_NAME = "TOO_MANY_ATTEMPTS_ERROR";
         // Possible failed results that can be occurred
         public static final HandleResult WRONG_USER_CREDENTIALS_HANDLE_RESULT = failed(true, WRONG_USER_CREDENTIALS_ERROR_TYPE_NAME);
         public static final HandleResult UNSUPPORTED_GRANT_TYPE_HANDLE_RESULT = failed(true, UNSUPPORTED_GRANT_TYPE_ERROR_TYPE_NAME);
+        // The session is kept, so the user can retry the login later
+        public static final HandleResult TOO_MANY_ATTEMPTS_HANDLE_RESULT = failed(false, TOO_MANY_ATTEMPTS_ERROR_TYPE_NAME);
 
         private final boolean isSuccess;
         // True if session MUST BE closed after grant handling
@@ -3,6 +3,8 @@ package com.odeyalo.kyrie.core.oauth2.tokens;
 import com.odeyalo.kyrie.core.authorization.AuthorizationGrantType;
 import com.odeyalo.kyrie.exceptions.Oauth2Exception;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Strategy to obtain an access token for specific Oauth2 Flow
  */
@@ -16,6 +18,20 @@ public interface AccessTokenGranterStrategy {
      */
     Oauth2AccessToken obtainAccessToken(TokenRequest request) throws Oauth2Exception;
 
+    /**
+     * Obtain an access token without blocking the caller thread.
+     * The default implementation invokes {@link #obtainAccessToken(TokenRequest)} on the caller thread
+     * @param request - request from {@link com.odeyalo.kyrie.controllers.TokenController}
+     * @return - future that is completed with Oauth2AccessToken or with Oauth2Exception
+     */
+    default CompletableFuture<Oauth2AccessToken> obtainAccessTokenAsync(TokenRequest request) {
+        try {
+            return CompletableFuture.completedFuture(obtainAccessToken(request));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Type of grant that this strategy supports
      * @return - supported grant type by strategy
@@ -41,7 +41,9 @@ public class AuthorizationCodeExchangeAccessTokenGranterStrategy implements Acce
         }
 
         Oauth2Client client = (Oauth2Client) authentication.getPrincipal();
-        Oauth2ClientCredentials credentials = Oauth2ClientCredentials.of(client.getClientId(), client.getClientSecret());
+        // The stored secret can be hashed, so the secret that was presented by the client is used if available
+        String clientSecret = authentication.getCredentials() instanceof String ? (String) authentication.getCredentials() : client.getClientSecret();
+        Oauth2ClientCredentials credentials = Oauth2ClientCredentials.of(client.getClientId(), clientSecret);
         String authorizationCode = request.getRequestParameters().get(AUTHORIZATION_CODE_REQUEST_PARAMETER_VALUE);
         return authorizationCodeFlowAccessTokenReturner.getToken(credentials, authorizationCode);
     }
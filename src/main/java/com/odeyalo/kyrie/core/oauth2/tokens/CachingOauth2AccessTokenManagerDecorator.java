@@ -0,0 +1,108 @@
+package com.odeyalo.kyrie.core.oauth2.tokens;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.oauth2.Oauth2ClientCredentials;
+import com.odeyalo.kyrie.support.cache.BoundedExpiringCache;
+import com.odeyalo.kyrie.support.cache.CacheStatistics;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * <p>{@link Oauth2AccessTokenManager} decorator that caches the result of the {@link #getTokenInfo(String)} method.</p>
+ * <p>
+ * The cache key is SHA-256 digest of the token, so raw tokens are not kept in memory.
+ * The entry lives until the token expires or until the max time to live is passed, whichever comes first.
+ * Expired or invalid tokens are never cached.
+ * </p>
+ * All other methods are delegated to the original Oauth2AccessTokenManager without any changes.
+ *
+ * @see BoundedExpiringCache
+ */
+public class CachingOauth2AccessTokenManagerDecorator implements Oauth2AccessTokenManager {
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(CachingOauth2AccessTokenManagerDecorator::createDigest);
+    private final Oauth2AccessTokenManager delegate;
+    private final BoundedExpiringCache<String, Oauth2AccessToken> cache;
+    private final Duration maxTimeToLive;
+
+    /**
+     * Create new CachingOauth2AccessTokenManagerDecorator
+     * @param delegate - original Oauth2AccessTokenManager that will be used to delegate actual job
+     * @param maxSize - max number of the cached token infos
+     * @param maxTimeToLive - max time to cache the token info, even if token expires later
+     */
+    public CachingOauth2AccessTokenManagerDecorator(Oauth2AccessTokenManager delegate, int maxSize, Duration maxTimeToLive) {
+        this(delegate, new BoundedExpiringCache<>(maxSize), maxTimeToLive);
+    }
+
+    public CachingOauth2AccessTokenManagerDecorator(Oauth2AccessTokenManager delegate, BoundedExpiringCache<String, Oauth2AccessToken> cache, Duration maxTimeToLive) {
+        Assert.notNull(delegate, "Delegate Oauth2AccessTokenManager cannot be null!");
+        Assert.notNull(cache, "Cache cannot be null!");
+        Assert.notNull(maxTimeToLive, "Max time to live cannot be null!");
+        this.delegate = delegate;
+        this.cache = cache;
+        this.maxTimeToLive = maxTimeToLive;
+    }
+
+    @Override
+    public Oauth2AccessToken generateAccessToken(Oauth2User user, String[] scopes) {
+        return delegate.generateAccessToken(user, scopes);
+    }
+
+    /**
+     * Return the cached token info if it presented, otherwise delegate the call and cache the result if token is active.
+     * @param token - token to get info
+     * @return - Oauth2AccessToken info
+     */
+    @Override
+    public Oauth2AccessToken getTokenInfo(String token) {
+        if (token == null) {
+            return delegate.getTokenInfo(null);
+        }
+        String key = digest(token);
+        Oauth2AccessToken cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Oauth2AccessToken info = delegate.getTokenInfo(token);
+        if (!info.isExpired()) {
+            long expiresAtMillis = Math.min(info.getExpiresIn().toEpochMilli(), System.currentTimeMillis() + maxTimeToLive.toMillis());
+            cache.put(key, info, expiresAtMillis);
+        }
+        return info;
+    }
+
+    @Override
+    public TokenValidationResult validateAccessToken(String token) {
+        return delegate.validateAccessToken(token);
+    }
+
+    @Override
+    public Oauth2AccessToken obtainAccessTokenByAuthorizationCode(Oauth2ClientCredentials clientCredentials, String authorizationCode) {
+        return delegate.obtainAccessTokenByAuthorizationCode(clientCredentials, authorizationCode);
+    }
+
+    /**
+     * @return - hit, miss and eviction counters of the token info cache
+     */
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by JVM", e);
+        }
+    }
+}
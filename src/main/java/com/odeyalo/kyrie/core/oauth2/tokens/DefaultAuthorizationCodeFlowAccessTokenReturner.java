@@ -27,10 +27,14 @@ public class DefaultAuthorizationCodeFlowAccessTokenReturner implements Authoriz
         if (!validationResult.isSuccess()) {
             throw new InvalidClientCredentialsException("Client credentials are wrong and can't be used to obtain an access token");
         }
-        AuthorizationCode authCode = authorizationCodeManager.getAuthorizationCodeByAuthorizationCodeValue(authorizationCode);
+        // Code is removed from store, so it cannot be exchanged twice
+        AuthorizationCode authCode = authorizationCodeManager.consumeAuthorizationCode(authorizationCode);
         if (authCode == null || authCode.isExpired()) {
             throw new InvalidAuthorizationCodeObtainTokenException("The authorization code does not found or expired");
         }
+        if (authCode.getClientId() != null && !authCode.getClientId().equals(clientId)) {
+            throw new InvalidAuthorizationCodeObtainTokenException("The authorization code was issued to another client");
+        }
         Oauth2User user = authCode.getUser();
         String[] scopes = authCode.getScopes();
         return generator.generateAccessToken(user, scopes);
@@ -3,6 +3,7 @@ package com.odeyalo.kyrie.core.oauth2.tokens;
 import com.odeyalo.kyrie.core.Oauth2User;
 import com.odeyalo.kyrie.core.oauth2.Oauth2ClientCredentials;
 import com.odeyalo.kyrie.core.oauth2.tokens.jwt.JwtTokenProvider;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.JwtTokenVerificationResult;
 import com.odeyalo.kyrie.core.oauth2.tokens.jwt.Oauth2AccessTokenGenerator;
 
 import java.time.Instant;
@@ -29,26 +30,25 @@ public class DefaultJwtOauth2AccessTokenManager implements Oauth2AccessTokenMana
 
     @Override
     public Oauth2AccessToken getTokenInfo(String token) {
-        TokenValidationResult result = jwtTokenProvider.isTokenValid(token);
-        if (!result.isValid()) {
+        // Signature is checked only once, the claims are taken from the verification result
+        JwtTokenVerificationResult result = jwtTokenProvider.verifyToken(token);
+        if (!result.isValid() || result.getExpiresIn() == null) {
             return Oauth2AccessToken.alreadyExpired();
         }
-        TokenMetadata metadata = jwtTokenProvider.parseToken(token);
-        Object scopeClaim = metadata.getClaims().get(Oauth2AccessTokenGenerator.SCOPE);
+        Object scopeClaim = result.getClaims().get(Oauth2AccessTokenGenerator.SCOPE);
         String scopes = resolveScopes(scopeClaim);
-        Long expiresIn = metadata.getExpiresIn();
         return Oauth2AccessToken.builder()
-                .issuedAt(Instant.ofEpochSecond(metadata.getIssuedAt()))
-                .expiresIn(Instant.ofEpochSecond(expiresIn))
+                .issuedAt(Instant.ofEpochSecond(result.getIssuedAt()))
+                .expiresIn(Instant.ofEpochSecond(result.getExpiresIn()))
                 .tokenType(Oauth2AccessToken.TokenType.BEARER)
-                .tokenValue(metadata.getToken())
+                .tokenValue(result.getToken())
                 .scope(scopes)
                 .build();
     }
 
     @Override
     public TokenValidationResult validateAccessToken(String token) {
-        return jwtTokenProvider.isTokenValid(token);
+        return jwtTokenProvider.verifyToken(token).toValidationResult();
     }
 
     @Override
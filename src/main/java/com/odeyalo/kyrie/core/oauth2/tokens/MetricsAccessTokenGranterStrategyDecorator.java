@@ -0,0 +1,64 @@
+package com.odeyalo.kyrie.core.oauth2.tokens;
+
+import com.odeyalo.kyrie.core.authorization.AuthorizationGrantType;
+import com.odeyalo.kyrie.core.metrics.KyrieMetricNames;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import com.odeyalo.kyrie.core.metrics.KyrieTimer;
+import com.odeyalo.kyrie.exceptions.Oauth2Exception;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link AccessTokenGranterStrategy} decorator that records the time to obtain the access token,
+ * tagged by grant type and outcome: success or error
+ *
+ * @see KyrieMetricNames#TOKEN_GRANT
+ */
+public class MetricsAccessTokenGranterStrategyDecorator implements AccessTokenGranterStrategy {
+    private final AccessTokenGranterStrategy delegate;
+    private final KyrieTimer success;
+    private final KyrieTimer error;
+
+    public MetricsAccessTokenGranterStrategyDecorator(AccessTokenGranterStrategy delegate, KyrieMetrics metrics) {
+        Assert.notNull(delegate, "Delegate cannot be null!");
+        this.delegate = delegate;
+        String grantType = delegate.grantType() != null ? delegate.grantType().getGrantName() : "unknown";
+        this.success = metrics.timer(KyrieMetricNames.TOKEN_GRANT, KyrieMetricNames.GRANT_TYPE_TAG, grantType, KyrieMetricNames.OUTCOME_TAG, KyrieMetricNames.SUCCESS);
+        this.error = metrics.timer(KyrieMetricNames.TOKEN_GRANT, KyrieMetricNames.GRANT_TYPE_TAG, grantType, KyrieMetricNames.OUTCOME_TAG, KyrieMetricNames.ERROR);
+    }
+
+    @Override
+    public Oauth2AccessToken obtainAccessToken(TokenRequest request) throws Oauth2Exception {
+        long start = System.nanoTime();
+        try {
+            Oauth2AccessToken token = delegate.obtainAccessToken(request);
+            success.recordSince(start);
+            return token;
+        } catch (RuntimeException e) {
+            error.recordSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Oauth2AccessToken> obtainAccessTokenAsync(TokenRequest request) {
+        long start = System.nanoTime();
+        return delegate.obtainAccessTokenAsync(request)
+                .whenComplete((token, failure) -> (failure == null ? success : error).recordSince(start));
+    }
+
+    @Override
+    public AuthorizationGrantType grantType() {
+        return delegate.grantType();
+    }
+
+    @Override
+    public boolean isGrantValid(TokenRequest request) {
+        return delegate.isGrantValid(request);
+    }
+
+    public AccessTokenGranterStrategy getDelegate() {
+        return delegate;
+    }
+}
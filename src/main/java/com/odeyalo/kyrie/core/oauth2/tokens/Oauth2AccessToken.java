@@ -1,6 +1,8 @@
 package com.odeyalo.kyrie.core.oauth2.tokens;
 
+import com.odeyalo.kyrie.core.Oauth2User;
 import com.odeyalo.kyrie.core.oauth2.AbstractOauth2Token;
+import com.odeyalo.kyrie.core.oauth2.RefreshToken;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
@@ -21,6 +23,18 @@ public class Oauth2AccessToken extends AbstractOauth2Token {
      * @see <a href="https://datatracker.ietf.org/doc/html/rfc6749#section-3.3">Section 3.3</a>
      */
     private String scope;
+    /**
+     * User that granted access. Is not returned to the client, used to issue other tokens for the same user, e.g. refresh token
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Oauth2User user;
+    /**
+     * Refresh token that was issued together with this access token, null if refresh token was not issued yet
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RefreshToken refreshToken;
 
     protected Oauth2AccessToken(String tokenValue, Instant issuedAt, Instant expiresIn) {
         super(tokenValue, issuedAt, expiresIn);
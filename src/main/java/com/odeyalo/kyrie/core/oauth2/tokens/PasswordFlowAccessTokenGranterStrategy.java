@@ -1,9 +1,11 @@
 package com.odeyalo.kyrie.core.oauth2.tokens;
 
 import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.authentication.AsyncOauth2UserAuthenticationService;
 import com.odeyalo.kyrie.core.authentication.AuthenticationResult;
 import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationInfo;
 import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.authentication.throttling.AuthenticationAttemptThrottler;
 import com.odeyalo.kyrie.core.authorization.AuthorizationGrantType;
 import com.odeyalo.kyrie.core.oauth2.support.Oauth2Constants;
 import com.odeyalo.kyrie.core.oauth2.tokens.jwt.Oauth2AccessTokenGenerator;
@@ -11,11 +13,15 @@ import com.odeyalo.kyrie.exceptions.InvalidGrantOauth2Exception;
 import com.odeyalo.kyrie.exceptions.InvalidRequestOauth2Exception;
 import com.odeyalo.kyrie.exceptions.Oauth2ErrorType;
 import com.odeyalo.kyrie.exceptions.Oauth2Exception;
+import com.odeyalo.kyrie.exceptions.TooManyAuthenticationAttemptsOauth2Exception;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * AccessTokenGranterStrategy implementation that used to handle only Password Flow and does not support other flow types.
+ * If {@link AuthenticationAttemptThrottler} is set, then throttled attempts are rejected before the user credentials are checked.
+ * If the authentication service implements {@link AsyncOauth2UserAuthenticationService}, then {@link #obtainAccessTokenAsync(TokenRequest)} does not block while the user is authenticated.
  *
  * @see AccessTokenGranterStrategy
  */
@@ -26,14 +32,60 @@ public class PasswordFlowAccessTokenGranterStrategy implements AccessTokenGrante
     private static final String PARAMETER_NOT_SET_DESCRIPTION_FORMAT = "%1$s parameter is not set, add '%1$s' parameter to request parameters and try again";
 
     private final Oauth2UserAuthenticationService authenticationService;
+    // Nullable, if null, then authentication attempts are not throttled
+    private final AuthenticationAttemptThrottler throttler;
 
     public PasswordFlowAccessTokenGranterStrategy(Oauth2AccessTokenGenerator generator, Oauth2UserAuthenticationService authenticationService) {
+        this(generator, authenticationService, null);
+    }
+
+    /**
+     * Create new PasswordFlowAccessTokenGranterStrategy
+     * @param generator - generator to create access token
+     * @param authenticationService - service to authenticate the user
+     * @param throttler - throttler to check before authentication, nullable
+     */
+    public PasswordFlowAccessTokenGranterStrategy(Oauth2AccessTokenGenerator generator, Oauth2UserAuthenticationService authenticationService,
+                                                  AuthenticationAttemptThrottler throttler) {
         this.generator = generator;
         this.authenticationService = authenticationService;
+        this.throttler = throttler;
     }
 
     @Override
     public Oauth2AccessToken obtainAccessToken(TokenRequest request) throws Oauth2Exception {
+        String[] scopes = validateRequest(request);
+        Map<String, String> parameters = request.getRequestParameters();
+
+        AuthenticationResult result = authenticationService.authenticate(new Oauth2UserAuthenticationInfo(parameters.get(USERNAME_REQUEST_PARAMETER_NAME), parameters.get(PASSWORD_REQUEST_PARAMETER_NAME)));
+
+        return generateAccessToken(result, scopes);
+    }
+
+    @Override
+    public CompletableFuture<Oauth2AccessToken> obtainAccessTokenAsync(TokenRequest request) {
+        if (!(authenticationService instanceof AsyncOauth2UserAuthenticationService)) {
+            return AccessTokenGranterStrategy.super.obtainAccessTokenAsync(request);
+        }
+        String[] scopes;
+        try {
+            scopes = validateRequest(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Map<String, String> parameters = request.getRequestParameters();
+        Oauth2UserAuthenticationInfo info = new Oauth2UserAuthenticationInfo(parameters.get(USERNAME_REQUEST_PARAMETER_NAME), parameters.get(PASSWORD_REQUEST_PARAMETER_NAME));
+
+        return ((AsyncOauth2UserAuthenticationService) authenticationService).authenticateAsync(info)
+                .thenApply(result -> generateAccessToken(result, scopes));
+    }
+
+    /**
+     * Validate the request and check the throttler
+     * @param request - request to validate
+     * @return - requested scopes
+     */
+    private String[] validateRequest(TokenRequest request) {
         if (!isGrantValid(request)) {
             throw new InvalidGrantOauth2Exception(Oauth2ErrorType.INVALID_GRANT.getErrorName(), "The grant is invalid or malformed");
         }
@@ -54,8 +106,15 @@ public class PasswordFlowAccessTokenGranterStrategy implements AccessTokenGrante
             throw new InvalidRequestOauth2Exception("The request does not contain 'scope' parameter", String.format(PARAMETER_NOT_SET_DESCRIPTION_FORMAT, Oauth2Constants.SCOPE));
         }
 
-        AuthenticationResult result = authenticationService.authenticate(new Oauth2UserAuthenticationInfo(username, password));
+        if (throttler != null && throttler.isThrottled(username)) {
+            throw new TooManyAuthenticationAttemptsOauth2Exception("Too many failed authentication attempts",
+                    "Too many failed authentication attempts, try again later", throttler.getRetryAfterSeconds());
+        }
+
+        return scopes;
+    }
 
+    private Oauth2AccessToken generateAccessToken(AuthenticationResult result, String[] scopes) {
         if (!result.isSuccess()) {
             throw new InvalidRequestOauth2Exception("The user credentials are wrong and authentication cannot be performed",
                     "The user credentials are wrong and authentication cannot be performed");
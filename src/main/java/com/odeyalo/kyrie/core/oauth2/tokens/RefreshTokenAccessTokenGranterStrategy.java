@@ -0,0 +1,99 @@
+package com.odeyalo.kyrie.core.oauth2.tokens;
+
+import com.odeyalo.kyrie.core.authorization.AuthorizationGrantType;
+import com.odeyalo.kyrie.core.oauth2.RefreshToken;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import com.odeyalo.kyrie.core.oauth2.support.Oauth2Constants;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.Oauth2AccessTokenGenerator;
+import com.odeyalo.kyrie.core.oauth2.tokens.refresh.RefreshTokenProvider;
+import com.odeyalo.kyrie.exceptions.InvalidClientCredentialsException;
+import com.odeyalo.kyrie.exceptions.InvalidGrantOauth2Exception;
+import com.odeyalo.kyrie.exceptions.InvalidRequestOauth2Exception;
+import com.odeyalo.kyrie.exceptions.Oauth2ErrorType;
+import com.odeyalo.kyrie.exceptions.Oauth2Exception;
+import com.odeyalo.kyrie.support.AdvancedStringUtils;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>{@link AccessTokenGranterStrategy} implementation that issues new access token by refresh token and does not support other flow types.</p>
+ * <p>
+ * The refresh token is rotated with every request, the response contains new refresh token and the old one can't be used anymore.
+ * The requested scopes can't exceed the scopes of the refresh token, if scopes are not requested, then all scopes of the refresh token are used.
+ * </p>
+ *
+ * @see RefreshTokenProvider#rotateToken(String)
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc6749#section-6">Refreshing an Access Token</a>
+ */
+public class RefreshTokenAccessTokenGranterStrategy implements AccessTokenGranterStrategy {
+    private static final String INVALID_REFRESH_TOKEN_DESCRIPTION = "The refresh token is invalid, expired or revoked";
+    private final Oauth2AccessTokenGenerator generator;
+    private final RefreshTokenProvider refreshTokenProvider;
+
+    public RefreshTokenAccessTokenGranterStrategy(Oauth2AccessTokenGenerator generator, RefreshTokenProvider refreshTokenProvider) {
+        this.generator = generator;
+        this.refreshTokenProvider = refreshTokenProvider;
+    }
+
+    @Override
+    public Oauth2AccessToken obtainAccessToken(TokenRequest request) throws Oauth2Exception {
+        if (!isGrantValid(request)) {
+            throw new InvalidGrantOauth2Exception(Oauth2ErrorType.INVALID_GRANT.getErrorName(), "The grant is invalid or malformed");
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null) {
+            throw new InvalidClientCredentialsException("The client is unauthorized", "The client is unauthorized. To avoid the error add correct client_id and client secret");
+        }
+
+        Oauth2Client client = (Oauth2Client) authentication.getPrincipal();
+        String tokenValue = request.getRequestParameters().get(Oauth2Constants.REFRESH_TOKEN);
+
+        if (tokenValue == null) {
+            throw new InvalidRequestOauth2Exception("Refresh token parameter is not set", "refresh_token parameter is not set, add 'refresh_token' parameter to request parameters and try again");
+        }
+
+        RefreshToken refreshToken = refreshTokenProvider.getTokenByValue(tokenValue);
+        // The token of other client must not be rotated, otherwise any client can revoke the tokens of the other clients
+        if (refreshToken == null || !client.getClientId().equals(refreshToken.getClientId()) || refreshToken.getUser() == null) {
+            throw new InvalidGrantOauth2Exception("Invalid refresh token", INVALID_REFRESH_TOKEN_DESCRIPTION);
+        }
+
+        String[] scopes = resolveScopes(request.getScopes(), refreshToken.getScopes());
+
+        RefreshToken rotated = refreshTokenProvider.rotateToken(tokenValue);
+
+        if (rotated == null) {
+            throw new InvalidGrantOauth2Exception("Invalid refresh token", INVALID_REFRESH_TOKEN_DESCRIPTION);
+        }
+
+        Oauth2AccessToken accessToken = generator.generateAccessToken(refreshToken.getUser(), scopes);
+        return accessToken.toBuilder().refreshToken(rotated).build();
+    }
+
+    @Override
+    public AuthorizationGrantType grantType() {
+        return AuthorizationGrantType.REFRESH_TOKEN;
+    }
+
+    private String[] resolveScopes(String[] requestedScopes, String[] grantedScopes) {
+        if (requestedScopes == null || requestedScopes.length == 0) {
+            return grantedScopes;
+        }
+        // Scopes from request parameters can be passed as single space-delimited value
+        String[] scopes = AdvancedStringUtils.spaceDelimitedListToStringArray(String.join(" ", requestedScopes));
+        List<String> granted = grantedScopes != null ? Arrays.asList(grantedScopes) : Collections.emptyList();
+        for (String scope : scopes) {
+            if (!granted.contains(scope)) {
+                throw new Oauth2Exception("Requested scope exceeds the granted scopes",
+                        String.format("The scope '%s' was not granted by the resource owner", scope), Oauth2ErrorType.INVALID_SCOPE);
+            }
+        }
+        return scopes;
+    }
+}
@@ -24,15 +24,25 @@ public class AuthorizationCode extends AbstractOauth2Token {
      */
     @NonNull
     private final String[] scopes;
+    /**
+     * Client that requested the code, null if the code is not bound to the client
+     */
+    private final String clientId;
+    /**
+     * Redirect URI that was used in authorization request, null if the code is not bound to redirect URI
+     */
+    private final String redirectUri;
 
 
     @Builder
-    public AuthorizationCode(@NonNull String codeValue, Instant issuedAt, @NonNull Instant expiresIn, @NonNull Oauth2User user, @NonNull String[] scopes) {
+    public AuthorizationCode(@NonNull String codeValue, Instant issuedAt, @NonNull Instant expiresIn, @NonNull Oauth2User user, @NonNull String[] scopes, String clientId, String redirectUri) {
         this.codeValue = codeValue;
         this.issuedAt = issuedAt;
         this.expiresIn = expiresIn;
         this.user = user;
         this.scopes = scopes;
+        this.clientId = clientId;
+        this.redirectUri = redirectUri;
     }
 
     public boolean isExpired() {
@@ -1,7 +1,8 @@
 package com.odeyalo.kyrie.core.oauth2.tokens.code;
 
 import com.odeyalo.kyrie.core.Oauth2User;
-import org.apache.commons.lang3.RandomStringUtils;
+import com.odeyalo.kyrie.support.token.TokenValueGenerator;
+import com.odeyalo.kyrie.support.token.TokenValueGenerators;
 
 import java.time.Instant;
 
@@ -14,10 +15,19 @@ import java.time.Instant;
  * @version 1.0
  */
 public class AuthorizationCodeGeneratorImpl implements AuthorizationCodeGenerator {
+    private final TokenValueGenerator tokenValueGenerator;
+
+    public AuthorizationCodeGeneratorImpl() {
+        this(TokenValueGenerators.getDefault());
+    }
+
+    public AuthorizationCodeGeneratorImpl(TokenValueGenerator tokenValueGenerator) {
+        this.tokenValueGenerator = tokenValueGenerator;
+    }
 
     @Override
     public AuthorizationCode generateAuthorizationCode(Integer codeLength, Integer expireTimeSeconds, Oauth2User user, String[] scopes) {
-        String code = RandomStringUtils.randomAlphabetic(codeLength);
+        String code = tokenValueGenerator.generate(codeLength);
         return AuthorizationCode.builder()
                 .codeValue(code)
                 .issuedAt(Instant.now())
@@ -22,6 +22,13 @@ public interface AuthorizationCodeManager {
      */
     AuthorizationCode getAuthorizationCodeByAuthorizationCodeValue(String authCode);
 
+    /**
+     * Find authorization code by value and invalidate it, so the code can be exchanged only once
+     * @param authCode - authorization code
+     * @return - Authorization code, null if code does not exist, was already used or expired
+     */
+    AuthorizationCode consumeAuthorizationCode(String authCode);
+
     /**
      * Delete authorization code by client id
      * @param clientId - client id
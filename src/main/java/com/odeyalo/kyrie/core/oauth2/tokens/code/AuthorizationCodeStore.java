@@ -26,6 +26,21 @@ public interface AuthorizationCodeStore {
      */
     AuthorizationCode findByAuthorizationCodeValue(String authCode);
 
+    /**
+     * Find authorization code by value and remove it from store, so the same code cannot be used twice.
+     * Default implementation is not atomic, implementations should override it if codes can be exchanged concurrently
+     * @param authCode - authorization code value
+     * @return - authorization code or null if code does not exist, was already used or expired
+     */
+    default AuthorizationCode consume(String authCode) {
+        AuthorizationCode code = findByAuthorizationCodeValue(authCode);
+        if (code == null) {
+            return null;
+        }
+        delete(code);
+        return code.isExpired() ? null : code;
+    }
+
     /**
      * Delete an authorization code from store by id
      * @param id - code id
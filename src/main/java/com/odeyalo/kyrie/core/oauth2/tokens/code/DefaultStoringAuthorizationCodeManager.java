@@ -38,6 +38,11 @@ public class DefaultStoringAuthorizationCodeManager implements AuthorizationCode
         return authorizationCodeStore.findByAuthorizationCodeValue(authCode);
     }
 
+    @Override
+    public AuthorizationCode consumeAuthorizationCode(String authCode) {
+        return authorizationCodeStore.consume(authCode);
+    }
+
     @Override
     public void deleteAuthorizationCode(String id) {
         authorizationCodeStore.delete(id);
@@ -1,63 +1,176 @@
 package com.odeyalo.kyrie.core.oauth2.tokens.code;
 
+import com.odeyalo.kyrie.support.expiry.ExpiryWheel;
+import com.odeyalo.kyrie.support.jfr.AuthorizationCodeStoreJfrEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
- * Store authorization codes in memory using concurrent map
- * @version 1.0
+ * <p>Store authorization codes in memory using concurrent maps.</p>
+ * <p>
+ * Codes are indexed by id and by code value, so all lookups are O(1).
+ * {@link #consume(String)} removes the code atomically, so the code can be exchanged only once even if
+ * several requests with the same code are processed at the same time.
+ * Expired codes are removed by {@link ExpiryWheel} after {@link #start()} is called, without scanning the whole store.
+ * </p>
+ * <p>Save, find, consume and delete operations are recorded as {@link AuthorizationCodeStoreJfrEvent}</p>
+ * @version 1.1
  */
-public class InMemoryAuthorizationCodeStore implements AuthorizationCodeStore {
-    private final Map<String, AuthorizationCode> store = new ConcurrentHashMap<>();
+public class InMemoryAuthorizationCodeStore implements AuthorizationCodeStore, AutoCloseable {
+    private static final Duration DEFAULT_TICK_DURATION = Duration.ofSeconds(1);
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final Map<String, StoredAuthorizationCode> codesById = new ConcurrentHashMap<>();
+    private final Map<String, StoredAuthorizationCode> codesByValue = new ConcurrentHashMap<>();
+    private final ExpiryWheel<StoredAuthorizationCode> expiryWheel;
     private final Logger logger = LoggerFactory.getLogger(InMemoryAuthorizationCodeStore.class);
 
+    public InMemoryAuthorizationCodeStore() {
+        this(DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * @param tickDuration - how often expired codes are removed
+     * @param wheelSize - number of slots in expiry wheel
+     */
+    public InMemoryAuthorizationCodeStore(Duration tickDuration, int wheelSize) {
+        this.expiryWheel = new ExpiryWheel<>(tickDuration, wheelSize, this::remove, "kyrie-authorization-code-expiration");
+    }
+
     @Override
     public void save(String id, AuthorizationCode code) {
-        store.put(id, code);
-        this.logger.info("Saved the authorization code: {} with id: {}", code, id);
+        AuthorizationCodeStoreJfrEvent event = new AuthorizationCodeStoreJfrEvent();
+        event.begin();
+        StoredAuthorizationCode stored = new StoredAuthorizationCode(id, code);
+        StoredAuthorizationCode previousById = codesById.put(id, stored);
+        if (previousById != null) {
+            codesByValue.remove(previousById.getCode().getCodeValue(), previousById);
+        }
+        // Code value is unique, the same code saved with other id replaces the old entry
+        StoredAuthorizationCode previousByValue = codesByValue.put(code.getCodeValue(), stored);
+        if (previousByValue != null && previousByValue != previousById) {
+            codesById.remove(previousByValue.getId(), previousByValue);
+        }
+        expiryWheel.schedule(stored, code.getExpiresIn().toEpochMilli());
+        event.complete(AuthorizationCodeStoreJfrEvent.SAVE, previousById != null);
+        this.logger.debug("Saved the authorization code with id: {}", id);
     }
 
     @Override
     public AuthorizationCode findById(String id) {
-        return store.get(id);
+        AuthorizationCodeStoreJfrEvent event = new AuthorizationCodeStoreJfrEvent();
+        event.begin();
+        StoredAuthorizationCode stored = codesById.get(id);
+        event.complete(AuthorizationCodeStoreJfrEvent.FIND_BY_ID, stored != null);
+        return stored != null ? stored.getCode() : null;
     }
 
     @Override
     public AuthorizationCode findByAuthorizationCodeValue(String authCode) {
-        if (store.size() == 0) {
-            this.logger.info("The store is empty. Returning null for given authorization '{}' code", authCode);
+        AuthorizationCodeStoreJfrEvent event = new AuthorizationCodeStoreJfrEvent();
+        event.begin();
+        StoredAuthorizationCode stored = codesByValue.get(authCode);
+        event.complete(AuthorizationCodeStoreJfrEvent.FIND_BY_VALUE, stored != null);
+        return stored != null ? stored.getCode() : null;
+    }
+
+    /**
+     * Find and remove the code in one atomic operation.
+     * Only one caller receives the code, all other concurrent callers receive null
+     * @param authCode - authorization code value
+     * @return - authorization code or null if code does not exist, was already consumed or expired
+     */
+    @Override
+    public AuthorizationCode consume(String authCode) {
+        AuthorizationCodeStoreJfrEvent event = new AuthorizationCodeStoreJfrEvent();
+        event.begin();
+        StoredAuthorizationCode stored = codesByValue.remove(authCode);
+        if (stored == null) {
+            event.complete(AuthorizationCodeStoreJfrEvent.CONSUME, false);
             return null;
         }
-        List<AuthorizationCode> result = store.values().stream().filter(authorizationCode -> authorizationCode.getCodeValue().equals(authCode)).collect(Collectors.toList());
-        return result.size() == 0 ? null : result.get(0);
+        codesById.remove(stored.getId(), stored);
+        AuthorizationCode code = stored.getCode();
+        boolean expired = code.isExpired();
+        event.complete(AuthorizationCodeStoreJfrEvent.CONSUME, !expired);
+        return expired ? null : code;
     }
 
     @Override
     public void delete(String id) {
-        store.remove(id);
-        this.logger.info("Deleted element from store with id: {}", id);
+        AuthorizationCodeStoreJfrEvent event = new AuthorizationCodeStoreJfrEvent();
+        event.begin();
+        StoredAuthorizationCode stored = codesById.remove(id);
+        if (stored != null) {
+            codesByValue.remove(stored.getCode().getCodeValue(), stored);
+        }
+        event.complete(AuthorizationCodeStoreJfrEvent.DELETE, stored != null);
+        this.logger.debug("Deleted element from store with id: {}", id);
     }
 
     @Override
     public void delete(AuthorizationCode code) {
-        store.values().removeIf(x -> x.equals(code));
+        StoredAuthorizationCode stored = codesByValue.get(code.getCodeValue());
+        if (stored != null && stored.getCode().equals(code)) {
+            remove(stored);
+        }
     }
 
     @Override
     public Long deleteALl() {
-        int size = store.size();
-        store.clear();
+        int size = codesById.size();
+        codesById.clear();
+        codesByValue.clear();
+        expiryWheel.clear();
         this.logger.info("Deleted all elements from store. Number elements that was deleted: {}", size);
         return (long) size;
     }
 
     @Override
     public Long count() {
-        return (long) store.size();
+        return (long) codesById.size();
+    }
+
+    /**
+     * Start the background removal of the expired codes
+     */
+    public void start() {
+        expiryWheel.start();
+    }
+
+    @Override
+    public void close() {
+        expiryWheel.close();
+    }
+
+    private void remove(StoredAuthorizationCode stored) {
+        // Conditional removal, so the code that was already consumed or replaced is not touched
+        codesById.remove(stored.getId(), stored);
+        codesByValue.remove(stored.getCode().getCodeValue(), stored);
+    }
+
+    /**
+     * Authorization code with id that was used to save it
+     */
+    private static final class StoredAuthorizationCode {
+        private final String id;
+        private final AuthorizationCode code;
+
+        StoredAuthorizationCode(String id, AuthorizationCode code) {
+            this.id = id;
+            this.code = code;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        AuthorizationCode getCode() {
+            return code;
+        }
     }
 }
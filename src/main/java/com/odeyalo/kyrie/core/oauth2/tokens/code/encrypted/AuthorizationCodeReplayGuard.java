@@ -0,0 +1,25 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted;
+
+import java.time.Instant;
+
+/**
+ * Remember the self-contained authorization codes that were already exchanged, so the same code cannot be used twice.
+ * The code must be remembered only until it expires, since expired code is rejected anyway.
+ */
+public interface AuthorizationCodeReplayGuard {
+
+    /**
+     * Mark the code as used
+     * @param codeId - unique id of the code
+     * @param expiresIn - when the code expires
+     * @return - true if code was not used before, false otherwise
+     */
+    boolean markUsed(String codeId, Instant expiresIn);
+
+    /**
+     * Check if code was already used
+     * @param codeId - unique id of the code
+     * @return - true if code was used, false otherwise
+     */
+    boolean isUsed(String codeId);
+}
@@ -0,0 +1,181 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.AuthorizationCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * <p>Encode the authorization code data to the self-contained code value and decode it back.</p>
+ * <p>
+ * The code value is Base64URL encoded nonce followed by AES-GCM encrypted code data: client id, redirect URI, user id, username,
+ * authorities, scopes, issue and expiration time. The code cannot be read or modified without the key,
+ * so any server instance that knows the key can exchange the code without any store.
+ * </p>
+ * <p>Password and additional info of the user are not written to the code.</p>
+ */
+public class EncryptedAuthorizationCodeCodec {
+    private static final byte VERSION = 1;
+    private static final byte[] ASSOCIATED_DATA = {VERSION};
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    // Base64URL length of the nonce, 12 bytes are encoded without padding to exactly 16 characters
+    private static final int ENCODED_NONCE_LENGTH = 16;
+
+    private final Logger logger = LoggerFactory.getLogger(EncryptedAuthorizationCodeCodec.class);
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(EncryptedAuthorizationCodeCodec::createCipher);
+
+    /**
+     * @param key - AES key, must be 16, 24 or 32 bytes long
+     */
+    public EncryptedAuthorizationCodeCodec(byte[] key) {
+        Assert.notNull(key, "Key cannot be null!");
+        Assert.isTrue(key.length == 16 || key.length == 24 || key.length == 32, "AES key must be 16, 24 or 32 bytes long");
+        this.key = new SecretKeySpec(key, "AES");
+    }
+
+    /**
+     * Encrypt the code data to code value
+     * @return - Base64URL encoded code value
+     */
+    public String encode(String clientId, String redirectUri, Oauth2User user, String[] scopes, Instant issuedAt, Instant expiresIn) {
+        byte[] plaintext = writePayload(clientId, redirectUri, user, scopes, issuedAt, expiresIn);
+        byte[] nonce = new byte[NONCE_LENGTH];
+        random.nextBytes(nonce);
+        try {
+            Cipher cipher = this.cipher.get();
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, nonce));
+            cipher.updateAAD(ASSOCIATED_DATA);
+            byte[] result = new byte[NONCE_LENGTH + cipher.getOutputSize(plaintext.length)];
+            System.arraycopy(nonce, 0, result, 0, NONCE_LENGTH);
+            cipher.doFinal(plaintext, 0, plaintext.length, result, NONCE_LENGTH);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(result);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to encrypt the authorization code", e);
+        }
+    }
+
+    /**
+     * Decrypt the code value and verify its integrity
+     * @param code - code value
+     * @return - AuthorizationCode or null if code is malformed, was modified or was encrypted with other key
+     */
+    public AuthorizationCode decode(String code) {
+        if (code == null || code.length() <= ENCODED_NONCE_LENGTH) {
+            return null;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(code);
+            Cipher cipher = this.cipher.get();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, bytes, 0, NONCE_LENGTH));
+            cipher.updateAAD(ASSOCIATED_DATA);
+            byte[] plaintext = cipher.doFinal(bytes, NONCE_LENGTH, bytes.length - NONCE_LENGTH);
+            return readPayload(code, plaintext);
+        } catch (IllegalArgumentException | GeneralSecurityException | IOException e) {
+            this.logger.debug("Failed to decode the authorization code: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Return the unique id of the code. The id is the encoded nonce, so it must be used only after the code was successfully decoded
+     * @param code - code value
+     * @return - code id
+     */
+    public String getCodeId(String code) {
+        return code.substring(0, ENCODED_NONCE_LENGTH);
+    }
+
+    private byte[] writePayload(String clientId, String redirectUri, Oauth2User user, String[] scopes, Instant issuedAt, Instant expiresIn) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeLong(issuedAt.getEpochSecond());
+            out.writeLong(expiresIn.getEpochSecond());
+            writeNullableString(out, clientId);
+            writeNullableString(out, redirectUri);
+            out.writeUTF(user.getId());
+            writeNullableString(out, user.getUsername());
+            Set<String> authorities = user.getAuthorities() != null ? user.getAuthorities() : Collections.emptySet();
+            out.writeShort(authorities.size());
+            for (String authority : authorities) {
+                out.writeUTF(authority);
+            }
+            out.writeShort(scopes.length);
+            for (String scope : scopes) {
+                out.writeUTF(scope);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write the authorization code", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private AuthorizationCode readPayload(String code, byte[] plaintext) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(plaintext))) {
+            Instant issuedAt = Instant.ofEpochSecond(in.readLong());
+            Instant expiresIn = Instant.ofEpochSecond(in.readLong());
+            String clientId = readNullableString(in);
+            String redirectUri = readNullableString(in);
+            String userId = in.readUTF();
+            String username = readNullableString(in);
+            int authoritiesCount = in.readUnsignedShort();
+            Set<String> authorities = new LinkedHashSet<>(authoritiesCount);
+            for (int i = 0; i < authoritiesCount; i++) {
+                authorities.add(in.readUTF());
+            }
+            String[] scopes = new String[in.readUnsignedShort()];
+            for (int i = 0; i < scopes.length; i++) {
+                scopes[i] = in.readUTF();
+            }
+            Oauth2User user = new Oauth2User(userId, username, null, authorities, Collections.emptyMap());
+            return AuthorizationCode.builder()
+                    .codeValue(code)
+                    .issuedAt(issuedAt)
+                    .expiresIn(expiresIn)
+                    .user(user)
+                    .scopes(scopes)
+                    .clientId(clientId)
+                    .redirectUri(redirectUri)
+                    .build();
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Cipher createCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(TRANSFORMATION + " is not supported by JVM", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.AuthorizationCode;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.AuthorizationCodeManager;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.provider.AuthorizationCodeProvider;
+
+/**
+ * <p>{@link AuthorizationCodeManager} implementation for self-contained encrypted authorization codes.</p>
+ * <p>
+ * The code is decrypted and verified instead of lookup in the store, so any instance can exchange the code.
+ * Single use of the code is enforced by {@link AuthorizationCodeReplayGuard} that remembers used codes until they expire.
+ * </p>
+ *
+ * @see EncryptedAuthorizationCodeCodec
+ * @see EncryptedAuthorizationCodeProvider
+ */
+public class EncryptedAuthorizationCodeManager implements AuthorizationCodeManager {
+    private final AuthorizationCodeProvider authorizationCodeProvider;
+    private final EncryptedAuthorizationCodeCodec codec;
+    private final AuthorizationCodeReplayGuard replayGuard;
+
+    public EncryptedAuthorizationCodeManager(AuthorizationCodeProvider authorizationCodeProvider, EncryptedAuthorizationCodeCodec codec, AuthorizationCodeReplayGuard replayGuard) {
+        this.authorizationCodeProvider = authorizationCodeProvider;
+        this.codec = codec;
+        this.replayGuard = replayGuard;
+    }
+
+    @Override
+    public AuthorizationCode generateAuthorizationCode(String clientId, Oauth2User user, String[] scopes) {
+        return authorizationCodeProvider.getAuthorizationCode(clientId, user, scopes);
+    }
+
+    /**
+     * Decrypt the code
+     * @param authCode - authorization code
+     * @return - decrypted code or null if code is invalid or was already used
+     */
+    @Override
+    public AuthorizationCode getAuthorizationCodeByAuthorizationCodeValue(String authCode) {
+        AuthorizationCode code = codec.decode(authCode);
+        if (code == null || replayGuard.isUsed(codec.getCodeId(authCode))) {
+            return null;
+        }
+        return code;
+    }
+
+    @Override
+    public AuthorizationCode consumeAuthorizationCode(String authCode) {
+        AuthorizationCode code = codec.decode(authCode);
+        if (code == null || code.isExpired()) {
+            return null;
+        }
+        if (!replayGuard.markUsed(codec.getCodeId(authCode), code.getExpiresIn())) {
+            return null;
+        }
+        return code;
+    }
+
+    /**
+     * Invalidate the code, the code value is used as id since codes are not stored
+     * @param authCode - authorization code value
+     */
+    @Override
+    public void deleteAuthorizationCode(String authCode) {
+        AuthorizationCode code = codec.decode(authCode);
+        if (code != null && !code.isExpired()) {
+            replayGuard.markUsed(codec.getCodeId(authCode), code.getExpiresIn());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.AuthorizationCode;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.AuthorizationCodeGenerator;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.provider.AuthorizationCodeProvider;
+
+import java.time.Instant;
+
+/**
+ * {@link AuthorizationCodeProvider} implementation that returns self-contained encrypted authorization codes.
+ * The codes are not saved anywhere, all the data required to exchange the code is inside the code value
+ *
+ * @see EncryptedAuthorizationCodeCodec
+ */
+public class EncryptedAuthorizationCodeProvider implements AuthorizationCodeProvider {
+    private final EncryptedAuthorizationCodeCodec codec;
+    private final long expireTimeSeconds;
+
+    public EncryptedAuthorizationCodeProvider(EncryptedAuthorizationCodeCodec codec) {
+        this(codec, AuthorizationCodeGenerator.DEFAULT_AUTHORIZATION_CODE_EXPIRE_TIME_SECONDS);
+    }
+
+    public EncryptedAuthorizationCodeProvider(EncryptedAuthorizationCodeCodec codec, long expireTimeSeconds) {
+        this.codec = codec;
+        this.expireTimeSeconds = expireTimeSeconds;
+    }
+
+    @Override
+    public AuthorizationCode getAuthorizationCode(String clientId, Oauth2User user, String[] scopes) {
+        return createCode(clientId, null, user, scopes);
+    }
+
+    /**
+     * Return the code that is bound to the client and redirect URI from authorization request
+     * @param request - authorization request that was approved by user
+     * @param user - user that granted access
+     * @return - encrypted authorization code
+     */
+    @Override
+    public AuthorizationCode getAuthorizationCode(AuthorizationRequest request, Oauth2User user) {
+        return createCode(request.getClientId(), request.getRedirectUrl(), user, request.getScopes());
+    }
+
+    private AuthorizationCode createCode(String clientId, String redirectUri, Oauth2User user, String[] scopes) {
+        // Code contains time in seconds, so returned code has the same values as decoded one
+        Instant issuedAt = Instant.ofEpochSecond(Instant.now().getEpochSecond());
+        Instant expiresIn = issuedAt.plusSeconds(expireTimeSeconds);
+        String value = codec.encode(clientId, redirectUri, user, scopes, issuedAt, expiresIn);
+        return AuthorizationCode.builder()
+                .codeValue(value)
+                .issuedAt(issuedAt)
+                .expiresIn(expiresIn)
+                .user(user)
+                .scopes(scopes)
+                .clientId(clientId)
+                .redirectUri(redirectUri)
+                .build();
+    }
+}
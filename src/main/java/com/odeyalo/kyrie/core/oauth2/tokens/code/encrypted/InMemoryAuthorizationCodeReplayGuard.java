@@ -0,0 +1,57 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted;
+
+import com.odeyalo.kyrie.support.expiry.ExpiryWheel;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>{@link AuthorizationCodeReplayGuard} implementation that keeps the ids of the used codes in memory until the codes expire.</p>
+ * <p>
+ * Ids are removed by {@link ExpiryWheel} after {@link #start()} is called, so the set contains only the codes that were used
+ * during the code lifetime.
+ * </p>
+ * <p>
+ * <strong>NOTE:</strong> the set is not shared between instances. If codes can be exchanged on any instance,
+ * then replay can be detected only by a shared implementation of {@link AuthorizationCodeReplayGuard}.
+ * </p>
+ */
+public class InMemoryAuthorizationCodeReplayGuard implements AuthorizationCodeReplayGuard, AutoCloseable {
+    private final Map<String, Instant> usedCodes = new ConcurrentHashMap<>();
+    private final ExpiryWheel<String> expiryWheel = new ExpiryWheel<>(Duration.ofSeconds(1), 128, usedCodes::remove, "kyrie-authorization-code-replay-guard");
+
+    @Override
+    public boolean markUsed(String codeId, Instant expiresIn) {
+        if (usedCodes.putIfAbsent(codeId, expiresIn) != null) {
+            return false;
+        }
+        expiryWheel.schedule(codeId, expiresIn.toEpochMilli());
+        return true;
+    }
+
+    @Override
+    public boolean isUsed(String codeId) {
+        return usedCodes.containsKey(codeId);
+    }
+
+    /**
+     * @return - number of remembered codes
+     */
+    public int size() {
+        return usedCodes.size();
+    }
+
+    /**
+     * Start the background removal of the expired codes
+     */
+    public void start() {
+        expiryWheel.start();
+    }
+
+    @Override
+    public void close() {
+        expiryWheel.close();
+    }
+}
@@ -1,6 +1,7 @@
 package com.odeyalo.kyrie.core.oauth2.tokens.code.provider;
 
 import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
 import com.odeyalo.kyrie.core.oauth2.tokens.code.AuthorizationCode;
 
 /**
@@ -17,4 +18,15 @@ public interface AuthorizationCodeProvider {
      */
     AuthorizationCode getAuthorizationCode(String clientId, Oauth2User user, String[] scopes);
 
+    /**
+     * Return an authorization code for the authorization request.
+     * Implementations that bind the code to the redirect URI should override this method
+     * @param request - authorization request that was approved by user
+     * @param user - user that granted access
+     * @return - authorization code
+     */
+    default AuthorizationCode getAuthorizationCode(AuthorizationRequest request, Oauth2User user) {
+        return getAuthorizationCode(request.getClientId(), user, request.getScopes());
+    }
+
 }
@@ -33,7 +33,11 @@ public class RefreshTokenAdditionalParamOauth2TokenCustomizerProcessor implement
         }
         Oauth2AccessToken accessToken = (Oauth2AccessToken) original;
 
-        RefreshToken refreshToken = refreshTokenProvider.generateToken(clientId, AdvancedStringUtils.spaceDelimitedListToStringArray(accessToken.getScope()));
+        RefreshToken refreshToken = accessToken.getRefreshToken();
+        // The refresh token can be already issued by the granter, e.g. when the refresh token was rotated
+        if (refreshToken == null) {
+            refreshToken = refreshTokenProvider.generateToken(clientId, accessToken.getUser(), AdvancedStringUtils.spaceDelimitedListToStringArray(accessToken.getScope()));
+        }
         // Add only refresh token value, since we don't need to provide refresh token expire time by specification
         builder.addInfo(Oauth2Constants.REFRESH_TOKEN, refreshToken.getTokenValue());
     }
@@ -5,6 +5,8 @@ import com.odeyalo.kyrie.core.oauth2.tokens.Oauth2AccessToken;
 import com.odeyalo.kyrie.core.oauth2.tokens.TokenRequest;
 import com.odeyalo.kyrie.dto.Oauth2AccessTokenResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Facade interface that will automatically wrap the {@link Oauth2AccessToken} from {@link com.odeyalo.kyrie.core.oauth2.tokens.AccessTokenGranterStrategy} to {@link CombinedOauth2Token}
  */
@@ -23,4 +25,18 @@ public interface AccessTokenGranterStrategyFacadeWrapper {
      * @return - ready-to-use Oauth2AccessTokenResponse
      */
     Oauth2AccessTokenResponse getResponse(TokenRequest request);
+
+    /**
+     * Obtain token, customize it and wrap it to {@link Oauth2AccessTokenResponse} without blocking the caller thread.
+     * The default implementation invokes {@link #getResponse(TokenRequest)} on the caller thread
+     * @param request - current TokenRequest
+     * @return - future that is completed with ready-to-use Oauth2AccessTokenResponse
+     */
+    default CompletableFuture<Oauth2AccessTokenResponse> getResponseAsync(TokenRequest request) {
+        try {
+            return CompletableFuture.completedFuture(getResponse(request));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -8,9 +8,11 @@ import com.odeyalo.kyrie.core.oauth2.tokens.TokenRequest;
 import com.odeyalo.kyrie.core.oauth2.tokens.customizer.Oauth2TokenCustomizerProcessorRegistry;
 import com.odeyalo.kyrie.dto.Oauth2AccessTokenResponse;
 import com.odeyalo.kyrie.support.Oauth2Utils;
+import com.odeyalo.kyrie.support.concurrent.RequestContextSnapshot;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Default {@link AccessTokenGranterStrategyFacadeWrapper} implementation that uses
@@ -29,7 +31,36 @@ public class SimpleAccessTokenGranterStrategyFacadeWrapper implements AccessToke
     @Override
     public CombinedOauth2Token getToken(TokenRequest request) {
         Oauth2AccessToken accessToken = delegateFactory.getGranter(request).obtainAccessToken(request);
+        return customize(accessToken);
+    }
+
+    @Override
+    public Oauth2AccessTokenResponse getResponse(TokenRequest request) {
+        return toResponse(getToken(request));
+    }
+
+    /**
+     * Obtain token using {@link com.odeyalo.kyrie.core.oauth2.tokens.AccessTokenGranterStrategy#obtainAccessTokenAsync(TokenRequest)},
+     * the customizers are invoked with the contexts of the current request on the thread that completed the token.
+     * @param request - current TokenRequest
+     * @return - future that is completed with ready-to-use Oauth2AccessTokenResponse
+     */
+    @Override
+    public CompletableFuture<Oauth2AccessTokenResponse> getResponseAsync(TokenRequest request) {
+        CompletableFuture<Oauth2AccessToken> future;
+        try {
+            future = delegateFactory.getGranter(request).obtainAccessTokenAsync(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (future.isDone()) {
+            return future.thenApply(accessToken -> toResponse(customize(accessToken)));
+        }
+        RequestContextSnapshot snapshot = RequestContextSnapshot.capture();
+        return future.thenApply(accessToken -> snapshot.call(() -> toResponse(customize(accessToken))));
+    }
 
+    private CombinedOauth2Token customize(Oauth2AccessToken accessToken) {
         CombinedOauth2Token.CombinedOauth2TokenBuilder<?, ?> builder = CombinedOauth2Token
                 .from(accessToken)
                 .toBuilder()
@@ -41,9 +72,7 @@ public class SimpleAccessTokenGranterStrategyFacadeWrapper implements AccessToke
         return builder.build();
     }
 
-    @Override
-    public Oauth2AccessTokenResponse getResponse(TokenRequest request) {
-        CombinedOauth2Token token = getToken(request);
+    private Oauth2AccessTokenResponse toResponse(CombinedOauth2Token token) {
         Map<String, Object> parameters = new HashMap<>(token.getAdditionalInfo());
 
         return Oauth2AccessTokenResponse
@@ -0,0 +1,128 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.oauth2.tokens.TokenMetadata;
+import com.odeyalo.kyrie.core.oauth2.tokens.TokenValidationResult;
+import io.jsonwebtoken.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Base {@link JwtTokenProvider} implementation that contains the common logic to generate, verify and parse jwt tokens.</p>
+ * <p>Subclasses only decide how the token is signed and which {@link JwtParser} is used to verify the signature.</p>
+ *
+ * @see DefaultSecretWordJwtTokenProvider
+ * @see AsymmetricJwtTokenProvider
+ */
+public abstract class AbstractJwtTokenProvider implements JwtTokenProvider {
+    protected static final long JWT_TOKEN_EXPIRATION_TIME_SECONDS = 3600L;
+    protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Override
+    public TokenMetadata generateJwtToken(Oauth2User user, Map<String, Object> claims) {
+        // Copy claims to other Map since claims from parameters can be immutable Map
+        Map<String, Object> copiedClaims = new HashMap<>(claims);
+        copiedClaims.putIfAbsent(Claims.SUBJECT, user.getId());
+        long issuedAt = getIssuedAt();
+        copiedClaims.putIfAbsent(Claims.ISSUED_AT, issuedAt);
+        long expiration = (System.currentTimeMillis() + JWT_TOKEN_EXPIRATION_TIME_SECONDS * 1000L) / 1000L;
+        String token = encode(expiration, copiedClaims);
+        return new TokenMetadata(true, token, issuedAt, expiration, copiedClaims);
+    }
+
+    @Override
+    public TokenMetadata parseToken(String token) {
+        return verifyToken(token).toTokenMetadata();
+    }
+
+    @Override
+    public Date getExpiredJwtTokenTimeInDate(String token) {
+        Claims claims = getClaims(token);
+        return claims != null ? claims.getExpiration() : null;
+    }
+
+    @Override
+    public TokenValidationResult isTokenValid(String token) {
+        return verifyToken(token).toValidationResult();
+    }
+
+    /**
+     * Check the signature of the token only once and extract claims, issued at and expiration time from the parsed token
+     * @param token - token to verify
+     * @return - JwtTokenVerificationResult with token data or with error message if token is invalid
+     */
+    @Override
+    public JwtTokenVerificationResult verifyToken(String token) {
+        try {
+            Claims claims = getParser().parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            Long expiresIn = expiration != null ? expiration.getTime() / 1000 : null;
+            return JwtTokenVerificationResult.valid(token, getIssuedAt(claims), expiresIn, claims);
+        } catch (SignatureException e) {
+            this.logger.error("Invalid JWT signature: {}", e.getMessage());
+            return JwtTokenVerificationResult.invalid(String.format("Invalid JWT signature: %s", e.getMessage()));
+        } catch (MalformedJwtException e) {
+            this.logger.error("Invalid JWT token: {}", e.getMessage());
+            return JwtTokenVerificationResult.invalid(String.format("Invalid JWT token: %s", e.getMessage()));
+        } catch (ExpiredJwtException e) {
+            this.logger.error("JWT token is expired: {}", e.getMessage());
+            return JwtTokenVerificationResult.invalid(String.format("JWT token is expired: %s", e.getMessage()));
+        } catch (UnsupportedJwtException e) {
+            this.logger.error("JWT token is unsupported: {}", e.getMessage());
+            return JwtTokenVerificationResult.invalid(String.format("JWT token is unsupported: %s", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            this.logger.error("JWT claims string is empty: {}", e.getMessage());
+            return JwtTokenVerificationResult.invalid(String.format("JWT claims string is empty: %s", e.getMessage()));
+        }
+    }
+
+    @Override
+    public Claims getClaims(String token) {
+        JwtTokenVerificationResult result = verifyToken(token);
+        if (!result.isValid()) {
+            return null;
+        }
+        return (Claims) result.getClaims();
+    }
+
+    /**
+     * Create the signed token with 'exp' claim as first claim and all other claims in iteration order of the map.
+     * Default implementation uses {@link JwtBuilder}, subclasses can override it to encode the token faster
+     * @param expiration - value of the 'exp' claim in seconds
+     * @param claims - claims to write to token
+     * @return - signed jwt token in compact form
+     */
+    protected String encode(long expiration, Map<String, Object> claims) {
+        JwtBuilder builder = Jwts.builder()
+                .setExpiration(new Date(expiration * 1000L))
+                .addClaims(claims);
+        return signAndCompact(builder);
+    }
+
+    /**
+     * Sign the token that was built by builder and return it in compact form
+     * @param builder - builder with all claims set
+     * @return - signed jwt token in compact form
+     */
+    protected abstract String signAndCompact(JwtBuilder builder);
+
+    /**
+     * Return the parser that will be used to verify the token signature.
+     * Implementations should create the parser once, since JwtParser can be shared between threads after creation
+     * @return - JwtParser to parse and verify the token
+     */
+    protected abstract JwtParser getParser();
+
+    protected long getIssuedAt() {
+        return System.currentTimeMillis() / 1000L;
+    }
+
+    private Long getIssuedAt(Claims claims) {
+        Object obj = claims.getOrDefault(Claims.ISSUED_AT, -1);
+        return ((Number) obj).longValue();
+    }
+}
@@ -0,0 +1,73 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt;
+
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys.JwtSigningKey;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys.JwtSigningKeySet;
+import io.jsonwebtoken.*;
+import org.springframework.util.Assert;
+
+import java.security.Key;
+
+/**
+ * <p>{@link JwtTokenProvider} implementation that signs jwt tokens with private key from {@link JwtSigningKeySet} (RS256, ES256, etc).</p>
+ * <p>
+ * Every token contains 'kid' header with id of the key that was used to sign the token.
+ * The 'kid' header is used to find the public key to verify the token, so tokens signed before key rotation are still valid.
+ * Resource servers can verify the tokens locally using the keys published in JWK Set.
+ * </p>
+ *
+ * @see JwtSigningKeySet
+ * @see com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys.JwkSetProvider
+ */
+public class AsymmetricJwtTokenProvider extends AbstractJwtTokenProvider {
+    private final JwtSigningKeySet keySet;
+    private final JwtParser parser;
+
+    public AsymmetricJwtTokenProvider(JwtSigningKeySet keySet) {
+        Assert.notNull(keySet, "JwtSigningKeySet cannot be null!");
+        this.keySet = keySet;
+        this.parser = Jwts.parser().setSigningKeyResolver(new KeyIdSigningKeyResolver());
+    }
+
+    @Override
+    protected String signAndCompact(JwtBuilder builder) {
+        JwtSigningKey key = keySet.getActiveKey();
+        return builder
+                .setHeaderParam(JwsHeader.KEY_ID, key.getKeyId())
+                .signWith(key.getAlgorithm(), key.getPrivateKey())
+                .compact();
+    }
+
+    @Override
+    protected JwtParser getParser() {
+        return parser;
+    }
+
+    /**
+     * Resolve the public key using 'kid' header.
+     * The algorithm from the header must be the same as key algorithm, otherwise the token is rejected
+     */
+    private class KeyIdSigningKeyResolver implements SigningKeyResolver {
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            return resolveKey(header);
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, String plaintext) {
+            return resolveKey(header);
+        }
+
+        private Key resolveKey(JwsHeader header) {
+            String keyId = header.getKeyId();
+            JwtSigningKey key = keySet.getKey(keyId);
+            if (key == null) {
+                throw new SignatureException(String.format("The key with id: '%s' does not exist or was already removed", keyId));
+            }
+            if (!key.getAlgorithm().getValue().equals(header.getAlgorithm())) {
+                throw new UnsupportedJwtException(String.format("The algorithm '%s' is not allowed for key with id: '%s'", header.getAlgorithm(), keyId));
+            }
+            return key.getPublicKey();
+        }
+    }
+}
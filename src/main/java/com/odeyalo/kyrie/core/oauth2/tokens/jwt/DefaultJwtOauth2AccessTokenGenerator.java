@@ -26,6 +26,7 @@ public class DefaultJwtOauth2AccessTokenGenerator implements Oauth2AccessTokenGe
                 .issuedAt(Instant.ofEpochSecond(metadata.getIssuedAt()))
                 .expiresIn(Instant.ofEpochSecond(metadata.getExpiresIn()))
                 .scope(String.join(" ", scopes))
+                .user(user)
                 .build();
     }
 }
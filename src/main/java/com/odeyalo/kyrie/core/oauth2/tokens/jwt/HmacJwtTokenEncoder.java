@@ -0,0 +1,419 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.util.Assert;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * <p>Encoder that creates HMAC signed jwt tokens without {@link io.jsonwebtoken.JwtBuilder}.</p>
+ * <p>
+ * The header is encoded only once in constructor. Claims are written as JSON directly into per-thread byte buffer,
+ * encoded to Base64URL in place and signed with per-thread {@link Mac} instance, so the only allocation for a token is the result String.
+ * </p>
+ * <p>
+ * The result is byte to byte the same as the token created by
+ * {@code Jwts.builder().setExpiration(exp).addClaims(claims).signWith(algorithm, key).compact()}:
+ * the 'exp' claim goes first, other claims go in the iteration order of the given map and values are written as Jackson writes them.
+ * If a claim value cannot be written in the same way (custom objects, floating point numbers, dates, null values, etc)
+ * then {@link #encode(long, Map)} returns null and caller should use JwtBuilder instead.
+ * </p>
+ */
+public class HmacJwtTokenEncoder {
+    private static final byte[] BASE64_URL_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXPIRATION_PREFIX = ("{\"" + Claims.EXPIRATION + "\":").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    // Buffers that grew larger than this size are not kept by the thread after encoding
+    private static final int MAX_RETAINED_BUFFER_SIZE = 16 * 1024;
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    private final SignatureAlgorithm algorithm;
+    private final SecretKeySpec key;
+    // Base64URL encoded header followed by '.'
+    private final byte[] encodedHeader;
+    private final int signatureLength;
+    private final ThreadLocal<EncoderState> state;
+
+    /**
+     * Create the encoder that writes tokens without 'kid' header
+     * @param algorithm - HMAC algorithm to sign the token
+     * @param key - raw key bytes
+     */
+    public HmacJwtTokenEncoder(SignatureAlgorithm algorithm, byte[] key) {
+        this(algorithm, key, null);
+    }
+
+    /**
+     * @param algorithm - HMAC algorithm to sign the token
+     * @param key - raw key bytes
+     * @param keyId - value of the 'kid' header, null if header should not be written
+     */
+    public HmacJwtTokenEncoder(SignatureAlgorithm algorithm, byte[] key, String keyId) {
+        Assert.notNull(algorithm, "Algorithm cannot be null!");
+        Assert.isTrue(algorithm.isHmac(), "Only HMAC algorithms are supported by HmacJwtTokenEncoder");
+        Assert.notNull(key, "Key cannot be null!");
+        this.algorithm = algorithm;
+        this.key = new SecretKeySpec(key, algorithm.getJcaName());
+        this.encodedHeader = encodeHeader(algorithm, keyId);
+        this.signatureLength = createMac().getMacLength();
+        this.state = ThreadLocal.withInitial(() -> new EncoderState(createMac()));
+    }
+
+    /**
+     * Encode and sign the token
+     * @param expiration - value of the 'exp' claim in seconds
+     * @param claims - claims to write after 'exp' claim, must not contain 'exp' claim itself
+     * @return - signed token in compact form or null if claims cannot be written by this encoder
+     */
+    public String encode(long expiration, Map<String, Object> claims) {
+        if (claims.containsKey(Claims.EXPIRATION)) {
+            return null;
+        }
+        EncoderState state = this.state.get();
+        try {
+            state.json.reset();
+            state.json.write(EXPIRATION_PREFIX);
+            state.json.writeLong(expiration);
+            for (Map.Entry<String, Object> entry : claims.entrySet()) {
+                // JwtBuilder drops claims with null value, keep the JwtBuilder path for such claims
+                if (entry.getValue() == null) {
+                    return null;
+                }
+                state.json.write((byte) ',');
+                state.json.writeString(entry.getKey());
+                state.json.write((byte) ':');
+                state.json.writeValue(entry.getValue());
+            }
+            state.json.write((byte) '}');
+            return state.sign();
+        } catch (UnsupportedValueException ex) {
+            return null;
+        } finally {
+            state.release();
+        }
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    private Mac createMac() {
+        try {
+            Mac mac = Mac.getInstance(algorithm.getJcaName());
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(String.format("Unable to create Mac for algorithm: %s", algorithm.getJcaName()), e);
+        }
+    }
+
+    private static byte[] encodeHeader(SignatureAlgorithm algorithm, String keyId) {
+        JsonBuffer header = new JsonBuffer(64);
+        header.write((byte) '{');
+        if (keyId != null) {
+            header.writeString(JwsHeader.KEY_ID);
+            header.write((byte) ':');
+            header.writeString(keyId);
+            header.write((byte) ',');
+        }
+        header.writeString(JwsHeader.ALGORITHM);
+        header.write((byte) ':');
+        header.writeString(algorithm.getValue());
+        header.write((byte) '}');
+        byte[] encoded = new byte[getEncodedLength(header.size()) + 1];
+        int length = encodeBase64Url(header.bytes(), 0, header.size(), encoded, 0);
+        encoded[length] = '.';
+        return encoded;
+    }
+
+    private static int getEncodedLength(int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    /**
+     * Base64URL encoding without padding, the same as jjwt uses
+     * @return - number of written bytes
+     */
+    private static int encodeBase64Url(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int end = offset + length - length % 3;
+        int position = dstOffset;
+        for (int i = offset; i < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[position++] = BASE64_URL_ALPHABET[(bits >>> 18) & 0x3f];
+            dst[position++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3f];
+            dst[position++] = BASE64_URL_ALPHABET[(bits >>> 6) & 0x3f];
+            dst[position++] = BASE64_URL_ALPHABET[bits & 0x3f];
+        }
+        int remaining = length % 3;
+        if (remaining == 1) {
+            int b0 = src[end] & 0xff;
+            dst[position++] = BASE64_URL_ALPHABET[b0 >>> 2];
+            dst[position++] = BASE64_URL_ALPHABET[(b0 << 4) & 0x3f];
+        } else if (remaining == 2) {
+            int b0 = src[end] & 0xff;
+            int b1 = src[end + 1] & 0xff;
+            dst[position++] = BASE64_URL_ALPHABET[b0 >>> 2];
+            dst[position++] = BASE64_URL_ALPHABET[((b0 << 4) | (b1 >>> 4)) & 0x3f];
+            dst[position++] = BASE64_URL_ALPHABET[(b1 << 2) & 0x3f];
+        }
+        return position - dstOffset;
+    }
+
+    /**
+     * Buffers and Mac owned by single thread
+     */
+    private final class EncoderState {
+        private final Mac mac;
+        private final byte[] signature;
+        private JsonBuffer json = new JsonBuffer(INITIAL_BUFFER_SIZE);
+        private byte[] token = new byte[INITIAL_BUFFER_SIZE];
+
+        EncoderState(Mac mac) {
+            this.mac = mac;
+            this.signature = new byte[mac.getMacLength()];
+        }
+
+        String sign() {
+            int required = encodedHeader.length + getEncodedLength(json.size()) + 1 + getEncodedLength(signatureLength);
+            if (token.length < required) {
+                token = new byte[required];
+            }
+            System.arraycopy(encodedHeader, 0, token, 0, encodedHeader.length);
+            int length = encodedHeader.length;
+            length += encodeBase64Url(json.bytes(), 0, json.size(), token, length);
+            try {
+                mac.update(token, 0, length);
+                mac.doFinal(signature, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException("Signature buffer is too small", e);
+            }
+            token[length++] = '.';
+            length += encodeBase64Url(signature, 0, signature.length, token, length);
+            // All bytes are Base64URL characters, so ISO_8859_1 decoding is just a copy
+            return new String(token, 0, length, StandardCharsets.ISO_8859_1);
+        }
+
+        void release() {
+            if (json.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+                json = new JsonBuffer(INITIAL_BUFFER_SIZE);
+            }
+            if (token.length > MAX_RETAINED_BUFFER_SIZE) {
+                token = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
+    }
+
+    /**
+     * Growable byte buffer that writes JSON values in UTF-8 the same way as Jackson ObjectMapper with default settings
+     */
+    private static final class JsonBuffer {
+        private byte[] buffer;
+        private int size;
+
+        JsonBuffer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int capacity() {
+            return buffer.length;
+        }
+
+        byte[] bytes() {
+            return buffer;
+        }
+
+        void write(byte b) {
+            ensureCapacity(1);
+            buffer[size++] = b;
+        }
+
+        void write(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeValue(Object value) {
+            if (value == null) {
+                write(NULL);
+            } else if (value instanceof String) {
+                writeString((String) value);
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                writeLong(((Number) value).longValue());
+            } else if (value instanceof Boolean) {
+                write((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof Map) {
+                writeMap((Map<?, ?>) value);
+            } else if (value instanceof Collection) {
+                writeArray((Collection<?>) value);
+            } else if (value instanceof Object[]) {
+                writeArray(Arrays.asList((Object[]) value));
+            } else {
+                throw UnsupportedValueException.INSTANCE;
+            }
+        }
+
+        void writeMap(Map<?, ?> map) {
+            write((byte) '{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String)) {
+                    throw UnsupportedValueException.INSTANCE;
+                }
+                if (!first) {
+                    write((byte) ',');
+                }
+                first = false;
+                writeString((String) entry.getKey());
+                write((byte) ':');
+                writeValue(entry.getValue());
+            }
+            write((byte) '}');
+        }
+
+        void writeArray(Collection<?> values) {
+            write((byte) '[');
+            boolean first = true;
+            for (Object value : values) {
+                if (!first) {
+                    write((byte) ',');
+                }
+                first = false;
+                writeValue(value);
+            }
+            write((byte) ']');
+        }
+
+        void writeLong(long value) {
+            if (value == Long.MIN_VALUE) {
+                write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            ensureCapacity(20);
+            if (value < 0) {
+                buffer[size++] = '-';
+                value = -value;
+            }
+            int digits = 1;
+            for (long rest = value / 10; rest > 0; rest /= 10) {
+                digits++;
+            }
+            int position = size + digits;
+            do {
+                buffer[--position] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            size += digits;
+        }
+
+        void writeString(String value) {
+            // Worst case is 6 bytes for escaped control character
+            ensureCapacity(value.length() * 6 + 2);
+            buffer[size++] = '"';
+            int length = value.length();
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    writeAsciiChar(c);
+                } else if (c < 0x800) {
+                    buffer[size++] = (byte) (0xc0 | (c >> 6));
+                    buffer[size++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // Jackson escapes both chars of the surrogate pair instead of writing 4-byte UTF-8 sequence
+                    writeUnicodeEscape(c);
+                    writeUnicodeEscape(value.charAt(++i));
+                } else if (Character.isSurrogate(c)) {
+                    // Jackson fails on broken surrogate pairs, let the JwtBuilder path report it
+                    throw UnsupportedValueException.INSTANCE;
+                } else {
+                    buffer[size++] = (byte) (0xe0 | (c >> 12));
+                    buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    buffer[size++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+            buffer[size++] = '"';
+        }
+
+        private void writeAsciiChar(char c) {
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                buffer[size++] = (byte) c;
+                return;
+            }
+            buffer[size++] = '\\';
+            switch (c) {
+                case '"':
+                case '\\':
+                    buffer[size++] = (byte) c;
+                    break;
+                case '\b':
+                    buffer[size++] = 'b';
+                    break;
+                case '\t':
+                    buffer[size++] = 't';
+                    break;
+                case '\n':
+                    buffer[size++] = 'n';
+                    break;
+                case '\f':
+                    buffer[size++] = 'f';
+                    break;
+                case '\r':
+                    buffer[size++] = 'r';
+                    break;
+                default:
+                    buffer[size++] = 'u';
+                    buffer[size++] = '0';
+                    buffer[size++] = '0';
+                    buffer[size++] = HEX[c >> 4];
+                    buffer[size++] = HEX[c & 0xf];
+            }
+        }
+
+        private void writeUnicodeEscape(char c) {
+            buffer[size++] = '\\';
+            buffer[size++] = 'u';
+            buffer[size++] = HEX[c >> 12];
+            buffer[size++] = HEX[(c >> 8) & 0xf];
+            buffer[size++] = HEX[(c >> 4) & 0xf];
+            buffer[size++] = HEX[c & 0xf];
+        }
+
+        private void ensureCapacity(int extra) {
+            int required = size + extra;
+            if (required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+            }
+        }
+    }
+
+    /**
+     * Thrown when value cannot be written in the same way as Jackson writes it
+     */
+    private static final class UnsupportedValueException extends RuntimeException {
+        static final UnsupportedValueException INSTANCE = new UnsupportedValueException();
+
+        private UnsupportedValueException() {
+            super(null, null, false, false);
+        }
+    }
+}
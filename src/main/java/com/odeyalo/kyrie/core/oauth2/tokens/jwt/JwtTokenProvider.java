@@ -38,6 +38,24 @@ public interface JwtTokenProvider {
      */
     TokenValidationResult isTokenValid(String token);
 
+    /**
+     * Verify the token signature and extract all the token data in one step.
+     * Implementations should check the signature only once per call, so the result can be used instead of
+     * subsequent calls to {@link #isTokenValid(String)}, {@link #parseToken(String)} and {@link #getClaims(String)}.
+     *
+     * Default implementation delegates to the other methods and should be overridden if the token can be verified in single pass.
+     * @param token - token to verify
+     * @return - JwtTokenVerificationResult with validation status, message and token data if token is valid
+     */
+    default JwtTokenVerificationResult verifyToken(String token) {
+        TokenValidationResult result = isTokenValid(token);
+        if (!result.isValid()) {
+            return JwtTokenVerificationResult.invalid(result.getMessage());
+        }
+        TokenMetadata metadata = parseToken(token);
+        return JwtTokenVerificationResult.valid(token, metadata.getIssuedAt(), metadata.getExpiresIn(), metadata.getClaims());
+    }
+
     /**
      * Parse token and return the expired time of the token in java.util.Date format
      * @param token - token to check
@@ -0,0 +1,62 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt;
+
+import com.odeyalo.kyrie.core.oauth2.tokens.TokenMetadata;
+import com.odeyalo.kyrie.core.oauth2.tokens.TokenValidationResult;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Result of the single-pass jwt token verification.
+ * <p>Contains the validation status and, if the token is valid, all the data that was extracted from the token during signature check,
+ * so the caller does not need to parse the token again to get the claims.</p>
+ *
+ * @see JwtTokenProvider#verifyToken(String)
+ */
+@Data
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class JwtTokenVerificationResult {
+    private static final JwtTokenVerificationResult INVALID = new JwtTokenVerificationResult(false, null, null, null, null, null);
+    // True if the token signature is correct and token is not expired
+    private final boolean valid;
+    // Description why the token is invalid, null if token is valid
+    private final String message;
+    // Token value
+    private final String token;
+    // When the token was issued in NumericDate format
+    private final Long issuedAt;
+    // When the token will expire in NumericDate format
+    private final Long expiresIn;
+    // Token claims
+    private final Map<String, Object> claims;
+
+    public static JwtTokenVerificationResult valid(String token, Long issuedAt, Long expiresIn, Map<String, Object> claims) {
+        return new JwtTokenVerificationResult(true, null, token, issuedAt, expiresIn, claims);
+    }
+
+    public static JwtTokenVerificationResult invalid() {
+        return INVALID;
+    }
+
+    public static JwtTokenVerificationResult invalid(String message) {
+        return new JwtTokenVerificationResult(false, message, null, null, null, null);
+    }
+
+    /**
+     * Convert this result to TokenValidationResult
+     * @return - TokenValidationResult with the same status and message
+     */
+    public TokenValidationResult toValidationResult() {
+        return valid ? TokenValidationResult.valid() : TokenValidationResult.invalid(message);
+    }
+
+    /**
+     * Convert this result to TokenMetadata
+     * @return - TokenMetadata with token data or TokenMetadata.invalid() if token is not valid
+     */
+    public TokenMetadata toTokenMetadata() {
+        return valid ? new TokenMetadata(true, token, issuedAt, expiresIn, claims) : TokenMetadata.invalid();
+    }
+}
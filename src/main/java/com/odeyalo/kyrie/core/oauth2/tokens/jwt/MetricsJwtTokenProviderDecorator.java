@@ -0,0 +1,91 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.metrics.KyrieMetricNames;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import com.odeyalo.kyrie.core.metrics.KyrieTimer;
+import com.odeyalo.kyrie.core.oauth2.tokens.TokenMetadata;
+import com.odeyalo.kyrie.core.oauth2.tokens.TokenValidationResult;
+import org.springframework.util.Assert;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * {@link JwtTokenProvider} decorator that records the time to sign, verify and parse the tokens
+ *
+ * @see KyrieMetricNames#JWT_SIGN
+ * @see KyrieMetricNames#JWT_VERIFY
+ * @see KyrieMetricNames#JWT_PARSE
+ */
+public class MetricsJwtTokenProviderDecorator implements JwtTokenProvider {
+    private final JwtTokenProvider delegate;
+    private final KyrieTimer sign;
+    private final KyrieTimer valid;
+    private final KyrieTimer invalid;
+    private final KyrieTimer parse;
+
+    public MetricsJwtTokenProviderDecorator(JwtTokenProvider delegate, KyrieMetrics metrics) {
+        Assert.notNull(delegate, "Delegate cannot be null!");
+        this.delegate = delegate;
+        this.sign = metrics.timer(KyrieMetricNames.JWT_SIGN);
+        this.valid = metrics.timer(KyrieMetricNames.JWT_VERIFY, KyrieMetricNames.OUTCOME_TAG, KyrieMetricNames.SUCCESS);
+        this.invalid = metrics.timer(KyrieMetricNames.JWT_VERIFY, KyrieMetricNames.OUTCOME_TAG, KyrieMetricNames.FAILURE);
+        this.parse = metrics.timer(KyrieMetricNames.JWT_PARSE);
+    }
+
+    @Override
+    public TokenMetadata generateJwtToken(Oauth2User user, Map<String, Object> claims) {
+        long start = System.nanoTime();
+        TokenMetadata metadata = delegate.generateJwtToken(user, claims);
+        sign.recordSince(start);
+        return metadata;
+    }
+
+    @Override
+    public TokenMetadata parseToken(String token) {
+        long start = System.nanoTime();
+        TokenMetadata metadata = delegate.parseToken(token);
+        parse.recordSince(start);
+        return metadata;
+    }
+
+    @Override
+    public TokenValidationResult isTokenValid(String token) {
+        long start = System.nanoTime();
+        TokenValidationResult result = delegate.isTokenValid(token);
+        (result.isValid() ? valid : invalid).recordSince(start);
+        return result;
+    }
+
+    @Override
+    public JwtTokenVerificationResult verifyToken(String token) {
+        long start = System.nanoTime();
+        JwtTokenVerificationResult result = delegate.verifyToken(token);
+        (result.isValid() ? valid : invalid).recordSince(start);
+        return result;
+    }
+
+    @Override
+    public Date getExpiredJwtTokenTimeInDate(String token) {
+        return delegate.getExpiredJwtTokenTimeInDate(token);
+    }
+
+    @Override
+    public LocalDateTime getExpiredJwtTokenTime(String token) {
+        return delegate.getExpiredJwtTokenTime(token);
+    }
+
+    @Override
+    public Map<String, Object> getClaims(String token) {
+        long start = System.nanoTime();
+        Map<String, Object> claims = delegate.getClaims(token);
+        parse.recordSince(start);
+        return claims;
+    }
+
+    public JwtTokenProvider getDelegate() {
+        return delegate;
+    }
+}
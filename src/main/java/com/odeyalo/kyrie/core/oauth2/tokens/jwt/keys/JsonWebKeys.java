@@ -0,0 +1,108 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.math.BigInteger;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Utility methods to convert the public keys to JSON Web Key representation
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc7517">JSON Web Key (JWK)</a>
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc7518#section-6">Cryptographic Algorithms for Keys</a>
+ */
+public abstract class JsonWebKeys {
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Convert the public key of the given JwtSigningKey to JWK
+     * @param key - key to convert
+     * @return - Map with JWK members that can be serialized to JSON as is
+     */
+    public static Map<String, Object> toJwk(JwtSigningKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        SignatureAlgorithm algorithm = key.getAlgorithm();
+        if (algorithm.isRsa()) {
+            RSAPublicKey publicKey = (RSAPublicKey) key.getPublicKey();
+            jwk.put("kty", "RSA");
+            jwk.put("kid", key.getKeyId());
+            jwk.put("use", "sig");
+            jwk.put("alg", algorithm.getValue());
+            jwk.put("n", encodeUnsigned(publicKey.getModulus(), 0));
+            jwk.put("e", encodeUnsigned(publicKey.getPublicExponent(), 0));
+            return jwk;
+        }
+        if (algorithm.isEllipticCurve()) {
+            ECPublicKey publicKey = (ECPublicKey) key.getPublicKey();
+            int fieldSize = (publicKey.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("kid", key.getKeyId());
+            jwk.put("use", "sig");
+            jwk.put("alg", algorithm.getValue());
+            jwk.put("crv", getCurveName(algorithm));
+            jwk.put("x", encodeUnsigned(publicKey.getW().getAffineX(), fieldSize));
+            jwk.put("y", encodeUnsigned(publicKey.getW().getAffineY(), fieldSize));
+            return jwk;
+        }
+        throw new IllegalArgumentException("Only RSA and Elliptic Curve keys can be published as JWK, but was: " + algorithm);
+    }
+
+    /**
+     * @param algorithm - Elliptic Curve algorithm
+     * @return - curve name used in JWK 'crv' member
+     */
+    public static String getCurveName(SignatureAlgorithm algorithm) {
+        switch (algorithm) {
+            case ES256:
+                return "P-256";
+            case ES384:
+                return "P-384";
+            case ES512:
+                return "P-521";
+            default:
+                throw new IllegalArgumentException("Algorithm is not Elliptic Curve algorithm: " + algorithm);
+        }
+    }
+
+    /**
+     * @param algorithm - Elliptic Curve algorithm
+     * @return - curve name that used by JCA to generate the key pair
+     */
+    public static String getCurveJcaName(SignatureAlgorithm algorithm) {
+        switch (algorithm) {
+            case ES256:
+                return "secp256r1";
+            case ES384:
+                return "secp384r1";
+            case ES512:
+                return "secp521r1";
+            default:
+                throw new IllegalArgumentException("Algorithm is not Elliptic Curve algorithm: " + algorithm);
+        }
+    }
+
+    /**
+     * Encode the number as unsigned big-endian value using base64url without padding
+     * @param value - value to encode
+     * @param length - required length in bytes, value will be left-padded with zeros. 0 means minimal length
+     * @return - encoded value
+     */
+    private static String encodeUnsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        // BigInteger adds leading zero byte for sign if the highest bit is set
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+}
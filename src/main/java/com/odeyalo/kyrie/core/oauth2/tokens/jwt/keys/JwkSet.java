@@ -0,0 +1,18 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Precomputed JSON Web Key Set representation that can be returned to resource servers as is
+ */
+@Data
+@AllArgsConstructor
+public class JwkSet {
+    // Version of the JwtSigningKeySet that was used to build this JwkSet
+    private final long version;
+    // Serialized JWK Set document
+    private final String json;
+    // Quoted entity tag that changes every time when json is changed
+    private final String eTag;
+}
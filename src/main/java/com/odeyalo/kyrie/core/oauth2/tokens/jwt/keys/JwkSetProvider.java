@@ -0,0 +1,73 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Build the JSON Web Key Set from {@link JwtSigningKeySet}.</p>
+ * <p>The JWK Set is built only once per key set version and reused until the keys are rotated,
+ * so serving the key set does not require any serialization or crypto work.</p>
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc7517#section-5">JWK Set Format</a>
+ */
+public class JwkSetProvider {
+    private final JwtSigningKeySet keySet;
+    private final ObjectMapper objectMapper;
+    private volatile JwkSet cached;
+
+    public JwkSetProvider(JwtSigningKeySet keySet) {
+        this(keySet, new ObjectMapper());
+    }
+
+    public JwkSetProvider(JwtSigningKeySet keySet, ObjectMapper objectMapper) {
+        Assert.notNull(keySet, "JwtSigningKeySet cannot be null!");
+        this.keySet = keySet;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Return the JWK Set for current key set version
+     * @return - precomputed JwkSet
+     */
+    public JwkSet getJwkSet() {
+        JwkSet current = this.cached;
+        long version = keySet.getVersion();
+        if (current == null || current.getVersion() != version) {
+            current = buildJwkSet(version);
+            this.cached = current;
+        }
+        return current;
+    }
+
+    private JwkSet buildJwkSet(long version) {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (JwtSigningKey key : keySet.getKeys()) {
+            keys.add(JsonWebKeys.toJwk(key));
+        }
+        try {
+            String json = objectMapper.writeValueAsString(Collections.singletonMap("keys", keys));
+            return new JwkSet(version, json, computeETag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize the JWK Set", e);
+        }
+    }
+
+    private String computeETag(String json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by JVM", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+
+/**
+ * Represent the asymmetric key pair that used to sign and verify jwt tokens.
+ * Every key has unique key id that is added to the token header as 'kid' parameter.
+ */
+@Data
+@AllArgsConstructor
+public class JwtSigningKey {
+    // Unique key id, used as 'kid' header parameter and JWK 'kid' field
+    @NonNull
+    private final String keyId;
+    @NonNull
+    private final SignatureAlgorithm algorithm;
+    @NonNull
+    private final PublicKey publicKey;
+    // Private key is never printed to logs
+    @NonNull
+    @ToString.Exclude
+    private final PrivateKey privateKey;
+    // When the key was created
+    @NonNull
+    private final Instant createdAt;
+}
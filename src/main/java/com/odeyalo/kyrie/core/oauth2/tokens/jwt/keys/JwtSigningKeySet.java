@@ -0,0 +1,37 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys;
+
+import java.util.List;
+
+/**
+ * Set of the keys that used to sign and verify jwt tokens.
+ * <p>The set always contains one active key that used to sign new tokens.
+ * Other keys are used only to verify tokens that were signed before key rotation or will be used after next rotation.</p>
+ */
+public interface JwtSigningKeySet {
+
+    /**
+     * Return the key that must be used to sign new tokens
+     * @return - active key, never null
+     */
+    JwtSigningKey getActiveKey();
+
+    /**
+     * Find the key by key id
+     * @param keyId - key id from 'kid' header
+     * @return - key that was found, null otherwise
+     */
+    JwtSigningKey getKey(String keyId);
+
+    /**
+     * Return all keys that can be used to verify tokens and must be published to resource servers.
+     * @return - all keys from this set, including active key
+     */
+    List<JwtSigningKey> getKeys();
+
+    /**
+     * Return the version of the key set. The version is changed every time when keys are changed,
+     * so key set representation can be computed once and reused until version is changed.
+     * @return - current version of the key set
+     */
+    long getVersion();
+}
@@ -0,0 +1,186 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>{@link JwtSigningKeySet} implementation that generates new key pair on schedule.</p>
+ * <p>
+ * The key set contains:
+ * <ul>
+ *     <li>active key - used to sign new tokens</li>
+ *     <li>next key - already published, but not used yet. It becomes active on next rotation,
+ *     so resource servers that cached the key set will already know the key when first token is signed with it</li>
+ *     <li>previous keys - keys that were active before, used to verify tokens that were issued before rotation</li>
+ * </ul>
+ * Rotation replaces the key set atomically, so tokens can be signed and verified during rotation without any downtime.
+ * </p>
+ * <p>
+ * <strong>NOTE:</strong> keys are generated in memory and are not shared between instances.
+ * If several authorization server instances are used, then custom {@link JwtSigningKeySet} with shared keys must be provided.
+ * </p>
+ *
+ * @see JwtSigningKeySet
+ */
+public class RotatingJwtSigningKeySet implements JwtSigningKeySet, AutoCloseable {
+    private final Logger logger = LoggerFactory.getLogger(RotatingJwtSigningKeySet.class);
+    private final SignatureAlgorithm algorithm;
+    private final Duration rotationInterval;
+    private final int maxPreviousKeys;
+    private ScheduledExecutorService scheduler;
+    private volatile KeySetState state;
+
+    /**
+     * Create new RotatingJwtSigningKeySet and generate the initial keys.
+     * @param algorithm - RSA or Elliptic Curve algorithm that will be used to sign the tokens
+     * @param rotationInterval - how often the active key will be replaced
+     * @param maxPreviousKeys - how many previously active keys will be kept to verify already issued tokens
+     */
+    public RotatingJwtSigningKeySet(SignatureAlgorithm algorithm, Duration rotationInterval, int maxPreviousKeys) {
+        Assert.isTrue(algorithm.isRsa() || algorithm.isEllipticCurve(), "Only RSA and Elliptic Curve algorithms are supported, but was: " + algorithm);
+        Assert.isTrue(!rotationInterval.isNegative() && !rotationInterval.isZero(), "Rotation interval must be positive!");
+        Assert.isTrue(maxPreviousKeys >= 0, "Max previous keys cannot be negative!");
+        this.algorithm = algorithm;
+        this.rotationInterval = rotationInterval;
+        this.maxPreviousKeys = maxPreviousKeys;
+        this.state = new KeySetState(1, generateKey(), generateKey(), Collections.emptyList());
+    }
+
+    /**
+     * Start the scheduled key rotation. Does nothing if rotation is already started
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kyrie-jwt-key-rotation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = rotationInterval.toMillis();
+        scheduler.scheduleAtFixedRate(this::rotateSafely, interval, interval, TimeUnit.MILLISECONDS);
+        this.logger.info("Started the jwt signing key rotation with interval: {}", rotationInterval);
+    }
+
+    /**
+     * Stop the scheduled key rotation
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Make the next key active, generate new next key and move current active key to previous keys.
+     */
+    public synchronized void rotate() {
+        KeySetState current = this.state;
+        List<JwtSigningKey> previousKeys = new ArrayList<>(maxPreviousKeys + 1);
+        previousKeys.add(current.activeKey);
+        previousKeys.addAll(current.previousKeys);
+        List<JwtSigningKey> retained = Collections.unmodifiableList(new ArrayList<>(previousKeys.subList(0, Math.min(maxPreviousKeys, previousKeys.size()))));
+        this.state = new KeySetState(current.version + 1, current.nextKey, generateKey(), retained);
+        this.logger.info("Rotated the jwt signing key. New active key id: {}", current.nextKey.getKeyId());
+    }
+
+    @Override
+    public JwtSigningKey getActiveKey() {
+        return state.activeKey;
+    }
+
+    @Override
+    public JwtSigningKey getKey(String keyId) {
+        if (keyId == null) {
+            return null;
+        }
+        KeySetState current = this.state;
+        for (JwtSigningKey key : current.allKeys) {
+            if (key.getKeyId().equals(keyId)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<JwtSigningKey> getKeys() {
+        return state.allKeys;
+    }
+
+    @Override
+    public long getVersion() {
+        return state.version;
+    }
+
+    protected JwtSigningKey generateKey() {
+        try {
+            KeyPair keyPair = createKeyPairGenerator().generateKeyPair();
+            return new JwtSigningKey(UUID.randomUUID().toString(), algorithm, keyPair.getPublic(), keyPair.getPrivate(), Instant.now());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to generate the key pair for algorithm: " + algorithm, e);
+        }
+    }
+
+    private KeyPairGenerator createKeyPairGenerator() throws GeneralSecurityException {
+        if (algorithm.isRsa()) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator;
+        }
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(JsonWebKeys.getCurveJcaName(algorithm)));
+        return generator;
+    }
+
+    private void rotateSafely() {
+        try {
+            rotate();
+        } catch (Exception e) {
+            // Exception must not be thrown from scheduled task, otherwise next rotations will be cancelled
+            this.logger.error("Failed to rotate the jwt signing key, current key will be used until next rotation", e);
+        }
+    }
+
+    /**
+     * Immutable state of the key set that replaced as a whole on rotation
+     */
+    private static final class KeySetState {
+        private final long version;
+        private final JwtSigningKey activeKey;
+        private final JwtSigningKey nextKey;
+        private final List<JwtSigningKey> previousKeys;
+        private final List<JwtSigningKey> allKeys;
+
+        KeySetState(long version, JwtSigningKey activeKey, JwtSigningKey nextKey, List<JwtSigningKey> previousKeys) {
+            this.version = version;
+            this.activeKey = activeKey;
+            this.nextKey = nextKey;
+            this.previousKeys = previousKeys;
+            List<JwtSigningKey> keys = new ArrayList<>(previousKeys.size() + 2);
+            keys.add(activeKey);
+            keys.add(nextKey);
+            keys.addAll(previousKeys);
+            this.allKeys = Collections.unmodifiableList(keys);
+        }
+    }
+}
@@ -1,57 +1,267 @@
 package com.odeyalo.kyrie.core.oauth2.tokens.refresh;
 
 import com.odeyalo.kyrie.core.oauth2.RefreshToken;
+import com.odeyalo.kyrie.support.expiry.ExpiryWheel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Store te refresh token in Map
+ * <p>Store the refresh tokens in memory using concurrent maps.</p>
+ * <p>
+ * Tokens are indexed by id, by token value, by client id and by token family, so lookups do not depend on the number of stored tokens
+ * and all tokens of the client or of the family can be revoked at once.
+ * Expired tokens are never returned and are removed by {@link ExpiryWheel} in background.
+ * </p>
+ * @version 1.1
  */
 @Component
-public class InMemoryRefreshTokenRepository implements RefreshTokenRepository {
-    private final Map<String, RefreshToken> store;
+public class InMemoryRefreshTokenRepository implements RefreshTokenRepository, AutoCloseable {
+    private static final Duration DEFAULT_TICK_DURATION = Duration.ofMinutes(1);
+    private static final int DEFAULT_WHEEL_SIZE = 1024;
+
+    private final Map<String, StoredRefreshToken> tokensById = new ConcurrentHashMap<>();
+    private final Map<String, StoredRefreshToken> tokensByValue = new ConcurrentHashMap<>();
+    private final Map<String, Set<StoredRefreshToken>> tokensByClientId = new ConcurrentHashMap<>();
+    private final Map<String, Set<StoredRefreshToken>> tokensByFamilyId = new ConcurrentHashMap<>();
+    private final ExpiryWheel<StoredRefreshToken> expiryWheel;
     private final Logger logger = LoggerFactory.getLogger(InMemoryRefreshTokenRepository.class);
 
     public InMemoryRefreshTokenRepository() {
-        this.store = new HashMap<>();
+        this(DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE);
     }
 
-    public InMemoryRefreshTokenRepository(Map<String, RefreshToken> store) {
-        this.store = store;
+    /**
+     * @param tickDuration - how often expired tokens are removed
+     * @param wheelSize - number of slots in expiry wheel
+     */
+    public InMemoryRefreshTokenRepository(Duration tickDuration, int wheelSize) {
+        this.expiryWheel = new ExpiryWheel<>(tickDuration, wheelSize, this::remove, "kyrie-refresh-token-expiration");
     }
 
     @Override
     public void save(String id, RefreshToken token) {
-        store.put(id, token);
-        logger.info("Saved token with id: {}, {}", id, token);
+        StoredRefreshToken stored = new StoredRefreshToken(id, token);
+        StoredRefreshToken previousById = tokensById.put(id, stored);
+        if (previousById != null) {
+            tokensByValue.remove(previousById.getTokenValue(), previousById);
+            removeFromSecondaryIndexes(previousById);
+        }
+        // Token value is unique, the same token saved with other id replaces the old entry
+        StoredRefreshToken previousByValue = tokensByValue.put(stored.getTokenValue(), stored);
+        if (previousByValue != null && previousByValue != previousById) {
+            tokensById.remove(previousByValue.getId(), previousByValue);
+            removeFromSecondaryIndexes(previousByValue);
+        }
+        addToIndex(tokensByClientId, stored.getClientId(), stored);
+        addToIndex(tokensByFamilyId, stored.getFamilyId(), stored);
+        if (token.getExpiresIn() != null) {
+            expiryWheel.schedule(stored, token.getExpiresIn().toEpochMilli());
+        }
+        this.logger.debug("Saved refresh token with id: {}", id);
     }
 
     @Override
     public RefreshToken findById(String id) {
-        return store.get(id);
+        return unwrap(tokensById.get(id));
     }
 
     @Override
     public RefreshToken findByTokenValue(String tokenValue) {
-        return store.values().stream().filter(token -> token.getTokenValue().equals(tokenValue)).findFirst().orElse(null);
+        return unwrap(tokensByValue.get(tokenValue));
     }
 
     @Override
     public void update(String oldTokenId, RefreshToken newToken) {
-        store.put(oldTokenId, newToken);
+        save(oldTokenId, newToken);
     }
 
     @Override
     public void deleteById(String id) {
-        store.remove(id);
+        StoredRefreshToken stored = tokensById.get(id);
+        if (stored != null) {
+            remove(stored);
+        }
     }
 
     @Override
     public void deleteByTokenValue(String tokenValue) {
-        store.values().removeIf(token -> token.getTokenValue().equals(tokenValue));
+        StoredRefreshToken stored = tokensByValue.get(tokenValue);
+        if (stored != null) {
+            remove(stored);
+        }
+    }
+
+    @Override
+    public List<RefreshToken> findAllByClientId(String clientId) {
+        Set<StoredRefreshToken> clientTokens = tokensByClientId.get(clientId);
+        if (clientTokens == null) {
+            return Collections.emptyList();
+        }
+        List<RefreshToken> tokens = new ArrayList<>(clientTokens.size());
+        for (StoredRefreshToken stored : clientTokens) {
+            RefreshToken token = unwrap(stored);
+            // Skip the entry that was removed concurrently with the save
+            if (token != null && tokensById.get(stored.getId()) == stored) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    @Override
+    public long deleteAllByClientId(String clientId) {
+        long deleted = deleteAll(tokensByClientId.remove(clientId));
+        this.logger.debug("Deleted {} refresh tokens of the client: {}", deleted, clientId);
+        return deleted;
+    }
+
+    @Override
+    public long deleteAllByFamilyId(String familyId) {
+        long deleted = deleteAll(tokensByFamilyId.remove(familyId));
+        this.logger.debug("Deleted {} refresh tokens of the family: {}", deleted, familyId);
+        return deleted;
+    }
+
+    @Override
+    public boolean deactivate(String tokenValue) {
+        StoredRefreshToken stored = tokensByValue.get(tokenValue);
+        if (stored == null || stored.getToken().isExpired()) {
+            return false;
+        }
+        // The token object is shared, so the check and the update must be done under the same lock
+        synchronized (stored) {
+            RefreshToken token = stored.getToken();
+            if (!token.isActive()) {
+                return false;
+            }
+            token.setActive(false);
+            return true;
+        }
+    }
+
+    /**
+     * @return - number of stored tokens, including expired tokens that were not removed yet
+     */
+    public int size() {
+        return tokensById.size();
+    }
+
+    /**
+     * Start the background removal of the expired tokens
+     */
+    @PostConstruct
+    public void start() {
+        expiryWheel.start();
+    }
+
+    @Override
+    public void close() {
+        expiryWheel.close();
+    }
+
+    private void remove(StoredRefreshToken stored) {
+        // Conditional removal, so the token that was already replaced is not touched
+        tokensById.remove(stored.getId(), stored);
+        tokensByValue.remove(stored.getTokenValue(), stored);
+        removeFromSecondaryIndexes(stored);
+    }
+
+    private long deleteAll(Set<StoredRefreshToken> tokens) {
+        if (tokens == null) {
+            return 0;
+        }
+        long deleted = 0;
+        for (StoredRefreshToken stored : tokens) {
+            if (tokensById.remove(stored.getId(), stored)) {
+                deleted++;
+            }
+            tokensByValue.remove(stored.getTokenValue(), stored);
+            removeFromSecondaryIndexes(stored);
+        }
+        return deleted;
+    }
+
+    private void removeFromSecondaryIndexes(StoredRefreshToken stored) {
+        removeFromIndex(tokensByClientId, stored.getClientId(), stored);
+        removeFromIndex(tokensByFamilyId, stored.getFamilyId(), stored);
+    }
+
+    private static void addToIndex(Map<String, Set<StoredRefreshToken>> index, String key, StoredRefreshToken stored) {
+        if (key == null) {
+            return;
+        }
+        index.compute(key, (k, tokens) -> {
+            Set<StoredRefreshToken> result = tokens != null ? tokens : ConcurrentHashMap.newKeySet();
+            result.add(stored);
+            return result;
+        });
+    }
+
+    private static void removeFromIndex(Map<String, Set<StoredRefreshToken>> index, String key, StoredRefreshToken stored) {
+        if (key == null) {
+            return;
+        }
+        // Empty sets are removed to not keep the keys that have no tokens anymore
+        index.computeIfPresent(key, (k, tokens) -> {
+            tokens.remove(stored);
+            return tokens.isEmpty() ? null : tokens;
+        });
+    }
+
+    private RefreshToken unwrap(StoredRefreshToken stored) {
+        if (stored == null || stored.getToken().isExpired()) {
+            return null;
+        }
+        return stored.getToken();
+    }
+
+    /**
+     * Refresh token with the values that were used to index it.
+     * Uses identity equality, so the same token saved twice is stored as two different entries
+     */
+    private static final class StoredRefreshToken {
+        private final String id;
+        private final String tokenValue;
+        private final String clientId;
+        private final String familyId;
+        private final RefreshToken token;
+
+        StoredRefreshToken(String id, RefreshToken token) {
+            this.id = id;
+            this.tokenValue = token.getTokenValue();
+            this.clientId = token.getClientId();
+            this.familyId = token.getFamilyId();
+            this.token = token;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        String getTokenValue() {
+            return tokenValue;
+        }
+
+        String getClientId() {
+            return clientId;
+        }
+
+        String getFamilyId() {
+            return familyId;
+        }
+
+        RefreshToken getToken() {
+            return token;
+        }
     }
 }
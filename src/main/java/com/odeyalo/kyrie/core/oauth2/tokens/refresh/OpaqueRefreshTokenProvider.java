@@ -1,38 +1,85 @@
 package com.odeyalo.kyrie.core.oauth2.tokens.refresh;
 
+import com.odeyalo.kyrie.core.Oauth2User;
 import com.odeyalo.kyrie.core.oauth2.RefreshToken;
 import com.odeyalo.kyrie.support.ClientId;
-import org.apache.commons.lang.RandomStringUtils;
+import com.odeyalo.kyrie.support.token.TokenValueGenerator;
+import com.odeyalo.kyrie.support.token.TokenValueGenerators;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+
 /**
  * {@link RefreshTokenProvider} implementation that working with only opaque tokens.
  * <p>Opaque token is fully random string that stored in database</p>
+ * <p>
+ * Tokens are rotated: every use of the token deactivates it and issues new token of the same family.
+ * If deactivated token is used again, then it was most likely stolen, and the whole family is removed.
+ * </p>
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc6749#section-10.4">Refresh Tokens</a>
  */
 @Component
 public class OpaqueRefreshTokenProvider implements RefreshTokenProvider {
+    /**
+     * Default life time of the refresh token, 30 days
+     */
+    public static final long DEFAULT_EXPIRE_TIME_SECONDS = 2592000;
+    private static final int FAMILY_ID_LENGTH = 16;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenValueGenerator tokenValueGenerator;
+    private final long expireTimeSeconds;
+    private final Logger logger = LoggerFactory.getLogger(OpaqueRefreshTokenProvider.class);
 
     public OpaqueRefreshTokenProvider(RefreshTokenRepository refreshTokenRepository) {
+        this(refreshTokenRepository, TokenValueGenerators.getDefault(), DEFAULT_EXPIRE_TIME_SECONDS);
+    }
+
+    @Autowired
+    public OpaqueRefreshTokenProvider(RefreshTokenRepository refreshTokenRepository,
+                                      TokenValueGenerator tokenValueGenerator,
+                                      @Value("${kyrie.tokens.refresh.expire-time-seconds:2592000}") long expireTimeSeconds) {
         this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenValueGenerator = tokenValueGenerator;
+        this.expireTimeSeconds = expireTimeSeconds;
     }
 
     @Override
     public RefreshToken generateToken(ClientId clientId, String[] scopes) {
-        String opaqueToken = RandomStringUtils.randomAlphanumeric(30);
-
-        String clientIdValue = clientId.getClientIdValue();
+        return generateToken(clientId, null, scopes);
+    }
 
-        RefreshToken token = RefreshToken.builder()
-                .tokenValue(opaqueToken)
-                .active(true)
-                .clientId(clientIdValue)
-                .scopes(scopes)
-                .build();
-        // Using client id as refresh token id, to avoid unnecessary id generation
-        refreshTokenRepository.save(clientIdValue, token);
+    @Override
+    public RefreshToken generateToken(ClientId clientId, Oauth2User user, String[] scopes) {
+        // The first token of the family, the family id is not secret and does not need the full entropy
+        return createToken(clientId.getClientIdValue(), user, scopes, tokenValueGenerator.generate(FAMILY_ID_LENGTH));
+    }
 
-        return token;
+    @Override
+    public RefreshToken rotateToken(String tokenValue) {
+        RefreshToken current = refreshTokenRepository.findByTokenValue(tokenValue);
+        if (current == null) {
+            return null;
+        }
+        if (!refreshTokenRepository.deactivate(tokenValue)) {
+            this.logger.warn("Deactivated refresh token was used again, removing the token family: {}", current.getFamilyId());
+            if (current.getFamilyId() != null) {
+                refreshTokenRepository.deleteAllByFamilyId(current.getFamilyId());
+            } else {
+                refreshTokenRepository.deleteByTokenValue(tokenValue);
+            }
+            return null;
+        }
+        RefreshToken next = createToken(current.getClientId(), current.getUser(), current.getScopes(), current.getFamilyId());
+        // The family could be removed while the new token was created, the new token must not survive the removal
+        if (refreshTokenRepository.findByTokenValue(tokenValue) == null) {
+            refreshTokenRepository.deleteByTokenValue(next.getTokenValue());
+            return null;
+        }
+        return next;
     }
 
     @Override
@@ -42,13 +89,35 @@ public class OpaqueRefreshTokenProvider implements RefreshTokenProvider {
 
     @Override
     public void deactivateToken(String tokenValue) {
-        RefreshToken refreshToken = refreshTokenRepository.findByTokenValue(tokenValue);
-        refreshToken.setActive(false);
-        refreshTokenRepository.save(refreshToken.getClientId(), refreshToken);
+        refreshTokenRepository.deactivate(tokenValue);
     }
 
     @Override
     public void removeToken(String tokenValue) {
         refreshTokenRepository.deleteByTokenValue(tokenValue);
     }
+
+    @Override
+    public long removeAllTokens(String clientId) {
+        return refreshTokenRepository.deleteAllByClientId(clientId);
+    }
+
+    private RefreshToken createToken(String clientId, Oauth2User user, String[] scopes, String familyId) {
+        String opaqueToken = tokenValueGenerator.generate();
+        Instant issuedAt = Instant.now();
+
+        RefreshToken token = RefreshToken.builder()
+                .tokenValue(opaqueToken)
+                .issuedAt(issuedAt)
+                .expiresIn(issuedAt.plusSeconds(expireTimeSeconds))
+                .active(true)
+                .clientId(clientId)
+                .scopes(scopes)
+                .familyId(familyId)
+                .user(user)
+                .build();
+        // Using token value as refresh token id, since it is unique and client can have many refresh tokens
+        refreshTokenRepository.save(opaqueToken, token);
+        return token;
+    }
 }
@@ -1,5 +1,6 @@
 package com.odeyalo.kyrie.core.oauth2.tokens.refresh;
 
+import com.odeyalo.kyrie.core.Oauth2User;
 import com.odeyalo.kyrie.core.oauth2.RefreshToken;
 import com.odeyalo.kyrie.support.ClientId;
 import org.springframework.util.Assert;
@@ -19,6 +20,30 @@ public interface RefreshTokenProvider {
      */
     RefreshToken generateToken(ClientId clientId, String[] scopes);
 
+    /**
+     * Generate the refresh token for the specific Oauth2Client that can be used to obtain new access tokens for the user.
+     * By default, the user is ignored, implementations that support refresh_token grant must store the user.
+     *
+     * @param clientId - client id that requested refresh token
+     * @param user - user that granted access, can be null
+     * @param scopes - specific scopes that this refresh token contains
+     * @return - generated refresh token
+     */
+    default RefreshToken generateToken(ClientId clientId, Oauth2User user, String[] scopes) {
+        return generateToken(clientId, scopes);
+    }
+
+    /**
+     * <p>Deactivate the refresh token and issue new refresh token with the same client, user and scopes instead.</p>
+     * <p>
+     * Deactivation must be atomic, only one of the concurrent callers can rotate the token.
+     * If the token was already deactivated, then it is reused and all tokens issued by rotation of the same original token must be removed.
+     * </p>
+     * @param tokenValue - value of the token to rotate
+     * @return - new refresh token, null if token does not exist, is expired or was already used
+     */
+    RefreshToken rotateToken(String tokenValue);
+
     /**
      * Used to get refresh token by refresh token value.
      *
@@ -60,4 +85,11 @@ public interface RefreshTokenProvider {
         Assert.notNull(refreshToken, "The RefreshToken must be not null!");
         removeToken(refreshToken.getTokenValue());
     }
+
+    /**
+     * Remove all refresh tokens that were issued to the client, e.g. when client credentials were compromised
+     * @param clientId - client id associated with tokens
+     * @return - number of removed tokens
+     */
+    long removeAllTokens(String clientId);
 }
@@ -2,6 +2,8 @@ package com.odeyalo.kyrie.core.oauth2.tokens.refresh;
 
 import com.odeyalo.kyrie.core.oauth2.RefreshToken;
 
+import java.util.List;
+
 /**
  * Simple repository that provides basic CRUD operations for {@link RefreshToken}
  */
@@ -45,4 +47,33 @@ public interface RefreshTokenRepository {
      * @param tokenValue - token value
      */
     void deleteByTokenValue(String tokenValue);
+
+    /**
+     * Return all refresh tokens that were issued to the client
+     * @param clientId - client id associated with tokens
+     * @return - list of the tokens, empty list if nothing was found
+     */
+    List<RefreshToken> findAllByClientId(String clientId);
+
+    /**
+     * Delete all refresh tokens that were issued to the client
+     * @param clientId - client id associated with tokens
+     * @return - number of deleted tokens
+     */
+    long deleteAllByClientId(String clientId);
+
+    /**
+     * Delete all refresh tokens that belong to the token family
+     * @param familyId - id of the token family
+     * @return - number of deleted tokens
+     */
+    long deleteAllByFamilyId(String familyId);
+
+    /**
+     * Atomically mark the active refresh token as non-active.
+     * If several callers deactivate the same token at the same time, only one of them receives true
+     * @param tokenValue - token value to deactivate
+     * @return - true if token was active and has been deactivated by this call, false if token does not exist or is already non-active
+     */
+    boolean deactivate(String tokenValue);
 }
@@ -1,8 +1,9 @@
 package com.odeyalo.kyrie.core.support.web;
 
+import com.odeyalo.kyrie.support.token.TokenValueGenerator;
+import com.odeyalo.kyrie.support.token.TokenValueGenerators;
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import org.apache.commons.lang.RandomStringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
@@ -22,6 +23,15 @@ import java.util.Iterator;
  */
 public class HttpSessionTemporaryRequestAttributesRepository implements TemporaryRequestAttributesRepository {
     private final Logger logger = LoggerFactory.getLogger(HttpSessionTemporaryRequestAttributesRepository.class);
+    private final TokenValueGenerator tokenValueGenerator;
+
+    public HttpSessionTemporaryRequestAttributesRepository() {
+        this(TokenValueGenerators.getDefault());
+    }
+
+    public HttpSessionTemporaryRequestAttributesRepository(TokenValueGenerator tokenValueGenerator) {
+        this.tokenValueGenerator = tokenValueGenerator;
+    }
 
     @Override
     public void save(HttpServletRequest request, String key, Object value) {
@@ -33,7 +43,7 @@ public class HttpSessionTemporaryRequestAttributesRepository implements Temporar
     @Override
     public void save(HttpServletRequest request, Object value) {
         Assert.notNull(value, "The value must be not null!");
-        String key = value.getClass().getSimpleName() + RandomStringUtils.randomAlphanumeric(5);
+        String key = value.getClass().getSimpleName() + tokenValueGenerator.generate(5);
         save(request, key, value);
     }
 
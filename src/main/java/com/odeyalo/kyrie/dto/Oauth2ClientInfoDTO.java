@@ -0,0 +1,26 @@
+package com.odeyalo.kyrie.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Represent the registered client in admin API responses. The client secret is never returned
+ */
+@Data
+@AllArgsConstructor
+public class Oauth2ClientInfoDTO {
+    @JsonProperty("client_id")
+    private final String clientId;
+    @JsonProperty("client_type")
+    private final Oauth2Client.ClientType clientType;
+    @JsonProperty("redirect_uris")
+    private final Set<String> redirectUris;
+
+    public static Oauth2ClientInfoDTO from(Oauth2Client client) {
+        return new Oauth2ClientInfoDTO(client.getClientId(), client.getClientType(), client.getAllowedRedirectUris());
+    }
+}
@@ -0,0 +1,42 @@
+package com.odeyalo.kyrie.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * Dto class to register or replace the client using admin API.
+ * Exactly one of 'client_secret' and 'encoded_client_secret' is required for confidential clients
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Oauth2ClientRegistrationDTO {
+    /**
+     * Required only for bulk import, for single client the id is taken from path
+     */
+    @JsonProperty("client_id")
+    private String clientId;
+    /**
+     * Raw secret, will be hashed before saving
+     */
+    @JsonProperty("client_secret")
+    @ToString.Exclude
+    private String clientSecret;
+    /**
+     * Secret that is already hashed, e.g. '{bcrypt}$2a$10$...', saved as is.
+     * Used for bulk import, since hashing of the millions of secrets takes hours
+     */
+    @JsonProperty("encoded_client_secret")
+    @ToString.Exclude
+    private String encodedClientSecret;
+    @JsonProperty("client_type")
+    private Oauth2Client.ClientType clientType;
+    @JsonProperty("redirect_uris")
+    private Set<String> redirectUris;
+}
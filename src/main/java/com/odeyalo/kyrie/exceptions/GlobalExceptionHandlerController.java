@@ -53,6 +53,15 @@ public class GlobalExceptionHandlerController {
     }
 
 
+    @ExceptionHandler(TooManyAuthenticationAttemptsOauth2Exception.class)
+    public ResponseEntity<?> handleTooManyAuthenticationAttemptsOauth2Exception(TooManyAuthenticationAttemptsOauth2Exception exception) {
+        ApiErrorMessage message = new ApiErrorMessage(exception.getErrorType().getErrorName(), exception.getDescription());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(message);
+    }
+
     @ExceptionHandler(InvalidClientCredentialsException.class)
     public ResponseEntity<?> handleInvalidClientCredentialsException(InvalidClientCredentialsException exception) {
 
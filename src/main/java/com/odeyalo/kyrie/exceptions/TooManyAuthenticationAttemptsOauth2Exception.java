@@ -0,0 +1,19 @@
+package com.odeyalo.kyrie.exceptions;
+
+/**
+ * Exception to throw when the authentication attempt was rejected because of too many recent failures
+ */
+public class TooManyAuthenticationAttemptsOauth2Exception extends Oauth2Exception {
+    public static final Oauth2ErrorType TOO_MANY_ATTEMPTS_ERROR_TYPE = new Oauth2ErrorType("too_many_attempts");
+    // Number of seconds after which the attempt can be retried
+    private final long retryAfterSeconds;
+
+    public TooManyAuthenticationAttemptsOauth2Exception(String message, String description, long retryAfterSeconds) {
+        super(message, description, TOO_MANY_ATTEMPTS_ERROR_TYPE);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,9 +1,8 @@
 package com.odeyalo.kyrie.support;
 
 import com.odeyalo.kyrie.core.oauth2.Oauth2Token;
+import com.odeyalo.kyrie.core.oauth2.client.redirect.RedirectUri;
 
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.util.Optional;
 
 /**
@@ -30,12 +29,12 @@ public abstract class Oauth2Utils {
         return AdvancedStringUtils.spaceDelimitedListToStringArray(rawScopes);
     }
 
+    /**
+     * Check that uri is valid absolute http or https uri, without creating new objects
+     * @param uri - uri to check
+     * @return - true if uri is valid, false otherwise
+     */
     public static boolean isUriValid(String uri) {
-        try {
-            new URL(uri);
-            return true;
-        } catch (MalformedURLException e) {
-            return false;
-        }
+        return RedirectUri.isValidHttp(uri);
     }
 }
@@ -0,0 +1,50 @@
+package com.odeyalo.kyrie.support.bpp.wrapper;
+
+import com.odeyalo.kyrie.core.oauth2.client.CachingOauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.InMemoryOauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.ShardedInMemoryOauth2ClientRepository;
+import org.springframework.beans.BeansException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * <p>Simple {@link org.springframework.beans.factory.config.BeanPostProcessor}
+ * that wraps all {@link Oauth2ClientRepository} implementations in {@link CachingOauth2ClientRepository}.</p>
+ * <p>{@link InMemoryOauth2ClientRepository} and {@link ShardedInMemoryOauth2ClientRepository} are not wrapped,
+ * since the lookup in memory is cheaper than the lookup in the cache.</p>
+ * <p>The wrapped bean is replaced in the context, so it can be injected only as {@link Oauth2ClientRepository}, injection
+ * by the concrete class fails. Use {@link CachingOauth2ClientRepository#getDelegate()} to access the original bean,
+ * or disable the cache with {@code kyrie.oauth2.client.cache.enabled=false}.
+ * The wrapper closes the original bean on shutdown instead of the container.</p>
+ *
+ * @see CachingOauth2ClientRepository
+ */
+@Component
+@ConditionalOnProperty(name = "kyrie.oauth2.client.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingOauth2ClientRepositoryWrapperBeanPostProcessor extends AbstractDecoratorWrapperBeanPostProcessorSupport {
+    private static final String PROPERTY_PREFIX = "kyrie.oauth2.client.cache.";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof Oauth2ClientRepository) || isInMemory(bean) || bean instanceof CachingOauth2ClientRepository) {
+            return bean;
+        }
+        Environment environment = context.getEnvironment();
+        int maxSize = environment.getProperty(PROPERTY_PREFIX + "max-size", Integer.class, CachingOauth2ClientRepository.DEFAULT_MAX_SIZE);
+        long ttlSeconds = environment.getProperty(PROPERTY_PREFIX + "ttl-seconds", Long.class, CachingOauth2ClientRepository.DEFAULT_TIME_TO_LIVE.getSeconds());
+        long negativeTtlSeconds = environment.getProperty(PROPERTY_PREFIX + "negative-ttl-seconds", Long.class, CachingOauth2ClientRepository.DEFAULT_NEGATIVE_TIME_TO_LIVE.getSeconds());
+        long refreshAheadSeconds = environment.getProperty(PROPERTY_PREFIX + "refresh-ahead-seconds", Long.class, CachingOauth2ClientRepository.DEFAULT_REFRESH_AHEAD.getSeconds());
+
+        this.logger.debug("Wrap Oauth2ClientRepository bean: {} in CachingOauth2ClientRepository", beanName);
+        return new CachingOauth2ClientRepository((Oauth2ClientRepository) bean, maxSize, Duration.ofSeconds(ttlSeconds),
+                Duration.ofSeconds(negativeTtlSeconds), Duration.ofSeconds(refreshAheadSeconds), null);
+    }
+
+    private boolean isInMemory(Object bean) {
+        return bean instanceof InMemoryOauth2ClientRepository || bean instanceof ShardedInMemoryOauth2ClientRepository;
+    }
+}
@@ -0,0 +1,114 @@
+package com.odeyalo.kyrie.support.bpp.wrapper;
+
+import com.odeyalo.kyrie.core.authentication.BlockingOauth2UserAuthenticationServiceAdapter;
+import com.odeyalo.kyrie.core.authentication.EventPublisherOauth2UserAuthenticationServiceDecorator;
+import com.odeyalo.kyrie.core.authentication.ExecutorAsyncOauth2UserAuthenticationServiceAdapter;
+import com.odeyalo.kyrie.core.authentication.InMemoryOauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.authentication.MetricsOauth2UserAuthenticationServiceDecorator;
+import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.metrics.KyrieMetricNames;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import com.odeyalo.kyrie.core.oauth2.client.ClientCredentialsValidator;
+import com.odeyalo.kyrie.core.oauth2.client.MetricsClientCredentialsValidatorDecorator;
+import com.odeyalo.kyrie.core.oauth2.client.ShardedInMemoryOauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.flow.MetricsOauth2FlowHandlerFactoryDecorator;
+import com.odeyalo.kyrie.core.oauth2.flow.Oauth2FlowHandlerFactory;
+import com.odeyalo.kyrie.core.oauth2.support.MetricsRedirectUrlCreationServiceFactoryDecorator;
+import com.odeyalo.kyrie.core.oauth2.support.RedirectUrlCreationServiceFactory;
+import com.odeyalo.kyrie.core.oauth2.tokens.AccessTokenGranterStrategy;
+import com.odeyalo.kyrie.core.oauth2.tokens.MetricsAccessTokenGranterStrategyDecorator;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.InMemoryAuthorizationCodeStore;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted.InMemoryAuthorizationCodeReplayGuard;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.JwtTokenProvider;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.MetricsJwtTokenProviderDecorator;
+import com.odeyalo.kyrie.core.oauth2.tokens.refresh.InMemoryRefreshTokenRepository;
+import org.springframework.beans.BeansException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>{@link org.springframework.beans.factory.config.BeanPostProcessor} that decorates the hot paths with the timers of {@link KyrieMetrics}:</p>
+ * <ul>
+ *     <li>{@link AccessTokenGranterStrategy} - {@link MetricsAccessTokenGranterStrategyDecorator}</li>
+ *     <li>{@link JwtTokenProvider} - {@link MetricsJwtTokenProviderDecorator}</li>
+ *     <li>{@link Oauth2UserAuthenticationService} - {@link MetricsOauth2UserAuthenticationServiceDecorator}</li>
+ *     <li>{@link ClientCredentialsValidator} - {@link MetricsClientCredentialsValidatorDecorator}</li>
+ *     <li>{@link Oauth2FlowHandlerFactory} - {@link MetricsOauth2FlowHandlerFactoryDecorator}</li>
+ *     <li>{@link RedirectUrlCreationServiceFactory} - {@link MetricsRedirectUrlCreationServiceFactoryDecorator}</li>
+ * </ul>
+ * <p>The sizes of the in-memory stores are registered as gauges.</p>
+ * <p>
+ * The post processor has the lowest precedence, so the time spent in other decorators is also recorded.
+ * {@link KyrieMetrics} is resolved on the first decorated bean, so the meter registry is not created by the post processor registration.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "kyrie.oauth2.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsWrapperBeanPostProcessor extends AbstractDecoratorWrapperBeanPostProcessorSupport {
+    private KyrieMetrics metrics;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        registerGauges(bean);
+        if (bean instanceof AccessTokenGranterStrategy && !(bean instanceof MetricsAccessTokenGranterStrategyDecorator)) {
+            return decorated(beanName, new MetricsAccessTokenGranterStrategyDecorator((AccessTokenGranterStrategy) bean, metrics()));
+        }
+        if (bean instanceof JwtTokenProvider && !(bean instanceof MetricsJwtTokenProviderDecorator)) {
+            return decorated(beanName, new MetricsJwtTokenProviderDecorator((JwtTokenProvider) bean, metrics()));
+        }
+        if (bean instanceof Oauth2UserAuthenticationService && isUserStore(bean)) {
+            return decorated(beanName, MetricsOauth2UserAuthenticationServiceDecorator.decorate((Oauth2UserAuthenticationService) bean, metrics()));
+        }
+        if (bean instanceof ClientCredentialsValidator && !(bean instanceof MetricsClientCredentialsValidatorDecorator)) {
+            return decorated(beanName, new MetricsClientCredentialsValidatorDecorator((ClientCredentialsValidator) bean, metrics()));
+        }
+        if (bean instanceof Oauth2FlowHandlerFactory && !(bean instanceof MetricsOauth2FlowHandlerFactoryDecorator)) {
+            return decorated(beanName, new MetricsOauth2FlowHandlerFactoryDecorator((Oauth2FlowHandlerFactory) bean, metrics()));
+        }
+        if (bean instanceof RedirectUrlCreationServiceFactory && !(bean instanceof MetricsRedirectUrlCreationServiceFactoryDecorator)) {
+            return decorated(beanName, new MetricsRedirectUrlCreationServiceFactoryDecorator((RedirectUrlCreationServiceFactory) bean, metrics()));
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    private void registerGauges(Object bean) {
+        if (bean instanceof InMemoryOauth2UserAuthenticationService) {
+            metrics().gauge(KyrieMetricNames.STORE_SIZE, (InMemoryOauth2UserAuthenticationService) bean, InMemoryOauth2UserAuthenticationService::size, KyrieMetricNames.STORE_TAG, "users");
+        } else if (bean instanceof ShardedInMemoryOauth2ClientRepository) {
+            metrics().gauge(KyrieMetricNames.STORE_SIZE, (ShardedInMemoryOauth2ClientRepository) bean, ShardedInMemoryOauth2ClientRepository::count, KyrieMetricNames.STORE_TAG, "clients");
+        } else if (bean instanceof InMemoryRefreshTokenRepository) {
+            metrics().gauge(KyrieMetricNames.STORE_SIZE, (InMemoryRefreshTokenRepository) bean, InMemoryRefreshTokenRepository::size, KyrieMetricNames.STORE_TAG, "refresh_tokens");
+        } else if (bean instanceof InMemoryAuthorizationCodeStore) {
+            metrics().gauge(KyrieMetricNames.STORE_SIZE, (InMemoryAuthorizationCodeStore) bean, InMemoryAuthorizationCodeStore::count, KyrieMetricNames.STORE_TAG, "authorization_codes");
+        } else if (bean instanceof InMemoryAuthorizationCodeReplayGuard) {
+            metrics().gauge(KyrieMetricNames.STORE_SIZE, (InMemoryAuthorizationCodeReplayGuard) bean, InMemoryAuthorizationCodeReplayGuard::size, KyrieMetricNames.STORE_TAG, "redeemed_codes");
+        }
+    }
+
+    /**
+     * The decorators and adapters only delegate to the user store, so the time is recorded once around the store itself
+     */
+    private boolean isUserStore(Object bean) {
+        return !(bean instanceof MetricsOauth2UserAuthenticationServiceDecorator)
+                && !(bean instanceof EventPublisherOauth2UserAuthenticationServiceDecorator)
+                && !(bean instanceof BlockingOauth2UserAuthenticationServiceAdapter)
+                && !(bean instanceof ExecutorAsyncOauth2UserAuthenticationServiceAdapter);
+    }
+
+    private Object decorated(String beanName, Object decorator) {
+        this.logger.debug("Decorate bean: {} with: {}", beanName, decorator.getClass().getSimpleName());
+        return decorator;
+    }
+
+    private KyrieMetrics metrics() {
+        if (metrics == null) {
+            metrics = context.getBean(KyrieMetrics.class);
+        }
+        return metrics;
+    }
+}
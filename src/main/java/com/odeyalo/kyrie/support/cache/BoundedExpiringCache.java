@@ -0,0 +1,223 @@
+package com.odeyalo.kyrie.support.cache;
+
+import org.springframework.util.Assert;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * <p>Simple thread-safe in-memory cache with upper bound of the entries and per-entry expiration time.</p>
+ * <p>
+ * Expired entries are removed lazily on access. If the cache is full, then small sample of the entries is checked
+ * and the entry that will expire first is evicted, so put operation never scans whole cache.
+ * </p>
+ * <p>
+ * The bound is strict: new key reserves the slot in the counter before it is inserted, so concurrent puts can't exceed the max size.
+ * </p>
+ * <p>Hits, misses and evictions are counted with {@link LongAdder} and can be obtained using {@link #getStatistics()}</p>
+ *
+ * @param <K> - type of the key
+ * @param <V> - type of the cached value
+ */
+public class BoundedExpiringCache<K, V> {
+    /**
+     * Number of entries that will be checked to find the candidate for eviction
+     */
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final Map<K, CacheEntry<V>> store = new ConcurrentHashMap<>();
+    // Number of the entries in the store plus the slots reserved by puts in progress
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final int maxSize;
+    private final Clock clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedExpiringCache(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    public BoundedExpiringCache(int maxSize, Clock clock) {
+        Assert.isTrue(maxSize > 0, "Max size of the cache must be positive!");
+        Assert.notNull(clock, "Clock cannot be null!");
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Return the value associated with the key, if value is presented and not expired
+     * @param key - key to search
+     * @return - cached value, null otherwise
+     */
+    public V get(K key) {
+        CacheEntry<V> entry = store.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(clock.millis())) {
+            if (store.remove(key, entry)) {
+                reserved.decrementAndGet();
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.getValue();
+    }
+
+    /**
+     * Cache the value for the given time to live
+     * @param key - key to associate value with
+     * @param value - value to cache
+     * @param timeToLive - how long value will be returned from cache
+     */
+    public void put(K key, V value, Duration timeToLive) {
+        put(key, value, clock.millis() + timeToLive.toMillis());
+    }
+
+    /**
+     * Cache the value until the given time. If time already passed, then value will not be cached.
+     * @param key - key to associate value with
+     * @param value - value to cache
+     * @param expiresAtMillis - time in millis since epoch after which value will not be returned from cache
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        Assert.notNull(value, "Null values cannot be cached!");
+        long now = clock.millis();
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        CacheEntry<V> entry = new CacheEntry<>(value, expiresAtMillis);
+        while (true) {
+            // Replacing the value of the existing key does not need new slot
+            if (store.computeIfPresent(key, (k, previous) -> entry) != null) {
+                return;
+            }
+            reserveSlot(now);
+            if (store.putIfAbsent(key, entry) == null) {
+                return;
+            }
+            // Concurrent put of the same key was first, release the slot and replace its value
+            reserved.decrementAndGet();
+        }
+    }
+
+    /**
+     * Remove the value associated with the key
+     * @param key - key to remove
+     */
+    public void invalidate(K key) {
+        if (store.remove(key) != null) {
+            reserved.decrementAndGet();
+        }
+    }
+
+    /**
+     * Remove all entries that matches the predicate
+     * @param predicate - predicate that accepts key and value
+     * @return - number of removed entries
+     */
+    public int invalidateIf(BiPredicate<K, V> predicate) {
+        int removed = 0;
+        for (Map.Entry<K, CacheEntry<V>> entry : store.entrySet()) {
+            if (predicate.test(entry.getKey(), entry.getValue().getValue()) && store.remove(entry.getKey(), entry.getValue())) {
+                reserved.decrementAndGet();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove everything from cache
+     */
+    public void invalidateAll() {
+        for (K key : store.keySet()) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Return number of entries in cache, including expired entries that were not removed yet
+     * @return - number of entries
+     */
+    public int size() {
+        return store.size();
+    }
+
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), store.size());
+    }
+
+    private void reserveSlot(long now) {
+        while (true) {
+            int current = reserved.get();
+            if (current < maxSize) {
+                if (reserved.compareAndSet(current, current + 1)) {
+                    return;
+                }
+                continue;
+            }
+            if (!evictOne(now)) {
+                // All slots are reserved by puts that did not insert the entries yet
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private boolean evictOne(long now) {
+        K candidate = null;
+        long candidateExpiresAt = Long.MAX_VALUE;
+        int checked = 0;
+        for (Map.Entry<K, CacheEntry<V>> entry : store.entrySet()) {
+            long expiresAt = entry.getValue().getExpiresAtMillis();
+            if (expiresAt <= now) {
+                candidate = entry.getKey();
+                break;
+            }
+            if (expiresAt < candidateExpiresAt) {
+                candidate = entry.getKey();
+                candidateExpiresAt = expiresAt;
+            }
+            if (++checked >= EVICTION_SAMPLE_SIZE) {
+                break;
+            }
+        }
+        if (candidate != null && store.remove(candidate) != null) {
+            reserved.decrementAndGet();
+            evictions.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        CacheEntry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        V getValue() {
+            return value;
+        }
+
+        long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.odeyalo.kyrie.support.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Snapshot of the cache counters at the moment of the call
+ * @see BoundedExpiringCache#getStatistics()
+ */
+@Data
+@AllArgsConstructor
+public class CacheStatistics {
+    // Number of the lookups that returned cached value
+    private final long hits;
+    // Number of the lookups that did not find value or found expired value
+    private final long misses;
+    // Number of the entries that were removed because they were expired or cache was full
+    private final long evictions;
+    // Current number of the entries in the cache
+    private final long size;
+
+    /**
+     * @return - ratio of the hits to all lookups, 0 if there were no lookups
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
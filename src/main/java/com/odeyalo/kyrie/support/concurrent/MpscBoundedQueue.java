@@ -0,0 +1,117 @@
+package com.odeyalo.kyrie.support.concurrent;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * <p>Bounded lock-free queue for many producers and single consumer.</p>
+ * <p>
+ * Every slot has a sequence number, producers claim the slot by CAS on the tail and publish the element by updating the sequence,
+ * so producers never wait for each other while the queue has free slots. The consumer reads slots in order without CAS.
+ * Methods {@link #poll()} and {@link #drain(Consumer, int)} must be invoked by one thread at a time.
+ * </p>
+ *
+ * @param <E> - type of the elements
+ */
+public class MpscBoundedQueue<E> {
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final int capacity;
+    private final AtomicLong tail = new AtomicLong();
+    // Written only by consumer, volatile to read the size from other threads
+    private volatile long head;
+
+    /**
+     * Create new MpscBoundedQueue
+     * @param capacity - max number of elements, rounded up to the power of two
+     */
+    public MpscBoundedQueue(int capacity) {
+        Assert.isTrue(capacity >= 2 && capacity <= 1 << 30, "Capacity must be in range [2, 2^30]!");
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.capacity = size;
+    }
+
+    /**
+     * Add the element to the queue if it has free slot
+     * @param element - element to add, not null
+     * @return - true if element was added, false if the queue is full
+     */
+    public boolean offer(E element) {
+        Assert.notNull(element, "Element cannot be null!");
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.lazySet(index, element);
+                    // The element is visible to consumer only after the sequence is updated
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Remove the head element, must be invoked only by the consumer thread
+     * @return - head element or null if queue is empty
+     */
+    public E poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = buffer.get(index);
+        buffer.lazySet(index, null);
+        sequences.set(index, position + capacity);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Remove up to limit elements and pass them to the consumer, must be invoked only by the consumer thread
+     * @param consumer - consumer of the removed elements
+     * @param limit - max number of elements to remove
+     * @return - number of removed elements
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        int drained = 0;
+        E element;
+        while (drained < limit && (element = poll()) != null) {
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * @return - approximate number of elements in the queue, elements that are being added can be counted
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,99 @@
+package com.odeyalo.kyrie.support.concurrent;
+
+import com.odeyalo.kyrie.core.authorization.support.AuthorizationRequestContext;
+import com.odeyalo.kyrie.core.authorization.support.AuthorizationRequestContextHolder;
+import com.odeyalo.kyrie.support.tracing.RequestPhaseTracer;
+import com.odeyalo.kyrie.support.tracing.RequestTrace;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.function.Supplier;
+
+/**
+ * <p>Snapshot of the thread-bound contexts of the current request, used to continue request processing on other thread.</p>
+ * <p>
+ * The snapshot contains the current request and response, {@link SecurityContext}, {@link AuthorizationRequestContext} and {@link RequestTrace}.
+ * The request attributes are re-created on the other thread, since the original ones are completed when the servlet thread leaves the request.
+ * The request and response can be used only while the async processing of the request is not completed.
+ * </p>
+ */
+public final class RequestContextSnapshot {
+    // Null if the snapshot was captured outside of request
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final SecurityContext securityContext;
+    private final AuthorizationRequestContext authorizationRequestContext;
+    // Null if the request is not traced
+    private final RequestTrace trace;
+
+    private RequestContextSnapshot(HttpServletRequest request, HttpServletResponse response,
+                                   SecurityContext securityContext, AuthorizationRequestContext authorizationRequestContext,
+                                   RequestTrace trace) {
+        this.request = request;
+        this.response = response;
+        this.securityContext = securityContext;
+        this.authorizationRequestContext = authorizationRequestContext;
+        this.trace = trace;
+    }
+
+    /**
+     * @return - snapshot of the contexts bound to the current thread
+     */
+    public static RequestContextSnapshot capture() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        HttpServletRequest request = null;
+        HttpServletResponse response = null;
+        if (requestAttributes instanceof ServletRequestAttributes) {
+            request = ((ServletRequestAttributes) requestAttributes).getRequest();
+            response = ((ServletRequestAttributes) requestAttributes).getResponse();
+        }
+        return new RequestContextSnapshot(request, response, SecurityContextHolder.getContext(), AuthorizationRequestContextHolder.getContext(),
+                RequestPhaseTracer.current());
+    }
+
+    /**
+     * Invoke the action with contexts of the snapshot, the contexts of the current thread are restored after invocation
+     * @param action - action to invoke
+     * @param <T> - type of the result
+     * @return - result of the action
+     */
+    public <T> T call(Supplier<T> action) {
+        RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+        SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+        AuthorizationRequestContext previousAuthorizationRequestContext = AuthorizationRequestContextHolder.getContext();
+        RequestTrace previousTrace = RequestPhaseTracer.current();
+        ServletRequestAttributes attributes = request != null ? new ServletRequestAttributes(request, response) : null;
+        RequestContextHolder.setRequestAttributes(attributes);
+        SecurityContextHolder.setContext(securityContext);
+        AuthorizationRequestContextHolder.setContext(authorizationRequestContext);
+        RequestPhaseTracer.setCurrent(trace);
+        try {
+            return action.get();
+        } finally {
+            if (attributes != null) {
+                attributes.requestCompleted();
+            }
+            RequestContextHolder.setRequestAttributes(previousAttributes);
+            SecurityContextHolder.setContext(previousSecurityContext);
+            AuthorizationRequestContextHolder.setContext(previousAuthorizationRequestContext);
+            RequestPhaseTracer.setCurrent(previousTrace);
+        }
+    }
+
+    /**
+     * Invoke the action with contexts of the snapshot
+     * @param action - action to invoke
+     * @see #call(Supplier)
+     */
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.odeyalo.kyrie.support.crypto;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * <p>{@link PasswordEncoder} that does not hash the passwords, the same as {@link org.springframework.security.crypto.password.NoOpPasswordEncoder},
+ * but compares the passwords in constant time, so the comparison time does not depend on the number of matching characters.</p>
+ * <p>Used to support the secrets and passwords that were stored in plain text before hashing was introduced, must not be used for new secrets.</p>
+ */
+public final class ConstantTimePlainTextPasswordEncoder implements PasswordEncoder {
+    private static final ConstantTimePlainTextPasswordEncoder INSTANCE = new ConstantTimePlainTextPasswordEncoder();
+
+    private ConstantTimePlainTextPasswordEncoder() {
+    }
+
+    public static ConstantTimePlainTextPasswordEncoder getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return rawPassword.toString();
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        byte[] raw = rawPassword.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = encodedPassword.getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(raw, encoded);
+    }
+}
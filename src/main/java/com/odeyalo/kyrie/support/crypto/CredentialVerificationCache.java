@@ -0,0 +1,119 @@
+package com.odeyalo.kyrie.support.crypto;
+
+import com.odeyalo.kyrie.support.cache.BoundedExpiringCache;
+import com.odeyalo.kyrie.support.cache.CacheStatistics;
+import org.springframework.util.Assert;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * <p>Cache of the successful password or secret verifications, used to not run slow password hash function for every request of the same principal.</p>
+ * <p>
+ * The presented secret is never stored, the key of the cache is HMAC-SHA256 of the principal and the presented secret,
+ * keyed with random key that is generated for every instance and never leaves the memory.
+ * The entry also remembers the encoded secret it was verified against, so the entry is ignored as soon as the secret is changed.
+ * </p>
+ * <p>Only successful verifications must be cached, otherwise the cache can be filled by the requests with wrong secrets.</p>
+ */
+public class CredentialVerificationCache {
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int KEY_LENGTH = 32;
+
+    private final BoundedExpiringCache<String, VerifiedSecret> cache;
+    private final Duration timeToLive;
+    private final ThreadLocal<Mac> macs;
+
+    public CredentialVerificationCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param maxSize - max number of the cached verifications
+     * @param timeToLive - how long the verification is trusted
+     */
+    public CredentialVerificationCache(int maxSize, Duration timeToLive) {
+        Assert.notNull(timeToLive, "Time to live cannot be null!");
+        Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive!");
+        this.cache = new BoundedExpiringCache<>(maxSize);
+        this.timeToLive = timeToLive;
+        byte[] key = new byte[KEY_LENGTH];
+        new SecureRandom().nextBytes(key);
+        SecretKeySpec keySpec = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> createMac(keySpec));
+    }
+
+    /**
+     * Check if the presented secret was already successfully verified against the given encoded secret
+     * @param principal - client id, username or other unique name of the secret owner
+     * @param presentedSecret - secret from the request
+     * @param encodedSecret - secret that is stored for the principal now
+     * @return - true if verification is cached and the stored secret was not changed since, false otherwise
+     */
+    public boolean isVerified(String principal, String presentedSecret, String encodedSecret) {
+        VerifiedSecret verified = cache.get(computeKey(principal, presentedSecret));
+        return verified != null && verified.principal.equals(principal) && Objects.equals(verified.encodedSecret, encodedSecret);
+    }
+
+    /**
+     * Remember the successful verification
+     * @param principal - client id, username or other unique name of the secret owner
+     * @param presentedSecret - secret from the request
+     * @param encodedSecret - secret that is stored for the principal and was used to verify the presented secret
+     */
+    public void markVerified(String principal, String presentedSecret, String encodedSecret) {
+        cache.put(computeKey(principal, presentedSecret), new VerifiedSecret(principal, encodedSecret), timeToLive);
+    }
+
+    /**
+     * Remove all cached verifications of the principal, e.g. when it was removed
+     * @param principal - client id, username or other unique name of the secret owner
+     */
+    public void invalidate(String principal) {
+        cache.invalidateIf((key, verified) -> verified.principal.equals(principal));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    private String computeKey(String principal, String presentedSecret) {
+        Mac mac = macs.get();
+        mac.update(principal.getBytes(StandardCharsets.UTF_8));
+        // Separator, so 'ab' + 'c' and 'a' + 'bc' produce different keys
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(presentedSecret.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Mac createMac(SecretKeySpec keySpec) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(keySpec);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to create " + HMAC_ALGORITHM + " instance", e);
+        }
+    }
+
+    private static final class VerifiedSecret {
+        private final String principal;
+        private final String encodedSecret;
+
+        VerifiedSecret(String principal, String encodedSecret) {
+            this.principal = principal;
+            this.encodedSecret = encodedSecret;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.odeyalo.kyrie.support.crypto;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.Assert;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Encoded random password that is verified when the account does not exist, so the response time does not reveal whether the account exists.</p>
+ * <p>
+ * The dummy follows the encoding of the stored passwords passed to {@link #adaptTo(String)}: bcrypt hash with the same version and cost,
+ * plain text of the same length or PBKDF2 hash of the same length. Other encodings are replaced with the hash of the default encoding.
+ * Until the first stored password is seen, the dummy is encoded by the password encoder.
+ * </p>
+ * <p>Instances are thread-safe</p>
+ */
+public final class DummyEncodedPassword {
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\$(2a|2b|2y)\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    private static final String BCRYPT_ID = "bcrypt";
+    private static final String PLAIN_TEXT_ID = "noop";
+    private static final String PBKDF2_ID = "pbkdf2";
+    private static final char[] ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    // Mixed encodings would create new bcrypt hash on every switch, so the created dummies are kept by encoding
+    private static final int MAX_ENCODINGS = 16;
+
+    private final PasswordEncoder passwordEncoder;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, String> dummiesByEncoding = new ConcurrentHashMap<>();
+    private volatile String current;
+
+    public DummyEncodedPassword(PasswordEncoder passwordEncoder) {
+        Assert.notNull(passwordEncoder, "PasswordEncoder cannot be null!");
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * Use the dummy in the same encoding as the given stored password. Cheap if the encoding did not change.
+     * @param storedEncodedPassword - encoded password of the existing account, ignored if null
+     */
+    public void adaptTo(String storedEncodedPassword) {
+        if (storedEncodedPassword == null) {
+            return;
+        }
+        String encoding = encodingOf(storedEncodedPassword);
+        String dummy = dummiesByEncoding.get(encoding);
+        if (dummy == null) {
+            dummy = createLike(storedEncodedPassword);
+            if (dummiesByEncoding.size() < MAX_ENCODINGS) {
+                dummiesByEncoding.putIfAbsent(encoding, dummy);
+            }
+        }
+        current = dummy;
+    }
+
+    /**
+     * Verify the presented password against the dummy, the result is always false
+     * @param rawPassword - presented password
+     */
+    public void verify(CharSequence rawPassword) {
+        passwordEncoder.matches(rawPassword == null ? "" : rawPassword, getValue());
+    }
+
+    /**
+     * @return - current dummy encoded password
+     */
+    public String getValue() {
+        String dummy = current;
+        if (dummy == null) {
+            dummy = passwordEncoder.encode(KeyGenerators.string().generateKey());
+            current = dummy;
+        }
+        return dummy;
+    }
+
+    /**
+     * Describe the encoding of the password, the values with the same description are verified in the same time
+     * @param encodedPassword - stored encoded password
+     * @return - the encoding id, with version and cost for bcrypt
+     */
+    static String encodingOf(String encodedPassword) {
+        String id = extractId(encodedPassword);
+        String hash = id == null ? encodedPassword : encodedPassword.substring(id.length() + 2);
+        Matcher bcrypt = BCRYPT_PATTERN.matcher(hash);
+        if (BCRYPT_ID.equals(id) && bcrypt.matches()) {
+            return id + bcrypt.group(1) + bcrypt.group(2);
+        }
+        return String.valueOf(id);
+    }
+
+    private String createLike(String encodedPassword) {
+        String id = extractId(encodedPassword);
+        String prefix = id == null ? "" : "{" + id + "}";
+        String hash = id == null ? encodedPassword : encodedPassword.substring(prefix.length());
+        Matcher bcrypt = BCRYPT_PATTERN.matcher(hash);
+        if (BCRYPT_ID.equals(id) && bcrypt.matches()) {
+            BCryptPasswordEncoder.BCryptVersion version = BCryptPasswordEncoder.BCryptVersion.valueOf("$" + bcrypt.group(1).toUpperCase());
+            int strength = Integer.parseInt(bcrypt.group(2));
+            return prefix + new BCryptPasswordEncoder(version, strength).encode(KeyGenerators.string().generateKey());
+        }
+        if (id == null || PLAIN_TEXT_ID.equals(id)) {
+            return prefix + randomString(ALPHANUMERIC, hash.length());
+        }
+        if (PBKDF2_ID.equals(id)) {
+            return prefix + randomString(HEX, hash.length());
+        }
+        return passwordEncoder.encode(KeyGenerators.string().generateKey());
+    }
+
+    private String randomString(char[] alphabet, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return new String(chars);
+    }
+
+    // The same format as DelegatingPasswordEncoder uses: '{id}encodedPassword'
+    private static String extractId(String encodedPassword) {
+        if (!encodedPassword.startsWith("{")) {
+            return null;
+        }
+        int end = encodedPassword.indexOf('}');
+        return end < 0 ? null : encodedPassword.substring(1, end);
+    }
+}
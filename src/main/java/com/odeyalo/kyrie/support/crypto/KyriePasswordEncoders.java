@@ -0,0 +1,39 @@
+package com.odeyalo.kyrie.support.crypto;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Factory of the {@link PasswordEncoder} that is used by Kyrie to hash and verify client secrets and user passwords
+ */
+public final class KyriePasswordEncoders {
+    /**
+     * Id of the encoder that is used to encode new values
+     */
+    public static final String DEFAULT_ENCODING_ID = "bcrypt";
+
+    private KyriePasswordEncoders() {
+    }
+
+    /**
+     * <p>Create {@link DelegatingPasswordEncoder} that encodes new values with BCrypt and verifies values with '{id}' prefix,
+     * e.g. '{bcrypt}$2a$10$...', '{pbkdf2}...' or '{noop}secret'.</p>
+     * <p>Values without prefix are treated as plain text, so existing configuration keeps working,
+     * all plain text values are compared in constant time.</p>
+     * @return - delegating password encoder
+     */
+    public static PasswordEncoder createDelegatingPasswordEncoder() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(DEFAULT_ENCODING_ID, new BCryptPasswordEncoder());
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder());
+        encoders.put("noop", ConstantTimePlainTextPasswordEncoder.getInstance());
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(DEFAULT_ENCODING_ID, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(ConstantTimePlainTextPasswordEncoder.getInstance());
+        return encoder;
+    }
+}
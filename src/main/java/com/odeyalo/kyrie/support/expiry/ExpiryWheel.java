@@ -0,0 +1,162 @@
+package com.odeyalo.kyrie.support.expiry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <p>Hashed timing wheel that notifies the listener when the element is expired.</p>
+ * <p>
+ * Time is split to ticks, every slot of the wheel contains the elements that expire at the tick with the same index modulo wheel size.
+ * On every tick only one slot is checked, so the cost of the expiration depends on number of the elements that expire
+ * at this tick and not on the number of all scheduled elements.
+ * Elements that expire later than one rotation of the wheel stay in slot until their tick comes.
+ * </p>
+ * <p>
+ * The listener can be called a bit later than the element expiration time (up to one tick), but never earlier.
+ * It is called from the thread that advances the wheel, so it must be fast and must not throw exceptions.
+ * </p>
+ *
+ * @param <T> - type of the scheduled elements
+ */
+public class ExpiryWheel<T> implements AutoCloseable {
+    private final Logger logger = LoggerFactory.getLogger(ExpiryWheel.class);
+    private final Queue<Timeout<T>>[] slots;
+    private final long tickMillis;
+    private final Consumer<T> expirationListener;
+    private final Clock clock;
+    private final String threadName;
+    // The last tick that was processed, elements with deadline before or at this tick are already expired
+    private volatile long processedTick;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param tickDuration - duration of the one tick, expiration precision
+     * @param wheelSize - number of slots in wheel
+     * @param expirationListener - listener that will be called with expired elements
+     * @param threadName - name of the thread that will advance the wheel after {@link #start()}
+     */
+    public ExpiryWheel(Duration tickDuration, int wheelSize, Consumer<T> expirationListener, String threadName) {
+        this(tickDuration, wheelSize, expirationListener, threadName, Clock.systemUTC());
+    }
+
+    @SuppressWarnings("unchecked")
+    public ExpiryWheel(Duration tickDuration, int wheelSize, Consumer<T> expirationListener, String threadName, Clock clock) {
+        Assert.isTrue(tickDuration.toMillis() > 0, "Tick duration must be at least 1 millisecond!");
+        Assert.isTrue(wheelSize > 0, "Wheel size must be positive!");
+        Assert.notNull(expirationListener, "Expiration listener cannot be null!");
+        Assert.notNull(clock, "Clock cannot be null!");
+        this.tickMillis = tickDuration.toMillis();
+        this.slots = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.expirationListener = expirationListener;
+        this.threadName = threadName;
+        this.clock = clock;
+        this.processedTick = clock.millis() / tickMillis;
+    }
+
+    /**
+     * Schedule the element expiration
+     * @param element - element that will be passed to listener
+     * @param expiresAtMillis - time in millis since epoch when element expires
+     */
+    public void schedule(T element, long expiresAtMillis) {
+        // Round up, so element is never reported before its expiration time
+        long deadlineTick = Math.max((expiresAtMillis + tickMillis - 1) / tickMillis, processedTick + 1);
+        slots[(int) (deadlineTick % slots.length)].add(new Timeout<>(element, deadlineTick));
+    }
+
+    /**
+     * Process all ticks that passed since the last call and notify the listener about expired elements.
+     * Called by the background thread after {@link #start()}, but can be called manually as well
+     * @return - number of the expired elements
+     */
+    public synchronized int advance() {
+        long currentTick = clock.millis() / tickMillis;
+        int expired = 0;
+        // Nothing can be found in skipped rotations that will not be found in the last one
+        long tick = Math.max(processedTick, currentTick - slots.length);
+        while (tick < currentTick) {
+            tick++;
+            expired += expireSlot(slots[(int) (tick % slots.length)], tick);
+            processedTick = tick;
+        }
+        return expired;
+    }
+
+    /**
+     * Remove all scheduled elements without notification
+     */
+    public void clear() {
+        for (Queue<Timeout<T>> slot : slots) {
+            slot.clear();
+        }
+    }
+
+    /**
+     * Start the background thread that advances the wheel every tick. Does nothing if the wheel is already started
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::advanceSafely, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private int expireSlot(Queue<Timeout<T>> slot, long tick) {
+        int expired = 0;
+        // Iterator of the ConcurrentLinkedQueue is weakly consistent, elements added during iteration will be checked on next rotation
+        for (Iterator<Timeout<T>> iterator = slot.iterator(); iterator.hasNext(); ) {
+            Timeout<T> timeout = iterator.next();
+            if (timeout.deadlineTick <= tick) {
+                iterator.remove();
+                expirationListener.accept(timeout.element);
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    private void advanceSafely() {
+        try {
+            advance();
+        } catch (Exception ex) {
+            this.logger.error("Failed to process expired elements", ex);
+        }
+    }
+
+    private static final class Timeout<T> {
+        private final T element;
+        private final long deadlineTick;
+
+        Timeout(T element, long deadlineTick) {
+            this.element = element;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.odeyalo.kyrie.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>JFR event that is emitted by the operations of the authorization code store.</p>
+ * <p>The code value is not recorded, since the recording can be shared with people that must not see the codes.</p>
+ *
+ * @see KyrieJfrThresholds
+ */
+@Name(AuthorizationCodeStoreJfrEvent.NAME)
+@Label("Authorization Code Store")
+@Category({"Kyrie", "Authorization Codes"})
+@Description("Operation of the authorization code store")
+@StackTrace(false)
+@Threshold("100 us")
+public class AuthorizationCodeStoreJfrEvent extends jdk.jfr.Event {
+    public static final String NAME = "kyrie.AuthorizationCodeStore";
+    public static final String SAVE = "save";
+    public static final String FIND_BY_ID = "find-by-id";
+    public static final String FIND_BY_VALUE = "find-by-value";
+    public static final String CONSUME = "consume";
+    public static final String DELETE = "delete";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Found")
+    @Description("True if the operation found the code, for save true if the code replaced the code with the same id")
+    private boolean found;
+
+    /**
+     * Commit the event if it is enabled and took longer than the threshold
+     * @param operation - name of the store operation, e.g. {@link #SAVE} or {@link #CONSUME}
+     * @param found - true if the operation found the code
+     */
+    public void complete(String operation, boolean found) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.found = found;
+            commit();
+        }
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+}
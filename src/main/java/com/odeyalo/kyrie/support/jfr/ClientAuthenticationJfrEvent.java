@@ -0,0 +1,53 @@
+package com.odeyalo.kyrie.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event that is emitted when the client is authenticated with client id and client secret.
+ *
+ * @see KyrieJfrThresholds
+ */
+@Name(ClientAuthenticationJfrEvent.NAME)
+@Label("Client Authentication")
+@Category({"Kyrie", "Authentication"})
+@Description("Authentication of the client by client id and client secret")
+@StackTrace(false)
+@Threshold("10 ms")
+public class ClientAuthenticationJfrEvent extends jdk.jfr.Event {
+    public static final String NAME = "kyrie.ClientAuthentication";
+    public static final String AUTHENTICATED = "authenticated";
+    public static final String REJECTED = "rejected";
+    public static final String SKIPPED = "skipped";
+
+    @Label("Client Id")
+    private String clientId;
+
+    @Label("Outcome")
+    private String outcome;
+
+    /**
+     * Commit the event if it is enabled and took longer than the threshold
+     * @param clientId - client id from the request, nullable
+     * @param outcome - {@link #AUTHENTICATED}, {@link #REJECTED} or {@link #SKIPPED} if the request does not contain client credentials
+     */
+    public void complete(String clientId, String outcome) {
+        if (shouldCommit()) {
+            this.clientId = clientId;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+}
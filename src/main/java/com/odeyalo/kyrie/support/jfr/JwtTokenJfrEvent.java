@@ -0,0 +1,65 @@
+package com.odeyalo.kyrie.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>JFR event that is emitted when the jwt token is signed or verified.</p>
+ * <p>Usage: create the event, call {@link #begin()} before the operation and {@link #complete(String, String, String)} after it.</p>
+ *
+ * @see KyrieJfrThresholds
+ */
+@Name(JwtTokenJfrEvent.NAME)
+@Label("JWT Token")
+@Category({"Kyrie", "Tokens"})
+@Description("Signing or verification of the jwt token")
+@StackTrace(false)
+@Threshold("1 ms")
+public class JwtTokenJfrEvent extends jdk.jfr.Event {
+    public static final String NAME = "kyrie.JwtToken";
+    public static final String SIGN = "sign";
+    public static final String VERIFY = "verify";
+    public static final String SUCCESS = "success";
+    public static final String VALID = "valid";
+    public static final String INVALID = "invalid";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Algorithm")
+    private String algorithm;
+
+    @Label("Outcome")
+    private String outcome;
+
+    /**
+     * Commit the event if it is enabled and took longer than the threshold
+     * @param operation - {@link #SIGN} or {@link #VERIFY}
+     * @param algorithm - name of the signature algorithm, e.g. HS256
+     * @param outcome - {@link #SUCCESS} for signing, {@link #VALID} or {@link #INVALID} for verification
+     */
+    public void complete(String operation, String algorithm, String outcome) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.algorithm = algorithm;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+}
@@ -0,0 +1,63 @@
+package com.odeyalo.kyrie.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event that is emitted when the Kyrie event is delivered to the listeners.
+ *
+ * @see KyrieJfrThresholds
+ * @see com.odeyalo.kyrie.core.events.KyrieEventPublisher
+ */
+@Name(KyrieEventDispatchJfrEvent.NAME)
+@Label("Kyrie Event Dispatch")
+@Category({"Kyrie", "Events"})
+@Description("Delivery of the Kyrie event to the listeners")
+@StackTrace(false)
+@Threshold("1 ms")
+public class KyrieEventDispatchJfrEvent extends jdk.jfr.Event {
+    public static final String NAME = "kyrie.EventDispatch";
+    public static final String SYNC = "sync";
+    public static final String ASYNC = "async";
+
+    @Label("Event Type")
+    private String eventType;
+
+    @Label("Delivery")
+    @Description("sync for the synchronous listeners, async for the listeners with asynchronous delivery mode")
+    private String delivery;
+
+    @Label("Listeners")
+    private int listeners;
+
+    /**
+     * Commit the event if it is enabled and took longer than the threshold
+     * @param eventType - simple class name of the Kyrie event
+     * @param delivery - {@link #SYNC} or {@link #ASYNC}
+     * @param listeners - number of the listeners the event was delivered to, -1 if unknown
+     */
+    public void complete(String eventType, String delivery, int listeners) {
+        if (shouldCommit()) {
+            this.eventType = eventType;
+            this.delivery = delivery;
+            this.listeners = listeners;
+            commit();
+        }
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getDelivery() {
+        return delivery;
+    }
+
+    public int getListeners() {
+        return listeners;
+    }
+}
@@ -0,0 +1,102 @@
+package com.odeyalo.kyrie.support.jfr;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Applies the configured thresholds of the Kyrie JFR events to every recording, including recordings started by -XX:StartFlightRecording or jcmd.</p>
+ * <p>
+ * The events without configured threshold use the threshold from {@link jdk.jfr.Threshold} annotation or from the recording settings.
+ * The event that is disabled in the recording settings stays disabled.
+ * While no recording is running, the events cost only the check that the event is enabled.
+ * </p>
+ */
+public class KyrieJfrThresholds implements FlightRecorderListener, AutoCloseable {
+    // The format of the JFR timespan, e.g. '0 ns', '100 us', '10 ms'
+    private static final Pattern TIMESPAN = Pattern.compile("\\d+\\s*(ns|us|ms|s|m|h|d)");
+    private static final String THRESHOLD = "threshold";
+
+    // Event name to threshold
+    private final Map<String, String> thresholds;
+    private volatile boolean registered;
+    private final Logger logger = LoggerFactory.getLogger(KyrieJfrThresholds.class);
+
+    /**
+     * @param thresholds - thresholds in JFR timespan format by event name, e.g. 'kyrie.JwtToken' to '500 us'
+     */
+    public KyrieJfrThresholds(Map<String, String> thresholds) {
+        Assert.notNull(thresholds, "Thresholds cannot be null!");
+        Map<String, String> copy = new LinkedHashMap<>();
+        thresholds.forEach((name, threshold) -> {
+            Assert.hasText(name, "Event name cannot be empty!");
+            Assert.isTrue(threshold != null && TIMESPAN.matcher(threshold.trim()).matches(),
+                    "Threshold of the event " + name + " must be timespan like '10 ms', but was: " + threshold);
+            copy.put(name, threshold.trim());
+        });
+        this.thresholds = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Start to apply the thresholds to the running and future recordings
+     */
+    public void start() {
+        if (thresholds.isEmpty() || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        // If the recorder is already initialized, then the listener is notified immediately
+        FlightRecorder.addListener(this);
+        registered = true;
+        this.logger.info("Thresholds of Kyrie JFR events: {}", thresholds);
+    }
+
+    @Override
+    public void recorderInitialized(FlightRecorder recorder) {
+        for (Recording recording : recorder.getRecordings()) {
+            if (recording.getState() == RecordingState.RUNNING) {
+                apply(recording);
+            }
+        }
+    }
+
+    @Override
+    public void recordingStateChanged(Recording recording) {
+        if (recording.getState() == RecordingState.RUNNING) {
+            apply(recording);
+        }
+    }
+
+    /**
+     * Set the thresholds of the Kyrie events in the given recording
+     * @param recording - recording to change
+     */
+    public void apply(Recording recording) {
+        Map<String, String> settings = recording.getSettings();
+        thresholds.forEach((name, threshold) -> {
+            if (!"false".equals(settings.get(name + "#enabled"))) {
+                recording.enable(name).with(THRESHOLD, threshold);
+            }
+        });
+    }
+
+    public Map<String, String> getThresholds() {
+        return thresholds;
+    }
+
+    @Override
+    public void close() {
+        if (registered) {
+            FlightRecorder.removeListener(this);
+            registered = false;
+        }
+    }
+}
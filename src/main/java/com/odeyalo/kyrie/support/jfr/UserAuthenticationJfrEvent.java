@@ -0,0 +1,57 @@
+package com.odeyalo.kyrie.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>JFR event that is emitted when the user is authenticated with login and password.</p>
+ * <p>
+ * The username is not recorded. For asynchronous authentication the event starts on the request thread
+ * and is committed on the thread that completed the authentication.
+ * </p>
+ *
+ * @see KyrieJfrThresholds
+ */
+@Name(UserAuthenticationJfrEvent.NAME)
+@Label("User Authentication")
+@Category({"Kyrie", "Authentication"})
+@Description("Authentication of the user by login and password")
+@StackTrace(false)
+@Threshold("10 ms")
+public class UserAuthenticationJfrEvent extends jdk.jfr.Event {
+    public static final String NAME = "kyrie.UserAuthentication";
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+    public static final String ERROR = "error";
+
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("Asynchronous")
+    private boolean async;
+
+    /**
+     * Commit the event if it is enabled and took longer than the threshold
+     * @param outcome - {@link #SUCCESS}, {@link #FAILURE} or {@link #ERROR}
+     * @param async - true if the user was authenticated asynchronously
+     */
+    public void complete(String outcome, boolean async) {
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.async = async;
+            commit();
+        }
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+}
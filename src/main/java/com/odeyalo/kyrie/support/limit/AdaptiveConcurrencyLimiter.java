@@ -0,0 +1,151 @@
+package com.odeyalo.kyrie.support.limit;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Limits the number of in-flight requests and adapts the limit to the measured latency using the gradient algorithm.</p>
+ * <ul>
+ *     <li>Short-term latency is the average of the recent requests, long-term latency is the slow average that works as the baseline</li>
+ *     <li>If short-term latency grows above the baseline, the limit is reduced proportionally, so the queue in the slow dependency is drained</li>
+ *     <li>If latency is stable and the limit is actually used, the limit grows by square root of the limit</li>
+ *     <li>Failed requests reduce the limit multiplicatively, since timeouts and errors often mean overload</li>
+ * </ul>
+ * <p>The acquire path is lock-free, the limit is recalculated under the lock when request completes. Instances are thread-safe</p>
+ *
+ * @see <a href="https://github.com/Netflix/concurrency-limits">Netflix concurrency-limits</a>
+ */
+public class AdaptiveConcurrencyLimiter {
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 4;
+    public static final int DEFAULT_MAX_LIMIT = 500;
+    // The short-term latency can exceed the baseline by this factor before the limit is reduced
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+    // Guarded by this
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name) {
+        this(name, DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+    }
+
+    /**
+     * Create new AdaptiveConcurrencyLimiter
+     * @param name - name of the limiter, used in logs and metrics
+     * @param initialLimit - limit that is used until latency is measured
+     * @param minLimit - the limit never goes below this value
+     * @param maxLimit - the limit never goes above this value
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        Assert.notNull(name, "Name cannot be null!");
+        Assert.isTrue(minLimit > 0 && minLimit <= initialLimit && initialLimit <= maxLimit, "Limits must satisfy 0 < min <= initial <= max!");
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Try to start new request
+     * @return - true if the request can be processed, false if the limit is reached and the request must be rejected.
+     * If true, then {@link #release(long, boolean)} must be invoked when request completes
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Complete the request that was started by {@link #tryAcquire()} and update the limit
+     * @param latencyNanos - how long the request was processed
+     * @param failed - true if request failed because of error or timeout
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        update(Math.max(latencyNanos, 1), current, failed);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return - average latency of the recent requests in nanoseconds, 0 if nothing was measured yet
+     */
+    public synchronized long getLatencyNanos() {
+        return (long) shortRttNanos;
+    }
+
+    private synchronized void update(long latencyNanos, int inFlightAtCompletion, boolean failed) {
+        if (longRttNanos == 0) {
+            shortRttNanos = latencyNanos;
+            longRttNanos = latencyNanos;
+        } else {
+            shortRttNanos += (latencyNanos - shortRttNanos) / SHORT_WINDOW;
+            longRttNanos += (latencyNanos - longRttNanos) / LONG_WINDOW;
+        }
+        double newLimit;
+        if (failed) {
+            newLimit = estimatedLimit * BACKOFF_RATIO;
+        } else {
+            // The current latency dropped far below the baseline, e.g. a slow dependency recovered. The baseline decays towards the current latency,
+            // otherwise the inflated baseline would hide the next latency growth and the limit would not be reduced
+            if (longRttNanos / shortRttNanos > 2) {
+                longRttNanos *= 0.95;
+            }
+            // The limit is not increased if it was not reached, otherwise it grows without bounds on idle server
+            if (inFlightAtCompletion < estimatedLimit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveConcurrencyLimiter{" +
+                "name='" + name + '\'' +
+                ", limit=" + limit +
+                ", inFlight=" + inFlight.get() +
+                '}';
+    }
+}
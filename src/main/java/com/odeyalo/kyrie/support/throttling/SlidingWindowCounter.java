@@ -0,0 +1,219 @@
+package com.odeyalo.kyrie.support.throttling;
+
+import org.springframework.util.Assert;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Counts events per key in sliding time window using fixed-size lock-free table, so memory does not depend on the number of keys.</p>
+ * <p>
+ * Every slot is a single long that contains 32-bit key fingerprint, 16-bit window number, event count of the current and of the previous window.
+ * The key can be stored in two slots, the new key replaces the slot with the lower count, so the frequently failing keys
+ * are not evicted by the flood of the keys with single event. Slots are updated with CAS, no locks are used.
+ * </p>
+ * <p>
+ * The sliding count is the count of the current window plus the count of the previous window weighted by the part of it
+ * that is still in the sliding window. Counts saturate at {@link #MAX_COUNT}.
+ * The keys are hashed with random seed, so the attacker can't choose the keys that share the slot with the attacked key.
+ * </p>
+ */
+public class SlidingWindowCounter {
+    public static final int MAX_COUNT = 255;
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int WINDOW_MASK = 0xFFFF;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final long windowMillis;
+    private final long seed;
+    private final Clock clock;
+
+    public SlidingWindowCounter(Duration window) {
+        this(window, DEFAULT_CAPACITY, Clock.systemUTC());
+    }
+
+    /**
+     * Create new SlidingWindowCounter
+     * @param window - length of the sliding window
+     * @param capacity - number of slots, rounded up to the power of two. Every slot uses 8 bytes
+     * @param clock - clock to get the current time
+     */
+    public SlidingWindowCounter(Duration window, int capacity, Clock clock) {
+        Assert.isTrue(window != null && window.toMillis() > 0, "Window must be positive!");
+        Assert.isTrue(capacity >= 2 && capacity <= 1 << 30, "Capacity must be in range [2, 2^30]!");
+        Assert.notNull(clock, "Clock cannot be null!");
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.windowMillis = window.toMillis();
+        this.seed = new SecureRandom().nextLong();
+        this.clock = clock;
+    }
+
+    /**
+     * Register the event of the key
+     * @param key - key to count the event for
+     * @return - sliding count of the key including this event
+     */
+    public double increment(String key) {
+        long hash = hash(key);
+        int fingerprint = fingerprint(hash);
+        int first = (int) hash & mask;
+        int second = secondIndex(hash, first);
+        long now = clock.millis();
+        long window = now / windowMillis;
+        double weight = previousWeight(now);
+        while (true) {
+            long firstSlot = slots.get(first);
+            long secondSlot = slots.get(second);
+            int index;
+            long current;
+            if (fingerprintOf(firstSlot) == fingerprint) {
+                index = first;
+                current = firstSlot;
+            } else if (fingerprintOf(secondSlot) == fingerprint) {
+                index = second;
+                current = secondSlot;
+            } else {
+                // Evict the slot with the lower count, empty slots have zero count
+                boolean evictFirst = count(firstSlot, window, weight) <= count(secondSlot, window, weight);
+                index = evictFirst ? first : second;
+                current = evictFirst ? firstSlot : secondSlot;
+                if (slots.compareAndSet(index, current, pack(fingerprint, window, 1, 0))) {
+                    return 1;
+                }
+                continue;
+            }
+            long updated = incremented(current, window);
+            if (slots.compareAndSet(index, current, updated)) {
+                return count(updated, window, weight);
+            }
+        }
+    }
+
+    /**
+     * @param key - key to get the count for
+     * @return - sliding count of the key, 0 if the key has no events or was evicted
+     */
+    public double get(String key) {
+        long hash = hash(key);
+        int fingerprint = fingerprint(hash);
+        int first = (int) hash & mask;
+        long now = clock.millis();
+        long window = now / windowMillis;
+        long slot = slots.get(first);
+        if (fingerprintOf(slot) != fingerprint) {
+            slot = slots.get(secondIndex(hash, first));
+            if (fingerprintOf(slot) != fingerprint) {
+                return 0;
+            }
+        }
+        return count(slot, window, previousWeight(now));
+    }
+
+    /**
+     * Remove the events of the key, e.g. after successful login
+     * @param key - key to reset
+     */
+    public void reset(String key) {
+        long hash = hash(key);
+        int fingerprint = fingerprint(hash);
+        int first = (int) hash & mask;
+        int[] indexes = {first, secondIndex(hash, first)};
+        for (int index : indexes) {
+            long slot = slots.get(index);
+            if (fingerprintOf(slot) == fingerprint) {
+                // If the slot was changed concurrently, then it was reused by other key or updated with new event, both are fine
+                slots.compareAndSet(index, slot, 0);
+            }
+        }
+    }
+
+    /**
+     * @return - length of the window in milliseconds
+     */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    private double previousWeight(long now) {
+        return 1.0 - (double) (now % windowMillis) / windowMillis;
+    }
+
+    private static long incremented(long slot, long window) {
+        int storedWindow = windowOf(slot);
+        int currentWindow = (int) (window & WINDOW_MASK);
+        int current = currentCountOf(slot);
+        int previous = previousCountOf(slot);
+        if (storedWindow != currentWindow) {
+            // The current window becomes previous only if it is directly before the new one
+            previous = ((storedWindow + 1) & WINDOW_MASK) == currentWindow ? current : 0;
+            current = 0;
+        }
+        return pack(fingerprintOf(slot), window, Math.min(current + 1, MAX_COUNT), previous);
+    }
+
+    private static double count(long slot, long window, double previousWeight) {
+        if (slot == 0) {
+            return 0;
+        }
+        int storedWindow = windowOf(slot);
+        int currentWindow = (int) (window & WINDOW_MASK);
+        if (storedWindow == currentWindow) {
+            return currentCountOf(slot) + previousCountOf(slot) * previousWeight;
+        }
+        if (((storedWindow + 1) & WINDOW_MASK) == currentWindow) {
+            return currentCountOf(slot) * previousWeight;
+        }
+        return 0;
+    }
+
+    private static long pack(int fingerprint, long window, int current, int previous) {
+        return ((long) fingerprint << 32) | ((window & WINDOW_MASK) << 16) | ((long) current << 8) | previous;
+    }
+
+    private static int fingerprintOf(long slot) {
+        return (int) (slot >>> 32);
+    }
+
+    private static int windowOf(long slot) {
+        return (int) (slot >>> 16) & WINDOW_MASK;
+    }
+
+    private static int currentCountOf(long slot) {
+        return (int) (slot >>> 8) & 0xFF;
+    }
+
+    private static int previousCountOf(long slot) {
+        return (int) slot & 0xFF;
+    }
+
+    private int secondIndex(long hash, int first) {
+        int second = (int) (hash >>> 20) & mask;
+        // Both indexes must differ, otherwise the key has only one slot
+        return second != first ? second : first ^ 1;
+    }
+
+    private static int fingerprint(long hash) {
+        int fingerprint = (int) (hash >>> 32);
+        // Zero fingerprint marks the empty slot
+        return fingerprint != 0 ? fingerprint : 1;
+    }
+
+    private long hash(String key) {
+        long hash = seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        // Murmur3 finalizer, spreads the bits of the short keys
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,122 @@
+package com.odeyalo.kyrie.support.token;
+
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * <p>{@link TokenValueGenerator} implementation that uses {@link SecureRandom} as source of the randomness.</p>
+ * <p>
+ * Every thread has its own {@link SecureRandom} instance and buffer of the random bytes, the buffer is refilled
+ * with a single {@link SecureRandom#nextBytes(byte[])} call when all bytes were used, so threads do not contend on the shared generator.
+ * Every character takes only the required number of bits from the buffer, e.g. 6 bits for 64 characters alphabet.
+ * If alphabet size is not power of two, then the values that are out of alphabet are rejected, so all characters have the same probability.
+ * </p>
+ *
+ * @see TokenAlphabet
+ */
+public class SecureRandomTokenValueGenerator implements TokenValueGenerator {
+    /**
+     * Default number of random bits in the value that is returned by {@link #generate()}
+     */
+    public static final int DEFAULT_ENTROPY_BITS = 256;
+    private static final int BUFFER_SIZE = 512;
+
+    // ASCII characters of the alphabet
+    private final byte[] alphabet;
+    // Number of bits that are used to select the character
+    private final int bitsPerChar;
+    private final int mask;
+    // Length of the value that contains at least required number of random bits
+    private final int defaultLength;
+    private final ThreadLocal<RandomBuffer> buffers = ThreadLocal.withInitial(RandomBuffer::new);
+
+    public SecureRandomTokenValueGenerator() {
+        this(TokenAlphabet.URL_SAFE, DEFAULT_ENTROPY_BITS);
+    }
+
+    public SecureRandomTokenValueGenerator(TokenAlphabet alphabet, int entropyBits) {
+        this(alphabet.getCharacters(), entropyBits);
+    }
+
+    /**
+     * Create the generator with custom alphabet
+     * @param alphabet - unique ASCII characters, at least 2 and at most 256
+     * @param entropyBits - minimum number of random bits in the value returned by {@link #generate()}
+     */
+    public SecureRandomTokenValueGenerator(String alphabet, int entropyBits) {
+        Assert.notNull(alphabet, "The alphabet must be not null!");
+        Assert.isTrue(alphabet.length() >= 2 && alphabet.length() <= 256, "The alphabet must contain from 2 to 256 characters!");
+        Assert.isTrue(entropyBits > 0, "The entropy bits must be positive!");
+        Assert.isTrue(alphabet.chars().allMatch(c -> c < 128), "The alphabet must contain only ASCII characters!");
+        Assert.isTrue(alphabet.chars().distinct().count() == alphabet.length(), "The alphabet must not contain duplicate characters!");
+
+        this.alphabet = alphabet.getBytes(StandardCharsets.US_ASCII);
+        this.bitsPerChar = 32 - Integer.numberOfLeadingZeros(alphabet.length() - 1);
+        this.mask = (1 << bitsPerChar) - 1;
+        double bitsPerCharacter = Math.log(alphabet.length()) / Math.log(2);
+        this.defaultLength = (int) Math.ceil(entropyBits / bitsPerCharacter);
+    }
+
+    @Override
+    public String generate() {
+        return generate(defaultLength);
+    }
+
+    @Override
+    public String generate(int length) {
+        Assert.isTrue(length > 0, "The length must be positive!");
+        RandomBuffer buffer = buffers.get();
+        byte[] value = new byte[length];
+        int bits = 0;
+        int available = 0;
+        int index = 0;
+        while (index < length) {
+            if (available < bitsPerChar) {
+                bits = (bits << 8) | buffer.nextByte();
+                available += 8;
+            }
+            available -= bitsPerChar;
+            int position = (bits >>> available) & mask;
+            if (position < alphabet.length) {
+                value[index++] = alphabet[position];
+            }
+        }
+        // All characters are ASCII, so ISO_8859_1 decoding is a plain copy
+        return new String(value, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @return - length of the value returned by {@link #generate()}
+     */
+    public int getDefaultLength() {
+        return defaultLength;
+    }
+
+    private static SecureRandom createSecureRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException ex) {
+            return new SecureRandom();
+        }
+    }
+
+    /**
+     * Random bytes that are owned by a single thread
+     */
+    private static final class RandomBuffer {
+        private final SecureRandom random = createSecureRandom();
+        private final byte[] bytes = new byte[BUFFER_SIZE];
+        private int position = BUFFER_SIZE;
+
+        int nextByte() {
+            if (position == BUFFER_SIZE) {
+                random.nextBytes(bytes);
+                position = 0;
+            }
+            return bytes[position++] & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.odeyalo.kyrie.support.token;
+
+/**
+ * Predefined sets of the characters that can be used by {@link TokenValueGenerator}
+ */
+public enum TokenAlphabet {
+    /**
+     * Base64URL alphabet from RFC 4648, the values can be used in URL without encoding
+     */
+    URL_SAFE("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"),
+    /**
+     * Latin letters and digits
+     */
+    ALPHANUMERIC("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789"),
+    /**
+     * Latin letters only
+     */
+    ALPHABETIC("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz");
+
+    private final String characters;
+
+    TokenAlphabet(String characters) {
+        this.characters = characters;
+    }
+
+    public String getCharacters() {
+        return characters;
+    }
+}
@@ -0,0 +1,23 @@
+package com.odeyalo.kyrie.support.token;
+
+/**
+ * Generate unpredictable random string values for authorization codes, refresh tokens, ids, etc.
+ * Implementations must be thread safe.
+ *
+ * @see SecureRandomTokenValueGenerator
+ */
+public interface TokenValueGenerator {
+
+    /**
+     * Generate the value with default length that is defined by implementation
+     * @return - random string value
+     */
+    String generate();
+
+    /**
+     * Generate the value with the given length
+     * @param length - required length of the value, must be positive
+     * @return - random string value with the given length
+     */
+    String generate(int length);
+}
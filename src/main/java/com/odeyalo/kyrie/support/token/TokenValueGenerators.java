@@ -0,0 +1,30 @@
+package com.odeyalo.kyrie.support.token;
+
+import org.springframework.util.Assert;
+
+/**
+ * Shared {@link TokenValueGenerator} for the classes that are not Spring beans, for example events.
+ * Beans should inject {@link TokenValueGenerator} instead.
+ */
+public final class TokenValueGenerators {
+    private static volatile TokenValueGenerator defaultGenerator = new SecureRandomTokenValueGenerator();
+
+    private TokenValueGenerators() {
+    }
+
+    /**
+     * @return - generator with {@link TokenAlphabet#URL_SAFE} alphabet and 256 bits of entropy, unless other was set
+     */
+    public static TokenValueGenerator getDefault() {
+        return defaultGenerator;
+    }
+
+    /**
+     * Replace the shared generator
+     * @param generator - generator to use, must be not null
+     */
+    public static void setDefault(TokenValueGenerator generator) {
+        Assert.notNull(generator, "The generator must be not null!");
+        defaultGenerator = generator;
+    }
+}
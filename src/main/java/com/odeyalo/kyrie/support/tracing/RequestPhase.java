@@ -0,0 +1,32 @@
+package com.odeyalo.kyrie.support.tracing;
+
+/**
+ * Phases of the authorize and login requests that are timed by {@link RequestPhaseTracer}
+ */
+public enum RequestPhase {
+    // Request body and parameters are cached by the filter
+    CREDENTIAL_CACHING("credential-caching"),
+    // Client credentials are resolved and validated by the filter
+    CLIENT_VALIDATION("client-validation"),
+    // AuthorizationRequest is built from request parameters
+    AUTHORIZE_PARSING("authorize-parsing"),
+    // AuthorizationRequest is validated by the validation chain
+    VALIDATION("validation"),
+    PROMPT("prompt"),
+    AUTHENTICATION("authentication"),
+    FLOW("flow"),
+    REDIRECT_URL("redirect-url");
+
+    private final String metricName;
+
+    RequestPhase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    /**
+     * @return - name of the metric in Server-Timing header
+     */
+    public String getMetricName() {
+        return metricName;
+    }
+}
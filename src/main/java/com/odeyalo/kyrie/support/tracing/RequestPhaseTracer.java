@@ -0,0 +1,64 @@
+package com.odeyalo.kyrie.support.tracing;
+
+/**
+ * <p>Holds the {@link RequestTrace} of the current request and times the phases of it.</p>
+ * <p>
+ * The trace is bound to the thread by {@link RequestPhaseTracingFilter} only if tracing is enabled,
+ * otherwise {@link #start(RequestPhase)} costs a single thread local lookup and returns the shared no-op timer.
+ * </p>
+ * <pre>
+ * try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.VALIDATION)) {
+ *     validate(request);
+ * }
+ * </pre>
+ */
+public final class RequestPhaseTracer {
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+    private static final PhaseTimer NOOP = () -> {};
+
+    private RequestPhaseTracer() {
+    }
+
+    /**
+     * Start timing the phase of the current request
+     * @param phase - phase to time
+     * @return - timer that records the phase on close, no-op timer if the request is not traced
+     */
+    public static PhaseTimer start(RequestPhase phase) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) {
+            return NOOP;
+        }
+        long start = System.nanoTime();
+        return () -> trace.record(phase, System.nanoTime() - start);
+    }
+
+    /**
+     * @return - trace of the current request, null if the request is not traced
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind the trace to the current thread
+     * @param trace - trace to bind, null to unbind
+     */
+    public static void setCurrent(RequestTrace trace) {
+        if (trace == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(trace);
+        }
+    }
+
+    /**
+     * Records the phase on close, can be closed on other thread if the phase is completed asynchronously
+     */
+    @FunctionalInterface
+    public interface PhaseTimer extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
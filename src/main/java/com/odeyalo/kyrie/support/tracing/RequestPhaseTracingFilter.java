@@ -0,0 +1,147 @@
+package com.odeyalo.kyrie.support.tracing;
+
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * <p>Filter that traces the phases of every request and adds them to the response as Server-Timing header.</p>
+ * <p>
+ * The header is added right before the response is committed, so it contains all phases of the handler.
+ * Completed traces are offered to {@link SlowRequestLog}. The asynchronously processed request is completed when the async processing is completed.
+ * </p>
+ * <p>The filter must be invoked before Spring Security filter chain, so the phases of the security filters are traced too.</p>
+ *
+ * @see RequestPhaseTracer
+ */
+public class RequestPhaseTracingFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private final SlowRequestLog slowRequestLog;
+
+    public RequestPhaseTracingFilter(SlowRequestLog slowRequestLog) {
+        Assert.notNull(slowRequestLog, "SlowRequestLog cannot be null!");
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestTrace trace = new RequestTrace(request.getMethod(), request.getRequestURI());
+        ServerTimingResponseWrapper tracedResponse = new ServerTimingResponseWrapper(response, trace);
+        RequestPhaseTracer.setCurrent(trace);
+        try {
+            filterChain.doFilter(request, tracedResponse);
+        } finally {
+            RequestPhaseTracer.setCurrent(null);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new FinishingAsyncListener(trace));
+            } else {
+                tracedResponse.addServerTimingHeader();
+                complete(trace, tracedResponse.getStatus());
+            }
+        }
+    }
+
+    private void complete(RequestTrace trace, int status) {
+        trace.finish(status);
+        slowRequestLog.offer(trace);
+    }
+
+    /**
+     * Adds Server-Timing header once before the response is committed
+     */
+    static final class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+        private final RequestTrace trace;
+        private boolean headerAdded;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, RequestTrace trace) {
+            super(response);
+            this.trace = trace;
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTimingHeader();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTimingHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTimingHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTimingHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTimingHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTimingHeader();
+            super.flushBuffer();
+        }
+
+        void addServerTimingHeader() {
+            if (headerAdded || isCommitted()) {
+                return;
+            }
+            headerAdded = true;
+            setHeader(SERVER_TIMING_HEADER, trace.toServerTimingHeader());
+        }
+    }
+
+    /**
+     * Completes the trace when asynchronously processed request completes
+     */
+    private final class FinishingAsyncListener implements AsyncListener {
+        private final RequestTrace trace;
+
+        FinishingAsyncListener(RequestTrace trace) {
+            this.trace = trace;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            complete(trace, response.getStatus());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete is invoked after timeout too
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete is invoked after error too
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
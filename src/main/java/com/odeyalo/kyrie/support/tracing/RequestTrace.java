@@ -0,0 +1,133 @@
+package com.odeyalo.kyrie.support.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>Time spent by the single request in every {@link RequestPhase}.</p>
+ * <p>
+ * The phases can be recorded by different threads if the request is processed asynchronously,
+ * so the methods are synchronized. The trace is created only if tracing is enabled.
+ * </p>
+ */
+public class RequestTrace {
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+
+    private final String method;
+    private final String path;
+    private final long timestamp;
+    private final long startNanos;
+    // Sum of durations of the phase by ordinal, -1 if the phase was not recorded
+    private final long[] phaseNanos = new long[PHASES.length];
+    private long totalNanos = -1;
+    private int status;
+
+    public RequestTrace(String method, String path) {
+        this(method, path, System.currentTimeMillis(), System.nanoTime());
+    }
+
+    RequestTrace(String method, String path, long timestamp, long startNanos) {
+        this.method = method;
+        this.path = path;
+        this.timestamp = timestamp;
+        this.startNanos = startNanos;
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = -1;
+        }
+    }
+
+    /**
+     * Add the duration to the phase, the phase can be recorded more than once, e.g. if validation is invoked twice
+     * @param phase - phase to record
+     * @param nanos - duration of the phase
+     */
+    public synchronized void record(RequestPhase phase, long nanos) {
+        int index = phase.ordinal();
+        phaseNanos[index] = Math.max(phaseNanos[index], 0) + nanos;
+    }
+
+    /**
+     * Complete the trace, the phases recorded after completion are not included in the total time
+     * @param status - HTTP status of the response
+     */
+    public void finish(int status) {
+        finish(status, System.nanoTime());
+    }
+
+    synchronized void finish(int status, long endNanos) {
+        if (totalNanos < 0) {
+            this.totalNanos = endNanos - startNanos;
+            this.status = status;
+        }
+    }
+
+    /**
+     * Build the value of Server-Timing header with recorded phases and time elapsed since the request start
+     * @return - header value, e.g. 'validation;dur=0.120, prompt;dur=1.500, total;dur=2.100'
+     * @see <a href="https://www.w3.org/TR/server-timing/">Server Timing</a>
+     */
+    public synchronized String toServerTimingHeader() {
+        StringBuilder builder = new StringBuilder(128);
+        for (RequestPhase phase : PHASES) {
+            long nanos = phaseNanos[phase.ordinal()];
+            if (nanos >= 0) {
+                appendMetric(builder, phase.getMetricName(), nanos);
+            }
+        }
+        appendMetric(builder, "total", totalNanos >= 0 ? totalNanos : System.nanoTime() - startNanos);
+        return builder.toString();
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return - time when the request was received in epoch millis
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public synchronized int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return - total time of the request in millis, elapsed time if the request is not completed yet
+     */
+    public synchronized double getTotalMillis() {
+        return (totalNanos >= 0 ? totalNanos : System.nanoTime() - startNanos) / NANOS_IN_MILLI;
+    }
+
+    /**
+     * @return - recorded phases in millis in order of processing
+     */
+    public synchronized Map<String, Double> getPhases() {
+        Map<String, Double> phases = new LinkedHashMap<>();
+        for (RequestPhase phase : PHASES) {
+            long nanos = phaseNanos[phase.ordinal()];
+            if (nanos >= 0) {
+                phases.put(phase.getMetricName(), nanos / NANOS_IN_MILLI);
+            }
+        }
+        return phases;
+    }
+
+    synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    private static void appendMetric(StringBuilder builder, String name, long nanos) {
+        if (builder.length() > 0) {
+            builder.append(", ");
+        }
+        builder.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / NANOS_IN_MILLI));
+    }
+}
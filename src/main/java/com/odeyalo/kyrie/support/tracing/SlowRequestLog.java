@@ -0,0 +1,93 @@
+package com.odeyalo.kyrie.support.tracing;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>Keeps the slowest N completed requests with their phases.</p>
+ * <p>
+ * If the log is full, the new trace replaces the fastest one only if it is slower.
+ * The requests faster than the fastest kept one are rejected by a single volatile read, so the log is locked only by the slow requests.
+ * </p>
+ */
+public class SlowRequestLog {
+    public static final int DEFAULT_CAPACITY = 100;
+    private final RequestTrace[] traces;
+    // Guarded by this
+    private int size;
+    // Total time of the fastest kept trace if the log is full, otherwise 0
+    private volatile long thresholdNanos;
+
+    public SlowRequestLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SlowRequestLog(int capacity) {
+        Assert.isTrue(capacity > 0, "Capacity must be positive!");
+        this.traces = new RequestTrace[capacity];
+    }
+
+    /**
+     * Offer the completed trace to the log
+     * @param trace - completed trace
+     * @return - true if the trace was kept
+     */
+    public boolean offer(RequestTrace trace) {
+        long total = trace.getTotalNanos();
+        if (total < 0 || total <= thresholdNanos) {
+            return false;
+        }
+        synchronized (this) {
+            if (size < traces.length) {
+                traces[size++] = trace;
+            } else {
+                int fastest = fastestIndex();
+                if (total <= traces[fastest].getTotalNanos()) {
+                    return false;
+                }
+                traces[fastest] = trace;
+            }
+            if (size == traces.length) {
+                thresholdNanos = traces[fastestIndex()].getTotalNanos();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return - kept traces from the slowest to the fastest
+     */
+    public synchronized List<RequestTrace> getSlowest() {
+        List<RequestTrace> slowest = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slowest.add(traces[i]);
+        }
+        slowest.sort(Comparator.comparingLong(RequestTrace::getTotalNanos).reversed());
+        return slowest;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < size; i++) {
+            traces[i] = null;
+        }
+        size = 0;
+        thresholdNanos = 0;
+    }
+
+    public int getCapacity() {
+        return traces.length;
+    }
+
+    private int fastestIndex() {
+        int fastest = 0;
+        for (int i = 1; i < size; i++) {
+            if (traces[i].getTotalNanos() < traces[fastest].getTotalNanos()) {
+                fastest = i;
+            }
+        }
+        return fastest;
+    }
+}
@@ -3,14 +3,20 @@ package com.odeyalo.kyrie.config;
 import com.odeyalo.kyrie.config.support.BasicAuthenticationOauth2ClientCredentialsResolverHelper;
 import com.odeyalo.kyrie.config.support.RequestBodyOauth2ClientCredentialsResolverHelper;
 import com.odeyalo.kyrie.config.support.RequestParametersOauth2ClientCredentialsResolverHelper;
+import com.odeyalo.kyrie.config.support.Oauth2ClientCredentialsResolverHelper;
 import com.odeyalo.kyrie.core.oauth2.Oauth2ClientCredentials;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 //todo: Write tests
 class DefaultCompositeOauth2ClientCredentialsResolverTest {
@@ -50,4 +56,76 @@ class DefaultCompositeOauth2ClientCredentialsResolverTest {
         Oauth2ClientCredentials clientCredentials = helper.resolveCredentials(request, false);
         assertNull(clientCredentials);
     }
+
+    @Test
+    @DisplayName("Resolve credentials several times for the same request and expect that helper was invoked only once")
+    void resolveCredentialsTwiceAndExpectMemoizedResult() {
+        Oauth2ClientCredentialsResolverHelper parametersHelper = Mockito.spy(new RequestParametersOauth2ClientCredentialsResolverHelper());
+        DefaultCompositeOauth2ClientCredentialsResolver resolver = new DefaultCompositeOauth2ClientCredentialsResolver(List.of(parametersHelper));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("client_id", "name");
+
+        Oauth2ClientCredentials first = resolver.resolveCredentials(request, false);
+        Oauth2ClientCredentials second = resolver.resolveCredentials(request, false);
+
+        assertSame(first, second);
+        Mockito.verify(parametersHelper, Mockito.times(1)).resolveCredentials(request);
+    }
+
+    @Test
+    @DisplayName("Resolve credentials for request without credentials several times and expect that helpers were invoked only once")
+    void resolveMissingCredentialsTwiceAndExpectMemoizedNull() {
+        Oauth2ClientCredentialsResolverHelper parametersHelper = Mockito.spy(new RequestParametersOauth2ClientCredentialsResolverHelper());
+        DefaultCompositeOauth2ClientCredentialsResolver resolver = new DefaultCompositeOauth2ClientCredentialsResolver(List.of(parametersHelper));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        assertNull(resolver.resolveCredentials(request, false));
+        assertNull(resolver.resolveCredentials(request, false));
+        Mockito.verify(parametersHelper, Mockito.times(1)).canBeResolved(request);
+    }
+
+    @Test
+    @DisplayName("Resolve credentials from JSON body with other fields and expect only client credentials")
+    void resolveCredentialsFromJsonBody() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent("{\"grant_type\":\"password\",\"nested\":{\"client_id\":\"wrong\"},\"client_id\":\"name\",\"client_secret\":\"secret\"}".getBytes(StandardCharsets.UTF_8));
+
+        Oauth2ClientCredentials clientCredentials = helper.resolveCredentials(request, true);
+
+        assertEquals("name", clientCredentials.getClientId());
+        assertEquals("secret", clientCredentials.getClientSecret());
+    }
+
+    @Test
+    @DisplayName("Resolve credentials from malformed JSON body and expect null")
+    void resolveCredentialsFromMalformedJsonBody() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent("{\"client_id\":".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(helper.resolveCredentials(request, true));
+    }
+
+    @Test
+    @DisplayName("Resolve credentials from Basic authentication with colon in secret and expect secret with colon")
+    void resolveCredentialsFromBasicAuthenticationWithColonInSecret() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        String encoded = Base64.getEncoder().encodeToString("name:sec:ret".getBytes(StandardCharsets.UTF_8));
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Basic " + encoded);
+
+        Oauth2ClientCredentials clientCredentials = helper.resolveCredentials(request, true);
+
+        assertEquals("name", clientCredentials.getClientId());
+        assertEquals("sec:ret", clientCredentials.getClientSecret());
+    }
+
+    @Test
+    @DisplayName("Resolve credentials from malformed Basic authentication and expect null")
+    void resolveCredentialsFromMalformedBasicAuthentication() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Basic not_base64!");
+
+        assertNull(helper.resolveCredentials(request, true));
+    }
 }
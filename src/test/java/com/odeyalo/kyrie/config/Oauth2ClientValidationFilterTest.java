@@ -0,0 +1,91 @@
+package com.odeyalo.kyrie.config;
+
+import com.odeyalo.kyrie.config.support.RequestParametersOauth2ClientCredentialsResolverHelper;
+import com.odeyalo.kyrie.core.oauth2.client.DefaultClientCredentialsValidator;
+import com.odeyalo.kyrie.core.oauth2.client.InMemoryOauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import com.odeyalo.kyrie.support.crypto.KyriePasswordEncoders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for Oauth2ClientValidationFilter class.
+ * @see Oauth2ClientValidationFilter
+ */
+class Oauth2ClientValidationFilterTest {
+    private static final String CLIENT_ID = "client";
+    private static final String SECRET = "secret";
+
+    private final PasswordEncoder passwordEncoder = Mockito.spy(KyriePasswordEncoders.createDelegatingPasswordEncoder());
+    private final InMemoryOauth2ClientRepository repository = new InMemoryOauth2ClientRepository(Map.of(CLIENT_ID, Oauth2Client.builder()
+            .clientId(CLIENT_ID)
+            .clientSecret("{bcrypt}" + new BCryptPasswordEncoder(4).encode(SECRET))
+            .clientType(Oauth2Client.ClientType.CONFIDENTIAL)
+            .allowedRedirectUri("http://localhost:9000/callback")
+            .build()));
+    private final Oauth2ClientValidationFilter filter = new Oauth2ClientValidationFilter(
+            new DefaultClientCredentialsValidator(repository, passwordEncoder, null),
+            repository,
+            new DefaultCompositeOauth2ClientCredentialsResolver(List.of(new RequestParametersOauth2ClientCredentialsResolverHelper())));
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Authenticate the client with correct secret and expect the client to be set in security context")
+    void authenticateClientWithCorrectSecret() throws Exception {
+        filter.doFilter(request(CLIENT_ID, SECRET), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(CLIENT_ID, ((Oauth2Client) authentication.getPrincipal()).getClientId());
+    }
+
+    @Test
+    @DisplayName("Authenticate the unknown client and expect the secret to be verified by password encoder against dummy hash")
+    void authenticateUnknownClientAndExpectPasswordEncoderInvocation() throws Exception {
+        // Adapt the dummy to the stored bcrypt secret
+        filter.doFilter(request(CLIENT_ID, "wrong"), new MockHttpServletResponse(), new MockFilterChain());
+
+        filter.doFilter(request("unknown", "guess"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(passwordEncoder).matches(eq("guess"), startsWith("{bcrypt}$2a$04$"));
+    }
+
+    @Test
+    @DisplayName("Authenticate the confidential client without secret and expect the client to be not authenticated")
+    void authenticateConfidentialClientWithoutSecret() throws Exception {
+        filter.doFilter(request(CLIENT_ID, null), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static MockHttpServletRequest request(String clientId, String clientSecret) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/oauth2/token");
+        request.addParameter("client_id", clientId);
+        if (clientSecret != null) {
+            request.addParameter("client_secret", clientSecret);
+        }
+        return request;
+    }
+}
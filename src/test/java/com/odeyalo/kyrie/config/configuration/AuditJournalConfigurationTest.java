@@ -0,0 +1,80 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.AbstractIntegrationTest;
+import com.odeyalo.kyrie.core.events.AbstractKyrieEvent;
+import com.odeyalo.kyrie.core.events.KyrieEventPublisher;
+import com.odeyalo.kyrie.core.events.audit.AuditJournalReader;
+import com.odeyalo.kyrie.core.events.audit.AuditRecord;
+import com.odeyalo.kyrie.core.events.audit.MappedSegmentAuditJournal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Context tests for AuditJournalConfiguration class.
+ * @see AuditJournalConfiguration
+ */
+class AuditJournalConfigurationTest extends AbstractIntegrationTest {
+    private static final String EVENT_ID = "audited-event";
+
+    @Autowired
+    private KyrieEventPublisher publisher;
+    @Autowired
+    private MappedSegmentAuditJournal journal;
+    @Autowired
+    private AuditJournalReader reader;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("kyrie-audit-test").toString();
+        registry.add("kyrie.oauth2.audit.journal.enabled", () -> "true");
+        registry.add("kyrie.oauth2.audit.journal.directory", () -> directory);
+        registry.add("kyrie.oauth2.audit.journal.segment-size-mb", () -> "1");
+    }
+
+    @Test
+    @DisplayName("Publish one event and expect exactly one audit record")
+    void writeOneRecordPerEvent() throws InterruptedException {
+        long appendedBefore = journal.getAppendedCount();
+
+        publisher.publishEvent(new TestKyrieEvent());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (journal.getAppendedCount() == appendedBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        // The synchronous delivery would happen before publishEvent returned
+        try (Stream<AuditRecord> records = reader.readAll()) {
+            List<AuditRecord> written = records.filter(record -> EVENT_ID.equals(record.getEventId())).collect(Collectors.toList());
+            assertEquals(1, written.size(), "Event must be written once, but was: " + written);
+            assertEquals(TestKyrieEvent.class.getSimpleName(), written.get(0).getType());
+        }
+        assertEquals(appendedBefore + 1, journal.getAppendedCount());
+    }
+
+    @Test
+    @DisplayName("Create the journal with the segment size that overflows int and expect IllegalArgumentException")
+    void rejectTooLargeSegmentSize() throws IOException {
+        AuditJournalConfiguration configuration = new AuditJournalConfiguration(Files.createTempDirectory("kyrie-audit-test").toString());
+
+        assertThrows(IllegalArgumentException.class, () -> configuration.auditJournal(AuditJournalConfiguration.MAX_SEGMENT_SIZE_MB + 1, 1000, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> configuration.auditJournal(0, 1000, 1, 1));
+    }
+
+    static class TestKyrieEvent extends AbstractKyrieEvent {
+
+        TestKyrieEvent() {
+            super(new Object(), EVENT_ID);
+        }
+    }
+}
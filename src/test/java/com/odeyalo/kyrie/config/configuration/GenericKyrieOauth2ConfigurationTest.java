@@ -0,0 +1,73 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.AbstractIntegrationTest;
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationInfo;
+import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Context tests for GenericKyrieOauth2Configuration class.
+ * @see GenericKyrieOauth2Configuration
+ */
+@Import(GenericKyrieOauth2ConfigurationTest.UsersConfiguration.class)
+class GenericKyrieOauth2ConfigurationTest extends AbstractIntegrationTest {
+    private static final String PLAIN_TEXT_USERNAME = "plain";
+    private static final String HASHED_USERNAME = "hashed";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    @Qualifier("oauth2UserAuthenticationService")
+    private Oauth2UserAuthenticationService authenticationService;
+
+    @Test
+    @DisplayName("Start the context with registered users and expect the users to be authenticated with password encoder")
+    void authenticateRegisteredUsers() {
+        assertTrue(authenticationService.authenticate(new Oauth2UserAuthenticationInfo(PLAIN_TEXT_USERNAME, PASSWORD)).isSuccess());
+        assertTrue(authenticationService.authenticate(new Oauth2UserAuthenticationInfo(HASHED_USERNAME, PASSWORD)).isSuccess());
+        assertFalse(authenticationService.authenticate(new Oauth2UserAuthenticationInfo(HASHED_USERNAME, "wrong")).isSuccess());
+        assertFalse(authenticationService.authenticate(new Oauth2UserAuthenticationInfo("unknown", PASSWORD)).isSuccess());
+    }
+
+    @TestConfiguration
+    static class UsersConfiguration {
+
+        @Bean
+        public List<Oauth2User> users() {
+            return List.of(user("1", PLAIN_TEXT_USERNAME, PASSWORD),
+                    user("2", HASHED_USERNAME, "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD)));
+        }
+
+        @Bean
+        public List<Oauth2Client> clients() {
+            return List.of(Oauth2Client.builder()
+                    .clientId("client")
+                    .clientSecret("secret")
+                    .allowedRedirectUri("http://localhost:9000")
+                    .clientType(Oauth2Client.ClientType.CONFIDENTIAL)
+                    .build());
+        }
+
+        private static Oauth2User user(String id, String username, String password) {
+            return Oauth2User.builder()
+                    .id(id)
+                    .username(username)
+                    .password(password)
+                    .authorities(Set.of("USER"))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.AbstractIntegrationTest;
+import com.odeyalo.kyrie.core.metrics.KyrieMetricNames;
+import com.odeyalo.kyrie.core.oauth2.client.ClientCredentialsValidator;
+import com.odeyalo.kyrie.core.oauth2.client.MetricsClientCredentialsValidatorDecorator;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.JwtTokenProvider;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.MetricsJwtTokenProviderDecorator;
+import com.odeyalo.kyrie.support.bpp.wrapper.MetricsWrapperBeanPostProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Context tests for KyrieMetricsConfiguration class and MetricsWrapperBeanPostProcessor.
+ * @see KyrieMetricsConfiguration
+ * @see MetricsWrapperBeanPostProcessor
+ */
+class KyrieMetricsConfigurationTest {
+    private static final String API_KEY = "metrics-admin-key";
+    private static final String METRICS_ENDPOINT = "/oauth2/admin/metrics";
+
+    @Nested
+    @TestPropertySource(properties = {
+            "kyrie.oauth2.metrics.enabled=true",
+            "kyrie.oauth2.admin.enabled=true",
+            "kyrie.oauth2.admin.api-key=" + API_KEY
+    })
+    class MetricsEnabled extends AbstractIntegrationTest {
+        @Autowired
+        private WebApplicationContext context;
+        @Autowired
+        private JwtTokenProvider jwtTokenProvider;
+        @Autowired
+        private ClientCredentialsValidator clientCredentialsValidator;
+
+        @Test
+        @DisplayName("Start the context with enabled metrics and expect instrumented beans to be decorated")
+        void decorateInstrumentedBeans() {
+            assertTrue(jwtTokenProvider instanceof MetricsJwtTokenProviderDecorator);
+            assertTrue(clientCredentialsValidator instanceof MetricsClientCredentialsValidatorDecorator);
+        }
+
+        @Test
+        @DisplayName("Request the metrics snapshot and expect 401 without API key and the meters with API key")
+        void requestMetricsSnapshot() throws Exception {
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+            clientCredentialsValidator.validateCredentials("unknown", "secret");
+
+            mockMvc.perform(get(METRICS_ENDPOINT))
+                    .andExpect(status().isUnauthorized());
+            mockMvc.perform(get(METRICS_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + API_KEY))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].name", hasItem(KyrieMetricNames.CLIENT_AUTHENTICATION)));
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "kyrie.oauth2.metrics.enabled=false")
+    class MetricsDisabled extends AbstractIntegrationTest {
+        @Autowired
+        private WebApplicationContext context;
+        @Autowired
+        private JwtTokenProvider jwtTokenProvider;
+        @Autowired
+        private ClientCredentialsValidator clientCredentialsValidator;
+
+        @Test
+        @DisplayName("Start the context with disabled metrics and expect beans to be not decorated")
+        void doNotDecorateBeans() {
+            assertFalse(jwtTokenProvider instanceof MetricsJwtTokenProviderDecorator);
+            assertFalse(clientCredentialsValidator instanceof MetricsClientCredentialsValidatorDecorator);
+            assertTrue(context.getBeansOfType(MetricsWrapperBeanPostProcessor.class).isEmpty());
+        }
+    }
+}
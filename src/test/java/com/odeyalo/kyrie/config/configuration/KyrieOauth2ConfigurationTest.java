@@ -0,0 +1,79 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.AbstractIntegrationTest;
+import com.odeyalo.kyrie.core.events.AbstractKyrieEvent;
+import com.odeyalo.kyrie.core.events.AsyncKyrieEventMulticaster;
+import com.odeyalo.kyrie.core.events.KyrieEventPublisher;
+import com.odeyalo.kyrie.core.events.listener.KyrieEventDeliveryMode;
+import com.odeyalo.kyrie.core.events.listener.KyrieEventListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Context tests for KyrieOauth2Configuration class.
+ * @see KyrieOauth2Configuration
+ */
+@Import(KyrieOauth2ConfigurationTest.ListenersConfiguration.class)
+class KyrieOauth2ConfigurationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private KyrieEventPublisher publisher;
+    @Autowired
+    private RecordingAsyncListener asyncListener;
+
+    @Test
+    @DisplayName("Publish the event to asynchronous listener bean and expect exactly one delivery on the worker thread")
+    void deliverToAsynchronousListenerBeanOnce() throws InterruptedException {
+        assertTrue(publisher instanceof AsyncKyrieEventMulticaster);
+
+        publisher.publishEvent(new TestKyrieEvent());
+
+        assertTrue(asyncListener.delivered.await(5, TimeUnit.SECONDS), "Asynchronous listener must receive the event");
+        // The synchronous delivery would happen before publishEvent returned
+        assertEquals(1, asyncListener.threads.size(), "Event must be delivered once, but was delivered on: " + asyncListener.threads);
+        assertNotSame(Thread.currentThread(), asyncListener.threads.get(0));
+    }
+
+    @TestConfiguration
+    static class ListenersConfiguration {
+
+        @Bean
+        public RecordingAsyncListener recordingAsyncListener() {
+            return new RecordingAsyncListener();
+        }
+    }
+
+    static class TestKyrieEvent extends AbstractKyrieEvent {
+
+        TestKyrieEvent() {
+            super(new Object(), "test-event");
+        }
+    }
+
+    static class RecordingAsyncListener implements KyrieEventListener<TestKyrieEvent> {
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch delivered = new CountDownLatch(1);
+
+        @Override
+        public void onEvent(TestKyrieEvent event) {
+            threads.add(Thread.currentThread());
+            delivered.countDown();
+        }
+
+        @Override
+        public KyrieEventDeliveryMode deliveryMode() {
+            return KyrieEventDeliveryMode.ASYNCHRONOUS;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.odeyalo.kyrie.config.configuration;
+
+import com.odeyalo.kyrie.AbstractIntegrationTest;
+import com.odeyalo.kyrie.support.tracing.RequestPhase;
+import com.odeyalo.kyrie.support.tracing.RequestPhaseTracingFilter;
+import com.odeyalo.kyrie.support.tracing.SlowRequestLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Context tests for RequestTracingConfiguration class, RequestPhaseTracingFilter and the admin API of the traces.
+ * @see RequestTracingConfiguration
+ * @see RequestPhaseTracingFilter
+ */
+@TestPropertySource(properties = {
+        "kyrie.oauth2.tracing.enabled=true",
+        "kyrie.oauth2.admin.enabled=true",
+        "kyrie.oauth2.admin.api-key=" + RequestTracingConfigurationTest.API_KEY
+})
+class RequestTracingConfigurationTest extends AbstractIntegrationTest {
+    static final String API_KEY = "tracing-admin-key";
+    private static final String AUTHORIZE_ENDPOINT = "/oauth2/authorize";
+    private static final String TRACES_ENDPOINT = "/oauth2/admin/traces";
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private RequestPhaseTracingFilter tracingFilter;
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        slowRequestLog.clear();
+        // Servlet filters are not registered by MockMvc, so the tracing filter is added explicitly
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(tracingFilter).build();
+    }
+
+    @Test
+    @DisplayName("Send authorization request and expect Server-Timing header with the phases of the request")
+    void authorizeAndExpectServerTimingHeader() throws Exception {
+        authorize()
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestPhaseTracingFilter.SERVER_TIMING_HEADER, allOf(
+                        containsString(RequestPhase.AUTHORIZE_PARSING.getMetricName() + ";dur="),
+                        containsString(RequestPhase.VALIDATION.getMetricName() + ";dur="),
+                        containsString(RequestPhase.PROMPT.getMetricName() + ";dur="),
+                        containsString("total;dur="))));
+
+        assertEquals(1, slowRequestLog.getSlowest().size());
+        assertEquals(AUTHORIZE_ENDPOINT, slowRequestLog.getSlowest().get(0).getPath());
+    }
+
+    @Test
+    @DisplayName("Request the traces and expect 401 without API key and the slowest requests with API key")
+    void requestTraces() throws Exception {
+        authorize();
+
+        mockMvc.perform(get(TRACES_ENDPOINT))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get(TRACES_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + API_KEY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].path", hasItem(AUTHORIZE_ENDPOINT)))
+                .andExpect(jsonPath("$[?(@.path == '" + AUTHORIZE_ENDPOINT + "')].phases." + RequestPhase.VALIDATION.getMetricName()).isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("Clear the traces and expect 401 without API key and the traces to be removed with API key")
+    void clearTraces() throws Exception {
+        authorize();
+
+        mockMvc.perform(delete(TRACES_ENDPOINT))
+                .andExpect(status().isUnauthorized());
+        assertFalse(slowRequestLog.getSlowest().isEmpty());
+
+        mockMvc.perform(delete(TRACES_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + API_KEY))
+                .andExpect(status().isNoContent());
+        // The admin requests are traced too, so only the authorization request is checked
+        assertTrue(slowRequestLog.getSlowest().stream().noneMatch(trace -> AUTHORIZE_ENDPOINT.equals(trace.getPath())));
+    }
+
+    private ResultActions authorize() throws Exception {
+        return mockMvc.perform(get(AUTHORIZE_ENDPOINT)
+                .param("client_id", "odeyalo")
+                .param("response_type", "code")
+                .param("scope", "read")
+                .param("redirect_uri", "https://oauth.pstmn.io/v1/callback")
+                .param("state", "state"));
+    }
+}
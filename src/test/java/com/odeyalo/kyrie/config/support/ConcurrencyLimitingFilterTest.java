@@ -0,0 +1,114 @@
+package com.odeyalo.kyrie.config.support;
+
+import com.odeyalo.kyrie.AbstractIntegrationTest;
+import com.odeyalo.kyrie.config.configurers.Oauth2ServerEndpointsConfigurer;
+import com.odeyalo.kyrie.exceptions.Oauth2ErrorType;
+import com.odeyalo.kyrie.support.limit.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for ConcurrencyLimitingFilter class.
+ * Every limiter allows only one request, the tests hold the permit to simulate the request in progress.
+ * @see ConcurrencyLimitingFilter
+ */
+class ConcurrencyLimitingFilterTest extends AbstractIntegrationTest {
+    private static final String PASSWORD_GRANT_LIMITER_NAME = ConcurrencyLimitingFilter.TOKEN_LIMITER_NAME + ":password";
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private Oauth2ServerEndpointsConfigurer.Oauth2ServerEndpointsInfo endpointsInfo;
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        limiters.clear();
+        ConcurrencyLimitingFilter filter = new ConcurrencyLimitingFilter(endpointsInfo, this::limiter, 1);
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(filter).build();
+    }
+
+    @Test
+    @DisplayName("Send password grant request above the limit and expect 503 with Retry-After header and OAuth error body")
+    void rejectRequestAboveLimit() throws Exception {
+        assertTrue(limiter(PASSWORD_GRANT_LIMITER_NAME).tryAcquire());
+
+        mockMvc.perform(post(endpointsInfo.getTokenEndpointName())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("grant_type", "password")
+                        .param("username", "user")
+                        .param("password", "password"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.error").value(Oauth2ErrorType.TEMPORARILY_UNAVAILABLE.getErrorName()))
+                .andExpect(jsonPath("$.error_description").isNotEmpty());
+
+        assertEquals(1, limiter(PASSWORD_GRANT_LIMITER_NAME).getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Introspect the token while login and password grant limiters shed the load and expect token info to be returned")
+    void introspectTokenWhileOtherLimitersShedLoad() throws Exception {
+        assertTrue(limiter(ConcurrencyLimitingFilter.LOGIN_LIMITER_NAME).tryAcquire());
+        assertTrue(limiter(PASSWORD_GRANT_LIMITER_NAME).tryAcquire());
+
+        mockMvc.perform(post(endpointsInfo.getTokenInfoEndpointName())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", "invalid"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(false));
+        mockMvc.perform(post(endpointsInfo.getLoginEndpointName())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("username", "user")
+                        .param("password", "password"))
+                .andExpect(status().isServiceUnavailable());
+
+        assertEquals(0, limiter(ConcurrencyLimitingFilter.TOKEN_INFO_LIMITER_NAME).getInFlight());
+    }
+
+    @Test
+    @DisplayName("Request the login page while the login limiter sheds the load and expect the request to be not limited")
+    void doNotLimitLoginPage() throws Exception {
+        assertTrue(limiter(ConcurrencyLimitingFilter.LOGIN_LIMITER_NAME).tryAcquire());
+
+        mockMvc.perform(get(endpointsInfo.getLoginEndpointName()))
+                .andExpect(result -> assertNotEquals(503, result.getResponse().getStatus()));
+
+        assertEquals(0, limiter(ConcurrencyLimitingFilter.LOGIN_LIMITER_NAME).getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Send password grant request above the limit to the application with context path and expect 503")
+    void rejectRequestWithContextPath() throws Exception {
+        assertTrue(limiter(PASSWORD_GRANT_LIMITER_NAME).tryAcquire());
+
+        mockMvc.perform(post("/auth" + endpointsInfo.getTokenEndpointName())
+                        .contextPath("/auth")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("grant_type", "password"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(String name) {
+        return limiters.computeIfAbsent(name, key -> new AdaptiveConcurrencyLimiter(key, 1, 1, 1));
+    }
+}
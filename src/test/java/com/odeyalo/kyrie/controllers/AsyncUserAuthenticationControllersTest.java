@@ -0,0 +1,153 @@
+package com.odeyalo.kyrie.controllers;
+
+import com.odeyalo.kyrie.AbstractIntegrationTest;
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.authentication.AsyncOauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.authentication.AuthenticationResult;
+import com.odeyalo.kyrie.core.authentication.BlockingOauth2UserAuthenticationServiceAdapter;
+import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationInfo;
+import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.authorization.AuthorizationGrantType;
+import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
+import com.odeyalo.kyrie.core.authorization.Oauth2ResponseType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.odeyalo.kyrie.controllers.KyrieOauth2Controller.AUTHORIZATION_REQUEST_ATTRIBUTE_NAME;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for KyrieOauth2Controller and TokenController with the non-blocking user store that responds slowly.
+ * The endpoints must release the servlet thread and complete the response on async dispatch.
+ * @see KyrieOauth2Controller
+ * @see TokenController
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(AsyncUserAuthenticationControllersTest.SlowUserStoreConfiguration.class)
+class AsyncUserAuthenticationControllersTest extends AbstractIntegrationTest {
+    private static final String LOGIN_ENDPOINT = "/oauth2/login";
+    private static final String TOKEN_ENDPOINT = "/token";
+    private static final String USERNAME = "odeyalo";
+    private static final String PASSWORD = "password";
+    private static final String REDIRECT_URI = "http://localhost:9000/callback";
+    private static final long USER_STORE_DELAY_MILLIS = 200;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    void init() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    @DisplayName("Login with correct credentials while the user store is slow and expect the redirect on async dispatch")
+    void loginWithSlowUserStore() throws Exception {
+        MvcResult result = mockMvc.perform(post(LOGIN_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("username", USERNAME)
+                        .param("password", PASSWORD)
+                        .sessionAttrs(sessionWithAuthorizationRequest()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrlPattern(REDIRECT_URI + "?*"));
+    }
+
+    @Test
+    @DisplayName("Login with wrong credentials while the user store is slow and expect 401 on async dispatch")
+    void loginWithWrongCredentialsAndSlowUserStore() throws Exception {
+        MvcResult result = mockMvc.perform(post(LOGIN_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("username", USERNAME)
+                        .param("password", "wrong")
+                        .sessionAttrs(sessionWithAuthorizationRequest()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Obtain the token with password grant while the user store is slow and expect the token on async dispatch")
+    void passwordGrantWithSlowUserStore() throws Exception {
+        MvcResult result = mockMvc.perform(post(TOKEN_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("grant_type", AuthorizationGrantType.PASSWORD.getGrantName())
+                        .param("client_id", "client")
+                        .param("scope", "read")
+                        .param("username", USERNAME)
+                        .param("password", PASSWORD))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.access_token").isNotEmpty());
+    }
+
+    private static HashMap<String, Object> sessionWithAuthorizationRequest() {
+        AuthorizationRequest authorizationRequest = AuthorizationRequest.builder()
+                .clientId("client")
+                .grantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .responseTypes(Oauth2ResponseType.CODE)
+                .redirectUrl(REDIRECT_URI)
+                .state("state")
+                .scopes(new String[]{"read"})
+                .build();
+        Map<String, Object> store = new HashMap<>();
+        store.put(AUTHORIZATION_REQUEST_ATTRIBUTE_NAME, authorizationRequest);
+        return new HashMap<>(Collections.singletonMap(AUTHORIZATION_REQUEST_ATTRIBUTE_NAME, store));
+    }
+
+    @TestConfiguration
+    static class SlowUserStoreConfiguration {
+
+        @Bean
+        public Oauth2UserAuthenticationService oauth2UserAuthenticationService() {
+            return new BlockingOauth2UserAuthenticationServiceAdapter(new SlowUserStore());
+        }
+    }
+
+    /**
+     * Non-blocking user store that completes the authentication on another thread after the delay
+     */
+    static class SlowUserStore implements AsyncOauth2UserAuthenticationService {
+        private static final Oauth2User USER = new Oauth2User("1", USERNAME, PASSWORD, Set.of("USER"), Collections.emptyMap());
+
+        @Override
+        public CompletableFuture<AuthenticationResult> authenticateAsync(Oauth2UserAuthenticationInfo info) {
+            return CompletableFuture.supplyAsync(() -> USERNAME.equals(info.getUsername()) && PASSWORD.equals(info.getPassword())
+                            ? AuthenticationResult.success(USER) : AuthenticationResult.failed(),
+                    CompletableFuture.delayedExecutor(USER_STORE_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+        }
+    }
+}
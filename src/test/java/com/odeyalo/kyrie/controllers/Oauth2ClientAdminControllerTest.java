@@ -0,0 +1,190 @@
+package com.odeyalo.kyrie.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.odeyalo.kyrie.AbstractIntegrationTest;
+import com.odeyalo.kyrie.core.oauth2.client.CachingOauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2ClientRepository;
+import com.odeyalo.kyrie.core.oauth2.client.ShardedInMemoryOauth2ClientRepository;
+import com.odeyalo.kyrie.dto.Oauth2ClientRegistrationDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for Oauth2ClientAdminController class.
+ * The repository is wrapped in {@link CachingOauth2ClientRepository} to check that the changed clients are invalidated in the cache.
+ * @see Oauth2ClientAdminController
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(Oauth2ClientAdminControllerTest.CachingRepositoryConfiguration.class)
+@TestPropertySource(properties = {
+        "kyrie.oauth2.admin.enabled=true",
+        "kyrie.oauth2.admin.api-key=" + Oauth2ClientAdminControllerTest.API_KEY
+})
+class Oauth2ClientAdminControllerTest extends AbstractIntegrationTest {
+    static final String API_KEY = "admin-api-key";
+    private static final String CLIENTS_ENDPOINT = "/oauth2/admin/clients";
+    private static final String REDIRECT_URI = "http://localhost:9000/callback";
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private Oauth2ClientRepository repository;
+
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    void init() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @BeforeEach
+    void unbindTestRequest() {
+        // The repository memoizes clients in the current request, the test thread must see the cache itself
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Send requests without API key or with wrong API key and expect 401")
+    void requestWithoutValidApiKey() throws Exception {
+        mockMvc.perform(get(CLIENTS_ENDPOINT + "/any"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get(CLIENTS_ENDPOINT + "/any").header(HttpHeaders.AUTHORIZATION, "Bearer wrong-key"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(put(CLIENTS_ENDPOINT + "/unauthorized")
+                        .header(HttpHeaders.AUTHORIZATION, API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(registration(null, "secret"))))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete(CLIENTS_ENDPOINT + "/any").header(HttpHeaders.AUTHORIZATION, "Bearer " + API_KEY + "x"))
+                .andExpect(status().isUnauthorized());
+
+        assertNull(repository.findOauth2ClientById("unauthorized"));
+    }
+
+    @Test
+    @DisplayName("Create, replace and delete the client and expect the cache to return the current client")
+    void createUpdateAndDeleteClient() throws Exception {
+        String clientId = "managed-client";
+        // Cache the absence of the client
+        assertNull(repository.findOauth2ClientById(clientId));
+
+        saveClient(clientId, registration(null, "secret"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.client_id").value(clientId))
+                .andExpect(jsonPath("$.client_secret").doesNotExist());
+
+        Oauth2Client created = repository.findOauth2ClientById(clientId);
+        assertNotNull(created, "Negative cache entry must be invalidated");
+        assertTrue(created.getClientSecret().startsWith("{bcrypt}"), "Raw secret must be hashed");
+
+        saveClient(clientId, registration(null, "rotated"))
+                .andExpect(status().isOk());
+        assertNotEquals(created.getClientSecret(), repository.findOauth2ClientById(clientId).getClientSecret(), "Replaced client must be invalidated");
+
+        mockMvc.perform(get(CLIENTS_ENDPOINT + "/" + clientId).header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.redirect_uris[0]").value(REDIRECT_URI));
+
+        mockMvc.perform(delete(CLIENTS_ENDPOINT + "/" + clientId).header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isNoContent());
+        assertNull(repository.findOauth2ClientById(clientId), "Deleted client must be invalidated");
+
+        mockMvc.perform(delete(CLIENTS_ENDPOINT + "/" + clientId).header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(CLIENTS_ENDPOINT + "/" + clientId).header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Save confidential client without secret and expect 400")
+    void saveInvalidClient() throws Exception {
+        saveClient("invalid-client", registration(null, null))
+                .andExpect(status().isBadRequest());
+
+        assertNull(repository.findOauth2ClientById("invalid-client"));
+    }
+
+    @Test
+    @DisplayName("Import clients and expect nothing to be saved if one client is invalid")
+    void importClients() throws Exception {
+        List<Oauth2ClientRegistrationDTO> invalid = List.of(registration("imported-1", "secret"), registration("imported-2", null));
+        List<Oauth2ClientRegistrationDTO> valid = List.of(registration("imported-1", "secret"), registration("imported-2", "secret"));
+        assertNull(repository.findOauth2ClientById("imported-2"));
+
+        importClients(invalid)
+                .andExpect(status().isBadRequest());
+        assertNull(repository.findOauth2ClientById("imported-1"));
+
+        importClients(valid)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+        assertNotNull(repository.findOauth2ClientById("imported-1"));
+        assertNotNull(repository.findOauth2ClientById("imported-2"), "Cache must be invalidated after import");
+    }
+
+    private ResultActions saveClient(String clientId, Oauth2ClientRegistrationDTO registration) throws Exception {
+        return mockMvc.perform(put(CLIENTS_ENDPOINT + "/" + clientId)
+                .header(HttpHeaders.AUTHORIZATION, bearer())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(registration)));
+    }
+
+    private ResultActions importClients(List<Oauth2ClientRegistrationDTO> registrations) throws Exception {
+        return mockMvc.perform(post(CLIENTS_ENDPOINT)
+                .header(HttpHeaders.AUTHORIZATION, bearer())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(registrations)));
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    private static String bearer() {
+        return "Bearer " + API_KEY;
+    }
+
+    private static Oauth2ClientRegistrationDTO registration(String clientId, String secret) {
+        return new Oauth2ClientRegistrationDTO(clientId, secret, null, Oauth2Client.ClientType.CONFIDENTIAL, Set.of(REDIRECT_URI));
+    }
+
+    @TestConfiguration
+    static class CachingRepositoryConfiguration {
+
+        @Bean
+        @Primary
+        public Oauth2ClientRepository oauth2ClientRepository() {
+            return new CachingOauth2ClientRepository(new ShardedInMemoryOauth2ClientRepository());
+        }
+    }
+}
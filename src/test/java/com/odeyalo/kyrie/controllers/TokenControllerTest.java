@@ -115,6 +115,7 @@ class TokenControllerTest extends AbstractIntegrationTest {
         public AuthorizationCodeStore authorizationCodeStore() {
             AuthorizationCodeStore store = Mockito.mock(AuthorizationCodeStore.class);
             Mockito.when(store.findByAuthorizationCodeValue(MOCKED_EXISTING_AUTHORIZATION_CODE_VALUE)).thenReturn(MOCK_AUTHORIZATION_CODE).getMock();
+            Mockito.when(store.consume(MOCKED_EXISTING_AUTHORIZATION_CODE_VALUE)).thenReturn(MOCK_AUTHORIZATION_CODE);
             return store;
         }
 
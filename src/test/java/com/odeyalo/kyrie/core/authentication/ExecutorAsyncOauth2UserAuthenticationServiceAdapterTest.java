@@ -0,0 +1,126 @@
+package com.odeyalo.kyrie.core.authentication;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ExecutorAsyncOauth2UserAuthenticationServiceAdapter class.
+ * @see ExecutorAsyncOauth2UserAuthenticationServiceAdapter
+ */
+class ExecutorAsyncOauth2UserAuthenticationServiceAdapterTest {
+    private static final Oauth2User USER = new Oauth2User("1", "odeyalo", "password", Set.of("USER"), Collections.emptyMap());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void clear() {
+        RequestContextHolder.resetRequestAttributes();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Authenticate without executor and expect completed future")
+    void authenticateWithoutExecutor() {
+        ExecutorAsyncOauth2UserAuthenticationServiceAdapter adapter = new ExecutorAsyncOauth2UserAuthenticationServiceAdapter(info -> AuthenticationResult.success(USER), null);
+
+        CompletableFuture<AuthenticationResult> future = adapter.authenticateAsync(new Oauth2UserAuthenticationInfo("odeyalo", "password"));
+
+        assertTrue(future.isDone());
+        assertEquals(USER, future.join().getUser());
+    }
+
+    @Test
+    @DisplayName("Authenticate on executor and expect the current request to be visible to the blocking service")
+    void authenticateOnExecutorWithRequestContext() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        AtomicReference<Object> seenRequest = new AtomicReference<>();
+        AtomicReference<Thread> seenThread = new AtomicReference<>();
+        ExecutorAsyncOauth2UserAuthenticationServiceAdapter adapter = new ExecutorAsyncOauth2UserAuthenticationServiceAdapter(info -> {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            seenRequest.set(attributes != null ? ((ServletRequestAttributes) attributes).getRequest() : null);
+            seenThread.set(Thread.currentThread());
+            return AuthenticationResult.success(USER);
+        }, executor);
+
+        AuthenticationResult result = adapter.authenticateAsync(new Oauth2UserAuthenticationInfo("odeyalo", "password")).get();
+
+        assertTrue(result.isSuccess());
+        assertSame(request, seenRequest.get());
+        assertNotSame(Thread.currentThread(), seenThread.get());
+        assertNull(executor.submit(RequestContextHolder::getRequestAttributes).get(), "Request context must not stay on the executor thread");
+    }
+
+    @Test
+    @DisplayName("Throw exception from the blocking service and expect exceptionally completed future")
+    void authenticateWithException() {
+        ExecutorAsyncOauth2UserAuthenticationServiceAdapter adapter = new ExecutorAsyncOauth2UserAuthenticationServiceAdapter(info -> {
+            throw new IllegalStateException("Directory is not available");
+        }, executor);
+
+        CompletableFuture<AuthenticationResult> future = adapter.authenticateAsync(new Oauth2UserAuthenticationInfo("odeyalo", "password"));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    @DisplayName("Authenticate when the platform threads are busy and the queue is full and expect exceptionally completed future")
+    void authenticateWhenPlatformQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (UserAuthenticationExecutor platformThreads = UserAuthenticationExecutor.create(UserAuthenticationExecutor.Mode.PLATFORM_THREADS, 1, 1)) {
+            ExecutorAsyncOauth2UserAuthenticationServiceAdapter adapter = new ExecutorAsyncOauth2UserAuthenticationServiceAdapter(info -> {
+                awaitUninterruptibly(release);
+                return AuthenticationResult.success(USER);
+            }, platformThreads.getExecutorService());
+            Oauth2UserAuthenticationInfo info = new Oauth2UserAuthenticationInfo("odeyalo", "password");
+
+            CompletableFuture<AuthenticationResult> running = adapter.authenticateAsync(info);
+            CompletableFuture<AuthenticationResult> queued = adapter.authenticateAsync(info);
+            CompletableFuture<AuthenticationResult> rejected = adapter.authenticateAsync(info);
+
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof RejectedExecutionException);
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS).isSuccess());
+            assertTrue(queued.get(5, TimeUnit.SECONDS).isSuccess());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Wrap the adapter into blocking adapter and expect the same result")
+    void adaptBothWays() {
+        BlockingOauth2UserAuthenticationServiceAdapter blocking = new BlockingOauth2UserAuthenticationServiceAdapter(
+                new ExecutorAsyncOauth2UserAuthenticationServiceAdapter(info -> AuthenticationResult.success(USER), executor));
+
+        assertEquals(USER, blocking.authenticate(new Oauth2UserAuthenticationInfo("odeyalo", "password")).getUser());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
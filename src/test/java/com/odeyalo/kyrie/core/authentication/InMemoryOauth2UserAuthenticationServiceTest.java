@@ -0,0 +1,140 @@
+package com.odeyalo.kyrie.core.authentication;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.support.crypto.KyriePasswordEncoders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for InMemoryOauth2UserAuthenticationService class.
+ * @see InMemoryOauth2UserAuthenticationService
+ */
+class InMemoryOauth2UserAuthenticationServiceTest {
+    private static final String USERNAME = "odeyalo";
+    private static final String PASSWORD = "password";
+
+    private final PasswordEncoder passwordEncoder = Mockito.spy(KyriePasswordEncoders.createDelegatingPasswordEncoder());
+    private final UserPasswordVerificationCache cache = new UserPasswordVerificationCache();
+
+    @Test
+    @DisplayName("Authenticate user with hashed password and expect success")
+    void authenticateUserWithHashedPassword() {
+        InMemoryOauth2UserAuthenticationService service = createService(createUser(USERNAME, passwordEncoder.encode(PASSWORD)));
+
+        AuthenticationResult result = service.authenticate(new Oauth2UserAuthenticationInfo(USERNAME, PASSWORD));
+
+        assertTrue(result.isSuccess());
+        assertEquals(USERNAME, result.getUser().getUsername());
+        assertFalse(service.authenticate(new Oauth2UserAuthenticationInfo(USERNAME, "wrong")).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Authenticate user with plain text password and expect success")
+    void authenticateUserWithPlainTextPassword() {
+        InMemoryOauth2UserAuthenticationService service = new InMemoryOauth2UserAuthenticationService(createUser(USERNAME, PASSWORD));
+
+        assertTrue(service.authenticate(new Oauth2UserAuthenticationInfo(USERNAME, PASSWORD)).isSuccess());
+        assertFalse(service.authenticate(new Oauth2UserAuthenticationInfo(USERNAME, "Password")).isSuccess());
+        assertFalse(service.authenticate(new Oauth2UserAuthenticationInfo(USERNAME, null)).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Authenticate unknown user and expect failure after dummy password verification")
+    void authenticateUnknownUser() {
+        InMemoryOauth2UserAuthenticationService service = createService(createUser(USERNAME, passwordEncoder.encode(PASSWORD)));
+        clearInvocations(passwordEncoder);
+
+        assertFalse(service.authenticate(new Oauth2UserAuthenticationInfo("unknown", PASSWORD)).isSuccess());
+
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Authenticate unknown user and expect the dummy hash to be in the encoding of plain text passwords")
+    void authenticateUnknownUserWithPlainTextPasswords() {
+        InMemoryOauth2UserAuthenticationService service = createService(createUser(USERNAME, PASSWORD));
+        clearInvocations(passwordEncoder);
+
+        assertFalse(service.authenticate(new Oauth2UserAuthenticationInfo("unknown", PASSWORD)).isSuccess());
+
+        verify(passwordEncoder).matches(eq(PASSWORD), argThat(encoded -> !encoded.startsWith("{") && encoded.length() == PASSWORD.length()));
+    }
+
+    @Test
+    @DisplayName("Authenticate unknown user and expect the dummy hash to have the bcrypt cost of the registered passwords")
+    void authenticateUnknownUserWithBcryptPasswords() {
+        InMemoryOauth2UserAuthenticationService service = createService(createUser(USERNAME, "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD)));
+        clearInvocations(passwordEncoder);
+
+        assertFalse(service.authenticate(new Oauth2UserAuthenticationInfo("unknown", PASSWORD)).isSuccess());
+
+        verify(passwordEncoder).matches(eq(PASSWORD), startsWith("{bcrypt}$2a$04$"));
+    }
+
+    @Test
+    @DisplayName("Authenticate user twice and expect the password to be verified with encoder only once")
+    void authenticateTwiceAndExpectCachedVerification() {
+        InMemoryOauth2UserAuthenticationService service = createService(createUser(USERNAME, passwordEncoder.encode(PASSWORD)));
+        clearInvocations(passwordEncoder);
+
+        assertTrue(service.authenticate(new Oauth2UserAuthenticationInfo(USERNAME, PASSWORD)).isSuccess());
+        assertTrue(service.authenticate(new Oauth2UserAuthenticationInfo(USERNAME, PASSWORD)).isSuccess());
+
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+        assertFalse(service.authenticate(new Oauth2UserAuthenticationInfo(USERNAME, "wrong")).isSuccess(), "Wrong password must not be accepted from cache");
+    }
+
+    @Test
+    @DisplayName("Change user password and expect the old password to be rejected despite cached verification")
+    void changePasswordAndExpectCacheIgnored() {
+        InMemoryOauth2UserAuthenticationService service = createService(createUser(USERNAME, "{noop}" + PASSWORD));
+        assertTrue(service.authenticate(new Oauth2UserAuthenticationInfo(USERNAME, PASSWORD)).isSuccess());
+
+        service.addUser(createUser(USERNAME, "{noop}new_password"));
+
+        assertFalse(service.authenticate(new Oauth2UserAuthenticationInfo(USERNAME, PASSWORD)).isSuccess());
+        assertTrue(service.authenticate(new Oauth2UserAuthenticationInfo(USERNAME, "new_password")).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Authenticate users among many registered users and expect the correct user to be found")
+    void authenticateAmongManyUsers() {
+        List<Oauth2User> users = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            users.add(createUser("user" + i, "{noop}password" + i));
+        }
+        InMemoryOauth2UserAuthenticationService service = createService(users.toArray(new Oauth2User[0]));
+
+        assertEquals(100_000, service.size());
+        AuthenticationResult result = service.authenticate(new Oauth2UserAuthenticationInfo("user99999", "password99999"));
+        assertTrue(result.isSuccess());
+        assertEquals("99999", result.getUser().getId());
+        assertFalse(service.authenticate(new Oauth2UserAuthenticationInfo("user99999", "password1")).isSuccess());
+    }
+
+    private InMemoryOauth2UserAuthenticationService createService(Oauth2User... users) {
+        return new InMemoryOauth2UserAuthenticationService(List.of(users), passwordEncoder, cache);
+    }
+
+    private static Oauth2User createUser(String username, String password) {
+        String id = username.startsWith("user") ? username.substring(4) : username;
+        return new Oauth2User(id, username, password, Set.of("USER"), Collections.emptyMap());
+    }
+}
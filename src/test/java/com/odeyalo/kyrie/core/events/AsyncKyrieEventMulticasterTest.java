@@ -0,0 +1,170 @@
+package com.odeyalo.kyrie.core.events;
+
+import com.odeyalo.kyrie.core.events.listener.KyrieEventDeliveryMode;
+import com.odeyalo.kyrie.core.events.listener.KyrieEventListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AsyncKyrieEventMulticaster class.
+ * @see AsyncKyrieEventMulticaster
+ */
+class AsyncKyrieEventMulticasterTest {
+
+    @Test
+    @DisplayName("Publish the event and expect synchronous listener to be invoked on the publisher thread and asynchronous on the worker")
+    void deliverByListenerMode() throws InterruptedException {
+        AtomicReference<Thread> syncThread = new AtomicReference<>();
+        AtomicReference<Thread> asyncThread = new AtomicReference<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        TestListener sync = new TestListener(KyrieEventDeliveryMode.SYNCHRONOUS, event -> syncThread.set(Thread.currentThread()));
+        TestListener async = new TestListener(KyrieEventDeliveryMode.ASYNCHRONOUS, event -> {
+            asyncThread.set(Thread.currentThread());
+            delivered.countDown();
+        });
+
+        try (AsyncKyrieEventMulticaster multicaster = new AsyncKyrieEventMulticaster(new SimpleApplicationEventMulticaster(), List.of(sync, async))) {
+            multicaster.publishEvent(new TestKyrieEvent("1"));
+
+            assertSame(Thread.currentThread(), syncThread.get());
+            assertTrue(delivered.await(5, TimeUnit.SECONDS), "Asynchronous listener must receive the event");
+            assertNotSame(Thread.currentThread(), asyncThread.get());
+            assertEquals(1, multicaster.getPublishedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Register asynchronous listener that is already in the application multicaster and expect it to be removed from there")
+    void removeAsynchronousListenerFromApplicationMulticaster() throws InterruptedException {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        TestListener async = new TestListener(KyrieEventDeliveryMode.ASYNCHRONOUS, event -> {
+            threads.add(Thread.currentThread());
+            delivered.countDown();
+        });
+        SimpleApplicationEventMulticaster applicationMulticaster = new SimpleApplicationEventMulticaster();
+        applicationMulticaster.addApplicationListener(async);
+
+        try (AsyncKyrieEventMulticaster multicaster = new AsyncKyrieEventMulticaster(applicationMulticaster, List.of(async))) {
+            multicaster.publishEvent(new TestKyrieEvent("1"));
+
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            assertEquals(1, threads.size(), "Event must be delivered once, but was delivered on: " + threads);
+            assertNotSame(Thread.currentThread(), threads.get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Fill the queue with DROP policy and expect the overflowed events to be dropped")
+    void dropIfQueueIsFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TestListener async = new TestListener(KyrieEventDeliveryMode.ASYNCHRONOUS, event -> {
+            blocked.countDown();
+            await(release);
+        });
+
+        try (AsyncKyrieEventMulticaster multicaster = new AsyncKyrieEventMulticaster(new SimpleApplicationEventMulticaster(), List.of(async),
+                2, 1, 1, AsyncKyrieEventMulticaster.OverflowPolicy.DROP, Duration.ZERO)) {
+            multicaster.publishEvent(new TestKyrieEvent("blocking"));
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            // The worker and then the dispatcher are blocked by the listener, so the queue fills up
+            for (int i = 0; i < 20; i++) {
+                multicaster.publishEvent(new TestKyrieEvent(String.valueOf(i)));
+            }
+
+            assertTrue(multicaster.getDroppedCount() > 0, "Events must be dropped if the queue is full");
+            assertEquals(0, multicaster.getCallerRunsCount());
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Fill the queue with CALLER_RUNS policy and expect the overflowed events to be delivered on publisher thread")
+    void callerRunsIfQueueIsFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TestListener async = new TestListener(KyrieEventDeliveryMode.ASYNCHRONOUS, event -> {
+            if (event.id().equals("blocking")) {
+                blocked.countDown();
+                await(release);
+            }
+        });
+
+        try (AsyncKyrieEventMulticaster multicaster = new AsyncKyrieEventMulticaster(new SimpleApplicationEventMulticaster(), List.of(async),
+                2, 1, 1, AsyncKyrieEventMulticaster.OverflowPolicy.CALLER_RUNS, Duration.ZERO)) {
+            multicaster.publishEvent(new TestKyrieEvent("blocking"));
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 20; i++) {
+                multicaster.publishEvent(new TestKyrieEvent(String.valueOf(i)));
+            }
+
+            assertTrue(multicaster.getCallerRunsCount() > 0, "Events must be delivered by publisher if the queue is full");
+            assertEquals(0, multicaster.getDroppedCount());
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Throw exception from asynchronous listener and expect other events to be delivered")
+    void listenerExceptionDoesNotStopDelivery() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(2);
+        TestListener async = new TestListener(KyrieEventDeliveryMode.ASYNCHRONOUS, event -> {
+            delivered.countDown();
+            throw new IllegalStateException("Listener failure");
+        });
+
+        try (AsyncKyrieEventMulticaster multicaster = new AsyncKyrieEventMulticaster(new SimpleApplicationEventMulticaster(), List.of(async))) {
+            multicaster.publishEvent(new TestKyrieEvent("1"));
+            multicaster.publishEvent(new TestKyrieEvent("2"));
+
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class TestKyrieEvent extends AbstractKyrieEvent {
+
+        TestKyrieEvent(String eventId) {
+            super(new Object(), eventId);
+        }
+    }
+
+    static class TestListener implements KyrieEventListener<TestKyrieEvent> {
+        private final KyrieEventDeliveryMode mode;
+        private final Consumer<TestKyrieEvent> action;
+
+        TestListener(KyrieEventDeliveryMode mode, Consumer<TestKyrieEvent> action) {
+            this.mode = mode;
+            this.action = action;
+        }
+
+        @Override
+        public KyrieEventDeliveryMode deliveryMode() {
+            return mode;
+        }
+
+        @Override
+        public void onEvent(TestKyrieEvent event) {
+            action.accept(event);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.odeyalo.kyrie.core.events.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MappedSegmentAuditJournal class.
+ * @see MappedSegmentAuditJournal
+ * @see AuditJournalReader
+ */
+class MappedSegmentAuditJournalTest {
+    private static final int SEGMENT_SIZE = MappedSegmentAuditJournal.MIN_SEGMENT_SIZE;
+    private static final String LONG_DETAILS = "d".repeat(1000);
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock(1_000_000);
+
+    @Test
+    @DisplayName("Append records and expect them to be read in the same order")
+    void readAppendedRecords() {
+        List<AuditRecord> records = List.of(
+                new AuditRecord(1000, "UserLoginAuthenticationGrantedKyrieEvent", "event1", "odeyalo", "user_id=1"),
+                new AuditRecord(2000, "UserLoginAuthenticationFailureBadCredentialsKyrieEvent", "event2", null, "BadCredentialsException: Bad credentials"),
+                new AuditRecord(3000, "AuthorizationRequestProcessingFinishedKyrieEvent", null, "client", null));
+
+        try (MappedSegmentAuditJournal journal = createJournal(10, null)) {
+            records.forEach(journal::append);
+
+            assertEquals(records, new AuditJournalReader(directory).readAll().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Read records by time range and expect only records with start <= time < end")
+    void readByTimeRange() {
+        try (MappedSegmentAuditJournal journal = createJournal(10, null)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(record(i * 1000L, i));
+            }
+
+            List<AuditRecord> records = new AuditJournalReader(directory).read(Instant.ofEpochMilli(3000), Instant.ofEpochMilli(6000)).collect(Collectors.toList());
+
+            assertEquals(3, records.size());
+            assertEquals(3000, records.get(0).getTimestamp());
+            assertEquals(5000, records.get(2).getTimestamp());
+        }
+    }
+
+    @Test
+    @DisplayName("Append more records than fit to one segment and expect all of them to be read from several segments")
+    void rollSegments() {
+        try (MappedSegmentAuditJournal journal = createJournal(100, null)) {
+            for (int i = 0; i < 300; i++) {
+                journal.append(record(i, i));
+            }
+
+            assertTrue(journal.getCurrentSequence() >= 3, "Segments must be rolled");
+            List<AuditRecord> records = new AuditJournalReader(directory).readAll().collect(Collectors.toList());
+            assertEquals(300, records.size());
+            for (int i = 0; i < 300; i++) {
+                assertEquals("event" + i, records.get(i).getEventId());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Roll more segments than max segments and expect the oldest to be deleted")
+    void deleteSegmentsOverMaxSegments() {
+        try (MappedSegmentAuditJournal journal = createJournal(2, null)) {
+            for (int i = 0; i < 300; i++) {
+                journal.append(record(i, i));
+            }
+
+            assertEquals(2, AuditJournalSegments.list(directory).size());
+            List<AuditRecord> records = new AuditJournalReader(directory).readAll().collect(Collectors.toList());
+            assertTrue(records.size() < 300);
+            assertEquals("event299", records.get(records.size() - 1).getEventId());
+        }
+    }
+
+    @Test
+    @DisplayName("Roll the segment after max age and expect the segments with old records to be deleted")
+    void deleteSegmentsOverMaxAge() {
+        try (MappedSegmentAuditJournal journal = createJournal(100, Duration.ofDays(1))) {
+            for (int i = 0; i < 100; i++) {
+                journal.append(record(clock.millis(), i));
+            }
+            long oldSegments = journal.getCurrentSequence();
+            clock.advance(Duration.ofDays(2));
+            for (int i = 100; i < 300; i++) {
+                journal.append(record(clock.millis(), i));
+            }
+
+            List<AuditJournalSegments.Segment> segments = AuditJournalSegments.list(directory);
+            assertTrue(segments.get(0).getSequence() >= oldSegments, "Segments with old records must be deleted");
+        }
+    }
+
+    @Test
+    @DisplayName("Reopen the journal and expect new records to be appended after the existing ones")
+    void continueAfterReopen() {
+        try (MappedSegmentAuditJournal journal = createJournal(10, null)) {
+            journal.append(record(1, 1));
+            journal.append(record(2, 2));
+        }
+        try (MappedSegmentAuditJournal journal = createJournal(10, null)) {
+            journal.append(record(3, 3));
+        }
+
+        List<String> ids = new ArrayList<>();
+        long replayed = new AuditJournalReader(directory).replay(null, null, record -> ids.add(record.getEventId()));
+
+        assertEquals(3, replayed);
+        assertEquals(List.of("event1", "event2", "event3"), ids);
+    }
+
+    @Test
+    @DisplayName("Append to the closed journal and expect IllegalStateException")
+    void appendToClosedJournal() {
+        MappedSegmentAuditJournal journal = createJournal(10, null);
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> journal.append(record(1, 1)));
+    }
+
+    private MappedSegmentAuditJournal createJournal(int maxSegments, Duration maxAge) {
+        return new MappedSegmentAuditJournal(directory, SEGMENT_SIZE, Duration.ZERO, maxSegments, maxAge, clock);
+    }
+
+    private static AuditRecord record(long timestamp, int index) {
+        return new AuditRecord(timestamp, "TestKyrieEvent", "event" + index, "user" + index, LONG_DETAILS);
+    }
+
+    static class MutableClock extends Clock {
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.odeyalo.kyrie.core.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for LatencyHistogram class.
+ * @see LatencyHistogram
+ */
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Estimate percentile of empty histogram and expect 0")
+    void estimatePercentileOfEmptyHistogram_AndExpectZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.percentile(0.99));
+        assertEquals(0, histogram.count());
+    }
+
+    @Test
+    @DisplayName("Record values and expect percentiles within bucket error")
+    void recordValues_AndExpectPercentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertWithinError(500_000, histogram.percentile(0.5));
+        assertWithinError(900_000, histogram.percentile(0.9));
+        assertWithinError(990_000, histogram.percentile(0.99));
+    }
+
+    @Test
+    @DisplayName("Calculate bucket of every value and expect value to be not greater than bucket upper bound")
+    void calculateBucketOfValue_AndExpectValueNotGreaterThanUpperBound() {
+        long[] values = {0, 1, 3, 4, 5, 7, 8, 1023, 1024, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(value <= LatencyHistogram.bucketUpperBound(index), "Value: " + value + " is greater than the upper bound");
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.bucketUpperBound(index - 1) || LatencyHistogram.bucketUpperBound(index - 1) < 4,
+                        "Value: " + value + " belongs to the previous bucket");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Record negative value and expect it to be recorded as 0")
+    void recordNegativeValue_AndExpectZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-10);
+
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.percentile(1.0));
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.25, "Expected: " + expected + " with 25% error, but was: " + actual);
+    }
+}
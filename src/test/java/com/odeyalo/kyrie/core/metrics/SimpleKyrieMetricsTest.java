@@ -0,0 +1,73 @@
+package com.odeyalo.kyrie.core.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for SimpleKyrieMetrics class.
+ * @see SimpleKyrieMetrics
+ */
+class SimpleKyrieMetricsTest {
+
+    @Test
+    @DisplayName("Get timer with the same name and tags and expect the same timer")
+    void getTimerWithSameNameAndTags_AndExpectSameTimer() {
+        SimpleKyrieMetrics metrics = new SimpleKyrieMetrics();
+
+        KyrieTimer first = metrics.timer(KyrieMetricNames.TOKEN_GRANT, KyrieMetricNames.GRANT_TYPE_TAG, "password");
+        KyrieTimer second = metrics.timer(KyrieMetricNames.TOKEN_GRANT, KyrieMetricNames.GRANT_TYPE_TAG, "password");
+        KyrieTimer other = metrics.timer(KyrieMetricNames.TOKEN_GRANT, KyrieMetricNames.GRANT_TYPE_TAG, "refresh_token");
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
+    @Test
+    @DisplayName("Record time and expect count, total and max in snapshot")
+    void recordTime_AndExpectValuesInSnapshot() {
+        SimpleKyrieMetrics metrics = new SimpleKyrieMetrics();
+        KyrieTimer timer = metrics.timer(KyrieMetricNames.JWT_SIGN);
+
+        timer.record(1_000_000);
+        timer.record(3_000_000);
+
+        List<KyrieMeterSnapshot> snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.size());
+        KyrieMeterSnapshot meter = snapshot.get(0);
+        assertEquals(KyrieMeterSnapshot.Type.TIMER, meter.getType());
+        assertEquals(2, meter.getCount());
+        assertEquals(4.0, meter.getTotalMillis(), 0.001);
+        assertEquals(3.0, meter.getMaxMillis(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Register gauge and expect current value in snapshot")
+    void registerGauge_AndExpectCurrentValue() {
+        SimpleKyrieMetrics metrics = new SimpleKyrieMetrics();
+        AtomicInteger size = new AtomicInteger();
+        metrics.gauge(KyrieMetricNames.STORE_SIZE, size, AtomicInteger::get, KyrieMetricNames.STORE_TAG, "users");
+
+        size.set(42);
+
+        KyrieMeterSnapshot meter = metrics.snapshot().get(0);
+        assertEquals(KyrieMeterSnapshot.Type.GAUGE, meter.getType());
+        assertEquals(42.0, meter.getValue(), 0.001);
+        assertEquals("users", meter.getTags().get(KyrieMetricNames.STORE_TAG));
+    }
+
+    @Test
+    @DisplayName("Get timer with odd number of tags and expect IllegalArgumentException")
+    void getTimerWithOddNumberOfTags_AndExpectException() {
+        SimpleKyrieMetrics metrics = new SimpleKyrieMetrics();
+
+        assertThrows(IllegalArgumentException.class, () -> metrics.timer(KyrieMetricNames.FLOW, KyrieMetricNames.FLOW_TAG));
+    }
+}
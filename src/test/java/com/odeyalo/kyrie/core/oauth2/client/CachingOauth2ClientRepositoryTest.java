@@ -0,0 +1,147 @@
+package com.odeyalo.kyrie.core.oauth2.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CachingOauth2ClientRepository class.
+ * @see CachingOauth2ClientRepository
+ */
+class CachingOauth2ClientRepositoryTest {
+    private static final String CLIENT_ID = "client";
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final Oauth2Client client = Oauth2Client.builder()
+            .clientId(CLIENT_ID)
+            .clientSecret("secret")
+            .clientType(Oauth2Client.ClientType.CONFIDENTIAL)
+            .allowedRedirectUri("http://localhost:9000/callback")
+            .build();
+    private final Oauth2ClientRepository delegate = clientId -> {
+        lookups.incrementAndGet();
+        return CLIENT_ID.equals(clientId) ? client : null;
+    };
+
+    @AfterEach
+    void clear() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Find the same client several times and expect delegate to be invoked once")
+    void findSeveralTimesAndExpectCached() {
+        CachingOauth2ClientRepository repository = createRepository(Duration.ofMinutes(5), Duration.ZERO);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(client, repository.findOauth2ClientById(CLIENT_ID));
+        }
+
+        assertEquals(1, lookups.get());
+        assertEquals(4, repository.getStatistics().getHits());
+    }
+
+    @Test
+    @DisplayName("Find unknown client several times and expect null to be cached")
+    void findUnknownClientAndExpectNegativeCaching() {
+        CachingOauth2ClientRepository repository = createRepository(Duration.ofMinutes(5), Duration.ZERO);
+
+        assertNull(repository.findOauth2ClientById("unknown"));
+        assertNull(repository.findOauth2ClientById("unknown"));
+
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Invalidate the client and expect client to be loaded again")
+    void invalidateAndExpectReloaded() {
+        CachingOauth2ClientRepository repository = createRepository(Duration.ofMinutes(5), Duration.ZERO);
+        repository.findOauth2ClientById(CLIENT_ID);
+
+        repository.invalidate(CLIENT_ID);
+        repository.findOauth2ClientById(CLIENT_ID);
+
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Find the client shortly before expiration and expect client to be reloaded in background")
+    void findBeforeExpirationAndExpectRefreshAhead() throws InterruptedException {
+        CachingOauth2ClientRepository repository = createRepository(Duration.ofSeconds(10), Duration.ofMillis(9950));
+        repository.findOauth2ClientById(CLIENT_ID);
+        Thread.sleep(100);
+
+        assertEquals(client, repository.findOauth2ClientById(CLIENT_ID));
+
+        assertEquals(2, lookups.get());
+        assertEquals(1, repository.getRefreshCount());
+    }
+
+    @Test
+    @DisplayName("Find the client twice during the same request and expect memoized client even after invalidation")
+    void findTwiceDuringRequestAndExpectMemoized() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        CachingOauth2ClientRepository repository = createRepository(Duration.ofMinutes(5), Duration.ZERO);
+
+        repository.findOauth2ClientById(CLIENT_ID);
+        repository.invalidateAll();
+
+        assertEquals(client, repository.findOauth2ClientById(CLIENT_ID));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Close the repository with closeable and disposable delegates and expect the delegates to be closed")
+    void closeAndExpectDelegateClosed() {
+        CloseableRepository closeable = new CloseableRepository();
+        DisposableRepository disposable = new DisposableRepository();
+
+        new CachingOauth2ClientRepository(closeable).close();
+        new CachingOauth2ClientRepository(disposable).close();
+
+        assertTrue(closeable.closed);
+        assertTrue(disposable.destroyed);
+    }
+
+    private CachingOauth2ClientRepository createRepository(Duration timeToLive, Duration refreshAhead) {
+        // Refresh runs in the caller thread, so the result can be checked without waiting
+        return new CachingOauth2ClientRepository(delegate, 100, timeToLive, Duration.ofMinutes(1), refreshAhead, Runnable::run);
+    }
+
+    static class CloseableRepository implements Oauth2ClientRepository, AutoCloseable {
+        private boolean closed;
+
+        @Override
+        public Oauth2Client findOauth2ClientById(String clientId) {
+            return null;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    static class DisposableRepository implements Oauth2ClientRepository, DisposableBean {
+        private boolean destroyed;
+
+        @Override
+        public Oauth2Client findOauth2ClientById(String clientId) {
+            return null;
+        }
+
+        @Override
+        public void destroy() {
+            destroyed = true;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.odeyalo.kyrie.core.oauth2.client;
+
+import com.odeyalo.kyrie.support.crypto.KyriePasswordEncoders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for DefaultClientCredentialsValidator class.
+ * @see DefaultClientCredentialsValidator
+ */
+class DefaultClientCredentialsValidatorTest {
+    private static final String CLIENT_ID = "client";
+    private static final String SECRET = "secret";
+
+    private final PasswordEncoder passwordEncoder = Mockito.spy(KyriePasswordEncoders.createDelegatingPasswordEncoder());
+    private final Map<String, Oauth2Client> clients = new HashMap<>();
+    private final ClientSecretVerificationCache cache = new ClientSecretVerificationCache();
+    private final DefaultClientCredentialsValidator validator = new DefaultClientCredentialsValidator(
+            new InMemoryOauth2ClientRepository(clients), passwordEncoder, cache);
+
+    @Test
+    @DisplayName("Validate correct secret that is stored as bcrypt hash and expect success")
+    void validateHashedSecretAndExpectSuccess() {
+        register(passwordEncoder.encode(SECRET));
+
+        assertTrue(validator.validateCredentials(CLIENT_ID, SECRET).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Validate correct secret that is stored as plain text and expect success")
+    void validatePlainTextSecretAndExpectSuccess() {
+        register(SECRET);
+
+        assertTrue(validator.validateCredentials(CLIENT_ID, SECRET).isSuccess());
+        assertFalse(validator.validateCredentials(CLIENT_ID, "secreT").isSuccess());
+    }
+
+    @Test
+    @DisplayName("Validate wrong secret and expect failure that is not cached")
+    void validateWrongSecretAndExpectFailure() {
+        register(passwordEncoder.encode(SECRET));
+
+        assertFalse(validator.validateCredentials(CLIENT_ID, "wrong").isSuccess());
+        assertFalse(validator.validateCredentials(CLIENT_ID, "wrong").isSuccess());
+        assertFalse(validator.validateCredentials(CLIENT_ID, null).isSuccess());
+        assertFalse(validator.validateCredentials("unknown", SECRET).isSuccess());
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+
+    @Test
+    @DisplayName("Validate the same secret twice and expect password encoder to be invoked once")
+    void validateTwiceAndExpectCachedVerification() {
+        register(passwordEncoder.encode(SECRET));
+
+        assertTrue(validator.validateCredentials(CLIENT_ID, SECRET).isSuccess());
+        assertTrue(validator.validateCredentials(CLIENT_ID, SECRET).isSuccess());
+
+        verify(passwordEncoder, times(1)).matches(any(), anyString());
+        assertEquals(1, cache.getStatistics().getHits());
+    }
+
+    @Test
+    @DisplayName("Change the client secret and expect old cached verification to be ignored")
+    void changeSecretAndExpectCachedVerificationIgnored() {
+        register(passwordEncoder.encode(SECRET));
+        assertTrue(validator.validateCredentials(CLIENT_ID, SECRET).isSuccess());
+
+        register(passwordEncoder.encode("rotated"));
+
+        assertFalse(validator.validateCredentials(CLIENT_ID, SECRET).isSuccess());
+        assertTrue(validator.validateCredentials(CLIENT_ID, "rotated").isSuccess());
+    }
+
+    @Test
+    @DisplayName("Validate the secret of unknown client and expect it to be verified against dummy hash with the cost of the known secrets")
+    void validateUnknownClientAndExpectDummyBcryptVerification() {
+        register("{bcrypt}" + new BCryptPasswordEncoder(4).encode(SECRET));
+        assertTrue(validator.validateCredentials(CLIENT_ID, SECRET).isSuccess());
+
+        assertFalse(validator.validateCredentials("unknown", "guess").isSuccess());
+
+        verify(passwordEncoder).matches(eq("guess"), startsWith("{bcrypt}$2a$04$"));
+    }
+
+    @Test
+    @DisplayName("Validate the secret of unknown client and expect it to be verified against plain text dummy if known secrets are plain text")
+    void validateUnknownClientAndExpectDummyPlainTextVerification() {
+        register(SECRET);
+        assertTrue(validator.validateCredentials(CLIENT_ID, SECRET).isSuccess());
+
+        assertFalse(validator.validateCredentials("unknown", "guess").isSuccess());
+
+        verify(passwordEncoder, times(2)).matches(any(), Mockito.argThat(encoded -> !encoded.startsWith("{")));
+        verify(passwordEncoder, times(0)).matches(any(), startsWith("{bcrypt}"));
+    }
+
+    private void register(String storedSecret) {
+        clients.put(CLIENT_ID, Oauth2Client.builder()
+                .clientId(CLIENT_ID)
+                .clientSecret(storedSecret)
+                .clientType(Oauth2Client.ClientType.CONFIDENTIAL)
+                .allowedRedirectUri("http://localhost:9000/callback")
+                .build());
+    }
+}
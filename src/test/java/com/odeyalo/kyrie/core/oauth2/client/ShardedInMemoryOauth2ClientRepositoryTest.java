@@ -0,0 +1,89 @@
+package com.odeyalo.kyrie.core.oauth2.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ShardedInMemoryOauth2ClientRepository class.
+ * @see ShardedInMemoryOauth2ClientRepository
+ */
+class ShardedInMemoryOauth2ClientRepositoryTest {
+    private final ShardedInMemoryOauth2ClientRepository repository = new ShardedInMemoryOauth2ClientRepository();
+
+    @Test
+    @DisplayName("Save the client and expect the client to be found by client id")
+    void saveAndExpectFound() {
+        Oauth2Client client = createClient("client");
+
+        assertNull(repository.save(client));
+
+        assertEquals(client, repository.findOauth2ClientById("client"));
+        assertNull(repository.findOauth2ClientById("unknown"));
+        assertNull(repository.findOauth2ClientById(null));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Save the changed copy of the client and expect old client to be replaced and not changed")
+    void saveChangedCopyAndExpectReplaced() {
+        Oauth2Client client = createClient("client");
+        repository.save(client);
+
+        Oauth2Client changed = client.withAllowedRedirectUri("http://localhost:9000/other");
+        Oauth2Client previous = repository.save(changed);
+
+        assertSame(client, previous);
+        assertEquals(1, client.getAllowedRedirectUris().size(), "Original client must not be changed");
+        assertEquals(Set.of("http://localhost:9000/callback", "http://localhost:9000/other"),
+                repository.findOauth2ClientById("client").getAllowedRedirectUris());
+        assertThrows(UnsupportedOperationException.class, () -> changed.getAllowedRedirectUris().add("http://evil.com"));
+    }
+
+    @Test
+    @DisplayName("Import many clients at once and expect all clients to be found and iterated")
+    void importManyClientsAndExpectAllFound() {
+        List<Oauth2Client> clients = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            clients.add(createClient("client" + i));
+        }
+        long versionBefore = repository.getVersion();
+
+        repository.saveAll(clients);
+
+        assertEquals(50000, repository.count());
+        assertEquals(clients.get(12345), repository.findOauth2ClientById("client12345"));
+        int iterated = 0;
+        for (Oauth2Client ignored : repository) {
+            iterated++;
+        }
+        assertEquals(50000, iterated);
+        assertNotEquals(versionBefore, repository.getVersion());
+    }
+
+    @Test
+    @DisplayName("Delete the client and expect the client to not be found")
+    void deleteAndExpectNotFound() {
+        repository.save(createClient("client"));
+
+        assertNotNull(repository.deleteById("client"));
+
+        assertNull(repository.findOauth2ClientById("client"));
+        assertNull(repository.deleteById("client"));
+        assertEquals(0, repository.count());
+    }
+
+    private Oauth2Client createClient(String clientId) {
+        return Oauth2Client.builder()
+                .clientId(clientId)
+                .clientSecret("secret")
+                .clientType(Oauth2Client.ClientType.CONFIDENTIAL)
+                .allowedRedirectUri("http://localhost:9000/callback")
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.odeyalo.kyrie.core.oauth2.client.redirect;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RedirectUriMatcher class.
+ * @see RedirectUriMatcher
+ */
+class RedirectUriMatcherTest {
+
+    @Test
+    @DisplayName("Match registered uri and expect only the exact uri to match")
+    void matchExactUri() {
+        RedirectUriMatcher matcher = RedirectUriMatcher.compile(List.of("https://example.com/callback"));
+
+        assertTrue(matcher.matches("https://example.com/callback"));
+        assertFalse(matcher.matches("https://example.com/callback2"));
+        assertFalse(matcher.matches("https://example.com/callback/"));
+        assertFalse(matcher.matches("https://example.com/callback?state=1"));
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    @DisplayName("Match uri with other scheme and host case and default port and expect success")
+    void matchNormalizedUri() {
+        RedirectUriMatcher matcher = RedirectUriMatcher.compile(List.of("https://Example.com/Callback"));
+
+        assertTrue(matcher.matches("HTTPS://EXAMPLE.COM:443/Callback"));
+        assertFalse(matcher.matches("https://example.com/callback"), "Path is case-sensitive");
+        assertFalse(matcher.matches("https://example.com:8443/Callback"));
+    }
+
+    @Test
+    @DisplayName("Match loopback uri with any port and expect success")
+    void matchLoopbackUriWithAnyPort() {
+        RedirectUriMatcher matcher = RedirectUriMatcher.compile(List.of("http://127.0.0.1/callback", "http://[::1]/callback"));
+
+        assertTrue(matcher.matches("http://127.0.0.1:51004/callback"));
+        assertTrue(matcher.matches("http://[::1]:8080/callback"));
+        assertTrue(matcher.matches("http://127.0.0.1/callback"));
+        assertFalse(matcher.matches("http://localhost:51004/callback"));
+        assertFalse(matcher.matches("https://127.0.0.1:51004/callback"));
+    }
+
+    @Test
+    @DisplayName("Match uri under path prefix and expect success, dot-segments must be rejected")
+    void matchPathPrefix() {
+        RedirectUriMatcher matcher = RedirectUriMatcher.compile(List.of("https://example.com/app/*"));
+
+        assertTrue(matcher.matches("https://example.com/app/"));
+        assertTrue(matcher.matches("https://example.com/app/callback?state=1"));
+        assertFalse(matcher.matches("https://example.com/app"));
+        assertFalse(matcher.matches("https://example.com/application"));
+        assertFalse(matcher.matches("https://example.com/app/../admin"));
+        assertFalse(matcher.matches("https://example.com/app/%2E%2E/admin"));
+    }
+
+    @Test
+    @DisplayName("Match uri with fragment, user info or whitespace and expect failure")
+    void matchInvalidUri() {
+        RedirectUriMatcher matcher = RedirectUriMatcher.compile(List.of("https://example.com/callback"));
+
+        assertFalse(matcher.matches("https://example.com/callback#fragment"));
+        assertFalse(matcher.matches("https://attacker@example.com/callback"));
+        assertFalse(matcher.matches("https://example.com/call back"));
+    }
+
+    @Test
+    @DisplayName("Compile matcher with invalid registered uri and expect IllegalArgumentException")
+    void compileInvalidUri() {
+        assertThrows(IllegalArgumentException.class, () -> RedirectUriMatcher.compile(List.of("/relative/callback")));
+
+        RedirectUriMatcher matcher = RedirectUriMatcher.compile(List.of("/relative/callback", "https://example.com/callback"), true);
+        assertTrue(matcher.matches("https://example.com/callback"));
+    }
+
+    @Test
+    @DisplayName("Match private-use scheme uri of native app and expect success")
+    void matchPrivateUseScheme() {
+        RedirectUriMatcher matcher = RedirectUriMatcher.compile(List.of("com.example.app:/oauth2redirect"));
+
+        assertTrue(matcher.matches("com.example.app:/oauth2redirect"));
+        assertFalse(matcher.matches("com.example.other:/oauth2redirect"));
+    }
+
+    @Test
+    @DisplayName("Match uris against hundreds of registered uris and expect the same results as for small set")
+    void matchLargeSet() {
+        List<String> uris = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            uris.add("https://tenant" + i + ".example.com/callback/" + i);
+        }
+        uris.add("http://127.0.0.1/callback");
+        uris.add("https://example.com/app/*");
+        RedirectUriMatcher matcher = RedirectUriMatcher.compile(uris);
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(matcher.matches("https://tenant" + i + ".example.com/callback/" + i));
+            assertFalse(matcher.matches("https://tenant" + i + ".example.com/callback/" + i + "0"));
+        }
+        assertTrue(matcher.matches("http://127.0.0.1:9000/callback"));
+        assertTrue(matcher.matches("https://example.com/app/callback"));
+        assertFalse(matcher.matches("https://example.com/app/../callback"));
+        assertFalse(matcher.matches("https://tenant1.example.com/callback/"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.odeyalo.kyrie.core.oauth2.client.snapshot;
+
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Oauth2ClientSnapshotFile class.
+ * @see Oauth2ClientSnapshotFile
+ */
+class Oauth2ClientSnapshotFileTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Write clients to the snapshot that has several segments and expect the same clients to be read")
+    void writeAndReadAndExpectSameClients() throws Exception {
+        Oauth2ClientSnapshotFile snapshot = new Oauth2ClientSnapshotFile(directory.resolve("clients.bin"), 3);
+        List<Oauth2Client> clients = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            clients.add(new Oauth2Client("client" + i, "{bcrypt}$2a$10$hash" + i, Set.of("http://localhost/" + i), Oauth2Client.ClientType.CONFIDENTIAL));
+        }
+        clients.add(new Oauth2Client("public", null, Set.of("http://localhost/a", "http://localhost/b"), Oauth2Client.ClientType.PUBLIC));
+        clients.add(new Oauth2Client("клиент", "секрет", null, null));
+
+        assertEquals(12, snapshot.write(clients));
+
+        assertEquals(clients, snapshot.read());
+    }
+
+    @Test
+    @DisplayName("Read the snapshot with changed byte and expect CorruptedSnapshotException")
+    void readCorruptedSnapshotAndExpectException() throws Exception {
+        Path path = directory.resolve("clients.bin");
+        Oauth2ClientSnapshotFile snapshot = new Oauth2ClientSnapshotFile(path);
+        snapshot.write(List.of(new Oauth2Client("client", "secret", Set.of("http://localhost"), Oauth2Client.ClientType.CONFIDENTIAL)));
+        byte[] data = Files.readAllBytes(path);
+        data[12] ^= 1;
+        Files.write(path, data);
+
+        assertThrows(Oauth2ClientSnapshotFile.CorruptedSnapshotException.class, snapshot::read);
+    }
+
+    @Test
+    @DisplayName("Write the snapshot twice and expect the previous snapshot to be replaced without temporary files left")
+    void writeTwiceAndExpectReplaced() throws Exception {
+        Oauth2ClientSnapshotFile snapshot = new Oauth2ClientSnapshotFile(directory.resolve("clients.bin"));
+        snapshot.write(List.of(new Oauth2Client("old", "secret", null, Oauth2Client.ClientType.CONFIDENTIAL)));
+
+        snapshot.write(List.of());
+
+        assertTrue(snapshot.read().isEmpty());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
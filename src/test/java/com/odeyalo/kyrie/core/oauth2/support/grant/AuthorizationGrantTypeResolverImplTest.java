@@ -93,6 +93,20 @@ class AuthorizationGrantTypeResolverImplTest {
         assertEquals(cacheGrant3, actual3, "Grant types from cache must be equal");
     }
 
+    @Test
+    @DisplayName("Resolve grant type by other array with the same response types and expect the cached grant type")
+    void resolveGrantTypeByEqualResponseTypesAndExpectCachedValue() {
+        HashMap<Oauth2ResponseType[], AuthorizationGrantType> cache = new HashMap<>();
+        // The values differ from the resolved ones, so the test fails if the cache is not used
+        cache.put(Arrays.array(Oauth2ResponseType.CODE), AuthorizationGrantType.IMPLICIT);
+        cache.put(Arrays.array(Oauth2ResponseType.CODE, Oauth2ResponseType.TOKEN), AuthorizationGrantType.AUTHORIZATION_CODE);
+
+        AuthorizationGrantTypeResolverImpl resolver = new AuthorizationGrantTypeResolverImpl(cache);
+
+        assertEquals(AuthorizationGrantType.IMPLICIT, resolver.resolveGrantType(Oauth2ResponseType.CODE));
+        assertEquals(AuthorizationGrantType.AUTHORIZATION_CODE, resolver.resolveGrantType(Oauth2ResponseType.TOKEN, Oauth2ResponseType.CODE));
+    }
+
     @Test
     @DisplayName("Test AuthorizationGrantTypeResolverImpl constructors")
     void testConstructors() {
@@ -124,4 +124,13 @@ class DefaultAuthorizationCodeFlowAccessTokenReturnerTest {
         String parsedScopes = (String) scopes;
         assertEquals(String.join(" ", SCOPES), parsedScopes);
     }
+
+    @Test
+    @DisplayName("Obtain access token by the same authorization code twice and expect InvalidAuthorizationCodeObtainTokenException on second exchange")
+    void getAccessTokenByUsedAuthCode_AndExpectError() {
+        Oauth2ClientCredentials credentials = Oauth2ClientCredentials.of(CLIENT_ID, CLIENT_SECRET);
+        returner.getToken(credentials, AUTHORIZATION_CODE_VALUE);
+
+        assertThrows(InvalidAuthorizationCodeObtainTokenException.class, () -> returner.getToken(credentials, AUTHORIZATION_CODE_VALUE));
+    }
 }
@@ -0,0 +1,133 @@
+package com.odeyalo.kyrie.core.oauth2.tokens;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.authorization.AuthorizationGrantType;
+import com.odeyalo.kyrie.core.oauth2.RefreshToken;
+import com.odeyalo.kyrie.core.oauth2.client.Oauth2Client;
+import com.odeyalo.kyrie.core.oauth2.support.Oauth2Constants;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.DefaultJwtOauth2AccessTokenGenerator;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.DefaultSecretWordJwtTokenProvider;
+import com.odeyalo.kyrie.core.oauth2.tokens.refresh.InMemoryRefreshTokenRepository;
+import com.odeyalo.kyrie.core.oauth2.tokens.refresh.OpaqueRefreshTokenProvider;
+import com.odeyalo.kyrie.exceptions.InvalidGrantOauth2Exception;
+import com.odeyalo.kyrie.exceptions.Oauth2Exception;
+import com.odeyalo.kyrie.support.ClientId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RefreshTokenAccessTokenGranterStrategy class.
+ * @see RefreshTokenAccessTokenGranterStrategy
+ */
+class RefreshTokenAccessTokenGranterStrategyTest {
+    private static final String CLIENT_ID = "client";
+    private static final String[] SCOPES = {"read", "write"};
+
+    private final Oauth2User user = new Oauth2User("1", "odeyalo", "password", Set.of("USER"), Collections.emptyMap());
+    private final InMemoryRefreshTokenRepository repository = new InMemoryRefreshTokenRepository();
+    private final OpaqueRefreshTokenProvider refreshTokenProvider = new OpaqueRefreshTokenProvider(repository);
+    private final RefreshTokenAccessTokenGranterStrategy strategy = new RefreshTokenAccessTokenGranterStrategy(
+            new DefaultJwtOauth2AccessTokenGenerator(new DefaultSecretWordJwtTokenProvider("secret")), refreshTokenProvider);
+
+    @BeforeEach
+    void authenticateClient() {
+        authenticate(CLIENT_ID);
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Obtain access token by refresh token and expect new refresh token of the same family")
+    void obtainAccessTokenAndExpectRotatedRefreshToken() {
+        RefreshToken original = refreshTokenProvider.generateToken(ClientId.wrap(CLIENT_ID), user, SCOPES);
+
+        Oauth2AccessToken accessToken = strategy.obtainAccessToken(createRequest(original.getTokenValue(), null));
+
+        assertNotNull(accessToken.getTokenValue());
+        assertEquals("read write", accessToken.getScope());
+        RefreshToken rotated = accessToken.getRefreshToken();
+        assertNotNull(rotated);
+        assertNotEquals(original.getTokenValue(), rotated.getTokenValue());
+        assertEquals(original.getFamilyId(), rotated.getFamilyId());
+        assertEquals(user, rotated.getUser());
+        assertFalse(refreshTokenProvider.getTokenByValue(original.getTokenValue()).isActive(), "Used refresh token must be deactivated");
+    }
+
+    @Test
+    @DisplayName("Use the rotated refresh token again and expect the whole family to be revoked")
+    void reuseRotatedRefreshTokenAndExpectFamilyRevoked() {
+        RefreshToken original = refreshTokenProvider.generateToken(ClientId.wrap(CLIENT_ID), user, SCOPES);
+        RefreshToken rotated = strategy.obtainAccessToken(createRequest(original.getTokenValue(), null)).getRefreshToken();
+
+        assertThrows(InvalidGrantOauth2Exception.class, () -> strategy.obtainAccessToken(createRequest(original.getTokenValue(), null)));
+
+        assertNull(refreshTokenProvider.getTokenByValue(rotated.getTokenValue()), "Tokens of the reused family must be revoked");
+        assertThrows(InvalidGrantOauth2Exception.class, () -> strategy.obtainAccessToken(createRequest(rotated.getTokenValue(), null)));
+    }
+
+    @Test
+    @DisplayName("Use refresh token of the other client and expect the token to stay active")
+    void useRefreshTokenOfOtherClientAndExpectException() {
+        RefreshToken original = refreshTokenProvider.generateToken(ClientId.wrap("other_client"), user, SCOPES);
+
+        assertThrows(InvalidGrantOauth2Exception.class, () -> strategy.obtainAccessToken(createRequest(original.getTokenValue(), null)));
+
+        assertTrue(refreshTokenProvider.getTokenByValue(original.getTokenValue()).isActive());
+    }
+
+    @Test
+    @DisplayName("Request narrower scopes and expect access token with requested scopes only")
+    void requestNarrowerScopes() {
+        RefreshToken original = refreshTokenProvider.generateToken(ClientId.wrap(CLIENT_ID), user, SCOPES);
+
+        Oauth2AccessToken accessToken = strategy.obtainAccessToken(createRequest(original.getTokenValue(), new String[]{"read"}));
+
+        assertEquals("read", accessToken.getScope());
+        assertArrayEquals(SCOPES, accessToken.getRefreshToken().getScopes(), "Rotated refresh token must keep the granted scopes");
+    }
+
+    @Test
+    @DisplayName("Request scope that was not granted and expect invalid_scope error")
+    void requestNotGrantedScope() {
+        RefreshToken original = refreshTokenProvider.generateToken(ClientId.wrap(CLIENT_ID), user, SCOPES);
+
+        Oauth2Exception exception = assertThrows(Oauth2Exception.class,
+                () -> strategy.obtainAccessToken(createRequest(original.getTokenValue(), new String[]{"admin"})));
+
+        assertEquals("invalid_scope", exception.getErrorType().getErrorName());
+        assertTrue(refreshTokenProvider.getTokenByValue(original.getTokenValue()).isActive());
+    }
+
+    private TokenRequest createRequest(String refreshToken, String[] scopes) {
+        return TokenRequest.builder()
+                .clientId(CLIENT_ID)
+                .grantType(AuthorizationGrantType.REFRESH_TOKEN)
+                .scopes(scopes)
+                .requestParameters(Map.of(Oauth2Constants.REFRESH_TOKEN, refreshToken))
+                .build();
+    }
+
+    private void authenticate(String clientId) {
+        Oauth2Client client = Oauth2Client.builder()
+                .clientId(clientId)
+                .clientSecret("secret")
+                .clientType(Oauth2Client.ClientType.CONFIDENTIAL)
+                .allowedRedirectUri("http://localhost:9000/callback")
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(client, null, Collections.emptyList()));
+    }
+}
@@ -6,9 +6,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -177,9 +185,82 @@ class InMemoryAuthorizationCodeStoreTest {
     }
 
 
+    @Test
+    @DisplayName("Consume existing authorization code and expect that code cannot be found after consumption")
+    void consumeExistingCodeAndExpectCodeRemoved() {
+        AuthorizationCode consumed = store.consume(EXISTING_AUTHORIZATION_CODE_VALUE);
+
+        assertEquals(EXPECTED_AUTHORIZATION_CODE, consumed);
+        assertNull(store.consume(EXISTING_AUTHORIZATION_CODE_VALUE), "Code can be consumed only once");
+        assertNull(store.findById(EXISTING_AUTHORIZATION_CODE_ID), "Consumed code must be removed from store");
+        assertEquals(0, store.count());
+    }
+
+    @Test
+    @DisplayName("Consume expired authorization code and expect null")
+    void consumeExpiredCodeAndExpectNull() {
+        store.save("expired", createCode("expired_code", Instant.now().minusSeconds(1)));
+
+        assertNull(store.consume("expired_code"));
+    }
+
+    @Test
+    @DisplayName("Consume the same authorization code concurrently and expect that only one caller receives the code")
+    void consumeConcurrentlyAndExpectSingleSuccess() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<AuthorizationCode>> tasks = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                tasks.add(() -> store.consume(EXISTING_AUTHORIZATION_CODE_VALUE));
+            }
+            long received = 0;
+            for (Future<AuthorizationCode> future : executor.invokeAll(tasks)) {
+                if (Objects.nonNull(future.get())) {
+                    received++;
+                }
+            }
+            assertEquals(1, received, "Authorization code must be consumed only once");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Advance expiry wheel after code expiration and expect that expired code was removed")
+    void removeExpiredCodeAndExpectCodeRemoved() throws InterruptedException {
+        InMemoryAuthorizationCodeStore store = new InMemoryAuthorizationCodeStore(Duration.ofMillis(10), 16);
+        store.save("short", createCode("short_lived", Instant.now().plusMillis(50)));
+        store.save("long", createCode("long_lived", Instant.now().plusSeconds(80)));
+
+        store.start();
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (store.count() > 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            store.close();
+        }
+
+        assertNull(store.findByAuthorizationCodeValue("short_lived"), "Expired code must be removed by expiry wheel");
+        assertNotNull(store.findByAuthorizationCodeValue("long_lived"), "Not expired code must be kept");
+    }
+
     @Test
     @DisplayName("Count all elements in store")
     void count() {
         assertEquals(elementsCountInStore, store.count(), "Element count in store and store.count must be equal if no element was added");
     }
+
+    private AuthorizationCode createCode(String value, Instant expiresIn) {
+        return AuthorizationCode
+                .builder()
+                .codeValue(value)
+                .scopes(new String[]{"read"})
+                .issuedAt(Instant.now())
+                .expiresIn(expiresIn)
+                .user(defaultUser)
+                .build();
+    }
 }
@@ -0,0 +1,101 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.code.encrypted;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.authorization.AuthorizationRequest;
+import com.odeyalo.kyrie.core.oauth2.tokens.code.AuthorizationCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for EncryptedAuthorizationCodeManager class.
+ * @see EncryptedAuthorizationCodeManager
+ */
+class EncryptedAuthorizationCodeManagerTest {
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes();
+    private static final String CLIENT_ID = "client";
+    private static final String REDIRECT_URI = "http://localhost:9000/callback";
+    private static final String[] SCOPES = {"read", "write"};
+
+    private final Oauth2User user = new Oauth2User("1", "odeyalo", "password", Set.of("USER"), Collections.emptyMap());
+    private final EncryptedAuthorizationCodeCodec codec = new EncryptedAuthorizationCodeCodec(KEY);
+    private final EncryptedAuthorizationCodeProvider provider = new EncryptedAuthorizationCodeProvider(codec);
+    private final InMemoryAuthorizationCodeReplayGuard replayGuard = new InMemoryAuthorizationCodeReplayGuard();
+    private final EncryptedAuthorizationCodeManager manager = new EncryptedAuthorizationCodeManager(provider, codec, replayGuard);
+
+    @Test
+    @DisplayName("Consume encrypted code and expect the same data that was used to generate the code")
+    void consumeCodeAndExpectSameData() {
+        AuthorizationCode generated = provider.getAuthorizationCode(createRequest(), user);
+
+        AuthorizationCode consumed = manager.consumeAuthorizationCode(generated.getCodeValue());
+
+        assertNotNull(consumed);
+        assertEquals(generated.getCodeValue(), consumed.getCodeValue());
+        assertEquals(CLIENT_ID, consumed.getClientId());
+        assertEquals(REDIRECT_URI, consumed.getRedirectUri());
+        assertArrayEquals(SCOPES, consumed.getScopes());
+        assertEquals(generated.getExpiresIn(), consumed.getExpiresIn());
+        assertEquals(user.getId(), consumed.getUser().getId());
+        assertEquals(user.getUsername(), consumed.getUser().getUsername());
+        assertEquals(user.getAuthorities(), consumed.getUser().getAuthorities());
+        assertNull(consumed.getUser().getPassword(), "Password must not be written to the code");
+    }
+
+    @Test
+    @DisplayName("Consume the same code twice and expect null on second call")
+    void consumeCodeTwiceAndExpectNull() {
+        AuthorizationCode generated = manager.generateAuthorizationCode(CLIENT_ID, user, SCOPES);
+
+        assertNotNull(manager.consumeAuthorizationCode(generated.getCodeValue()));
+        assertNull(manager.consumeAuthorizationCode(generated.getCodeValue()), "Code can be exchanged only once");
+        assertNull(manager.getAuthorizationCodeByAuthorizationCodeValue(generated.getCodeValue()));
+        assertEquals(1, replayGuard.size());
+    }
+
+    @Test
+    @DisplayName("Consume modified code and expect null")
+    void consumeModifiedCodeAndExpectNull() {
+        String code = manager.generateAuthorizationCode(CLIENT_ID, user, SCOPES).getCodeValue();
+        char[] chars = code.toCharArray();
+        int index = chars.length / 2;
+        chars[index] = chars[index] == 'A' ? 'B' : 'A';
+
+        assertNull(manager.consumeAuthorizationCode(new String(chars)));
+        assertNull(manager.consumeAuthorizationCode("not_a_code"));
+        assertEquals(0, replayGuard.size());
+    }
+
+    @Test
+    @DisplayName("Consume code encrypted with other key and expect null")
+    void consumeCodeEncryptedWithOtherKeyAndExpectNull() {
+        byte[] otherKey = Arrays.copyOf(KEY, KEY.length);
+        otherKey[0] ^= 1;
+        EncryptedAuthorizationCodeProvider otherProvider = new EncryptedAuthorizationCodeProvider(new EncryptedAuthorizationCodeCodec(otherKey));
+        String code = otherProvider.getAuthorizationCode(CLIENT_ID, user, SCOPES).getCodeValue();
+
+        assertNull(manager.consumeAuthorizationCode(code));
+    }
+
+    @Test
+    @DisplayName("Consume expired code and expect null")
+    void consumeExpiredCodeAndExpectNull() {
+        EncryptedAuthorizationCodeProvider expiredCodeProvider = new EncryptedAuthorizationCodeProvider(codec, -1);
+        String code = expiredCodeProvider.getAuthorizationCode(CLIENT_ID, user, SCOPES).getCodeValue();
+
+        assertNull(manager.consumeAuthorizationCode(code));
+    }
+
+    private AuthorizationRequest createRequest() {
+        return AuthorizationRequest.builder()
+                .clientId(CLIENT_ID)
+                .redirectUrl(REDIRECT_URI)
+                .scopes(SCOPES)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt;
+
+import com.odeyalo.kyrie.core.Oauth2User;
+import com.odeyalo.kyrie.core.oauth2.tokens.TokenMetadata;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys.JwtSigningKey;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.keys.RotatingJwtSigningKeySet;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AsymmetricJwtTokenProvider class
+ *
+ * @see AsymmetricJwtTokenProvider
+ */
+class AsymmetricJwtTokenProviderTest {
+    public static final String USER_ID = "1";
+    private final Oauth2User user = new Oauth2User(USER_ID, "odeyalo", "password", Set.of("USER"), Collections.emptyMap());
+
+    @ParameterizedTest
+    @EnumSource(value = SignatureAlgorithm.class, names = {"RS256", "ES256"})
+    @DisplayName("Generate jwt token, verify it using public key from 'kid' header and expect success")
+    void generateAndVerifyToken(SignatureAlgorithm algorithm) {
+        RotatingJwtSigningKeySet keySet = new RotatingJwtSigningKeySet(algorithm, Duration.ofHours(1), 1);
+        AsymmetricJwtTokenProvider provider = new AsymmetricJwtTokenProvider(keySet);
+
+        TokenMetadata metadata = provider.generateJwtToken(user, Collections.emptyMap());
+
+        JwtSigningKey activeKey = keySet.getActiveKey();
+        Jws<Claims> jws = Jwts.parser().setSigningKey(activeKey.getPublicKey()).parseClaimsJws(metadata.getToken());
+        JwsHeader<?> header = jws.getHeader();
+        assertEquals(activeKey.getKeyId(), header.getKeyId());
+        assertEquals(algorithm.getValue(), header.getAlgorithm());
+        assertEquals(USER_ID, jws.getBody().getSubject());
+
+        JwtTokenVerificationResult result = provider.verifyToken(metadata.getToken());
+        assertTrue(result.isValid());
+        assertEquals(metadata.getExpiresIn(), result.getExpiresIn());
+    }
+
+    @Test
+    @DisplayName("Verify token that was signed before key rotation and expect success")
+    void verifyTokenSignedBeforeRotationAndExpectSuccess() {
+        RotatingJwtSigningKeySet keySet = new RotatingJwtSigningKeySet(SignatureAlgorithm.ES256, Duration.ofHours(1), 1);
+        AsymmetricJwtTokenProvider provider = new AsymmetricJwtTokenProvider(keySet);
+        TokenMetadata metadata = provider.generateJwtToken(user, Collections.emptyMap());
+        String previousKeyId = keySet.getActiveKey().getKeyId();
+
+        keySet.rotate();
+
+        assertNotEquals(previousKeyId, keySet.getActiveKey().getKeyId(), "Active key must be changed after rotation");
+        assertTrue(provider.verifyToken(metadata.getToken()).isValid(), "Token signed with previous key must be valid after rotation");
+    }
+
+    @Test
+    @DisplayName("Verify token that was signed with key that was removed from key set and expect invalid result")
+    void verifyTokenSignedWithRemovedKeyAndExpectInvalidResult() {
+        RotatingJwtSigningKeySet keySet = new RotatingJwtSigningKeySet(SignatureAlgorithm.ES256, Duration.ofHours(1), 0);
+        AsymmetricJwtTokenProvider provider = new AsymmetricJwtTokenProvider(keySet);
+        TokenMetadata metadata = provider.generateJwtToken(user, Collections.emptyMap());
+
+        keySet.rotate();
+
+        JwtTokenVerificationResult result = provider.verifyToken(metadata.getToken());
+        assertFalse(result.isValid());
+        assertTrue(result.getMessage().startsWith("Invalid JWT signature"));
+    }
+
+    @Test
+    @DisplayName("Verify HS256 token with 'kid' of the existing key and expect invalid result")
+    void verifyTokenWithWrongAlgorithmAndExpectInvalidResult() {
+        RotatingJwtSigningKeySet keySet = new RotatingJwtSigningKeySet(SignatureAlgorithm.RS256, Duration.ofHours(1), 1);
+        AsymmetricJwtTokenProvider provider = new AsymmetricJwtTokenProvider(keySet);
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keySet.getActiveKey().getKeyId())
+                .setSubject(USER_ID)
+                .signWith(SignatureAlgorithm.HS256, keySet.getActiveKey().getPublicKey().getEncoded())
+                .compact();
+
+        JwtTokenVerificationResult result = provider.verifyToken(token);
+
+        assertFalse(result.isValid());
+    }
+}
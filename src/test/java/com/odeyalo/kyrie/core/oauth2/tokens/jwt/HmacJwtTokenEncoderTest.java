@@ -0,0 +1,101 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HmacJwtTokenEncoder class
+ *
+ * @see HmacJwtTokenEncoder
+ */
+class HmacJwtTokenEncoderTest {
+    private static final byte[] KEY = TextCodec.BASE64.decode("secretWord");
+    private static final long EXPIRATION = 1670341414L;
+
+    @ParameterizedTest
+    @EnumSource(value = SignatureAlgorithm.class, names = {"HS256", "HS384", "HS512"})
+    @DisplayName("Encode token and expect the same token as JwtBuilder creates")
+    void encodeAndExpectSameTokenAsJwtBuilder(SignatureAlgorithm algorithm) {
+        HmacJwtTokenEncoder encoder = new HmacJwtTokenEncoder(algorithm, KEY);
+        Map<String, Object> claims = createClaims();
+
+        String expected = Jwts.builder()
+                .setExpiration(new Date(EXPIRATION * 1000L))
+                .addClaims(claims)
+                .signWith(algorithm, KEY)
+                .compact();
+
+        assertEquals(expected, encoder.encode(EXPIRATION, claims));
+    }
+
+    @Test
+    @DisplayName("Encode token with 'kid' header and expect the same token as JwtBuilder creates")
+    void encodeWithKeyIdAndExpectSameTokenAsJwtBuilder() {
+        HmacJwtTokenEncoder encoder = new HmacJwtTokenEncoder(SignatureAlgorithm.HS256, KEY, "key-1");
+        Map<String, Object> claims = createClaims();
+
+        String expected = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "key-1")
+                .setExpiration(new Date(EXPIRATION * 1000L))
+                .addClaims(claims)
+                .signWith(SignatureAlgorithm.HS256, KEY)
+                .compact();
+
+        assertEquals(expected, encoder.encode(EXPIRATION, claims));
+    }
+
+    @Test
+    @DisplayName("Encode token with claims that cannot be written by encoder and expect null")
+    void encodeUnsupportedClaimsAndExpectNull() {
+        HmacJwtTokenEncoder encoder = new HmacJwtTokenEncoder(SignatureAlgorithm.HS256, KEY);
+
+        assertNull(encoder.encode(EXPIRATION, Map.of("amount", 1.5)));
+        assertNull(encoder.encode(EXPIRATION, Map.of("date", new Date())));
+        assertNull(encoder.encode(EXPIRATION, Map.of("exp", 1L)));
+    }
+
+    @Test
+    @DisplayName("Encode large claims and then small claims and expect valid tokens")
+    void encodeLargeClaimsAndExpectValidTokens() {
+        HmacJwtTokenEncoder encoder = new HmacJwtTokenEncoder(SignatureAlgorithm.HS256, KEY);
+        Map<String, Object> largeClaims = Map.of("data", "a".repeat(100_000));
+        // Parser rejects expired tokens
+        long expiration = System.currentTimeMillis() / 1000L + 3600L;
+
+        String large = encoder.encode(expiration, largeClaims);
+        String small = encoder.encode(expiration, Map.of("sub", "1"));
+
+        assertEquals("a".repeat(100_000), Jwts.parser().setSigningKey(KEY).parseClaimsJws(large).getBody().get("data"));
+        assertEquals("1", Jwts.parser().setSigningKey(KEY).parseClaimsJws(small).getBody().getSubject());
+    }
+
+    private Map<String, Object> createClaims() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("email", "odeyalo@gmail.com");
+        nested.put("verified", true);
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("sub", "7a2da802-1d61-4d81-808e-d0bf993810f4");
+        claims.put("iat", 1670337814L);
+        claims.put("scope", "read write");
+        claims.put("aud", "client\"id\\with\nspecial\u0001chars");
+        claims.put("name", "Кирилл 😀");
+        claims.put("count", 42);
+        claims.put("roles", List.of("USER", "ADMIN"));
+        claims.put("profile", nested);
+        return claims;
+    }
+}
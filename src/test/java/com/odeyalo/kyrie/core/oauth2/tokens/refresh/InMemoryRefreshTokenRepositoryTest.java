@@ -0,0 +1,162 @@
+package com.odeyalo.kyrie.core.oauth2.tokens.refresh;
+
+import com.odeyalo.kyrie.core.oauth2.RefreshToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for InMemoryRefreshTokenRepository class.
+ * @see InMemoryRefreshTokenRepository
+ */
+class InMemoryRefreshTokenRepositoryTest {
+    private static final String CLIENT_ID = "client";
+    private static final String OTHER_CLIENT_ID = "other_client";
+
+    private final InMemoryRefreshTokenRepository repository = new InMemoryRefreshTokenRepository();
+
+    @AfterEach
+    void close() {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Save several tokens for the same client and expect all tokens to be found")
+    void saveSeveralTokensForClientAndExpectAllFound() {
+        RefreshToken first = createToken("first", CLIENT_ID, Instant.now().plusSeconds(60));
+        RefreshToken second = createToken("second", CLIENT_ID, Instant.now().plusSeconds(60));
+
+        repository.save(first.getTokenValue(), first);
+        repository.save(second.getTokenValue(), second);
+
+        assertEquals(first, repository.findByTokenValue("first"));
+        assertEquals(second, repository.findByTokenValue("second"));
+        assertEquals(first, repository.findById("first"));
+        assertEquals(2, repository.findAllByClientId(CLIENT_ID).size());
+    }
+
+    @Test
+    @DisplayName("Save token with existing id and expect old token to be replaced in all indexes")
+    void saveWithExistingIdAndExpectReplaced() {
+        RefreshToken old = createToken("old", CLIENT_ID, null);
+        RefreshToken replacement = createToken("new", OTHER_CLIENT_ID, null);
+
+        repository.save("id", old);
+        repository.save("id", replacement);
+
+        assertNull(repository.findByTokenValue("old"));
+        assertEquals(replacement, repository.findById("id"));
+        assertTrue(repository.findAllByClientId(CLIENT_ID).isEmpty());
+        assertEquals(List.of(replacement), repository.findAllByClientId(OTHER_CLIENT_ID));
+        assertEquals(1, repository.size());
+    }
+
+    @Test
+    @DisplayName("Delete token by value and expect token to be removed from all indexes")
+    void deleteByTokenValueAndExpectRemoved() {
+        RefreshToken token = createToken("value", CLIENT_ID, null);
+        repository.save("id", token);
+
+        repository.deleteByTokenValue("value");
+
+        assertNull(repository.findById("id"));
+        assertNull(repository.findByTokenValue("value"));
+        assertTrue(repository.findAllByClientId(CLIENT_ID).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Delete all tokens of the client and expect tokens of other clients to stay")
+    void deleteAllByClientIdAndExpectOtherClientsNotAffected() {
+        for (int i = 0; i < 5; i++) {
+            repository.save("token" + i, createToken("token" + i, CLIENT_ID, null));
+        }
+        repository.save("other", createToken("other", OTHER_CLIENT_ID, null));
+
+        long deleted = repository.deleteAllByClientId(CLIENT_ID);
+
+        assertEquals(5, deleted);
+        assertNull(repository.findByTokenValue("token0"));
+        assertNotNull(repository.findByTokenValue("other"));
+        assertEquals(1, repository.size());
+        assertEquals(0, repository.deleteAllByClientId(CLIENT_ID));
+    }
+
+    @Test
+    @DisplayName("Find expired token and expect null")
+    void findExpiredTokenAndExpectNull() {
+        repository.save("expired", createToken("expired", CLIENT_ID, Instant.now().minusSeconds(1)));
+
+        assertNull(repository.findByTokenValue("expired"));
+        assertNull(repository.findById("expired"));
+        assertTrue(repository.findAllByClientId(CLIENT_ID).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Start the repository and expect expired tokens to be removed in background")
+    void expiredTokensRemovedInBackground() throws InterruptedException {
+        InMemoryRefreshTokenRepository fastRepository = new InMemoryRefreshTokenRepository(Duration.ofMillis(10), 16);
+        try {
+            fastRepository.start();
+            fastRepository.save("token", createToken("token", CLIENT_ID, Instant.now().plusMillis(50)));
+
+            long deadline = System.currentTimeMillis() + 2000;
+            while (fastRepository.size() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(0, fastRepository.size());
+            assertTrue(fastRepository.findAllByClientId(CLIENT_ID).isEmpty());
+        } finally {
+            fastRepository.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Save tokens from many threads and expect all tokens to be saved")
+    void saveConcurrentlyAndExpectAllSaved() throws Exception {
+        int threads = 8;
+        int tokensPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < tokensPerThread; i++) {
+                        String value = thread + "_" + i;
+                        repository.save(value, createToken(value, CLIENT_ID, null));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * tokensPerThread, repository.size());
+        assertEquals(threads * tokensPerThread, repository.findAllByClientId(CLIENT_ID).size());
+    }
+
+    private RefreshToken createToken(String value, String clientId, Instant expiresIn) {
+        return RefreshToken.builder()
+                .tokenValue(value)
+                .clientId(clientId)
+                .active(true)
+                .scopes(new String[]{"read"})
+                .issuedAt(Instant.now())
+                .expiresIn(expiresIn)
+                .build();
+    }
+}
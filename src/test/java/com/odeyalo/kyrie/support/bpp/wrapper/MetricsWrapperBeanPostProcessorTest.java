@@ -0,0 +1,128 @@
+package com.odeyalo.kyrie.support.bpp.wrapper;
+
+import com.odeyalo.kyrie.core.authentication.AsyncOauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.authentication.AuthenticationResult;
+import com.odeyalo.kyrie.core.authentication.BlockingOauth2UserAuthenticationServiceAdapter;
+import com.odeyalo.kyrie.core.authentication.EventPublisherOauth2UserAuthenticationServiceDecorator;
+import com.odeyalo.kyrie.core.authentication.MetricsOauth2UserAuthenticationServiceDecorator;
+import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationInfo;
+import com.odeyalo.kyrie.core.authentication.Oauth2UserAuthenticationService;
+import com.odeyalo.kyrie.core.events.KyrieEventPublisher;
+import com.odeyalo.kyrie.core.metrics.KyrieMeterSnapshot;
+import com.odeyalo.kyrie.core.metrics.KyrieMetricNames;
+import com.odeyalo.kyrie.core.metrics.KyrieMetrics;
+import com.odeyalo.kyrie.core.metrics.SimpleKyrieMetrics;
+import com.odeyalo.kyrie.core.oauth2.client.ClientCredentialsValidator;
+import com.odeyalo.kyrie.core.oauth2.client.MetricsClientCredentialsValidatorDecorator;
+import com.odeyalo.kyrie.core.oauth2.tokens.AccessTokenGranterStrategy;
+import com.odeyalo.kyrie.core.oauth2.tokens.MetricsAccessTokenGranterStrategyDecorator;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.JwtTokenProvider;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.JwtTokenVerificationResult;
+import com.odeyalo.kyrie.core.oauth2.tokens.jwt.MetricsJwtTokenProviderDecorator;
+import com.odeyalo.kyrie.core.support.ValidationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for MetricsWrapperBeanPostProcessor class and the decorators it creates.
+ * @see MetricsWrapperBeanPostProcessor
+ */
+class MetricsWrapperBeanPostProcessorTest {
+    private final SimpleKyrieMetrics metrics = new SimpleKyrieMetrics();
+    private MetricsWrapperBeanPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationContext context = Mockito.mock(ApplicationContext.class);
+        when(context.getBean(KyrieMetrics.class)).thenReturn(metrics);
+        postProcessor = new MetricsWrapperBeanPostProcessor();
+        postProcessor.setApplicationContext(context);
+    }
+
+    @Test
+    @DisplayName("Post process the instrumented beans and expect them to be decorated once")
+    void decorateInstrumentedBeans() {
+        Object granter = postProcessor.postProcessAfterInitialization(Mockito.mock(AccessTokenGranterStrategy.class), "granter");
+        Object jwtTokenProvider = postProcessor.postProcessAfterInitialization(Mockito.mock(JwtTokenProvider.class), "jwtTokenProvider");
+        Object validator = postProcessor.postProcessAfterInitialization(Mockito.mock(ClientCredentialsValidator.class), "validator");
+        Object userStore = postProcessor.postProcessAfterInitialization(Mockito.mock(Oauth2UserAuthenticationService.class), "userStore");
+
+        assertTrue(granter instanceof MetricsAccessTokenGranterStrategyDecorator);
+        assertTrue(jwtTokenProvider instanceof MetricsJwtTokenProviderDecorator);
+        assertTrue(validator instanceof MetricsClientCredentialsValidatorDecorator);
+        assertTrue(userStore instanceof MetricsOauth2UserAuthenticationServiceDecorator);
+        assertSame(jwtTokenProvider, postProcessor.postProcessAfterInitialization(jwtTokenProvider, "jwtTokenProvider"));
+        assertSame(userStore, postProcessor.postProcessAfterInitialization(userStore, "userStore"));
+    }
+
+    @Test
+    @DisplayName("Post process the decorators and adapters of the user store and expect them to be skipped")
+    void skipUserStoreDecoratorsAndAdapters() {
+        Oauth2UserAuthenticationService eventPublisherDecorator = new EventPublisherOauth2UserAuthenticationServiceDecorator(
+                Mockito.mock(Oauth2UserAuthenticationService.class), Mockito.mock(KyrieEventPublisher.class));
+        Oauth2UserAuthenticationService blockingAdapter = new BlockingOauth2UserAuthenticationServiceAdapter(Mockito.mock(AsyncOauth2UserAuthenticationService.class));
+        Object other = new Object();
+
+        assertSame(eventPublisherDecorator, postProcessor.postProcessAfterInitialization(eventPublisherDecorator, "eventPublisherDecorator"));
+        assertSame(blockingAdapter, postProcessor.postProcessAfterInitialization(blockingAdapter, "blockingAdapter"));
+        assertSame(other, postProcessor.postProcessAfterInitialization(other, "other"));
+    }
+
+    @Test
+    @DisplayName("Authenticate the user with wrong credentials and expect the time to be recorded with failure outcome")
+    void recordFailedUserAuthentication() {
+        Oauth2UserAuthenticationService userStore = Mockito.mock(Oauth2UserAuthenticationService.class);
+        when(userStore.authenticate(any())).thenReturn(AuthenticationResult.failed());
+        Oauth2UserAuthenticationService decorated = (Oauth2UserAuthenticationService) postProcessor.postProcessAfterInitialization(userStore, "userStore");
+
+        decorated.authenticate(new Oauth2UserAuthenticationInfo("user", "wrong"));
+
+        assertEquals(1, count(KyrieMetricNames.USER_AUTHENTICATION, KyrieMetricNames.FAILURE));
+        assertEquals(0, count(KyrieMetricNames.USER_AUTHENTICATION, KyrieMetricNames.SUCCESS));
+    }
+
+    @Test
+    @DisplayName("Throw the exception from the user store and expect the time to be recorded with error outcome")
+    void recordUserAuthenticationError() {
+        Oauth2UserAuthenticationService userStore = Mockito.mock(Oauth2UserAuthenticationService.class);
+        when(userStore.authenticate(any())).thenThrow(new IllegalStateException("Store is unavailable"));
+        Oauth2UserAuthenticationService decorated = (Oauth2UserAuthenticationService) postProcessor.postProcessAfterInitialization(userStore, "userStore");
+
+        assertThrows(IllegalStateException.class, () -> decorated.authenticate(new Oauth2UserAuthenticationInfo("user", "password")));
+
+        assertEquals(1, count(KyrieMetricNames.USER_AUTHENTICATION, KyrieMetricNames.ERROR));
+    }
+
+    @Test
+    @DisplayName("Verify invalid token and wrong client credentials and expect the time to be recorded with failure outcome")
+    void recordFailedVerification() {
+        JwtTokenProvider jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
+        when(jwtTokenProvider.verifyToken(anyString())).thenReturn(JwtTokenVerificationResult.invalid("Signature is invalid"));
+        ClientCredentialsValidator validator = Mockito.mock(ClientCredentialsValidator.class);
+        when(validator.validateCredentials(anyString(), anyString())).thenReturn(ValidationResult.failed("Wrong secret"));
+        JwtTokenProvider decoratedProvider = (JwtTokenProvider) postProcessor.postProcessAfterInitialization(jwtTokenProvider, "jwtTokenProvider");
+        ClientCredentialsValidator decoratedValidator = (ClientCredentialsValidator) postProcessor.postProcessAfterInitialization(validator, "validator");
+
+        assertFalse(decoratedProvider.verifyToken("token").isValid());
+        assertFalse(decoratedValidator.validateCredentials("client", "wrong").isSuccess());
+
+        assertEquals(1, count(KyrieMetricNames.JWT_VERIFY, KyrieMetricNames.FAILURE));
+        assertEquals(0, count(KyrieMetricNames.JWT_VERIFY, KyrieMetricNames.SUCCESS));
+        assertEquals(1, count(KyrieMetricNames.CLIENT_AUTHENTICATION, KyrieMetricNames.FAILURE));
+    }
+
+    private long count(String name, String outcome) {
+        return metrics.snapshot().stream()
+                .filter(meter -> meter.getName().equals(name) && outcome.equals(meter.getTags().get(KyrieMetricNames.OUTCOME_TAG)))
+                .mapToLong(KyrieMeterSnapshot::getCount)
+                .sum();
+    }
+}
@@ -0,0 +1,110 @@
+package com.odeyalo.kyrie.support.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BoundedExpiringCache class.
+ * @see BoundedExpiringCache
+ */
+class BoundedExpiringCacheTest {
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    @Test
+    @DisplayName("Put more keys than max size and expect the cache to evict entries")
+    void putAboveMaxSize() {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(2);
+
+        cache.put("first", "1", TTL);
+        cache.put("second", "2", TTL);
+        cache.put("third", "3", TTL);
+
+        assertEquals(2, cache.size());
+        assertEquals("3", cache.get("third"));
+        assertEquals(1, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    @DisplayName("Replace the value of the existing key in full cache and expect no eviction")
+    void replaceInFullCache() {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(2);
+        cache.put("first", "1", TTL);
+        cache.put("second", "2", TTL);
+
+        cache.put("first", "updated", TTL);
+
+        assertEquals("updated", cache.get("first"));
+        assertEquals("2", cache.get("second"));
+        assertEquals(0, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    @DisplayName("Invalidate the entries and expect the slots to be reused")
+    void invalidateAndReuseSlots() {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(2);
+        cache.put("first", "1", TTL);
+        cache.put("second", "2", TTL);
+
+        cache.invalidate("first");
+        assertEquals(1, cache.invalidateIf((key, value) -> value.equals("2")));
+        cache.put("third", "3", TTL);
+        cache.put("fourth", "4", TTL);
+
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    @DisplayName("Put different keys concurrently and expect the size to never exceed max size")
+    void concurrentPutsDoNotExceedMaxSize() throws Exception {
+        int maxSize = 16;
+        int threads = 8;
+        BoundedExpiringCache<Integer, Integer> cache = new BoundedExpiringCache<>(maxSize);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger maxObserved = new AtomicInteger();
+        try {
+            Future<?> observer = executor.submit(() -> {
+                while (running.get()) {
+                    maxObserved.accumulateAndGet(cache.size(), Math::max);
+                }
+            });
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t * 100_000;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 20_000; i++) {
+                        cache.put(offset + i, i, TTL);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            observer.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(maxObserved.get() <= maxSize, "Cache size must not exceed max size, but was: " + maxObserved.get());
+        assertEquals(maxSize, cache.size());
+    }
+}
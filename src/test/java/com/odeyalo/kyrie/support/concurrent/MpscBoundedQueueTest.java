@@ -0,0 +1,116 @@
+package com.odeyalo.kyrie.support.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MpscBoundedQueue class.
+ * @see MpscBoundedQueue
+ */
+class MpscBoundedQueueTest {
+
+    @Test
+    @DisplayName("Offer elements and expect them to be polled in the same order")
+    void pollInOfferOrder() {
+        MpscBoundedQueue<Integer> queue = new MpscBoundedQueue<>(4);
+
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertTrue(queue.offer(3));
+
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.poll());
+        assertEquals(2, queue.poll());
+        assertEquals(3, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Round capacity up to the power of two and reject offer to the full queue")
+    void rejectOfferIfFull() {
+        MpscBoundedQueue<Integer> queue = new MpscBoundedQueue<>(3);
+
+        assertEquals(4, queue.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+
+        assertEquals(0, queue.poll());
+        assertTrue(queue.offer(4), "Slot must be reused after poll");
+    }
+
+    @Test
+    @DisplayName("Drain the queue with limit and expect only limited number of elements")
+    void drainWithLimit() {
+        MpscBoundedQueue<Integer> queue = new MpscBoundedQueue<>(16);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        int count = queue.drain(drained::add, 4);
+
+        assertEquals(4, count);
+        assertEquals(List.of(0, 1, 2, 3), drained);
+        assertEquals(6, queue.size());
+    }
+
+    @Test
+    @DisplayName("Offer from several threads and expect every element to be polled exactly once")
+    void concurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscBoundedQueue<Integer> queue = new MpscBoundedQueue<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(producer * perProducer + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        boolean[] seen = new boolean[producers * perProducer];
+        int[] lastPerProducer = new int[producers];
+        Arrays.fill(lastPerProducer, -1);
+        start.countDown();
+
+        int received = 0;
+        while (received < seen.length) {
+            Integer value = queue.poll();
+            if (value == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertFalse(seen[value], "Element was polled twice: " + value);
+            seen[value] = true;
+            int producer = value / perProducer;
+            assertTrue(value > lastPerProducer[producer], "Elements of one producer must keep the order");
+            lastPerProducer[producer] = value;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
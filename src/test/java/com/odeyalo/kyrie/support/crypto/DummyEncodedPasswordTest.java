@@ -0,0 +1,63 @@
+package com.odeyalo.kyrie.support.crypto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DummyEncodedPassword class.
+ * @see DummyEncodedPassword
+ */
+class DummyEncodedPasswordTest {
+    private final PasswordEncoder passwordEncoder = KyriePasswordEncoders.createDelegatingPasswordEncoder();
+
+    @Test
+    @DisplayName("Adapt to bcrypt hash and expect dummy with the same version and cost")
+    void adaptToBcrypt() {
+        DummyEncodedPassword dummy = new DummyEncodedPassword(passwordEncoder);
+
+        dummy.adaptTo("{bcrypt}" + new BCryptPasswordEncoder(BCryptPasswordEncoder.BCryptVersion.$2B, 5).encode("secret"));
+
+        assertTrue(dummy.getValue().startsWith("{bcrypt}$2b$05$"), dummy.getValue());
+        assertFalse(passwordEncoder.matches("secret", dummy.getValue()));
+    }
+
+    @Test
+    @DisplayName("Adapt to plain text and expect plain text dummy of the same length")
+    void adaptToPlainText() {
+        DummyEncodedPassword dummy = new DummyEncodedPassword(passwordEncoder);
+
+        dummy.adaptTo("password");
+        assertEquals(8, dummy.getValue().length());
+        assertFalse(dummy.getValue().startsWith("{"));
+
+        dummy.adaptTo("{noop}password");
+        assertTrue(dummy.getValue().startsWith("{noop}"));
+        assertFalse(passwordEncoder.matches("password", dummy.getValue()));
+    }
+
+    @Test
+    @DisplayName("Switch between encodings and expect the created dummy to be reused")
+    void switchEncodingsAndReuseDummy() {
+        DummyEncodedPassword dummy = new DummyEncodedPassword(passwordEncoder);
+        String bcrypt = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+
+        dummy.adaptTo(bcrypt);
+        String first = dummy.getValue();
+        dummy.adaptTo("plain");
+        dummy.adaptTo(bcrypt);
+
+        assertSame(first, dummy.getValue());
+    }
+
+    @Test
+    @DisplayName("Do not adapt the dummy and expect the hash of the default encoding")
+    void defaultEncoding() {
+        DummyEncodedPassword dummy = new DummyEncodedPassword(passwordEncoder);
+
+        assertTrue(dummy.getValue().startsWith("{" + KyriePasswordEncoders.DEFAULT_ENCODING_ID + "}"));
+    }
+}
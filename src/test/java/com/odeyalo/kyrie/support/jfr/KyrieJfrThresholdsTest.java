@@ -0,0 +1,84 @@
+package com.odeyalo.kyrie.support.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for KyrieJfrThresholds class.
+ * @see KyrieJfrThresholds
+ */
+class KyrieJfrThresholdsTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Create thresholds with value that is not timespan and expect IllegalArgumentException")
+    void createThresholdsWithInvalidValue_AndExpectException() {
+        assertThrows(IllegalArgumentException.class, () -> new KyrieJfrThresholds(Collections.singletonMap(JwtTokenJfrEvent.NAME, "fast")));
+    }
+
+    @Test
+    @DisplayName("Apply thresholds to recording and expect threshold of the event to be set")
+    void applyThresholds_AndExpectThresholdSet() {
+        KyrieJfrThresholds thresholds = new KyrieJfrThresholds(Collections.singletonMap(JwtTokenJfrEvent.NAME, "500 us"));
+        try (Recording recording = new Recording()) {
+            thresholds.apply(recording);
+
+            assertEquals("500 us", recording.getSettings().get(JwtTokenJfrEvent.NAME + "#threshold"));
+        }
+    }
+
+    @Test
+    @DisplayName("Apply thresholds to recording with disabled event and expect event to stay disabled")
+    void applyThresholdsToRecordingWithDisabledEvent_AndExpectEventNotEnabled() {
+        KyrieJfrThresholds thresholds = new KyrieJfrThresholds(Collections.singletonMap(JwtTokenJfrEvent.NAME, "0 ns"));
+        try (Recording recording = new Recording()) {
+            recording.disable(JwtTokenJfrEvent.NAME);
+
+            thresholds.apply(recording);
+
+            assertEquals("false", recording.getSettings().get(JwtTokenJfrEvent.NAME + "#enabled"));
+            assertNull(recording.getSettings().get(JwtTokenJfrEvent.NAME + "#threshold"));
+        }
+    }
+
+    @Test
+    @DisplayName("Start recording after thresholds are started and expect fast event to be recorded with zero threshold")
+    void startRecordingWithZeroThreshold_AndExpectFastEventRecorded() throws Exception {
+        KyrieJfrThresholds thresholds = new KyrieJfrThresholds(Collections.singletonMap(JwtTokenJfrEvent.NAME, "0 ns"));
+        thresholds.start();
+        Path file = directory.resolve("kyrie.jfr");
+        try (Recording recording = new Recording()) {
+            recording.start();
+            JwtTokenJfrEvent event = new JwtTokenJfrEvent();
+            event.begin();
+            event.complete(JwtTokenJfrEvent.VERIFY, "HS256", JwtTokenJfrEvent.VALID);
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            thresholds.close();
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals(JwtTokenJfrEvent.NAME))
+                .collect(Collectors.toList());
+
+        assertEquals(1, events.size());
+        assertEquals(JwtTokenJfrEvent.VERIFY, events.get(0).getString("operation"));
+        assertEquals("HS256", events.get(0).getString("algorithm"));
+        assertEquals(JwtTokenJfrEvent.VALID, events.get(0).getString("outcome"));
+    }
+}
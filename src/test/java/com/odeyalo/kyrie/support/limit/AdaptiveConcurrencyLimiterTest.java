@@ -0,0 +1,92 @@
+package com.odeyalo.kyrie.support.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AdaptiveConcurrencyLimiter class.
+ * @see AdaptiveConcurrencyLimiter
+ */
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    @DisplayName("Acquire more permits than the limit and expect the excess to be rejected")
+    void acquireAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+
+        limiter.release(FAST, false);
+
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Complete saturated requests with stable latency and expect the limit to grow")
+    void growLimitWithStableLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 100);
+
+        runSaturated(limiter, FAST, 200);
+
+        assertTrue(limiter.getLimit() > 10, "Limit must grow, but was: " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Complete requests much slower than baseline and expect the limit to shrink")
+    void shrinkLimitWhenLatencyGrows() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 2, 100);
+        runSaturated(limiter, FAST, 100);
+        int limitBefore = limiter.getLimit();
+
+        runSaturated(limiter, SLOW, 30);
+
+        assertTrue(limiter.getLimit() < limitBefore, "Limit must shrink, before: " + limitBefore + " after: " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Fail requests and expect the limit to shrink but not below min limit")
+    void shrinkLimitOnFailures() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 5, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, true);
+        }
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Complete requests on idle limiter and expect the limit to stay the same")
+    void keepLimitWhenNotSaturated() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 1, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, false);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    private static void runSaturated(AdaptiveConcurrencyLimiter limiter, long latency, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(latency, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.odeyalo.kyrie.support.throttling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SlidingWindowCounter class.
+ * @see SlidingWindowCounter
+ */
+class SlidingWindowCounterTest {
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    private final MutableClock clock = new MutableClock(WINDOW.toMillis() * 1000);
+    private final SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 1024, clock);
+
+    @Test
+    @DisplayName("Increment the key several times in one window and expect exact count")
+    void incrementInOneWindow() {
+        counter.increment("odeyalo");
+        counter.increment("odeyalo");
+        double count = counter.increment("odeyalo");
+
+        assertEquals(3, count);
+        assertEquals(3, counter.get("odeyalo"));
+        assertEquals(0, counter.get("unknown"));
+    }
+
+    @Test
+    @DisplayName("Move to the middle of the next window and expect half of the previous count")
+    void previousWindowIsWeighted() {
+        for (int i = 0; i < 10; i++) {
+            counter.increment("odeyalo");
+        }
+        clock.advance(WINDOW.toMillis() + WINDOW.toMillis() / 2);
+
+        assertEquals(5, counter.get("odeyalo"), 0.001);
+        assertEquals(6, counter.increment("odeyalo"), 0.001);
+    }
+
+    @Test
+    @DisplayName("Move two windows forward and expect the events to be forgotten")
+    void oldEventsAreForgotten() {
+        counter.increment("odeyalo");
+        clock.advance(WINDOW.toMillis() * 2);
+
+        assertEquals(0, counter.get("odeyalo"));
+        assertEquals(1, counter.increment("odeyalo"));
+    }
+
+    @Test
+    @DisplayName("Reset the key and expect zero count")
+    void resetKey() {
+        counter.increment("odeyalo");
+        counter.increment("other");
+
+        counter.reset("odeyalo");
+
+        assertEquals(0, counter.get("odeyalo"));
+        assertEquals(1, counter.get("other"));
+    }
+
+    @Test
+    @DisplayName("Increment the key more than max count and expect the count to saturate")
+    void countSaturates() {
+        for (int i = 0; i < SlidingWindowCounter.MAX_COUNT + 10; i++) {
+            counter.increment("odeyalo");
+        }
+        assertEquals(SlidingWindowCounter.MAX_COUNT, counter.get("odeyalo"));
+    }
+
+    @Test
+    @DisplayName("Flood the counter with unique keys and expect the frequent key to stay")
+    void frequentKeyIsNotEvictedByFlood() {
+        for (int i = 0; i < 20; i++) {
+            counter.increment("odeyalo");
+        }
+        for (int i = 0; i < 100_000; i++) {
+            counter.increment("key-" + i);
+        }
+        assertEquals(20, counter.get("odeyalo"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.odeyalo.kyrie.support.token;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SecureRandomTokenValueGenerator class.
+ * @see SecureRandomTokenValueGenerator
+ */
+class SecureRandomTokenValueGeneratorTest {
+
+    @Test
+    @DisplayName("Generate value with default length and expect length that contains required entropy")
+    void generateWithDefaultLength() {
+        SecureRandomTokenValueGenerator urlSafeGenerator = new SecureRandomTokenValueGenerator(TokenAlphabet.URL_SAFE, 256);
+        SecureRandomTokenValueGenerator alphabeticGenerator = new SecureRandomTokenValueGenerator(TokenAlphabet.ALPHABETIC, 128);
+
+        assertEquals(43, urlSafeGenerator.generate().length());
+        assertEquals(23, alphabeticGenerator.generate().length());
+    }
+
+    @Test
+    @DisplayName("Generate value with required length and expect only characters from alphabet")
+    void generateWithRequiredLengthAndExpectAlphabetCharacters() {
+        for (TokenAlphabet alphabet : TokenAlphabet.values()) {
+            SecureRandomTokenValueGenerator generator = new SecureRandomTokenValueGenerator(alphabet, 256);
+            for (int i = 0; i < 100; i++) {
+                String value = generator.generate(50);
+                assertEquals(50, value.length());
+                assertTrue(value.chars().allMatch(c -> alphabet.getCharacters().indexOf(c) >= 0), "Value must contain only alphabet characters: " + value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Generate values with custom alphabet and expect all characters to be used")
+    void generateWithCustomAlphabet() {
+        SecureRandomTokenValueGenerator generator = new SecureRandomTokenValueGenerator("abc", 64);
+        Set<Character> characters = new HashSet<>();
+        generator.generate(1000).chars().forEach(c -> characters.add((char) c));
+
+        assertEquals(Set.of('a', 'b', 'c'), characters);
+    }
+
+    @Test
+    @DisplayName("Generate many values and expect no duplicates")
+    void generateUniqueValues() {
+        TokenValueGenerator generator = new SecureRandomTokenValueGenerator();
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(values.add(generator.generate()), "Generated values must be unique");
+        }
+    }
+
+    @Test
+    @DisplayName("Create generator with invalid alphabet and expect IllegalArgumentException")
+    void createWithInvalidAlphabet() {
+        assertThrows(IllegalArgumentException.class, () -> new SecureRandomTokenValueGenerator("a", 128));
+        assertThrows(IllegalArgumentException.class, () -> new SecureRandomTokenValueGenerator("aab", 128));
+        assertThrows(IllegalArgumentException.class, () -> new SecureRandomTokenValueGenerator("abcé", 128));
+    }
+}
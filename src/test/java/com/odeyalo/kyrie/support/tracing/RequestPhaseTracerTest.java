@@ -0,0 +1,73 @@
+package com.odeyalo.kyrie.support.tracing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for RequestPhaseTracer class.
+ * @see RequestPhaseTracer
+ */
+class RequestPhaseTracerTest {
+
+    @Test
+    @DisplayName("Start phase without bound trace and expect nothing to be recorded")
+    void startPhaseWithoutTrace_AndExpectNoop() {
+        RequestPhaseTracer.setCurrent(null);
+
+        RequestPhaseTracer.PhaseTimer first = RequestPhaseTracer.start(RequestPhase.VALIDATION);
+        RequestPhaseTracer.PhaseTimer second = RequestPhaseTracer.start(RequestPhase.FLOW);
+        first.close();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Time phases of bound trace and expect them in Server-Timing header in processing order")
+    void timePhasesOfBoundTrace_AndExpectServerTimingHeader() {
+        RequestTrace trace = new RequestTrace("GET", "/oauth2/authorize");
+        RequestPhaseTracer.setCurrent(trace);
+        try {
+            try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.PROMPT)) {
+                busy();
+            }
+            try (RequestPhaseTracer.PhaseTimer ignored = RequestPhaseTracer.start(RequestPhase.VALIDATION)) {
+                busy();
+            }
+        } finally {
+            RequestPhaseTracer.setCurrent(null);
+        }
+
+        String header = trace.toServerTimingHeader();
+        assertTrue(header.matches("validation;dur=\\d+\\.\\d{3}, prompt;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}"), "Unexpected header: " + header);
+        assertFalse(header.contains("flow"));
+    }
+
+    @Test
+    @DisplayName("Record the same phase twice and expect the sum of durations")
+    void recordSamePhaseTwice_AndExpectSum() {
+        RequestTrace trace = new RequestTrace("POST", "/oauth2/login");
+
+        trace.record(RequestPhase.AUTHENTICATION, 1_000_000);
+        trace.record(RequestPhase.AUTHENTICATION, 2_000_000);
+        trace.finish(302);
+
+        Map<String, Double> phases = trace.getPhases();
+        assertEquals(1, phases.size());
+        assertEquals(3.0, phases.get(RequestPhase.AUTHENTICATION.getMetricName()), 0.0001);
+        assertEquals(302, trace.getStatus());
+    }
+
+    private static void busy() {
+        long end = System.nanoTime() + 100_000;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.odeyalo.kyrie.support.tracing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for SlowRequestLog class.
+ * @see SlowRequestLog
+ */
+class SlowRequestLogTest {
+
+    @Test
+    @DisplayName("Offer more traces than capacity and expect only the slowest to be kept in descending order")
+    void offerMoreTracesThanCapacity_AndExpectSlowestKept() {
+        SlowRequestLog log = new SlowRequestLog(3);
+        long[] durations = {5, 1, 9, 3, 7, 2};
+        for (long duration : durations) {
+            log.offer(completed(duration));
+        }
+
+        List<RequestTrace> slowest = log.getSlowest();
+
+        assertEquals(3, slowest.size());
+        assertEquals(9, slowest.get(0).getTotalNanos());
+        assertEquals(7, slowest.get(1).getTotalNanos());
+        assertEquals(5, slowest.get(2).getTotalNanos());
+    }
+
+    @Test
+    @DisplayName("Offer trace faster than the fastest kept one and expect it to be rejected")
+    void offerFasterTraceToFullLog_AndExpectRejected() {
+        SlowRequestLog log = new SlowRequestLog(2);
+        log.offer(completed(10));
+        log.offer(completed(20));
+
+        assertFalse(log.offer(completed(5)));
+        assertTrue(log.offer(completed(15)));
+        assertEquals(15, log.getSlowest().get(1).getTotalNanos());
+    }
+
+    @Test
+    @DisplayName("Offer not completed trace and expect it to be rejected")
+    void offerNotCompletedTrace_AndExpectRejected() {
+        SlowRequestLog log = new SlowRequestLog(2);
+
+        assertFalse(log.offer(new RequestTrace("GET", "/oauth2/authorize")));
+        assertTrue(log.getSlowest().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Clear the log and expect no traces")
+    void clearLog_AndExpectNoTraces() {
+        SlowRequestLog log = new SlowRequestLog(1);
+        log.offer(completed(10));
+
+        log.clear();
+
+        assertTrue(log.getSlowest().isEmpty());
+        assertTrue(log.offer(completed(1)));
+    }
+
+    private static RequestTrace completed(long totalNanos) {
+        RequestTrace trace = new RequestTrace("GET", "/oauth2/authorize", System.currentTimeMillis(), 0);
+        trace.finish(200, totalNanos);
+        return trace;
+    }
+}